@@ -25,7 +25,11 @@ import org.jboss.migration.core.ServerMigration;
 import org.jboss.migration.core.env.MigrationEnvironment;
 import org.jboss.migration.core.env.SystemEnvironment;
 import org.jboss.migration.core.logger.ServerMigrationLogger;
+import org.jboss.migration.core.report.BinaryReportWriter;
 import org.jboss.migration.core.report.HtmlReportWriter;
+import org.jboss.migration.core.report.JsonReportWriter;
+import org.jboss.migration.core.report.MetricsReportWriter;
+import org.jboss.migration.core.report.TraceReportWriter;
 import org.jboss.migration.core.report.XmlReportWriter;
 import org.jboss.migration.core.task.ServerMigrationTaskResult;
 
@@ -149,6 +153,46 @@ public class CommandLineServerMigration {
                     ServerMigrationLogger.ROOT_LOGGER.error("XML Report write failed", e);
                 }
             }
+            final String jsonReportFileName = userEnvironment.getPropertyAsString(EnvironmentProperties.REPORT_JSON_FILE_NAME);
+            if (jsonReportFileName != null) {
+                try {
+                    JsonReportWriter.INSTANCE.toPath(reportsDirPath.resolve(jsonReportFileName), migrationData);
+                } catch (Throwable e) {
+                    ServerMigrationLogger.ROOT_LOGGER.error("JSON Report write failed", e);
+                }
+            }
+            final String binaryReportFileName = userEnvironment.getPropertyAsString(EnvironmentProperties.REPORT_BINARY_FILE_NAME);
+            if (binaryReportFileName != null) {
+                try {
+                    BinaryReportWriter.INSTANCE.toPath(reportsDirPath.resolve(binaryReportFileName), migrationData);
+                } catch (Throwable e) {
+                    ServerMigrationLogger.ROOT_LOGGER.error("Binary Report write failed", e);
+                }
+            }
+            final String metricsReportFileName = userEnvironment.getPropertyAsString(EnvironmentProperties.REPORT_METRICS_FILE_NAME);
+            if (metricsReportFileName != null) {
+                try {
+                    MetricsReportWriter.INSTANCE.toPath(reportsDirPath.resolve(metricsReportFileName), migrationData);
+                } catch (Throwable e) {
+                    ServerMigrationLogger.ROOT_LOGGER.error("Metrics Report write failed", e);
+                }
+            }
+            final String traceReportFileName = userEnvironment.getPropertyAsString(EnvironmentProperties.REPORT_TRACE_FILE_NAME);
+            if (traceReportFileName != null) {
+                try {
+                    TraceReportWriter.INSTANCE.toPath(reportsDirPath.resolve(traceReportFileName), migrationData);
+                } catch (Throwable e) {
+                    ServerMigrationLogger.ROOT_LOGGER.error("Trace Report write failed", e);
+                }
+            }
+            final String traceCollapsedStacksReportFileName = userEnvironment.getPropertyAsString(EnvironmentProperties.REPORT_TRACE_COLLAPSED_STACKS_FILE_NAME);
+            if (traceCollapsedStacksReportFileName != null) {
+                try {
+                    TraceReportWriter.INSTANCE.toCollapsedStacksPath(reportsDirPath.resolve(traceCollapsedStacksReportFileName), migrationData);
+                } catch (Throwable e) {
+                    ServerMigrationLogger.ROOT_LOGGER.error("Trace Collapsed Stacks Report write failed", e);
+                }
+            }
             if (migrationData.getRootTask().getResult().getStatus() == ServerMigrationTaskResult.Status.FAIL) {
                 System.exit(1);
             }
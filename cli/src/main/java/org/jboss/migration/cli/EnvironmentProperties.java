@@ -41,4 +41,29 @@ public interface EnvironmentProperties {
      */
     String REPORT_HTML_TEMPLATE_FILE_NAME = org.jboss.migration.core.report.EnvironmentProperties.HTML_REPORT_PROPERTIES_PREFIX + "templateFileName";
 
+    /**
+     * The JSON migration report file name.
+     */
+    String REPORT_JSON_FILE_NAME = org.jboss.migration.core.report.EnvironmentProperties.JSON_REPORT_PROPERTIES_PREFIX + "fileName";
+
+    /**
+     * The binary migration report file name, which is gzip compressed.
+     */
+    String REPORT_BINARY_FILE_NAME = org.jboss.migration.core.report.EnvironmentProperties.BINARY_REPORT_PROPERTIES_PREFIX + "fileName";
+
+    /**
+     * The metrics migration report file name, in JSON format.
+     */
+    String REPORT_METRICS_FILE_NAME = org.jboss.migration.core.report.EnvironmentProperties.METRICS_REPORT_PROPERTIES_PREFIX + "fileName";
+
+    /**
+     * The trace migration report file name, in Chrome Trace Event Format.
+     */
+    String REPORT_TRACE_FILE_NAME = org.jboss.migration.core.report.EnvironmentProperties.TRACE_REPORT_PROPERTIES_PREFIX + "fileName";
+
+    /**
+     * The trace migration report file name, in collapsed stacks format, for flame graphs.
+     */
+    String REPORT_TRACE_COLLAPSED_STACKS_FILE_NAME = org.jboss.migration.core.report.EnvironmentProperties.TRACE_REPORT_PROPERTIES_PREFIX + "collapsedStacksFileName";
+
 }
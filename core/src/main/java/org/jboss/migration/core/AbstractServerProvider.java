@@ -27,10 +27,29 @@ import java.util.regex.Pattern;
  */
 public abstract class AbstractServerProvider implements ServerProvider {
 
+    private volatile Pattern productNamePattern;
+    private volatile Pattern productVersionPattern;
+
     @Override
     public Server getServer(String migrationName, Path baseDir, MigrationEnvironment migrationEnvironment) throws ServerMigrationFailureException {
-        final ProductInfo productInfo = getProductInfo(baseDir, migrationEnvironment);
-        return isProviderFor(productInfo) ? constructServer(migrationName, productInfo, baseDir, migrationEnvironment) : null;
+        return getServer(migrationName, new ServerFingerprint(baseDir), migrationEnvironment);
+    }
+
+    @Override
+    public Server getServer(String migrationName, ServerFingerprint fingerprint, MigrationEnvironment migrationEnvironment) throws ServerMigrationFailureException {
+        final ProductInfo productInfo = getProductInfo(fingerprint, migrationEnvironment);
+        return isProviderFor(productInfo) ? constructServer(migrationName, productInfo, fingerprint.getBaseDir(), migrationEnvironment) : null;
+    }
+
+    /**
+     * Retrieves the {@link ProductInfo} from the specified base dir's fingerprint, which by default retrieves it from the base dir, and should be overridden to use the facts shared by all providers, e.g. the product module's manifest.
+     * @param fingerprint the fingerprint of the server's base dir
+     * @param migrationEnvironment
+     * @return the {@link ProductInfo} from the specified base dir's fingerprint
+     * @throws ServerMigrationFailureException if the product's info failed to be retrieved.
+     */
+    protected ProductInfo getProductInfo(ServerFingerprint fingerprint, MigrationEnvironment migrationEnvironment) throws ServerMigrationFailureException {
+        return getProductInfo(fingerprint.getBaseDir(), migrationEnvironment);
     }
 
     /**
@@ -49,18 +68,36 @@ public abstract class AbstractServerProvider implements ServerProvider {
         }
         ServerMigrationLogger.ROOT_LOGGER.debugf("Product Info retrieved... %s", productInfo);
         final String productName = productInfo.getName();
-        if (productName == null || !Pattern.matches(getProductNameRegex(), productName)) {
+        if (productName == null || !getProductNamePattern().matcher(productName).matches()) {
             ServerMigrationLogger.ROOT_LOGGER.debugf("Product name %s doesn't match!", productName);
             return false;
         }
         final String productVersion = productInfo.getVersion();
-        if (productVersion == null || !Pattern.matches(getProductVersionRegex(), productVersion)) {
+        if (productVersion == null || !getProductVersionPattern().matcher(productVersion).matches()) {
             ServerMigrationLogger.ROOT_LOGGER.debugf("Product version %s doesn't match!", productVersion);
             return false;
         }
         return true;
     }
 
+    private Pattern getProductNamePattern() {
+        Pattern pattern = productNamePattern;
+        if (pattern == null) {
+            pattern = Pattern.compile(getProductNameRegex());
+            productNamePattern = pattern;
+        }
+        return pattern;
+    }
+
+    private Pattern getProductVersionPattern() {
+        Pattern pattern = productVersionPattern;
+        if (pattern == null) {
+            pattern = Pattern.compile(getProductVersionRegex());
+            productVersionPattern = pattern;
+        }
+        return pattern;
+    }
+
     /**
      * Retrieves the pattern to match product's name.
      * @return the pattern to match product's name
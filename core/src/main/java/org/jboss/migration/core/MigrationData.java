@@ -16,12 +16,14 @@
 package org.jboss.migration.core;
 
 import org.jboss.migration.core.env.MigrationEnvironment;
+import org.jboss.migration.core.metrics.OperationMetrics;
 import org.jboss.migration.core.task.ServerMigrationTaskResult;
 import org.jboss.migration.core.task.TaskExecution;
+import org.jboss.migration.core.task.TaskRecords;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The data collected from the server migration.
@@ -31,16 +33,22 @@ public class MigrationData {
 
     private final Server source;
     private final Server target;
+    private final TaskRecords taskRecords;
     private final TaskExecution rootTask;
     private final List<TaskExecution> tasks;
     private final MigrationEnvironment migrationEnvironment;
+    private final Map<String, OperationMetrics> operationMetrics;
 
     MigrationData(Server source, Server target, TaskExecution rootTask, MigrationEnvironment migrationEnvironment) {
         this.source = source;
         this.target = target;
-        this.rootTask = rootTask;
+        // the task execution tree is stored compactly, and released
+        this.taskRecords = TaskRecords.of(rootTask);
+        this.rootTask = taskRecords.get(0);
         this.migrationEnvironment = migrationEnvironment;
-        this.tasks = initTasks();
+        this.tasks = Collections.unmodifiableList(taskRecords.asList());
+        // the JVM wide metrics are reset by the next migration
+        this.operationMetrics = OperationMetrics.snapshot();
     }
 
     /**
@@ -84,42 +92,27 @@ public class MigrationData {
     }
 
     /**
-     * Retrieves all tasks.
+     * Retrieves all tasks, in the depth first traversal of the task tree.
      * @return all tasks
      */
     public List<TaskExecution> getTasks() {
         return tasks;
     }
 
+    /**
+     * Retrieves the metrics of the operations executed by the migration, e.g. management operations.
+     * @return the operation metrics, by category
+     */
+    public Map<String, OperationMetrics> getOperationMetrics() {
+        return operationMetrics;
+    }
+
     /**
      * Retrieves the number of tasks with the specified status result.
      * @param status the status result
      * @return the number of tasks with the specified status result
      */
     public int getTaskCount(ServerMigrationTaskResult.Status status) {
-        int count = 0;
-        for (TaskExecution task : tasks) {
-            if (task.getResult().getStatus() == status) {
-                count++;
-            }
-        }
-        return count;
-    }
-
-    private List<TaskExecution> initTasks() {
-        final List<TaskExecution> results = new ArrayList<>();
-        results.add(getRootTask());
-        addSubTasks(getRootTask(), results);
-        return Collections.unmodifiableList(results);
-    }
-
-    private void addSubTasks(TaskExecution task, List<TaskExecution> tasks) {
-        final List<TaskExecution> subtasks = task.getSubtasks();
-        if (subtasks != null) {
-            for (TaskExecution subtask : subtasks) {
-                tasks.add(subtask);
-                addSubTasks(subtask, tasks);
-            }
-        }
+        return taskRecords.getTaskCount(status);
     }
 }
@@ -15,45 +15,376 @@
  */
 package org.jboss.migration.core;
 
+import org.jboss.migration.core.env.EnvironmentProperties;
+import org.jboss.migration.core.env.EnvironmentProperty;
+import org.jboss.migration.core.env.MigrationEnvironment;
+import org.jboss.migration.core.jfr.FlightRecorderEvents;
 import org.jboss.migration.core.logger.ServerMigrationLogger;
+import org.jboss.migration.core.task.ServerMigrationTaskResult;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.CopyOption;
 import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileStore;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumSet;
-import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.StandardCopyOption.COPY_ATTRIBUTES;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
 
 /**
  * The migration files.
+ * Files are copied according to a {@link CopyStrategy}, which may link the target file to the source file's data, if both are in the same file store.
+ * If incremental copy is enabled then target files which match the source files, e.g. from a previous migration, are left untouched.
+ * Directories are copied in two phases: the source tree is walked once, creating the target directories and gathering the files to copy, and then the files are copied in batches, concurrently, using a bounded thread pool.
+ * Copies to the same target file are serialized with striped locks, and a target file which exists before being copied for the first time is backed up.
+ * If a lock file is set then copies are also serialized with other JVMs migrating to the same target server, e.g. worker JVMs, which share a journal of the copied files, so that a target file copied by another JVM is not backed up as if it existed before the migration.
  * @author emmartins
  */
 public class MigrationFiles {
 
+    /**
+     * the environment property which sets the max number of threads used to copy the files of a directory, by default the number of available processors
+     */
+    public static final EnvironmentProperty<Integer> ENVIRONMENT_PROPERTY_COPY_PARALLELISM = EnvironmentProperties.newIntegerProperty("files.copy.parallelism", Runtime.getRuntime().availableProcessors());
+
+    /**
+     * the environment property which sets the {@link CopyStrategy}, by default {@link CopyStrategy#COPY}
+     */
+    public static final EnvironmentProperty<String> ENVIRONMENT_PROPERTY_COPY_STRATEGY = EnvironmentProperties.newStringProperty("files.copy.strategy", CopyStrategy.COPY.toString());
+
+    /**
+     * The strategy used to copy files.
+     */
+    public enum CopyStrategy {
+        /**
+         * the file's data is copied
+         */
+        COPY("copy"),
+        /**
+         * the target is a hard link to the source file, if in the same file store, otherwise the file's data is copied.
+         * Hard linked files share the same data, thus this strategy should only be used if neither the source or the target files are modified in place after the migration.
+         * Files which the migration may rewrite, i.e. configuration and properties files, are always copied, see {@link #isRewritable(Path)}.
+         */
+        HARDLINK("hardlink"),
+        /**
+         * the target is a copy-on-write clone of the source file, if in the same file store and such store supports it, otherwise the file's data is copied
+         */
+        REFLINK_IF_SUPPORTED("reflink-if-supported"),
+        /**
+         * the cheapest strategy is chosen for each file, if source and target are in the same file store: the file is cloned if the store supports it, otherwise, or if too small to be worth cloning, the file is hard linked, unless it's a file which the migration may rewrite, which is copied
+         */
+        AUTO("auto");
+
+        private final String name;
+
+        CopyStrategy(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+        /**
+         * Retrieves the strategy with the specified name.
+         * @param name the strategy name
+         * @return the strategy with the specified name
+         * @throws IllegalArgumentException if there is no strategy with the specified name
+         */
+        public static CopyStrategy fromString(String name) throws IllegalArgumentException {
+            for (CopyStrategy copyStrategy : values()) {
+                if (copyStrategy.name.equalsIgnoreCase(name)) {
+                    return copyStrategy;
+                }
+            }
+            throw new IllegalArgumentException("Unknown copy strategy "+name);
+        }
+    }
+
+    /**
+     * the environment property which enables incremental copy, i.e. files which target exists and matches the source are not copied, by default not enabled
+     */
+    public static final EnvironmentProperty<Boolean> ENVIRONMENT_PROPERTY_COPY_INCREMENTAL = EnvironmentProperties.newBooleanProperty("files.copy.incremental", false);
+
+    /**
+     * the environment property which specifies if incremental copy should match files by checksum, instead of by last modified time, in both cases the size must also match, by default not enabled
+     */
+    public static final EnvironmentProperty<Boolean> ENVIRONMENT_PROPERTY_COPY_INCREMENTAL_CHECKSUM = EnvironmentProperties.newBooleanProperty("files.copy.incremental.checksum", false);
+
+    /**
+     * the environment property which sets the file locked while writing to the target server, which is only needed if other JVMs migrate to the same target server concurrently, by default not set.
+     * The JVMs sharing the lock file also share a journal of the files copied, and of the paths marked as processed, which is a sibling of the lock file.
+     */
+    public static final EnvironmentProperty<String> ENVIRONMENT_PROPERTY_LOCK_FILE = EnvironmentProperties.newStringProperty("files.lockFile");
+
+    /**
+     * A matcher of source and target files, which is used by incremental copies to find the target files which do not need to be copied.
+     */
+    public interface FileMatcher {
+
+        /**
+         * matches files with same size and last modified time, the latter compared with milliseconds precision, since some file copies do not preserve the last modified time's nanoseconds
+         */
+        FileMatcher SIZE_AND_LAST_MODIFIED_TIME = (source, target) -> {
+            final BasicFileAttributes sourceAttributes = Files.readAttributes(source, BasicFileAttributes.class);
+            final BasicFileAttributes targetAttributes = Files.readAttributes(target, BasicFileAttributes.class);
+            return sourceAttributes.size() == targetAttributes.size() && sourceAttributes.lastModifiedTime().toMillis() == targetAttributes.lastModifiedTime().toMillis();
+        };
+
+        /**
+         * matches files with same size and SHA-1 checksum
+         */
+        FileMatcher SIZE_AND_CHECKSUM = (source, target) -> Files.size(source) == Files.size(target) && Arrays.equals(MigrationFiles.sha1(source), MigrationFiles.sha1(target));
+
+        /**
+         * Indicates if the target file matches the source file.
+         * @param source the source file
+         * @param target the target file, which exists
+         * @return true if the target file matches the source file, false otherwise
+         * @throws IOException if there was a failure reading the files
+         */
+        boolean matches(Path source, Path target) throws IOException;
+
+        /**
+         * Retrieves a matcher of files with a known SHA-1 checksum, e.g. the files of a content repository, where each file's path is computed from its hash, which only needs to read the target file.
+         * @param sha1 the SHA-1 checksum of the source file
+         * @return a matcher of target files with the specified SHA-1 checksum
+         */
+        static FileMatcher sha1(byte[] sha1) {
+            final byte[] expected = sha1.clone();
+            return (source, target) -> Files.size(source) == Files.size(target) && Arrays.equals(expected, MigrationFiles.sha1(target));
+        }
+    }
+
+    private static final int LOCK_STRIPES = 64;
+    /**
+     * the min size of a file to clone, since cloning requires an external process
+     */
+    private static final long REFLINK_MIN_SIZE = 64 * 1024;
+    private static final boolean REFLINK_COMMAND_AVAILABLE = !System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("windows");
+    private static final File NULL_FILE = new File("/dev/null");
+    private static final String[] REWRITABLE_FILE_EXTENSIONS = { ".xml", ".properties", ".conf" };
+    private static final int BATCH_MAX_FILES = 32;
+    private static final long BATCH_MAX_BYTES = 8 * 1024 * 1024;
+    private static final String JOURNAL_FILE_SUFFIX = ".journal";
+    private static final char JOURNAL_COPIED_FILE = 'C';
+    private static final char JOURNAL_PROCESSED_PATH = 'P';
+
     private final Map<Path, Path> copiedFiles;
+    private final Set<Path> processedPaths;
+    private final Object[] locks;
+    private final int parallelism;
+    private final CopyStrategy copyStrategy;
+    private final FileMatcher incrementalFileMatcher;
+    private final Map<FileStore, Boolean> reflinkSupport;
+    private final Path lockFile;
+    private final Path journalFile;
+    /**
+     * the position of the journal's entries not yet read, guarded by the lock
+     */
+    private long journalPosition;
+    private final ReentrantLock lock;
+    private volatile ExecutorService executorService;
 
     MigrationFiles() {
-        this.copiedFiles = new HashMap<>();
+        this(1, CopyStrategy.COPY, null, null);
+    }
+
+    MigrationFiles(MigrationEnvironment migrationEnvironment) {
+        this(ENVIRONMENT_PROPERTY_COPY_PARALLELISM.getValue(migrationEnvironment),
+                CopyStrategy.fromString(ENVIRONMENT_PROPERTY_COPY_STRATEGY.getValue(migrationEnvironment)),
+                ENVIRONMENT_PROPERTY_COPY_INCREMENTAL.getValue(migrationEnvironment) ? (ENVIRONMENT_PROPERTY_COPY_INCREMENTAL_CHECKSUM.getValue(migrationEnvironment) ? FileMatcher.SIZE_AND_CHECKSUM : FileMatcher.SIZE_AND_LAST_MODIFIED_TIME) : null,
+                ENVIRONMENT_PROPERTY_LOCK_FILE.getValue(migrationEnvironment) != null ? Paths.get(ENVIRONMENT_PROPERTY_LOCK_FILE.getValue(migrationEnvironment)) : null);
+    }
+
+    /**
+     *
+     * @param parallelism the max number of threads used to copy files
+     * @param copyStrategy the copy strategy
+     * @param incrementalFileMatcher the default file matcher for incremental copies, if null the copies are not incremental
+     * @param lockFile the file locked while writing to the target server, if null writes are not serialized with other JVMs
+     */
+    MigrationFiles(int parallelism, CopyStrategy copyStrategy, FileMatcher incrementalFileMatcher, Path lockFile) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("invalid parallelism "+parallelism);
+        }
+        this.copyStrategy = copyStrategy;
+        this.incrementalFileMatcher = incrementalFileMatcher;
+        this.reflinkSupport = new ConcurrentHashMap<>();
+        this.copiedFiles = new ConcurrentHashMap<>();
+        this.processedPaths = ConcurrentHashMap.newKeySet();
+        this.locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.parallelism = parallelism;
+        this.lockFile = lockFile;
+        this.journalFile = lockFile != null ? lockFile.resolveSibling(lockFile.getFileName().toString()+JOURNAL_FILE_SUFFIX) : null;
+        this.lock = new ReentrantLock();
+    }
+
+    /**
+     * Runs an action which writes to the target server, e.g. checks if a module exists and, if not, copies it, holding a lock which serializes it with the copies and other such actions, of this and other JVMs migrating to the same target server.
+     * @param action the action
+     * @param <T> the action's result type
+     * @return the action's result
+     * @throws ServerMigrationFailureException if the lock file could not be locked
+     */
+    public <T> T runLocked(Supplier<T> action) throws ServerMigrationFailureException {
+        if (lockFile == null) {
+            return action.get();
+        }
+        lock.lock();
+        try {
+            if (lock.getHoldCount() > 1) {
+                // the file is already locked by this thread
+                return action.get();
+            }
+            try (FileChannel channel = FileChannel.open(lockFile, CREATE, WRITE);
+                 FileLock fileLock = channel.lock()) {
+                return action.get();
+            } catch (IOException e) {
+                throw new ServerMigrationFailureException("Failed to lock "+lockFile, e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks a path as processed, e.g. a source directory shared by multiple server configurations, whose contents must be migrated only once, even if other JVMs migrate to the same target server.
+     * @param path the path
+     * @return true if the path was not processed before, false otherwise
+     * @throws ServerMigrationFailureException if the journal shared with other JVMs could not be read or written
+     */
+    public boolean markProcessed(Path path) throws ServerMigrationFailureException {
+        return runLocked(() -> {
+            try {
+                readJournal();
+                if (!processedPaths.add(path)) {
+                    return false;
+                }
+                writeJournal(JOURNAL_PROCESSED_PATH+path.toString()+'\n');
+                return true;
+            } catch (IOException e) {
+                throw new ServerMigrationFailureException("Failed to mark "+path+" as processed", e);
+            }
+        });
+    }
+
+    /**
+     * Reads the journal's entries written by other JVMs, must be invoked holding the lock.
+     * @throws IOException if the journal could not be read
+     */
+    private void readJournal() throws IOException {
+        if (journalFile == null || !Files.exists(journalFile)) {
+            return;
+        }
+        final String entries;
+        try (FileChannel channel = FileChannel.open(journalFile, READ)) {
+            final long size = channel.size();
+            if (size <= journalPosition) {
+                return;
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate((int) (size - journalPosition));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, journalPosition + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            journalPosition = size;
+            entries = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        }
+        for (String entry : entries.split("\n")) {
+            if (entry.isEmpty()) {
+                continue;
+            }
+            final Path path = Paths.get(entry.substring(1));
+            if (entry.charAt(0) == JOURNAL_COPIED_FILE) {
+                copiedFiles.putIfAbsent(path, path);
+            } else if (entry.charAt(0) == JOURNAL_PROCESSED_PATH) {
+                processedPaths.add(path);
+            }
+        }
+    }
+
+    /**
+     * Appends entries to the journal, must be invoked holding the lock, after reading the journal.
+     * @param entries the entries, each terminated by a new line
+     * @throws IOException if the journal could not be written
+     */
+    private void writeJournal(String entries) throws IOException {
+        if (journalFile == null || entries.isEmpty()) {
+            return;
+        }
+        Files.write(journalFile, entries.getBytes(StandardCharsets.UTF_8), CREATE, WRITE, APPEND);
+        journalPosition = Files.size(journalFile);
     }
 
     /**
      * Copy a path.
      * @param source the source path
      * @param target the target path
+     * @return the copy statistics
      * @throws IllegalArgumentException if the source does not exists or any of the paths is not absolute
      * @throws ServerMigrationFailureException if the path copy failed
      */
-    public synchronized void copy(final Path source, final Path target) throws IllegalArgumentException, ServerMigrationFailureException {
+    public CopyStatistics copy(final Path source, final Path target) throws IllegalArgumentException, ServerMigrationFailureException {
+        return copy(source, target, incrementalFileMatcher);
+    }
+
+    /**
+     * Copy a path, using the specified matcher if the copy is incremental.
+     * @param source the source path
+     * @param target the target path
+     * @param fileMatcher the matcher of the source and target files, which is only used if incremental copy is enabled
+     * @return the copy statistics
+     * @throws IllegalArgumentException if the source does not exists or any of the paths is not absolute
+     * @throws ServerMigrationFailureException if the path copy failed
+     */
+    public CopyStatistics copy(final Path source, final Path target, final FileMatcher fileMatcher) throws IllegalArgumentException, ServerMigrationFailureException {
         if (!Files.exists(source)) {
             throw new IllegalArgumentException("Source path "+source+" does not exists.");
         }
@@ -63,15 +394,49 @@ public class MigrationFiles {
         if (!target.isAbsolute()) {
             throw new IllegalArgumentException("Target path "+target+" is not an absolute path.");
         }
+        return runLocked(() -> copyUnlocked(source, target, fileMatcher));
+    }
+
+    private CopyStatistics copyUnlocked(final Path source, final Path target, final FileMatcher fileMatcher) throws ServerMigrationFailureException {
+        final long startTime = System.nanoTime();
+        final FlightRecorderEvents.FileCopyEvent event = FlightRecorderEvents.beginFileCopy();
+        FileCopier fileCopier = null;
         try {
+            // the files copied by other JVMs must not be backed up
+            readJournal();
             createDirectories(target.getParent());
+            final CopyVisitor copyVisitor = new CopyVisitor(source, target);
             if (Files.isDirectory(source)) {
-                copyDir(source, target, copiedFiles);
+                Files.walkFileTree(source, CopyVisitor.FILE_VISITOR_OPTIONS, Integer.MAX_VALUE, copyVisitor);
             } else {
-                copyFile(source, target, copiedFiles);
+                final long size = Files.size(source);
+                copyVisitor.files.add(new FileCopy(source, target, size));
+                copyVisitor.bytes += size;
+            }
+            fileCopier = getFileCopier(source, target, incrementalFileMatcher != null ? fileMatcher : null);
+            copyFiles(copyVisitor.files, fileCopier);
+            // dirs are in post order, i.e. children before parents, and their last modified time is only set once all files are copied
+            for (FileCopy dirCopy : copyVisitor.dirs) {
+                Files.setLastModifiedTime(dirCopy.target, Files.getLastModifiedTime(dirCopy.source));
             }
+            final CopyStatistics copyStatistics = new CopyStatistics(copyVisitor.files.size() - fileCopier.unchangedFiles.get(), copyVisitor.bytes - fileCopier.unchangedBytes.get(), System.nanoTime() - startTime, fileCopier.linkedFiles.get(), fileCopier.reflinkedFiles.get(), fileCopier.unchangedFiles.get());
+            event.commit(source, target, copyStrategy, copyStatistics.getFiles(), copyStatistics.getBytes());
+            return copyStatistics;
         } catch (IOException e) {
             throw new ServerMigrationFailureException("Failed to copy "+source+" to "+target, e);
+        } finally {
+            if (fileCopier != null) {
+                // journal the files copied, even if the copy failed
+                try {
+                    final StringBuilder entries = new StringBuilder();
+                    for (Path copiedTarget : fileCopier.copiedTargets) {
+                        entries.append(JOURNAL_COPIED_FILE).append(copiedTarget).append('\n');
+                    }
+                    writeJournal(entries.toString());
+                } catch (IOException e) {
+                    ServerMigrationLogger.ROOT_LOGGER.debugf(e, "Failed to journal the files copied to %s", target);
+                }
+            }
         }
     }
 
@@ -92,42 +457,308 @@ public class MigrationFiles {
             Path child = dir;
             for (Path name : dir.relativize(path)) {
                 child = child.resolve(name);
-                Files.createDirectory(child);
+                try {
+                    Files.createDirectory(child);
+                } catch (FileAlreadyExistsException e) {
+                    // concurrently created by another copy
+                    if (!Files.isDirectory(child)) {
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
+
+    private Object getLock(Path target) {
+        return locks[(target.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    private void copyFile(FileCopy fileCopy, FileCopier fileCopier) throws IOException {
+        final Path source = fileCopy.source;
+        final Path target = fileCopy.target;
+        synchronized (getLock(target)) {
+            if (!copiedFiles.containsKey(target) && fileCopier.isUnchanged(fileCopy)) {
+                ServerMigrationLogger.ROOT_LOGGER.tracef("Target %s matches source %s, skipping copy.", target, source);
+                copiedFiles.put(target, source);
+                fileCopier.copiedTargets.add(target);
+                return;
+            }
+            if (copiedFiles.put(target, source) == null) {
+                fileCopier.copiedTargets.add(target);
+                if (Files.exists(target)) {
+                    // backup
+                    ServerMigrationLogger.ROOT_LOGGER.tracef("Backing up target %s before copy", target);
+                    final Path backup = target.resolveSibling(target.getFileName().toString()+".beforeMigration");
+                    Files.move(target, backup, BACKUP_FILE_OPTIONS);
+                }
             }
+            ServerMigrationLogger.ROOT_LOGGER.tracef("Copying file %s to %s", source, target);
+            fileCopier.copy(fileCopy);
+            ServerMigrationLogger.ROOT_LOGGER.tracef("File %s copied to %s.", source, target);
         }
     }
 
-    private static void copyFile(Path source, Path target, Map<Path, Path> copiedFiles) throws IOException {
-        if (copiedFiles.put(target, source) == null) {
-            if (Files.exists(target)) {
-                // backup
-                ServerMigrationLogger.ROOT_LOGGER.tracef("Backing up target %s before copy", target);
-                final Path backup = target.resolveSibling(target.getFileName().toString()+".beforeMigration");
-                Files.move(target, backup, BACKUP_FILE_OPTIONS);
+    private FileCopier getFileCopier(Path source, Path target, FileMatcher fileMatcher) {
+        if (copyStrategy == CopyStrategy.COPY) {
+            return new FileCopier(fileMatcher, false, null);
+        }
+        // the file store lookup is not cheap, thus it's done once for the whole tree, and the per file fallback handles trees spanning multiple file stores
+        final FileStore fileStore;
+        try {
+            fileStore = Files.getFileStore(source);
+            if (!fileStore.equals(Files.getFileStore(target.getParent()))) {
+                return new FileCopier(fileMatcher, false, null);
+            }
+        } catch (IOException e) {
+            return new FileCopier(fileMatcher, false, null);
+        }
+        if (copyStrategy == CopyStrategy.HARDLINK) {
+            return new FileCopier(fileMatcher, true, null);
+        }
+        return new FileCopier(fileMatcher, copyStrategy == CopyStrategy.AUTO, REFLINK_COMMAND_AVAILABLE && !Boolean.FALSE.equals(reflinkSupport.get(fileStore)) ? fileStore : null);
+    }
+
+    private void copyFiles(List<FileCopy> fileCopies, FileCopier fileCopier) throws IOException {
+        final List<List<FileCopy>> batches = getBatches(fileCopies);
+        if (batches.size() < 2 || parallelism < 2) {
+            for (FileCopy fileCopy : fileCopies) {
+                copyFile(fileCopy, fileCopier);
+            }
+            return;
+        }
+        final ExecutorService executorService = getExecutorService();
+        final List<Future<Void>> futures = new ArrayList<>(batches.size());
+        for (List<FileCopy> batch : batches) {
+            futures.add(executorService.submit(() -> {
+                for (FileCopy fileCopy : batch) {
+                    copyFile(fileCopy, fileCopier);
+                }
+                return null;
+            }));
+        }
+        // wait for all batches, even if some fail, and then throw the first failure
+        IOException failure = null;
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (Future<Void> otherFuture : futures) {
+                    otherFuture.cancel(false);
+                }
+                throw new IOException("Interrupted while copying files", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static List<List<FileCopy>> getBatches(List<FileCopy> fileCopies) {
+        if (fileCopies.size() < 2) {
+            return Collections.singletonList(fileCopies);
+        }
+        final List<List<FileCopy>> batches = new ArrayList<>();
+        List<FileCopy> batch = new ArrayList<>();
+        long batchBytes = 0;
+        for (FileCopy fileCopy : fileCopies) {
+            if (!batch.isEmpty() && (batch.size() >= BATCH_MAX_FILES || batchBytes + fileCopy.size > BATCH_MAX_BYTES)) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                batchBytes = 0;
+            }
+            batch.add(fileCopy);
+            batchBytes += fileCopy.size;
+        }
+        batches.add(batch);
+        return batches;
+    }
+
+    private ExecutorService getExecutorService() {
+        ExecutorService result = executorService;
+        if (result == null) {
+            synchronized (this) {
+                result = executorService;
+                if (result == null) {
+                    final AtomicInteger threadCounter = new AtomicInteger();
+                    final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(parallelism, parallelism, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                        final Thread thread = new Thread(runnable, "server-migration-copy-"+threadCounter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    // idle threads are not kept, thus there is no need to shutdown the pool
+                    threadPoolExecutor.allowCoreThreadTimeOut(true);
+                    result = threadPoolExecutor;
+                    executorService = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The copier of files, for a specific copy, which applies the copy strategy.
+     */
+    private class FileCopier {
+
+        private final FileMatcher fileMatcher;
+        private final boolean hardlink;
+        private final FileStore reflinkFileStore;
+        private final AtomicInteger linkedFiles = new AtomicInteger();
+        private final AtomicInteger reflinkedFiles = new AtomicInteger();
+        private final AtomicInteger unchangedFiles = new AtomicInteger();
+        private final AtomicLong unchangedBytes = new AtomicLong();
+        /**
+         * the targets copied for the first time, which are journalled
+         */
+        private final Queue<Path> copiedTargets = new ConcurrentLinkedQueue<>();
+
+        FileCopier(FileMatcher fileMatcher, boolean hardlink, FileStore reflinkFileStore) {
+            this.fileMatcher = fileMatcher;
+            this.hardlink = hardlink;
+            this.reflinkFileStore = reflinkFileStore;
+        }
+
+        boolean isUnchanged(FileCopy fileCopy) throws IOException {
+            if (fileMatcher != null && Files.isRegularFile(fileCopy.target) && fileMatcher.matches(fileCopy.source, fileCopy.target)) {
+                unchangedFiles.incrementAndGet();
+                unchangedBytes.addAndGet(fileCopy.size);
+                return true;
+            }
+            return false;
+        }
+
+        void copy(FileCopy fileCopy) throws IOException {
+            if (reflinkFileStore != null && fileCopy.size >= REFLINK_MIN_SIZE && !Boolean.FALSE.equals(reflinkSupport.get(reflinkFileStore))) {
+                if (reflink(fileCopy)) {
+                    reflinkSupport.putIfAbsent(reflinkFileStore, Boolean.TRUE);
+                    reflinkedFiles.incrementAndGet();
+                    return;
+                }
+                // unsupported by the file store, or the cp command, no further attempts are done for the file store
+                ServerMigrationLogger.ROOT_LOGGER.debugf("File cloning not supported for file store %s, falling back to %s.", reflinkFileStore, hardlink ? "link" : "copy");
+                reflinkSupport.put(reflinkFileStore, Boolean.FALSE);
+            }
+            if (hardlink && !isRewritable(fileCopy.target)) {
+                try {
+                    Files.createLink(fileCopy.target, fileCopy.source);
+                    linkedFiles.incrementAndGet();
+                    return;
+                } catch (IOException | UnsupportedOperationException e) {
+                    ServerMigrationLogger.ROOT_LOGGER.tracef("Failed to link %s to %s, falling back to copy: %s", fileCopy.target, fileCopy.source, e);
+                }
+            }
+            Files.copy(fileCopy.source, fileCopy.target, COPY_FILE_OPTIONS);
+        }
+
+        private boolean reflink(FileCopy fileCopy) throws IOException {
+            final Process process = new ProcessBuilder("cp", "--reflink=always", "--preserve=mode,timestamps", fileCopy.source.toString(), fileCopy.target.toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.appendTo(NULL_FILE))
+                    .start();
+            try {
+                if (process.waitFor() == 0) {
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroy();
+                throw new IOException("Interrupted while cloning "+fileCopy.source, e);
+            }
+            // cp may leave an empty target
+            Files.deleteIfExists(fileCopy.target);
+            return false;
+        }
+    }
+
+    /**
+     * Indicates if a target file may be rewritten in place by the migration, such as configuration and properties files, and thus must not be hard linked to the source file.
+     * @param file the target file
+     * @return true if the file may be rewritten in place, false otherwise
+     */
+    static boolean isRewritable(Path file) {
+        final String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        for (String extension : REWRITABLE_FILE_EXTENSIONS) {
+            if (fileName.endsWith(extension)) {
+                return true;
             }
         }
-        ServerMigrationLogger.ROOT_LOGGER.tracef("Copying file %s to %s", source, target);
-        Files.copy(source, target, COPY_FILE_OPTIONS);
-        ServerMigrationLogger.ROOT_LOGGER.tracef("File %s copied to %s.", source, target);
+        return false;
     }
 
-    private static void copyDir(Path source, Path target, Map<Path, Path> copiedFiles) throws IOException {
-        Files.walkFileTree(source, CopyVisitor.FILE_VISITOR_OPTIONS, Integer.MAX_VALUE, new CopyVisitor(source, target, copiedFiles));
+    /**
+     * Ensures that a file about to be rewritten in place is not a hard link to other files, e.g. a source server's file, by replacing it with a copy.
+     * @param file the file
+     * @throws IOException if there was a failure replacing the file
+     */
+    public static void breakHardLink(Path file) throws IOException {
+        final Object linkCount;
+        try {
+            linkCount = Files.getAttribute(file, "unix:nlink");
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            // no unix attributes available, e.g. on windows
+            return;
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        if (linkCount instanceof Integer && (Integer) linkCount > 1) {
+            final Path copy = file.resolveSibling(file.getFileName().toString()+".unlink");
+            Files.copy(file, copy, COPY_ATTRIBUTES, REPLACE_EXISTING);
+            Files.move(copy, file, REPLACE_EXISTING);
+        }
+    }
+
+    private static byte[] sha1(Path file) throws IOException {
+        final MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        final byte[] buffer = new byte[64 * 1024];
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, read);
+            }
+        }
+        return messageDigest.digest();
     }
 
+    private static class FileCopy {
+
+        private final Path source;
+        private final Path target;
+        private final long size;
+
+        FileCopy(Path source, Path target, long size) {
+            this.source = source;
+            this.target = target;
+            this.size = size;
+        }
+    }
+
+    /**
+     * The visitor which creates the target dirs, and gathers the files to copy.
+     */
     private static class CopyVisitor extends SimpleFileVisitor<Path> {
 
         static final EnumSet<FileVisitOption> FILE_VISITOR_OPTIONS = EnumSet.of(FileVisitOption.FOLLOW_LINKS);
         static final CopyOption[] COPY_DIR_OPTIONS = new CopyOption[] { COPY_ATTRIBUTES };
 
-        private final Map<Path, Path> copiedFiles;
         private final Path source;
         private final Path target;
+        private final List<FileCopy> files = new ArrayList<>();
+        private final List<FileCopy> dirs = new ArrayList<>();
+        private long bytes;
 
-        CopyVisitor(Path source, Path target, Map<Path, Path> copiedFiles) {
+        CopyVisitor(Path source, Path target) {
             this.source = source;
             this.target = target;
-            this.copiedFiles = copiedFiles;
         }
 
         @Override
@@ -145,8 +776,8 @@ public class MigrationFiles {
 
         @Override
         public FileVisitResult visitFile(Path sourceFile, BasicFileAttributes attrs) throws IOException {
-            final Path targetFile = getTargetPath(sourceFile);
-            copyFile(sourceFile, targetFile, copiedFiles);
+            files.add(new FileCopy(sourceFile, getTargetPath(sourceFile), attrs.size()));
+            bytes += attrs.size();
             return CONTINUE;
         }
 
@@ -157,10 +788,115 @@ public class MigrationFiles {
         @Override
         public FileVisitResult postVisitDirectory(Path sourceDir, IOException e) throws IOException {
             if (e == null) {
-                final Path targetDir = getTargetPath(sourceDir);
-                Files.setLastModifiedTime(targetDir, Files.getLastModifiedTime(sourceDir));
+                dirs.add(new FileCopy(sourceDir, getTargetPath(sourceDir), 0));
             }
             return CONTINUE;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The statistics of a copy.
+     */
+    public static class CopyStatistics {
+
+        private final int files;
+        private final long bytes;
+        private final long durationNanos;
+        private final int linkedFiles;
+        private final int reflinkedFiles;
+        private final int unchangedFiles;
+
+        CopyStatistics(int files, long bytes, long durationNanos, int linkedFiles, int reflinkedFiles, int unchangedFiles) {
+            this.files = files;
+            this.bytes = bytes;
+            this.durationNanos = durationNanos;
+            this.linkedFiles = linkedFiles;
+            this.reflinkedFiles = reflinkedFiles;
+            this.unchangedFiles = unchangedFiles;
+        }
+
+        /**
+         * @return the number of files copied, which excludes the unchanged files
+         */
+        public int getFiles() {
+            return files;
+        }
+
+        /**
+         * @return the number of bytes copied, which excludes the unchanged files
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return the copy duration, in nanoseconds
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * @return the number of files hard linked instead of copied
+         */
+        public int getLinkedFiles() {
+            return linkedFiles;
+        }
+
+        /**
+         * @return the number of files cloned instead of copied
+         */
+        public int getReflinkedFiles() {
+            return reflinkedFiles;
+        }
+
+        /**
+         * @return the number of files not copied by an incremental copy, since the target matched the source
+         */
+        public int getUnchangedFiles() {
+            return unchangedFiles;
+        }
+
+        /**
+         * @return the copy throughput, in files per second
+         */
+        public double getFilesPerSecond() {
+            return durationNanos > 0 ? files * 1e9 / durationNanos : 0;
+        }
+
+        /**
+         * @return the copy throughput, in megabytes per second
+         */
+        public double getMegabytesPerSecond() {
+            return durationNanos > 0 ? (bytes / (1024d * 1024d)) * 1e9 / durationNanos : 0;
+        }
+
+        /**
+         * Adds the statistics to a task result.
+         * @param resultBuilder the task result builder
+         * @return the task result builder
+         */
+        public ServerMigrationTaskResult.Builder addAttributes(ServerMigrationTaskResult.Builder resultBuilder) {
+            resultBuilder
+                    .addAttribute("copiedFiles", files)
+                    .addAttribute("copiedBytes", bytes)
+                    .addAttribute("filesPerSecond", String.format(Locale.ROOT, "%.1f", getFilesPerSecond()))
+                    .addAttribute("megabytesPerSecond", String.format(Locale.ROOT, "%.1f", getMegabytesPerSecond()));
+            if (linkedFiles > 0) {
+                resultBuilder.addAttribute("linkedFiles", linkedFiles);
+            }
+            if (reflinkedFiles > 0) {
+                resultBuilder.addAttribute("reflinkedFiles", reflinkedFiles);
+            }
+            if (unchangedFiles > 0) {
+                resultBuilder.addAttribute("unchangedFiles", unchangedFiles);
+            }
+            return resultBuilder;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d files, %d bytes, %.1f files/s, %.1f MB/s, %d unchanged files", files, bytes, getFilesPerSecond(), getMegabytesPerSecond(), unchangedFiles);
+        }
+    }
+}
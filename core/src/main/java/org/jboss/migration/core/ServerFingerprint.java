@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core;
+
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * The facts retrieved from a server's base dir, e.g. its product info, which are retrieved once, and then shared by all {@link ServerProvider}s probing the base dir.
+ * @author emmartins
+ */
+public final class ServerFingerprint {
+
+    private final Path baseDir;
+    private final ConcurrentMap<String, Fact> facts;
+
+    public ServerFingerprint(Path baseDir) {
+        this.baseDir = baseDir;
+        this.facts = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @return the server's base dir
+     */
+    public Path getBaseDir() {
+        return baseDir;
+    }
+
+    /**
+     * Retrieves a fact, which is retrieved from the base dir only once, even if retrieval fails.
+     * @param key the fact's key, which should identify both the fact and how it is retrieved, e.g. the product module's manifest
+     * @param retriever the function which retrieves the fact from the base dir, may return null
+     * @param <T> the fact's type
+     * @return the fact retrieved
+     * @throws RuntimeException if the fact's retrieval failed
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getFact(String key, Function<Path, T> retriever) throws RuntimeException {
+        Fact fact = facts.get(key);
+        if (fact == null) {
+            // not computeIfAbsent, the retriever may get other facts
+            Fact newFact;
+            try {
+                newFact = new Fact(retriever.apply(baseDir), null);
+            } catch (RuntimeException e) {
+                newFact = new Fact(null, e);
+            }
+            fact = facts.putIfAbsent(key, newFact);
+            if (fact == null) {
+                fact = newFact;
+            }
+        }
+        if (fact.failure != null) {
+            throw fact.failure;
+        }
+        return (T) fact.value;
+    }
+
+    private static class Fact {
+
+        private final Object value;
+        private final RuntimeException failure;
+
+        Fact(Object value, RuntimeException failure) {
+            this.value = value;
+            this.failure = failure;
+        }
+    }
+}
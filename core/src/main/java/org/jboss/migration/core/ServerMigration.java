@@ -15,18 +15,24 @@
  */
 package org.jboss.migration.core;
 
+import org.jboss.logging.Logger;
 import org.jboss.migration.core.console.ConsoleWrapper;
 import org.jboss.migration.core.console.JavaConsole;
 import org.jboss.migration.core.env.MigrationEnvironment;
 import org.jboss.migration.core.env.SystemEnvironment;
+import org.jboss.migration.core.logger.LoggerWriter;
 import org.jboss.migration.core.logger.ServerMigrationLogger;
+import org.jboss.migration.core.metrics.OperationMetrics;
 import org.jboss.migration.core.report.SummaryReportWriter;
 import org.jboss.migration.core.task.ServerMigrationTask;
 import org.jboss.migration.core.task.ServerMigrationTaskName;
 import org.jboss.migration.core.task.ServerMigrationTaskResult;
+import org.jboss.migration.core.task.SubtasksExecutor;
 import org.jboss.migration.core.task.TaskContext;
 import org.jboss.migration.core.task.TaskExecutionImpl;
+import org.jboss.migration.core.util.xml.XmlFactories;
 
+import java.io.IOException;
 import java.nio.file.Path;
 
 /**
@@ -48,6 +54,7 @@ public class ServerMigration {
     private ConsoleWrapper console;
     private boolean interactive = true;
     private MigrationEnvironment userEnvironment;
+    private Boolean parallelExecution;
 
     /**
      * Sets the migration source's base dir.
@@ -90,6 +97,17 @@ public class ServerMigration {
         return this;
     }
 
+    /**
+     * Specifies if independent subtasks may be executed in parallel, which is only possible if the migration is not interactive.
+     * If not set the environment property {@link SubtasksExecutor#ENVIRONMENT_PROPERTY_PARALLEL} is used, which by default turns off parallel execution.
+     * @param parallelExecution true if independent subtasks may be executed in parallel, false otherwise
+     * @return the server migration after applying the configuration change
+     */
+    public ServerMigration parallelExecution(boolean parallelExecution) {
+        this.parallelExecution = parallelExecution;
+        return this;
+    }
+
     /**
      * Sets the user environment, used to customize the migration process.
      * @param userEnvironment the user's environment
@@ -138,6 +156,8 @@ public class ServerMigration {
         console.printf("----------------------------------------------------------%n");
         console.printf("%n");
 
+        // operation metrics are JVM wide, and must only include the operations of this migration
+        OperationMetrics.reset();
         final ServerMigrationContext serverMigrationContext = new ServerMigrationContextImpl(console, interactive, migrationEnvironment);
         final ServerMigrationTaskName serverMigrationTaskName = new ServerMigrationTaskName.Builder("server")
                 .build();
@@ -155,20 +175,49 @@ public class ServerMigration {
                 return result;
             }
         };
-        final TaskExecutionImpl taskExecutionImpl = new TaskExecutionImpl(serverMigrationTask, serverMigrationContext);
+        final SubtasksExecutor subtasksExecutor = getSubtasksExecutor(migrationEnvironment);
+        final TaskExecutionImpl taskExecutionImpl = new TaskExecutionImpl(serverMigrationTask, serverMigrationContext, subtasksExecutor);
         try {
             taskExecutionImpl.run();
         } catch (Throwable t) {
             ServerMigrationLogger.ROOT_LOGGER.error("Migration failed", t);
+        } finally {
+            subtasksExecutor.close();
         }
+        ServerMigrationLogger.ROOT_LOGGER.debugf("XML readers created: %d", XmlFactories.getReadersCreated());
 
         // build migration data
         final MigrationData migrationData = new MigrationData(sourceServer, targetServer, taskExecutionImpl, migrationEnvironment);
-        // log summary report
-        ServerMigrationLogger.ROOT_LOGGER.infof(SummaryReportWriter.INSTANCE.toString(migrationData));
+        // log summary report, line by line
+        if (ServerMigrationLogger.ROOT_LOGGER.isInfoEnabled()) {
+            try (LoggerWriter writer = new LoggerWriter(ServerMigrationLogger.ROOT_LOGGER, Logger.Level.INFO)) {
+                SummaryReportWriter.INSTANCE.write(migrationData, writer);
+            } catch (IOException e) {
+                ServerMigrationLogger.ROOT_LOGGER.error("Failed to log the summary report", e);
+            }
+        }
         return migrationData;
     }
 
+    /**
+     * Retrieves the executor of independent subtasks.
+     * @param migrationEnvironment the migration environment
+     * @return the executor of independent subtasks
+     */
+    protected SubtasksExecutor getSubtasksExecutor(MigrationEnvironment migrationEnvironment) {
+        final boolean parallel = parallelExecution != null ? parallelExecution : SubtasksExecutor.ENVIRONMENT_PROPERTY_PARALLEL.getValue(migrationEnvironment);
+        if (!parallel) {
+            return SubtasksExecutor.SEQUENTIAL;
+        }
+        if (interactive) {
+            ServerMigrationLogger.ROOT_LOGGER.debugf("Parallel execution of subtasks is not supported by interactive migrations.");
+            return SubtasksExecutor.SEQUENTIAL;
+        }
+        final int parallelism = SubtasksExecutor.ENVIRONMENT_PROPERTY_PARALLELISM.getValue(migrationEnvironment);
+        ServerMigrationLogger.ROOT_LOGGER.debugf("Parallel execution of subtasks enabled, with parallelism %d.", parallelism);
+        return SubtasksExecutor.parallel(parallelism);
+    }
+
     /**
      * Retrieves a {@link Server} from its base dir.
      * @param name the assigned server name
@@ -33,7 +33,7 @@ class ServerMigrationContextImpl implements ServerMigrationContext {
         this.consoleWrapper = consoleWrapper;
         this.interactive = interactive;
         this.migrationEnvironment = migrationEnvironment;
-        this.migrationFiles = new MigrationFiles();
+        this.migrationFiles = new MigrationFiles(migrationEnvironment);
     }
 
     @Override
@@ -35,6 +35,18 @@ public interface ServerProvider {
      */
     Server getServer(String migrationName, Path baseDir, MigrationEnvironment migrationEnvironment) throws ServerMigrationFailureException;
 
+    /**
+     * Retrieves a server from its base directory's fingerprint, which is shared by all providers probing the same base directory.
+     * @param migrationName the migration server's name
+     * @param fingerprint the fingerprint of the server's base directory
+     * @param migrationEnvironment
+     * @return null if the fingerprint's base directory is not the base directory of the provider's server.
+     * @throws ServerMigrationFailureException if there was a failure retrieving the server
+     */
+    default Server getServer(String migrationName, ServerFingerprint fingerprint, MigrationEnvironment migrationEnvironment) throws ServerMigrationFailureException {
+        return getServer(migrationName, fingerprint.getBaseDir(), migrationEnvironment);
+    }
+
     /**
      * Retrieves the provider's name.
      * @return the provider's name
@@ -45,11 +45,14 @@ public final class Servers {
      */
     public static Server getServer(String migrationName, Path baseDir, MigrationEnvironment migrationEnvironment) {
         ServerMigrationLogger.ROOT_LOGGER.debugf("Retrieving server from base dir %s", baseDir);
+        final long startTime = System.nanoTime();
+        // the base dir facts, e.g. the product info, are retrieved once, and shared by all providers
+        final ServerFingerprint fingerprint = new ServerFingerprint(baseDir);
         for (ServerProvider serverProvider : SERVER_PROVIDERS_LOADER) {
             try {
-                Server server = serverProvider.getServer(migrationName, baseDir, migrationEnvironment);
+                Server server = serverProvider.getServer(migrationName, fingerprint, migrationEnvironment);
                 if (server != null) {
-                    ServerMigrationLogger.ROOT_LOGGER.debugf("%s recognized as %s base dir. Server product info: %s", baseDir, serverProvider.getName(), server.getProductInfo());
+                    ServerMigrationLogger.ROOT_LOGGER.debugf("%s recognized as %s base dir in %d ms. Server product info: %s", baseDir, serverProvider.getName(), (System.nanoTime() - startTime) / 1000000, server.getProductInfo());
                     return server;
                 } else {
                     ServerMigrationLogger.ROOT_LOGGER.debugf("%s not recognized as %s base dir.", baseDir, serverProvider.getName());
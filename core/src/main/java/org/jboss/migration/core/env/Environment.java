@@ -19,6 +19,8 @@ import org.jboss.migration.core.ServerMigrationFailureException;
 
 import java.util.List;
 import java.util.Properties;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * @author emmartins
@@ -37,6 +39,18 @@ public interface Environment {
 
     List<String> getPropertyAsList(String propertyName, List<String> defaultValue);
 
+    /**
+     * Retrieves a property's value, parsed by the specified mapper from the property's trimmed string value.
+     * @param propertyName the property's name
+     * @param stringToValueMapper the mapper, which environments may cache the parsed value for
+     * @param <T> the value's type
+     * @return the property's value, null if the property does not exist
+     */
+    default <T> T getPropertyAs(String propertyName, Function<String, T> stringToValueMapper) {
+        final String stringValue = getPropertyAsString(propertyName);
+        return stringValue != null ? stringToValueMapper.apply(stringValue.trim()) : null;
+    }
+
     Boolean requirePropertyAsBoolean(String propertyName) throws ServerMigrationFailureException;
 
     String requirePropertyAsString(String propertyName, boolean failIfEmpty) throws ServerMigrationFailureException;
@@ -50,4 +64,31 @@ public interface Environment {
     List<String> getPropertyNames();
 
     List<String> getPropertyNamesReaded();
+
+    /**
+     * Retrieves the names of the properties with the specified prefix.
+     * @param propertyNamePrefix the property name prefix
+     * @return the names of the properties with the specified prefix
+     */
+    default List<String> getPropertyNames(String propertyNamePrefix) {
+        return getPropertyNames().stream().filter(propertyName -> propertyName.startsWith(propertyNamePrefix)).collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves the names of the properties with the specified prefix, which were read.
+     * @param propertyNamePrefix the property name prefix
+     * @return the names of the properties with the specified prefix, which were read
+     */
+    default List<String> getPropertyNamesReaded(String propertyNamePrefix) {
+        return getPropertyNamesReaded().stream().filter(propertyName -> propertyName.startsWith(propertyNamePrefix)).collect(Collectors.toList());
+    }
+
+    /**
+     * Indicates if the task with the specified property names base, usually the task's name, is skipped by its environment property {@code <propertyNamesBase>.skip}.
+     * @param propertyNamesBase the task's property names base
+     * @return true if the task's skip property is set to true, false otherwise
+     */
+    default boolean isSkippedByEnvironment(String propertyNamesBase) {
+        return getPropertyAsBoolean(propertyNamesBase + ".skip", Boolean.FALSE);
+    }
 }
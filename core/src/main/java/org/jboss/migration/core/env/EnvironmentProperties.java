@@ -18,6 +18,7 @@ package org.jboss.migration.core.env;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -78,8 +79,7 @@ public interface EnvironmentProperties {
             }
             @Override
             public T getValue(Environment environment) {
-                final String stringValue = environment.getPropertyAsString(getName());
-                final T tValue = stringValue != null ? stringToValueMapper.apply(stringValue.trim()) : null;
+                final T tValue = environment.getPropertyAs(getName(), stringToValueMapper);
                 return tValue != null ? tValue : defaultValue;
             }
             @Override
@@ -92,7 +92,8 @@ public interface EnvironmentProperties {
 
     static <T> EnvironmentProperty<List<T>> newListProperty(String name, List<T> defaultValue, Function<String, T> stringToValueMapper, Function<T, String> valueToStringMapper) {
         return newProperty(name, defaultValue,
-                stringValue -> stringValue != null ? Stream.of(stringValue.trim().split(",")).filter(s -> !s.trim().isEmpty()).map(stringToValueMapper).collect(toList()) : null,
+                // the list may be cached, and shared by all readers, thus unmodifiable
+                stringValue -> stringValue != null ? Collections.unmodifiableList(Stream.of(stringValue.trim().split(",")).filter(s -> !s.trim().isEmpty()).map(stringToValueMapper).collect(toList())) : null,
                 list -> list != null ? list.stream().map(value -> valueToStringMapper.apply(value)).collect(Collectors.joining(", ")) : null);
     }
 }
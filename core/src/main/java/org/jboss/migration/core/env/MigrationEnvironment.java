@@ -20,30 +20,36 @@ import org.jboss.migration.core.ServerMigrationFailureException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
-import java.util.SortedMap;
-import java.util.SortedSet;
-import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
 
 /**
+ * The migration's environment, which is read by every task, possibly in parallel.
+ * Property values are looked up by hash, and parsed once, a sorted index serves the property names with a given prefix, such as a sub environment's, and an index by task name serves the checks of the tasks' skip properties, which are done for every task.
  * @author emmartins
  */
 public class MigrationEnvironment implements Environment {
 
-    private final SortedMap<String, PropertyValue> properties;
-    private final SortedSet<String> readed = new TreeSet<>();
+    private static final String SKIP_PROPERTY_NAME_SUFFIX = ".skip";
+
+    // concurrent maps, tasks may be executed in parallel
+    private final Map<String, PropertyValue> properties = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, PropertyValue> sortedProperties = new ConcurrentSkipListMap<>();
+    private final Map<String, PropertyValue> skipProperties = new ConcurrentHashMap<>();
 
     public MigrationEnvironment() {
-        this.properties = new TreeMap<>();
     }
 
     public Boolean getPropertyAsBoolean(String propertyName) {
-        final String propertyValue  = getPropertyAsString(propertyName);
-        if (propertyValue == null || propertyValue.isEmpty()) {
+        final PropertyValue propertyValue = properties.get(propertyName);
+        if (propertyValue == null) {
             return null;
         }
-        return Boolean.parseBoolean(propertyValue);
+        return propertyValue.getBooleanValue();
     }
 
     public Boolean getPropertyAsBoolean(String propertyName, Boolean defaultValue) {
@@ -52,7 +58,6 @@ public class MigrationEnvironment implements Environment {
     }
 
     public String getPropertyAsString(String propertyName) {
-        //readed.add(propertyName);
         final PropertyValue propertyValue = properties.get(propertyName);
         if (propertyValue == null) {
             return null;
@@ -66,7 +71,6 @@ public class MigrationEnvironment implements Environment {
     }
 
     public List<String> getPropertyAsList(String propertyName) {
-        //readed.add(propertyName);
         final PropertyValue propertyValue = properties.get(propertyName);
         if (propertyValue == null) {
             return null;
@@ -79,6 +83,31 @@ public class MigrationEnvironment implements Environment {
         return propertyValue != null ? propertyValue : defaultValue;
     }
 
+    @Override
+    public <T> T getPropertyAs(String propertyName, Function<String, T> stringToValueMapper) {
+        final PropertyValue propertyValue = properties.get(propertyName);
+        if (propertyValue == null) {
+            return null;
+        }
+        return propertyValue.getValue(stringToValueMapper);
+    }
+
+    /**
+     * Indicates if the task with the specified property names base, usually the task's name, is skipped by its environment property {@code <propertyNamesBase>.skip}.
+     * The property is looked up by its base, without building its name, since this is checked for every task.
+     * @param propertyNamesBase the task's property names base
+     * @return true if the task's skip property is set to true, false otherwise
+     */
+    @Override
+    public boolean isSkippedByEnvironment(String propertyNamesBase) {
+        final PropertyValue propertyValue = skipProperties.get(propertyNamesBase);
+        if (propertyValue == null) {
+            return false;
+        }
+        final Boolean skip = propertyValue.getBooleanValue();
+        return skip != null && skip;
+    }
+
     public Boolean requirePropertyAsBoolean(String propertyName) throws ServerMigrationFailureException {
         final Boolean propertyValue = getPropertyAsBoolean(propertyName);
         if (propertyValue == null) {
@@ -107,7 +136,7 @@ public class MigrationEnvironment implements Environment {
     }
 
     public String setProperty(String propertyName, String propertyValue) {
-        final PropertyValue old = properties.put(propertyName, new PropertyValue(propertyValue));
+        final PropertyValue old = putProperty(propertyName, new PropertyValue(propertyValue));
         return old != null ? old.getStringValue() : null;
     }
 
@@ -118,31 +147,65 @@ public class MigrationEnvironment implements Environment {
     }
 
     public void setProperties(MigrationEnvironment migrationEnvironment) {
-        properties.putAll(migrationEnvironment.properties);
+        for (Map.Entry<String, PropertyValue> property : migrationEnvironment.sortedProperties.entrySet()) {
+            putProperty(property.getKey(), property.getValue());
+        }
+    }
+
+    private synchronized PropertyValue putProperty(String propertyName, PropertyValue propertyValue) {
+        // writes are serialized, so that the indexes are consistent with the properties, reads are not
+        sortedProperties.put(propertyName, propertyValue);
+        if (propertyName.endsWith(SKIP_PROPERTY_NAME_SUFFIX)) {
+            skipProperties.put(propertyName.substring(0, propertyName.length() - SKIP_PROPERTY_NAME_SUFFIX.length()), propertyValue);
+        }
+        return properties.put(propertyName, propertyValue);
     }
 
     public List<String> getPropertyNames() {
-        return Collections.unmodifiableList(new ArrayList<>(properties.keySet()));
+        return Collections.unmodifiableList(new ArrayList<>(sortedProperties.keySet()));
     }
 
     public List<String> getPropertyNamesReaded() {
+        return getPropertyNames(sortedProperties, true);
+    }
+
+    @Override
+    public List<String> getPropertyNames(String propertyNamePrefix) {
+        return getPropertyNames(getPropertiesWithPrefix(propertyNamePrefix), false);
+    }
+
+    @Override
+    public List<String> getPropertyNamesReaded(String propertyNamePrefix) {
+        return getPropertyNames(getPropertiesWithPrefix(propertyNamePrefix), true);
+    }
+
+    private Map<String, PropertyValue> getPropertiesWithPrefix(String propertyNamePrefix) {
+        // the prefix's range ends before the first name which does not start with the prefix, thus other properties are not iterated
+        return sortedProperties.subMap(propertyNamePrefix, true, propertyNamePrefix + Character.MAX_VALUE, false);
+    }
+
+    private static List<String> getPropertyNames(Map<String, PropertyValue> properties, boolean readed) {
         final List<String> result = new ArrayList<>();
-        for (String propertyName : properties.keySet()) {
-            final PropertyValue propertyValue = properties.get(propertyName);
-            if (propertyValue.isReaded()) {
-                result.add(propertyName);
+        for (Map.Entry<String, PropertyValue> property : properties.entrySet()) {
+            if (!readed || property.getValue().isReaded()) {
+                result.add(property.getKey());
             }
         }
         return Collections.unmodifiableList(result);
-        //return Collections.unmodifiableList(new ArrayList<>(readed));
     }
 
+    /**
+     * A property's value, immutable but for the readed flag, with its parsed values cached.
+     */
     private static class PropertyValue {
         private final String stringValue;
-        private List<String> listValue;
-        private boolean readed;
+        private final Boolean booleanValue;
+        private volatile List<String> listValue;
+        private volatile MappedValue mappedValue;
+        private volatile boolean readed;
         private PropertyValue(String stringValue) {
             this.stringValue = stringValue;
+            this.booleanValue = stringValue == null || stringValue.isEmpty() ? null : Boolean.parseBoolean(stringValue);
         }
 
         public String getStringValue() {
@@ -150,9 +213,19 @@ public class MigrationEnvironment implements Environment {
             return stringValue;
         }
 
+        public Boolean getBooleanValue() {
+            readed = true;
+            return booleanValue;
+        }
+
         public List<String> getListValue() {
             readed = true;
-            if (listValue == null) {
+            if (stringValue == null) {
+                return null;
+            }
+            List<String> result = listValue;
+            if (result == null) {
+                // concurrent reads may parse the list more than once, with the same result
                 final List<String> list = new ArrayList<>();
                 for (String s : stringValue.split(",")) {
                     final String st = s.trim();
@@ -160,13 +233,42 @@ public class MigrationEnvironment implements Environment {
                         list.add(st);
                     }
                 }
-                listValue = list;
+                // shared by all readers, thus unmodifiable
+                result = Collections.unmodifiableList(list);
+                listValue = result;
             }
-            return listValue;
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> T getValue(Function<String, T> stringToValueMapper) {
+            readed = true;
+            if (stringValue == null) {
+                return null;
+            }
+            final MappedValue current = mappedValue;
+            if (current != null && current.mapper == stringToValueMapper) {
+                return (T) current.value;
+            }
+            final T value = stringToValueMapper.apply(stringValue.trim());
+            mappedValue = new MappedValue(stringToValueMapper, value);
+            return value;
         }
 
         public boolean isReaded() {
             return readed;
         }
     }
+
+    /**
+     * A property's value parsed by a mapper, usually an {@link EnvironmentProperty}'s.
+     */
+    private static class MappedValue {
+        private final Function<String, ?> mapper;
+        private final Object value;
+        private MappedValue(Function<String, ?> mapper, Object value) {
+            this.mapper = mapper;
+            this.value = value;
+        }
+    }
 }
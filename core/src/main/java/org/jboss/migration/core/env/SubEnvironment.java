@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
+import java.util.function.Function;
 
 /**
  * @author emmartins
@@ -63,6 +64,11 @@ public class SubEnvironment implements Environment {
         return environment.getPropertyAsList(getAbsolutePropertyName(propertyName), defaultValue);
     }
 
+    @Override
+    public <T> T getPropertyAs(String propertyName, Function<String, T> stringToValueMapper) {
+        return environment.getPropertyAs(getAbsolutePropertyName(propertyName), stringToValueMapper);
+    }
+
     public Boolean requirePropertyAsBoolean(String propertyName) throws ServerMigrationFailureException {
         return environment.requirePropertyAsBoolean(getAbsolutePropertyName(propertyName));
     }
@@ -86,22 +92,37 @@ public class SubEnvironment implements Environment {
     }
 
     public List<String> getPropertyNames() {
-        final List<String> result = new ArrayList<>();
-        for (String envPropertyName : environment.getPropertyNames()) {
-            if (envPropertyName.startsWith(propertyNamePrefix)) {
-                result.add(envPropertyName.substring(propertyNamePrefix.length()));
-            }
-        }
-        return Collections.unmodifiableList(result);
+        return getRelativePropertyNames(environment.getPropertyNames(propertyNamePrefix));
     }
 
     public List<String> getPropertyNamesReaded() {
+        return getRelativePropertyNames(environment.getPropertyNamesReaded(propertyNamePrefix));
+    }
+
+    @Override
+    public List<String> getPropertyNames(String propertyNamePrefix) {
+        return getRelativePropertyNames(environment.getPropertyNames(getAbsolutePropertyName(propertyNamePrefix)));
+    }
+
+    @Override
+    public List<String> getPropertyNamesReaded(String propertyNamePrefix) {
+        return getRelativePropertyNames(environment.getPropertyNamesReaded(getAbsolutePropertyName(propertyNamePrefix)));
+    }
+
+    private List<String> getRelativePropertyNames(List<String> envPropertyNames) {
         final List<String> result = new ArrayList<>();
-        for (String envPropertyName : environment.getPropertyNamesReaded()) {
-            if (envPropertyName.startsWith(propertyNamePrefix)) {
-                result.add(envPropertyName.substring(propertyNamePrefix.length()));
-            }
+        for (String envPropertyName : envPropertyNames) {
+            result.add(envPropertyName.substring(propertyNamePrefix.length()));
         }
         return Collections.unmodifiableList(result);
     }
+
+    @Override
+    public boolean isSkippedByEnvironment(String propertyNamesBase) {
+        return environment.isSkippedByEnvironment(getAbsolutePropertyName(propertyNamesBase));
+    }
+
+    Environment getEnvironment() {
+        return environment;
+    }
 }
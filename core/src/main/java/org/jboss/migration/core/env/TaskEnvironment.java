@@ -24,10 +24,11 @@ import org.jboss.migration.core.task.TaskContext;
  */
 public class TaskEnvironment extends SubEnvironment {
 
-    private static final String PROPERTY_SKIP = "skip";
+    private final String propertyNamesBase;
 
     public TaskEnvironment(Environment environment, String propertyNamesBase) {
         super(environment, propertyNamesBase+".");
+        this.propertyNamesBase = propertyNamesBase;
     }
 
     public TaskEnvironment(Environment environment, ServerMigrationTaskName taskName) {
@@ -43,6 +44,6 @@ public class TaskEnvironment extends SubEnvironment {
     }
 
     public boolean isSkippedByEnvironment() {
-        return getPropertyAsBoolean(PROPERTY_SKIP, Boolean.FALSE);
+        return getEnvironment().isSkippedByEnvironment(propertyNamesBase);
     }
 }
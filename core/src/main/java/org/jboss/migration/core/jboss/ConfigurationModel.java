@@ -0,0 +1,275 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.jboss;
+
+import org.jboss.migration.core.ServerMigrationFailureException;
+import org.jboss.migration.core.util.xml.XmlFactories;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * An immutable index of a {@link JBossServerConfiguration}'s XML content, built in a single pass over the XML file.
+ * Elements are indexed by local name, in document order, and the facts commonly needed by the configuration's migration, e.g. subsystem namespaces, paths, module references or socket bindings, are indexed when built, so that each lookup does not need to parse the XML file.
+ * @author emmartins
+ */
+public class ConfigurationModel {
+
+    private static final String SUBSYSTEM = "subsystem";
+    private static final String SOCKET_BINDING = "socket-binding";
+    private static final String ATTR_NAME = "name";
+    private static final String ATTR_PATH = "path";
+    private static final String ATTR_MODULE = "module";
+
+    private final FileTime lastModifiedTime;
+    private final long size;
+    private final Map<String, List<Element>> elements;
+    private final Set<String> subsystemNamespaceURIs;
+    private final List<Element> pathElements;
+    private final List<Element> moduleReferences;
+    private final Map<String, List<Element>> socketBindings;
+
+    protected ConfigurationModel(FileTime lastModifiedTime, long size, List<Element> elements) {
+        this.lastModifiedTime = lastModifiedTime;
+        this.size = size;
+        final Map<String, List<Element>> elementsMap = new HashMap<>();
+        final Set<String> subsystemNamespaceURIs = new LinkedHashSet<>();
+        final List<Element> pathElements = new ArrayList<>();
+        final List<Element> moduleReferences = new ArrayList<>();
+        final Map<String, List<Element>> socketBindings = new LinkedHashMap<>();
+        for (Element element : elements) {
+            elementsMap.computeIfAbsent(element.getLocalName(), k -> new ArrayList<>()).add(element);
+            if (element.getLocalName().equals(SUBSYSTEM) && element.getNamespaceURI() != null) {
+                subsystemNamespaceURIs.add(element.getNamespaceURI());
+            } else if (element.getLocalName().equals(SOCKET_BINDING) && element.getAttribute(ATTR_NAME) != null) {
+                socketBindings.computeIfAbsent(element.getAttribute(ATTR_NAME), k -> new ArrayList<>()).add(element);
+            }
+            if (element.getAttribute(ATTR_PATH) != null) {
+                pathElements.add(element);
+            }
+            if (element.getAttribute(ATTR_MODULE) != null) {
+                moduleReferences.add(element);
+            }
+        }
+        for (Map.Entry<String, List<Element>> entry : elementsMap.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        this.elements = Collections.unmodifiableMap(elementsMap);
+        this.subsystemNamespaceURIs = Collections.unmodifiableSet(subsystemNamespaceURIs);
+        this.pathElements = Collections.unmodifiableList(pathElements);
+        this.moduleReferences = Collections.unmodifiableList(moduleReferences);
+        for (Map.Entry<String, List<Element>> entry : socketBindings.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        this.socketBindings = Collections.unmodifiableMap(socketBindings);
+    }
+
+    /**
+     * Retrieves the number of elements with the specified local name.
+     * @param elementLocalName the element local name
+     * @return the number of elements with the specified local name
+     */
+    public int getElementCount(String elementLocalName) {
+        return getElements(elementLocalName).size();
+    }
+
+    /**
+     * Retrieves the elements with the specified local name.
+     * @param elementLocalName the element local name
+     * @return the elements with the specified local name, in document order
+     */
+    public List<Element> getElements(String elementLocalName) {
+        final List<Element> result = elements.get(elementLocalName);
+        return result != null ? result : Collections.emptyList();
+    }
+
+    /**
+     * Retrieves the elements with the specified local name, and which namespace URI starts with the specified prefix.
+     * @param elementLocalName the element local name
+     * @param namespaceURIPrefix the namespace URI prefix
+     * @return the elements with the specified local name and namespace URI prefix, in document order
+     */
+    public List<Element> getElements(String elementLocalName, String namespaceURIPrefix) {
+        final List<Element> result = new ArrayList<>();
+        for (Element element : getElements(elementLocalName)) {
+            if (element.getNamespaceURI() != null && element.getNamespaceURI().startsWith(namespaceURIPrefix)) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the namespace URIs of the subsystems.
+     * @return the namespace URIs of the subsystems, in document order
+     */
+    public Set<String> getSubsystemNamespaceURIs() {
+        return subsystemNamespaceURIs;
+    }
+
+    /**
+     * Retrieves the elements with a {@code path} attribute, which may also have a {@code relative-to} attribute.
+     * @return the elements with a {@code path} attribute, in document order
+     */
+    public List<Element> getPathElements() {
+        return pathElements;
+    }
+
+    /**
+     * Retrieves the elements referencing a module, i.e. with a {@code module} attribute.
+     * @return the elements referencing a module, in document order
+     */
+    public List<Element> getModuleReferences() {
+        return moduleReferences;
+    }
+
+    /**
+     * Retrieves the names of the socket bindings.
+     * @return the names of the socket bindings
+     */
+    public Set<String> getSocketBindingNames() {
+        return socketBindings.keySet();
+    }
+
+    /**
+     * Retrieves the socket bindings with the specified name, e.g. one for each socket binding group in a domain configuration.
+     * @param name the socket binding name
+     * @return the socket bindings with the specified name
+     */
+    public List<Element> getSocketBindings(String name) {
+        final List<Element> result = socketBindings.get(name);
+        return result != null ? result : Collections.emptyList();
+    }
+
+    /**
+     * Indicates if the model is current, i.e. if the XML file was not modified since the model was built.
+     * @param xmlFile the XML file
+     * @return true if the model is current, false otherwise
+     */
+    public boolean isCurrent(Path xmlFile) {
+        try {
+            return lastModifiedTime.equals(Files.getLastModifiedTime(xmlFile)) && size == Files.size(xmlFile);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Builds the model of the specified XML file.
+     * @param xmlFile the XML file
+     * @return the model built
+     * @throws ServerMigrationFailureException if there was a failure reading the XML file
+     */
+    public static ConfigurationModel build(Path xmlFile) throws ServerMigrationFailureException {
+        try {
+            final FileTime lastModifiedTime = Files.getLastModifiedTime(xmlFile);
+            final long size = Files.size(xmlFile);
+            final List<Element> elements = new ArrayList<>();
+            try (InputStream in = Files.newInputStream(xmlFile)) {
+                final XMLStreamReader reader = XmlFactories.createXMLStreamReader(in);
+                try {
+                    while (reader.hasNext()) {
+                        if (reader.next() == START_ELEMENT) {
+                            elements.add(new Element(reader));
+                        }
+                    }
+                } finally {
+                    reader.close();
+                }
+            }
+            return new ConfigurationModel(lastModifiedTime, size, elements);
+        } catch (IOException | XMLStreamException e) {
+            throw new ServerMigrationFailureException("Failed to build the model of configuration "+xmlFile, e);
+        }
+    }
+
+    /**
+     * A XML element of the configuration.
+     */
+    public static class Element {
+
+        private final String localName;
+        private final String namespaceURI;
+        private final Map<String, String> attributes;
+
+        Element(XMLStreamReader reader) {
+            this.localName = reader.getLocalName();
+            this.namespaceURI = reader.getNamespaceURI();
+            final int attributeCount = reader.getAttributeCount();
+            if (attributeCount == 0) {
+                this.attributes = Collections.emptyMap();
+            } else {
+                final Map<String, String> attributes = new LinkedHashMap<>(attributeCount * 2);
+                for (int i = 0; i < attributeCount; i++) {
+                    attributes.put(reader.getAttributeName(i).toString(), reader.getAttributeValue(i));
+                }
+                this.attributes = Collections.unmodifiableMap(attributes);
+            }
+        }
+
+        /**
+         * @return the element's local name
+         */
+        public String getLocalName() {
+            return localName;
+        }
+
+        /**
+         * @return the element's namespace URI, may be null
+         */
+        public String getNamespaceURI() {
+            return namespaceURI;
+        }
+
+        /**
+         * Retrieves the value of an attribute without namespace.
+         * @param name the attribute's local name
+         * @return the attribute's value, null if the element has no such attribute
+         */
+        public String getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        /**
+         * Retrieves the element's attributes, keyed by the attribute's name, which for namespaced attributes follows the {@code {namespaceURI}localName} format.
+         * @return the element's attributes
+         */
+        public Map<String, String> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public String toString() {
+            return "<" + localName + " " + attributes + ">";
+        }
+    }
+}
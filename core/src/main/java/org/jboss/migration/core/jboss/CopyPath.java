@@ -16,6 +16,7 @@
 
 package org.jboss.migration.core.jboss;
 
+import org.jboss.migration.core.MigrationFiles;
 import org.jboss.migration.core.task.ServerMigrationTaskResult;
 import org.jboss.migration.core.task.TaskContext;
 import org.jboss.migration.core.task.component.TaskRunnable;
@@ -40,9 +41,9 @@ public class CopyPath implements TaskRunnable {
         context.getLogger().tracef("Source's path: %s", sourcePath);
         context.getLogger().tracef("Target's path: %s", targetPath);
         if (!sourcePath.equals(targetPath)) {
-            context.getMigrationFiles().copy(sourcePath, targetPath);
+            final MigrationFiles.CopyStatistics copyStatistics = context.getMigrationFiles().copy(sourcePath, targetPath);
             afterCopy(context);
-            return new ServerMigrationTaskResult.Builder()
+            return copyStatistics.addAttributes(new ServerMigrationTaskResult.Builder())
                     .success()
                     .addAttribute("sourcePath", sourcePath)
                     .addAttribute("targetPath", targetPath)
@@ -19,7 +19,10 @@ package org.jboss.migration.core.jboss;
 import org.jboss.dmr.ValueExpression;
 import org.jboss.migration.core.AbstractServer;
 import org.jboss.migration.core.ProductInfo;
+import org.jboss.migration.core.ServerFingerprint;
 import org.jboss.migration.core.ServerMigrationFailureException;
+import org.jboss.migration.core.env.EnvironmentProperties;
+import org.jboss.migration.core.env.EnvironmentProperty;
 import org.jboss.migration.core.env.MigrationEnvironment;
 import org.jboss.migration.core.logger.ServerMigrationLogger;
 import org.jboss.migration.core.util.xml.SimpleXMLFileMatcher;
@@ -28,7 +31,6 @@ import org.jboss.migration.core.util.xml.XMLFiles;
 
 import javax.xml.stream.XMLStreamException;
 import java.io.BufferedReader;
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -50,6 +52,11 @@ import java.util.stream.Stream;
  */
 public abstract class JBossServer<S extends JBossServer<S>> extends AbstractServer implements AbsolutePathResolver {
 
+    /**
+     * the environment property which specifies the dir where the modules index of each server is persisted, if not set the modules index is not persisted
+     */
+    public static final EnvironmentProperty<Path> ENVIRONMENT_PROPERTY_MODULES_INDEX_CACHE_DIR = EnvironmentProperties.newPathProperty("modules.index.cacheDir");
+
     private final Environment environment;
     private final Path domainBaseDir;
     private final Path domainConfigDir;
@@ -101,7 +108,7 @@ public abstract class JBossServer<S extends JBossServer<S>> extends AbstractServ
         this.pathResolver.put("jboss.domain.servers.dir", domainBaseDir.resolve("servers"));
         this.pathResolver.put("jboss.domain.temp.dir", domainBaseDir.resolve("tmp"));
 
-        this.modules = new Modules(baseDir);
+        this.modules = new Modules(baseDir, migrationEnvironment != null ? ENVIRONMENT_PROPERTY_MODULES_INDEX_CACHE_DIR.getValue(migrationEnvironment) : null);
 
         this.extensions = extensions;
     }
@@ -340,15 +347,30 @@ public abstract class JBossServer<S extends JBossServer<S>> extends AbstractServ
         }
     }
 
+    /**
+     * The server's modules, which are looked up in an index built once, when first needed, with the precedence of the overlay, layers, add-ons and modules dir root.
+     */
     public static class Modules {
 
         private final Path modulesDir;
         private final List<Path> layerDirs;
         private final List<Path> addonDirs;
         private final Path overlayDir;
+        private final Path indexCacheDir;
+        private volatile ModuleIndex index;
 
         public Modules(Path serverBaseDir) {
+            this(serverBaseDir, null);
+        }
+
+        /**
+         *
+         * @param serverBaseDir the server's base dir
+         * @param indexCacheDir the dir where the modules index is persisted, null if it should not be persisted
+         */
+        public Modules(Path serverBaseDir, Path indexCacheDir) {
             this.modulesDir = serverBaseDir.resolve("modules");
+            this.indexCacheDir = indexCacheDir;
             this.layerDirs = new ArrayList<>();
             // process layers.conf (if exists)
             final Path layersConfigFile = modulesDir.resolve("layers.conf");
@@ -408,56 +430,103 @@ public abstract class JBossServer<S extends JBossServer<S>> extends AbstractServ
             return modulesDir;
         }
 
-        public Module getModule(ModuleIdentifier moduleId) throws ServerMigrationFailureException {
-            final Path moduleDir = getModuleDir(moduleId);
-            if (!Files.exists(moduleDir)) {
-                return null;
+        /**
+         * @return the module roots, by precedence
+         */
+        private List<Path> getModuleRoots() {
+            final List<Path> moduleRoots = new ArrayList<>();
+            if (overlayDir != null) {
+                moduleRoots.add(overlayDir);
             }
-            final Path moduleSpecPath = moduleDir.resolve("module.xml");
-            if (!Files.exists(moduleSpecPath)) {
-                return null;
+            moduleRoots.addAll(layerDirs);
+            if (addonDirs != null) {
+                moduleRoots.addAll(addonDirs);
+            }
+            moduleRoots.add(modulesDir);
+            return moduleRoots;
+        }
+
+        private ModuleIndex getIndex() throws ServerMigrationFailureException {
+            ModuleIndex result = index;
+            if (result == null) {
+                synchronized (this) {
+                    result = index;
+                    if (result == null) {
+                        final Path indexCacheFile = indexCacheDir != null ? indexCacheDir.resolve("modules-" + Integer.toHexString(modulesDir.toAbsolutePath().normalize().toString().hashCode()) + ".index") : null;
+                        result = ModuleIndex.build(modulesDir, getModuleRoots(), indexCacheFile);
+                        index = result;
+                    }
+                }
             }
-            final ModuleSpecification moduleSpecification;
-            try {
-                moduleSpecification = ModuleSpecification.Parser.parse(moduleSpecPath);
-            } catch (XMLStreamException | IOException e) {
-                throw new ServerMigrationFailureException(e);
+            return result;
+        }
+
+        /**
+         * Retrieves the identifiers of all modules found when the modules index was built.
+         * @return the identifiers of the indexed modules
+         * @throws ServerMigrationFailureException if there was a failure building the modules index
+         */
+        public Set<ModuleIdentifier> getModuleIdentifiers() throws ServerMigrationFailureException {
+            return getIndex().getModuleIdentifiers();
+        }
+
+        public Module getModule(ModuleIdentifier moduleId) throws ServerMigrationFailureException {
+            if (moduleId == null) {
+                throw new IllegalArgumentException("The module identifier cannot be null.");
             }
-            return new Module(moduleDir, moduleSpecification);
+            return getIndex().getModule(moduleId);
         }
 
         public Module getModule(String moduleId) throws ServerMigrationFailureException {
             return getModule(ModuleIdentifier.fromString(moduleId));
         }
 
-        public Path getModuleDir(ModuleIdentifier moduleId) {
+        /**
+         * Looks up a module, without building the modules index if not built yet, which is cheaper for a few lookups, e.g. when detecting the server's product.
+         * @param moduleId the module identifier
+         * @return the module with the specified identifier, null if there is no such module
+         * @throws ServerMigrationFailureException if there was a failure parsing the module's specification
+         */
+        public Module findModule(ModuleIdentifier moduleId) throws ServerMigrationFailureException {
             if (moduleId == null) {
                 throw new IllegalArgumentException("The module identifier cannot be null.");
             }
-            final Path modulePath = Paths.get(moduleId.getName().replace('.', File.separatorChar) +
-                    File.separator +
-                    moduleId.getSlot());
-            if (overlayDir != null) {
-                final Path overlayModuleDir = overlayDir.resolve(modulePath);
-                if (Files.exists(overlayModuleDir)) {
-                    return overlayModuleDir;
-                }
-            }
-            for (Path layerDir : layerDirs) {
-                final Path layerModuleDir = layerDir.resolve(modulePath);
-                if (Files.exists(layerModuleDir)) {
-                    return layerModuleDir;
-                }
+            if (index != null) {
+                return index.getModule(moduleId);
             }
-            if (addonDirs != null) {
-                for (Path addonDir : addonDirs) {
-                    final Path addonModuleDir = addonDir.resolve(modulePath);
-                    if (Files.exists(addonModuleDir)) {
-                        return addonModuleDir;
+            final Path modulePath = ModuleIndex.getModulePath(moduleId);
+            for (Path moduleRoot : getModuleRoots()) {
+                final Path moduleXml = moduleRoot.resolve(modulePath).resolve("module.xml");
+                if (Files.isRegularFile(moduleXml)) {
+                    try {
+                        return new Module(moduleXml.getParent(), ModuleSpecification.Parser.parse(moduleXml));
+                    } catch (XMLStreamException | IOException e) {
+                        throw new ServerMigrationFailureException(e);
                     }
                 }
             }
-            return modulesDir.resolve(modulePath);
+            return null;
+        }
+
+        public Module findModule(String moduleId) throws ServerMigrationFailureException {
+            return findModule(ModuleIdentifier.fromString(moduleId));
+        }
+
+        /**
+         * Retrieves the modules of a server's base dir fingerprint, which are shared by all server providers probing the base dir.
+         * @param fingerprint the fingerprint of the server's base dir
+         * @return the modules of the fingerprint's base dir
+         */
+        public static Modules from(ServerFingerprint fingerprint) {
+            return fingerprint.getFact(Modules.class.getName(), Modules::new);
+        }
+
+        public Path getModuleDir(ModuleIdentifier moduleId) {
+            if (moduleId == null) {
+                throw new IllegalArgumentException("The module identifier cannot be null.");
+            }
+            final Path moduleDir = getIndex().getModuleDir(moduleId);
+            return moduleDir != null ? moduleDir : modulesDir.resolve(ModuleIndex.getModulePath(moduleId));
         }
     }
 
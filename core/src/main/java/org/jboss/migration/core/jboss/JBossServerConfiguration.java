@@ -32,6 +32,7 @@ public class JBossServerConfiguration<S extends JBossServer<S>> extends ServerPa
     }
 
     private final Type configurationType;
+    private volatile ConfigurationModel configurationModel;
 
     public JBossServerConfiguration(Path path, Type configurationType, S server) {
         super(path, server);
@@ -59,6 +60,31 @@ public class JBossServerConfiguration<S extends JBossServer<S>> extends ServerPa
         return getServer().getContentDir(configurationType);
     }
 
+    /**
+     * Retrieves the model of the configuration's XML content, which is built when first needed, and rebuilt once the XML file is modified.
+     * @return the model of the configuration's XML content
+     */
+    public ConfigurationModel getConfigurationModel() {
+        ConfigurationModel model = configurationModel;
+        if (model == null || !model.isCurrent(getPath())) {
+            synchronized (this) {
+                model = configurationModel;
+                if (model == null || !model.isCurrent(getPath())) {
+                    model = ConfigurationModel.build(getPath());
+                    configurationModel = model;
+                }
+            }
+        }
+        return model;
+    }
+
+    /**
+     * Invalidates the model of the configuration's XML content, which should be done whenever the XML file is rewritten.
+     */
+    public void invalidateConfigurationModel() {
+        configurationModel = null;
+    }
+
     @Override
     public Path resolveNamedPath(String path) {
         return getServer().resolveNamedPath(path);
@@ -16,13 +16,16 @@
 package org.jboss.migration.core.jboss;
 
 import org.jboss.migration.core.ProductInfo;
+import org.jboss.migration.core.ServerFingerprint;
 import org.jboss.migration.core.ServerMigrationFailureException;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.jar.JarInputStream;
 import java.util.jar.Manifest;
+import java.util.stream.Stream;
 
 /**
  * The {@link ProductInfo} obtained from a Manifest file.
@@ -81,4 +84,48 @@ public class ManifestProductInfo extends ProductInfo {
             throw new ServerMigrationFailureException("Manifest file load failed.", e);
         }
     }
+
+    /**
+     * Retrieves the product info from the manifest in the product module's dir, i.e. {@code dir/META-INF/MANIFEST.MF}, which is retrieved once for the specified server's base dir fingerprint.
+     * @param fingerprint the fingerprint of the server's base dir
+     * @param productModuleId the product module's identifier
+     * @return the product info from the product module's manifest, null if there is no such module or manifest
+     * @throws ServerMigrationFailureException if there is an error reading the manifest file
+     */
+    public static ManifestProductInfo fromProductModule(ServerFingerprint fingerprint, String productModuleId) throws ServerMigrationFailureException {
+        return fingerprint.getFact(ManifestProductInfo.class.getName() + ".dir:" + productModuleId, baseDir -> {
+            final JBossServer.Module module = JBossServer.Modules.from(fingerprint).findModule(productModuleId);
+            if (module == null) {
+                return null;
+            }
+            return from(module.getModuleDir().resolve("dir").resolve("META-INF").resolve("MANIFEST.MF"));
+        });
+    }
+
+    /**
+     * Retrieves the product info from the manifest in the product module's jar, which is retrieved once for the specified server's base dir fingerprint.
+     * @param fingerprint the fingerprint of the server's base dir
+     * @param productModuleId the product module's identifier
+     * @return the product info from the product module jar's manifest, null if there is no such module or jar
+     * @throws ServerMigrationFailureException if there is an error reading the module's jar
+     */
+    public static ManifestProductInfo fromProductModuleJar(ServerFingerprint fingerprint, String productModuleId) throws ServerMigrationFailureException {
+        return fingerprint.getFact(ManifestProductInfo.class.getName() + ".jar:" + productModuleId, baseDir -> {
+            final JBossServer.Module module = JBossServer.Modules.from(fingerprint).findModule(productModuleId);
+            if (module == null) {
+                return null;
+            }
+            try (Stream<Path> stream = Files.list(module.getModuleDir())) {
+                final Path moduleJar = stream.filter(path -> path.toString().endsWith(".jar")).findFirst().orElse(null);
+                if (moduleJar == null || !Files.isRegularFile(moduleJar)) {
+                    return null;
+                }
+                try (JarInputStream jarStream = new JarInputStream(Files.newInputStream(moduleJar))) {
+                    return from(jarStream.getManifest());
+                }
+            } catch (IOException e) {
+                throw new ServerMigrationFailureException(e);
+            }
+        });
+    }
 }
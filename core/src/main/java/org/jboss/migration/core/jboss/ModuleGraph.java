@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.jboss;
+
+import org.jboss.migration.core.logger.ServerMigrationLogger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * The dependency graph of the modules to migrate, which resolves the dependency closure of each root module once.
+ * Resolution is memoized across root modules, tolerates dependency cycles, and prunes the modules rejected by a filter, e.g. excluded by environment or already existing in the target server, without resolving their dependencies.
+ * Optional dependencies which do not exist are ignored.
+ * @author emmartins
+ */
+public class ModuleGraph {
+
+    private final JBossServer.Modules modules;
+    private final Predicate<ModuleIdentifier> filter;
+    private final Map<ModuleIdentifier, Node> nodes;
+    private final Map<ModuleIdentifier, Boolean> filtered;
+    private long resolutionTimeNanos;
+
+    /**
+     *
+     * @param modules the modules where the graph's modules are looked up
+     * @param filter the filter of the modules which should be in the graph
+     */
+    public ModuleGraph(JBossServer.Modules modules, Predicate<ModuleIdentifier> filter) {
+        this.modules = modules;
+        this.filter = filter;
+        this.nodes = new HashMap<>();
+        this.filtered = new HashMap<>();
+    }
+
+    /**
+     * Resolves the dependency closure of a root module.
+     * @param root the root module's identifier
+     * @param reason the reason the root module is in the graph
+     * @return the modules added to the graph, topologically ordered, i.e. each module's dependencies come before it, unless there is a dependency cycle
+     * @throws IllegalStateException if the root module, or one of its required dependencies, does not exist
+     */
+    public List<Node> resolve(ModuleIdentifier root, String reason) throws IllegalStateException {
+        return resolve(root, reason, filter);
+    }
+
+    /**
+     * Resolves the dependency closure of a root module, using the specified filter instead of the graph's one, e.g. to log in the context of the resolving task.
+     * Note that whether a module is filtered is memoized, thus the specified filter must be equivalent to the graph's one.
+     * @param root the root module's identifier
+     * @param reason the reason the root module is in the graph
+     * @param filter the filter of the modules which should be in the graph
+     * @return the modules added to the graph, topologically ordered, i.e. each module's dependencies come before it, unless there is a dependency cycle
+     * @throws IllegalStateException if the root module, or one of its required dependencies, does not exist
+     */
+    public synchronized List<Node> resolve(ModuleIdentifier root, String reason, Predicate<ModuleIdentifier> filter) throws IllegalStateException {
+        final long startTime = System.nanoTime();
+        try {
+            final List<Node> added = new ArrayList<>();
+            resolve(root, false, reason, filter, added);
+            return added;
+        } finally {
+            resolutionTimeNanos += System.nanoTime() - startTime;
+        }
+    }
+
+    private Node resolve(ModuleIdentifier moduleId, boolean optional, String reason, Predicate<ModuleIdentifier> filter, List<Node> added) throws IllegalStateException {
+        final Node resolved = nodes.get(moduleId);
+        if (resolved != null) {
+            // already resolved, or a dependency cycle
+            return resolved;
+        }
+        if (!filtered.computeIfAbsent(moduleId, filter::test)) {
+            return null;
+        }
+        final JBossServer.Module module = modules.getModule(moduleId);
+        if (module == null) {
+            if (optional) {
+                ServerMigrationLogger.ROOT_LOGGER.debugf("Skipping optional module %s, not found.", moduleId);
+                return null;
+            }
+            throw new IllegalStateException("Migration of module "+moduleId+" required, but module not found in source server.");
+        }
+        final Node node = new Node(moduleId, module, reason);
+        nodes.put(moduleId, node);
+        for (ModuleSpecification.Dependency dependency : module.getModuleSpecification().getDependencies()) {
+            final Node dependencyNode = resolve(dependency.getId(), dependency.isOptional(), "migrated module " + moduleId + " depends on it", filter, added);
+            if (dependencyNode != null) {
+                node.dependencies.add(dependencyNode);
+            }
+        }
+        // post order, i.e. after the dependencies
+        added.add(node);
+        return node;
+    }
+
+    /**
+     * @return the number of modules in the graph
+     */
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    /**
+     * @return the total time spent resolving modules, in nanoseconds
+     */
+    public synchronized long getResolutionTimeNanos() {
+        return resolutionTimeNanos;
+    }
+
+    /**
+     * A module in the graph.
+     */
+    public static class Node {
+
+        private final ModuleIdentifier moduleId;
+        private final JBossServer.Module module;
+        private final String reason;
+        private final List<Node> dependencies;
+
+        Node(ModuleIdentifier moduleId, JBossServer.Module module, String reason) {
+            this.moduleId = moduleId;
+            this.module = module;
+            this.reason = reason;
+            this.dependencies = new ArrayList<>();
+        }
+
+        /**
+         * @return the module identifier
+         */
+        public ModuleIdentifier getModuleId() {
+            return moduleId;
+        }
+
+        /**
+         * @return the module
+         */
+        public JBossServer.Module getModule() {
+            return module;
+        }
+
+        /**
+         * @return the reason the module is in the graph, i.e. requested as root, or dependency of another module
+         */
+        public String getReason() {
+            return reason;
+        }
+
+        /**
+         * @return the module's dependencies which are in the graph
+         */
+        public List<Node> getDependencies() {
+            return Collections.unmodifiableList(dependencies);
+        }
+
+        @Override
+        public String toString() {
+            return moduleId.toString();
+        }
+    }
+}
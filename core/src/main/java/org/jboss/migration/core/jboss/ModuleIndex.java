@@ -0,0 +1,290 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.jboss;
+
+import org.jboss.migration.core.ServerMigrationFailureException;
+import org.jboss.migration.core.logger.ServerMigrationLogger;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The index of a server's modules, built by walking the modules tree once, which maps each module identifier to its directory, with the module's specification parsed once, when first needed.
+ * The index may be persisted to a cache file, which then provides the specification of each module which {@code module.xml} size and last modified time did not change, avoiding parsing it again.
+ * @author emmartins
+ */
+final class ModuleIndex {
+
+    private static final String MODULE_XML = "module.xml";
+    private static final String CACHE_FILE_HEADER = "# modules index v1";
+
+    private final Path modulesDir;
+    private final Map<ModuleIdentifier, Entry> entries;
+
+    private ModuleIndex(Path modulesDir, Map<ModuleIdentifier, Entry> entries) {
+        this.modulesDir = modulesDir;
+        this.entries = entries;
+    }
+
+    /**
+     * Retrieves the module with the specified identifier.
+     * Modules not indexed are looked up in the modules dir root, where modules are added by a migration, and indexed if found.
+     * @param moduleId the module identifier
+     * @return the module with the specified identifier, null if there is no such module
+     * @throws ServerMigrationFailureException if there was a failure parsing the module's specification
+     */
+    JBossServer.Module getModule(ModuleIdentifier moduleId) throws ServerMigrationFailureException {
+        Entry entry = entries.get(moduleId);
+        if (entry == null) {
+            final Path moduleXml = modulesDir.resolve(getModulePath(moduleId)).resolve(MODULE_XML);
+            if (!Files.isRegularFile(moduleXml)) {
+                return null;
+            }
+            try {
+                entry = new Entry(moduleXml, Files.readAttributes(moduleXml, BasicFileAttributes.class));
+            } catch (IOException e) {
+                throw new ServerMigrationFailureException(e);
+            }
+            final Entry previous = entries.putIfAbsent(moduleId, entry);
+            if (previous != null) {
+                entry = previous;
+            }
+        }
+        return entry.getModule();
+    }
+
+    /**
+     * Retrieves the directory of the module with the specified identifier.
+     * @param moduleId the module identifier
+     * @return the directory of the module with the specified identifier, null if the module is not indexed
+     */
+    Path getModuleDir(ModuleIdentifier moduleId) {
+        final Entry entry = entries.get(moduleId);
+        return entry != null ? entry.moduleXml.getParent() : null;
+    }
+
+    /**
+     * @return the identifiers of the indexed modules
+     */
+    Set<ModuleIdentifier> getModuleIdentifiers() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    static Path getModulePath(ModuleIdentifier moduleId) {
+        return Paths.get(moduleId.getName().replace('.', File.separatorChar) + File.separator + moduleId.getSlot());
+    }
+
+    /**
+     * Builds the index of the modules in the specified module roots.
+     * @param modulesDir the modules dir
+     * @param moduleRoots the module roots, by precedence, i.e. a module in a root hides the same module in the following roots
+     * @param cacheFile the cache file, null if the index should not be persisted
+     * @return the index built
+     * @throws ServerMigrationFailureException if there was a failure walking the modules tree or parsing a module's specification
+     */
+    static ModuleIndex build(Path modulesDir, List<Path> moduleRoots, Path cacheFile) throws ServerMigrationFailureException {
+        final long startTime = System.nanoTime();
+        final Map<ModuleIdentifier, Entry> entries = new ConcurrentHashMap<>();
+        try {
+            for (Path moduleRoot : moduleRoots) {
+                if (Files.isDirectory(moduleRoot)) {
+                    Files.walkFileTree(moduleRoot, new IndexVisitor(moduleRoot, modulesDir, entries));
+                }
+            }
+        } catch (IOException e) {
+            throw new ServerMigrationFailureException("Failed to index modules in "+modulesDir, e);
+        }
+        if (cacheFile != null) {
+            final int cached = readCacheFile(cacheFile, modulesDir, entries);
+            // the specifications of all modules are needed to write the cache file
+            for (Entry entry : entries.values()) {
+                entry.getModule();
+            }
+            writeCacheFile(cacheFile, modulesDir, entries);
+            ServerMigrationLogger.ROOT_LOGGER.debugf("Modules in %s indexed: %d modules, %d specifications from cache file %s, %d ms.", modulesDir, entries.size(), cached, cacheFile, (System.nanoTime() - startTime) / 1000000);
+        } else {
+            ServerMigrationLogger.ROOT_LOGGER.debugf("Modules in %s indexed: %d modules, %d ms.", modulesDir, entries.size(), (System.nanoTime() - startTime) / 1000000);
+        }
+        return new ModuleIndex(modulesDir, entries);
+    }
+
+    private static int readCacheFile(Path cacheFile, Path modulesDir, Map<ModuleIdentifier, Entry> entries) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return 0;
+        }
+        final Map<Path, Entry> entriesByModuleXml = new HashMap<>();
+        for (Entry entry : entries.values()) {
+            entriesByModuleXml.put(entry.moduleXml, entry);
+        }
+        int cached = 0;
+        try (BufferedReader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            if (!CACHE_FILE_HEADER.equals(reader.readLine())) {
+                return 0;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // module.xml path, last modified time, size, module identifier, and dependencies, where optional ones are prefixed with '?'
+                final String[] fields = line.split("\t", -1);
+                if (fields.length != 5) {
+                    continue;
+                }
+                final Entry entry = entriesByModuleXml.get(modulesDir.resolve(fields[0]));
+                if (entry == null || entry.lastModifiedTime != Long.parseLong(fields[1]) || entry.size != Long.parseLong(fields[2])) {
+                    continue;
+                }
+                final ModuleSpecification.Builder builder = new ModuleSpecification.Builder(ModuleIdentifier.fromString(fields[3]));
+                if (!fields[4].isEmpty()) {
+                    for (String dependency : fields[4].split(" ")) {
+                        final boolean optional = dependency.charAt(0) == '?';
+                        builder.dependency(new ModuleSpecification.Dependency(ModuleIdentifier.fromString(optional ? dependency.substring(1) : dependency), optional));
+                    }
+                }
+                entry.module = new JBossServer.Module(entry.moduleXml.getParent(), builder.build());
+                cached++;
+            }
+        } catch (IOException | RuntimeException e) {
+            // a corrupted cache file is not a failure, the cache file is rewritten
+            ServerMigrationLogger.ROOT_LOGGER.debugf(e, "Failed to read modules index cache file %s", cacheFile);
+        }
+        return cached;
+    }
+
+    private static void writeCacheFile(Path cacheFile, Path modulesDir, Map<ModuleIdentifier, Entry> entries) {
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            // the tmp file is unique, the cache file may be written concurrently by other JVMs
+            final Path tmpFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+                writer.write(CACHE_FILE_HEADER);
+                writer.newLine();
+                for (Entry entry : entries.values()) {
+                    final ModuleSpecification moduleSpecification = entry.getModule().getModuleSpecification();
+                    final StringBuilder sb = new StringBuilder()
+                            .append(modulesDir.relativize(entry.moduleXml)).append('\t')
+                            .append(entry.lastModifiedTime).append('\t')
+                            .append(entry.size).append('\t')
+                            .append(moduleSpecification.getModuleIdentifier()).append('\t');
+                    boolean first = true;
+                    for (ModuleSpecification.Dependency dependency : moduleSpecification.getDependencies()) {
+                        if (!first) {
+                            sb.append(' ');
+                        }
+                        first = false;
+                        if (dependency.isOptional()) {
+                            sb.append('?');
+                        }
+                        sb.append(dependency.getId());
+                    }
+                    writer.write(sb.toString());
+                    writer.newLine();
+                }
+            }
+            Files.move(tmpFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            // the cache file is an optimization, failing to write it is not a failure
+            ServerMigrationLogger.ROOT_LOGGER.debugf(e, "Failed to write modules index cache file %s", cacheFile);
+        }
+    }
+
+    private static class IndexVisitor extends SimpleFileVisitor<Path> {
+
+        private final Path moduleRoot;
+        private final Path systemDir;
+        private final Map<ModuleIdentifier, Entry> entries;
+
+        IndexVisitor(Path moduleRoot, Path modulesDir, Map<ModuleIdentifier, Entry> entries) {
+            this.moduleRoot = moduleRoot;
+            // the layers and add-ons are indexed as separate roots
+            this.systemDir = moduleRoot.equals(modulesDir) ? modulesDir.resolve("system") : null;
+            this.entries = entries;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            // hidden dirs, e.g. the base layer's overlays, are not part of the module root
+            if (dir.equals(systemDir) || (!dir.equals(moduleRoot) && dir.getFileName().toString().startsWith("."))) {
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            if (file.getFileName().toString().equals(MODULE_XML)) {
+                final Path modulePath = moduleRoot.relativize(file.getParent());
+                final int nameCount = modulePath.getNameCount();
+                if (nameCount > 1) {
+                    final StringBuilder name = new StringBuilder(modulePath.getName(0).toString());
+                    for (int i = 1; i < nameCount - 1; i++) {
+                        name.append('.').append(modulePath.getName(i));
+                    }
+                    entries.putIfAbsent(ModuleIdentifier.create(name.toString(), modulePath.getName(nameCount - 1).toString()), new Entry(file, attrs));
+                }
+            }
+            return FileVisitResult.CONTINUE;
+        }
+    }
+
+    private static class Entry {
+
+        private final Path moduleXml;
+        private final long lastModifiedTime;
+        private final long size;
+        private volatile JBossServer.Module module;
+
+        Entry(Path moduleXml, BasicFileAttributes attrs) {
+            this.moduleXml = moduleXml;
+            this.lastModifiedTime = attrs.lastModifiedTime().toMillis();
+            this.size = attrs.size();
+        }
+
+        JBossServer.Module getModule() throws ServerMigrationFailureException {
+            JBossServer.Module result = module;
+            if (result == null) {
+                synchronized (this) {
+                    result = module;
+                    if (result == null) {
+                        try {
+                            result = new JBossServer.Module(moduleXml.getParent(), ModuleSpecification.Parser.parse(moduleXml));
+                        } catch (XMLStreamException | IOException e) {
+                            throw new ServerMigrationFailureException(e);
+                        }
+                        module = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
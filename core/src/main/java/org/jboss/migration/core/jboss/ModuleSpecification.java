@@ -16,7 +16,8 @@
 
 package org.jboss.migration.core.jboss;
 
-import javax.xml.stream.XMLInputFactory;
+import org.jboss.migration.core.util.xml.XmlFactories;
+
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import java.io.BufferedInputStream;
@@ -60,7 +61,7 @@ public class ModuleSpecification {
         }
 
         public static ModuleSpecification parse(final InputStream in) throws IOException, XMLStreamException {
-            XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(in);
+            XMLStreamReader reader = XmlFactories.createXMLStreamReader(in);
             reader.require(START_DOCUMENT, null, null);
             while (reader.hasNext()) {
                 int type = reader.next();
@@ -16,6 +16,7 @@
 
 package org.jboss.migration.core.jboss;
 
+import org.jboss.migration.core.MigrationFiles;
 import org.jboss.migration.core.env.MigrationEnvironment;
 import org.jboss.migration.core.env.TaskEnvironment;
 import org.jboss.migration.core.task.ServerMigrationTask;
@@ -23,10 +24,14 @@ import org.jboss.migration.core.task.ServerMigrationTaskName;
 import org.jboss.migration.core.task.ServerMigrationTaskResult;
 import org.jboss.migration.core.task.TaskContext;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author emmartins
@@ -65,8 +70,13 @@ public class ModulesMigrationTask implements ServerMigrationTask {
         }
         final ModuleMigrator moduleMigrator = new ModuleMigrator(source, target, context.getMigrationEnvironment());
         migrateModules(moduleMigrator, context);
+        moduleMigrator.migrateQueuedModules(context);
         if (context.hasSucessfulSubtasks()) {
-            return ServerMigrationTaskResult.SUCCESS;
+            return new ServerMigrationTaskResult.Builder()
+                    .success()
+                    .addAttribute("moduleGraphSize", moduleMigrator.moduleGraph.size())
+                    .addAttribute("moduleGraphResolutionMillis", TimeUnit.NANOSECONDS.toMillis(moduleMigrator.moduleGraph.getResolutionTimeNanos()))
+                    .build();
         } else {
             context.getLogger().debugf("No modules required migration.", requestedBy);
             return ServerMigrationTaskResult.SKIPPED;
@@ -83,27 +93,49 @@ public class ModulesMigrationTask implements ServerMigrationTask {
             return;
         }
         for (String module : includedModules) {
-            moduleMigrator.migrateModule(module, "requested by environment", context);
+            moduleMigrator.queueModule(module, "requested by environment", context);
         }
     }
 
+    /**
+     * The migrator of modules, which resolves the requested modules, and their dependencies, into a {@link ModuleGraph}, thus each module is migrated once.
+     * Modules may be migrated right away, or queued and then migrated all at once.
+     */
     public static class ModuleMigrator {
 
         private final JBossServer sourceServer;
         private final JBossServer targetServer;
-        private final JBossServer.Modules sourceModules;
         private final JBossServer.Modules targetModules;
         private final Set<ModuleIdentifier> excludedByEnvironment;
+        private final ModuleGraph moduleGraph;
+        private final List<ModuleGraph.Node> queuedModules;
 
         protected ModuleMigrator(JBossServer source, JBossServer target, MigrationEnvironment environment) {
             this.sourceServer = source;
             this.targetServer = target;
-            this.sourceModules = source.getModules();
             this.targetModules = target.getModules();
             this.excludedByEnvironment = new HashSet<>();
             for (String excludedModule : environment.getPropertyAsList(ENVIRONMENT_PROPERTY_EXCLUDES, Collections.emptyList())) {
                 this.excludedByEnvironment.add(ModuleIdentifier.fromString(excludedModule));
             }
+            this.moduleGraph = new ModuleGraph(source.getModules(), this::isMigrationRequired);
+            this.queuedModules = new ArrayList<>();
+        }
+
+        private boolean isMigrationRequired(ModuleIdentifier moduleIdentifier) {
+            return !excludedByEnvironment.contains(moduleIdentifier) && targetModules.getModule(moduleIdentifier) == null;
+        }
+
+        private boolean isMigrationRequired(ModuleIdentifier moduleIdentifier, TaskContext context) {
+            if (excludedByEnvironment.contains(moduleIdentifier)) {
+                context.getLogger().debugf("Skipping module %s migration, it's excluded by environment.", moduleIdentifier);
+                return false;
+            }
+            if (targetModules.getModule(moduleIdentifier) != null) {
+                context.getLogger().debugf("Skipping module %s migration, already exists in target.", moduleIdentifier);
+                return false;
+            }
+            return true;
         }
 
         public JBossServer getSourceServer() {
@@ -118,21 +150,64 @@ public class ModulesMigrationTask implements ServerMigrationTask {
             migrateModule(ModuleIdentifier.fromString(moduleId), reason, context);
         }
 
+        /**
+         * Migrates a module, and its dependencies not migrated or queued yet, each in its own subtask, which are independent and thus may be executed concurrently.
+         * @param moduleIdentifier the module identifier
+         * @param reason the reason the module migration is requested
+         * @param context the task context
+         * @throws IllegalStateException if the module, or one of its required dependencies, does not exist in the source server
+         */
         public void migrateModule(final ModuleIdentifier moduleIdentifier, final String reason, final TaskContext context) throws IllegalStateException {
-            if (excludedByEnvironment.contains(moduleIdentifier)) {
-                context.getLogger().debugf("Skipping module %s migration, it's excluded by environment.", moduleIdentifier);
-                return;
+            migrateModules(resolve(moduleIdentifier, reason, context), context);
+        }
+
+        public void queueModule(String moduleId, String reason, final TaskContext context) {
+            queueModule(ModuleIdentifier.fromString(moduleId), reason, context);
+        }
+
+        /**
+         * Queues the migration of a module, and its dependencies not migrated or queued yet, which are resolved right away, and migrated by {@link #migrateQueuedModules(TaskContext)}, together with the other queued modules.
+         * @param moduleIdentifier the module identifier
+         * @param reason the reason the module migration is requested
+         * @param context the task context
+         * @throws IllegalStateException if the module, or one of its required dependencies, does not exist in the source server
+         */
+        public void queueModule(final ModuleIdentifier moduleIdentifier, final String reason, final TaskContext context) throws IllegalStateException {
+            final List<ModuleGraph.Node> added = resolve(moduleIdentifier, reason, context);
+            synchronized (queuedModules) {
+                queuedModules.addAll(added);
             }
-            final JBossServer.Module sourceModule = sourceModules.getModule(moduleIdentifier);
-            if (sourceModule == null) {
-                throw new IllegalStateException("Migration of module "+moduleIdentifier+" required, but module not found in source server.");
+        }
+
+        /**
+         * Migrates the modules queued since the previous invocation, each in its own subtask, which are independent and thus may be executed concurrently.
+         * @param context the task context
+         */
+        public void migrateQueuedModules(final TaskContext context) {
+            final List<ModuleGraph.Node> nodes;
+            synchronized (queuedModules) {
+                nodes = new ArrayList<>(queuedModules);
+                queuedModules.clear();
             }
-            if (targetModules.getModule(moduleIdentifier) != null) {
-                context.getLogger().debugf("Skipping module %s migration, already exists in target.", moduleIdentifier, reason);
-                return;
+            migrateModules(nodes, context);
+        }
+
+        private List<ModuleGraph.Node> resolve(final ModuleIdentifier moduleIdentifier, final String reason, final TaskContext context) {
+            // the target modules are locked, so that modules being migrated by other JVMs are not found partially copied
+            return context.getMigrationFiles().runLocked(() -> moduleGraph.resolve(moduleIdentifier, reason, moduleId -> isMigrationRequired(moduleId, context)));
+        }
+
+        private void migrateModules(final List<ModuleGraph.Node> nodes, final TaskContext context) {
+            final List<ServerMigrationTask> subtasks = new ArrayList<>(nodes.size());
+            for (ModuleGraph.Node node : nodes) {
+                subtasks.add(getModuleMigrationTask(node, context));
             }
-            final ServerMigrationTaskName taskName = new ServerMigrationTaskName.Builder(context.getTaskName().getName()+".migrate-module").addAttribute("id", moduleIdentifier.toString()).build();
-            final ServerMigrationTask subtask = new ServerMigrationTask() {
+            context.executeAll(subtasks);
+        }
+
+        private ServerMigrationTask getModuleMigrationTask(final ModuleGraph.Node node, final TaskContext context) {
+            final ServerMigrationTaskName taskName = new ServerMigrationTaskName.Builder(context.getTaskName().getName()+".migrate-module").addAttribute("id", node.getModuleId().toString()).build();
+            return new ServerMigrationTask() {
                 @Override
                 public ServerMigrationTaskName getName() {
                     return taskName;
@@ -140,18 +215,22 @@ public class ModulesMigrationTask implements ServerMigrationTask {
 
                 @Override
                 public ServerMigrationTaskResult run(TaskContext context) {
-                    context.getMigrationFiles().copy(sourceModule.getModuleDir(), targetModules.getModuleDir(moduleIdentifier));
-                    context.getLogger().infof("Module %s migrated.", moduleIdentifier);
-                    return new ServerMigrationTaskResult.Builder()
-                            .success()
-                            .addAttribute("reason", reason)
-                            .build();
+                    final Path targetModuleDir = targetModules.getModuleDir(node.getModuleId());
+                    return context.getMigrationFiles().runLocked(() -> {
+                        // the target modules index is built once, another JVM may have migrated the module since
+                        if (Files.exists(targetModuleDir.resolve("module.xml"))) {
+                            context.getLogger().debugf("Skipping module %s migration, already exists in target.", node.getModuleId());
+                            return ServerMigrationTaskResult.SKIPPED;
+                        }
+                        final MigrationFiles.CopyStatistics copyStatistics = context.getMigrationFiles().copy(node.getModule().getModuleDir(), targetModuleDir);
+                        context.getLogger().infof("Module %s migrated.", node.getModuleId());
+                        return copyStatistics.addAttributes(new ServerMigrationTaskResult.Builder())
+                                .success()
+                                .addAttribute("reason", node.getReason())
+                                .build();
+                    });
                 }
             };
-            context.execute(subtask);
-            for (ModuleSpecification.Dependency dependency : sourceModule.getModuleSpecification().getDependencies()) {
-                migrateModule(dependency.getId(), "migrated module " + moduleIdentifier + " depends on it", context);
-            }
         }
     }
 }
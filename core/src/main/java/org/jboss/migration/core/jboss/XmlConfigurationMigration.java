@@ -20,8 +20,8 @@ import org.jboss.migration.core.ServerMigrationFailureException;
 import org.jboss.migration.core.task.ServerMigrationTaskResult;
 import org.jboss.migration.core.task.TaskContext;
 import org.jboss.migration.core.task.component.TaskRunnable;
+import org.jboss.migration.core.util.xml.XmlFactories;
 
-import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamReader;
 import java.io.BufferedInputStream;
 import java.io.FileInputStream;
@@ -58,9 +58,14 @@ public class XmlConfigurationMigration<S extends JBossServer<S>> implements Task
     public ServerMigrationTaskResult run(TaskContext context) {
         // retrieve all components from factories and map these to related element name
         final Map<String, List<Component>> componentsMap = new HashMap<>();
+        final List<Component> configurationModelComponents = new ArrayList<>();
         for (ComponentFactory componentFactory : componentFactories) {
             final Component component = componentFactory.newComponent();
             component.beforeProcessingElements(sourceConfiguration, targetConfiguration, context);
+            if (component.processConfigurationModel(sourceConfiguration, targetConfiguration, context)) {
+                configurationModelComponents.add(component);
+                continue;
+            }
             for (String elementLocalName : component.getElementLocalNames()) {
                 List<Component> elementComponents = componentsMap.get(elementLocalName);
                 if (elementComponents == null) {
@@ -70,9 +75,25 @@ public class XmlConfigurationMigration<S extends JBossServer<S>> implements Task
                 elementComponents.add(component);
             }
         }
-        // parse config
+        // parse config, if there are components which did not process the config model
+        if (!componentsMap.isEmpty()) {
+            parse(componentsMap, context);
+        }
+        // signal components that element processing is done
+        for (Component component : configurationModelComponents) {
+            component.afterProcessingElements(sourceConfiguration, targetConfiguration, context);
+        }
+        for (List<Component> components : componentsMap.values()) {
+            for (Component component : components) {
+                component.afterProcessingElements(sourceConfiguration, targetConfiguration, context);
+            }
+        }
+        return context.hasSucessfulSubtasks() ? ServerMigrationTaskResult.SUCCESS : ServerMigrationTaskResult.SKIPPED;
+    }
+
+    private void parse(Map<String, List<Component>> componentsMap, TaskContext context) {
         try (InputStream in = new BufferedInputStream(new FileInputStream(targetConfiguration.getPath().toFile()))) {
-            XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(in);
+            XMLStreamReader reader = XmlFactories.createXMLStreamReader(in);
             reader.require(START_DOCUMENT, null, null);
             while (reader.hasNext()) {
                 if (reader.next() == START_ELEMENT) {
@@ -87,13 +108,6 @@ public class XmlConfigurationMigration<S extends JBossServer<S>> implements Task
         } catch (Exception e) {
             throw new ServerMigrationFailureException(e);
         }
-        // signal components that element processing is done
-        for (List<Component> components : componentsMap.values()) {
-            for (Component component : components) {
-                component.afterProcessingElements(sourceConfiguration, targetConfiguration, context);
-            }
-        }
-        return context.hasSucessfulSubtasks() ? ServerMigrationTaskResult.SUCCESS : ServerMigrationTaskResult.SKIPPED;
     }
 
     /**
@@ -117,6 +131,17 @@ public class XmlConfigurationMigration<S extends JBossServer<S>> implements Task
         default void beforeProcessingElements(JBossServerConfiguration sourceConfiguration, JBossServerConfiguration targetConfiguration, TaskContext taskContext) {
         }
 
+        /**
+         * A component callback invoked before any element is processed, which allows the component to process the target configuration's {@link ConfigurationModel} instead of its XML elements.
+         * @param sourceConfiguration
+         * @param targetConfiguration
+         * @param taskContext
+         * @return true if the component processed the configuration model, and thus should not process the XML elements, false otherwise
+         */
+        default boolean processConfigurationModel(JBossServerConfiguration sourceConfiguration, JBossServerConfiguration targetConfiguration, TaskContext taskContext) {
+            return false;
+        }
+
         /**
          * {@link XmlConfigurationMigration} component callback, invoked when a component's element is found.
          * @param reader the XML stream reader, positioned at the start of an element of interest
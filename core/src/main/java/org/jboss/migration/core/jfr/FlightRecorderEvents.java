@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.jfr;
+
+import org.jboss.migration.core.logger.ServerMigrationLogger;
+
+import java.nio.file.Path;
+
+/**
+ * The JDK Flight Recorder events emitted by the migration, i.e. task executions, XML file passes, file copies and management operations.
+ * Events are only created if the JVM provides the Flight Recorder, and the event is enabled, e.g. by a recording, otherwise a no-op event is used, which costs nothing.
+ * @author emmartins
+ */
+public final class FlightRecorderEvents {
+
+    private static final EventFactory EVENT_FACTORY = getEventFactory();
+
+    private FlightRecorderEvents() {
+    }
+
+    private static EventFactory getEventFactory() {
+        try {
+            Class.forName("jdk.jfr.Event", false, FlightRecorderEvents.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            // the JVM does not provide the Flight Recorder
+            return NoopEventFactory.INSTANCE;
+        }
+        try {
+            // loaded only now, since its events extend jdk.jfr.Event
+            return (EventFactory) Class.forName("org.jboss.migration.core.jfr.JfrEventFactory").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            ServerMigrationLogger.ROOT_LOGGER.debugf(e, "Flight Recorder events not available");
+            return NoopEventFactory.INSTANCE;
+        }
+    }
+
+    static EventFactory noopEventFactory() {
+        return NoopEventFactory.INSTANCE;
+    }
+
+    /**
+     * Begins a task execution event.
+     * @return the event begun
+     */
+    public static TaskEvent beginTask() {
+        return EVENT_FACTORY.beginTask();
+    }
+
+    /**
+     * Begins a XML file pass event.
+     * @return the event begun
+     */
+    public static XmlFileEvent beginXmlFile() {
+        return EVENT_FACTORY.beginXmlFile();
+    }
+
+    /**
+     * Begins a file copy event.
+     * @return the event begun
+     */
+    public static FileCopyEvent beginFileCopy() {
+        return EVENT_FACTORY.beginFileCopy();
+    }
+
+    /**
+     * Begins a management operation event.
+     * @return the event begun
+     */
+    public static ManagementOperationEvent beginManagementOperation() {
+        return EVENT_FACTORY.beginManagementOperation();
+    }
+
+    /**
+     * A task execution event.
+     */
+    public interface TaskEvent {
+        /**
+         * Ends and commits the event.
+         * @param taskPath the task's path
+         * @param taskNumber the task's number
+         * @param status the task's result status, null if unknown
+         */
+        void commit(Object taskPath, String taskNumber, Object status);
+    }
+
+    /**
+     * A XML file pass event.
+     */
+    public interface XmlFileEvent {
+        /**
+         * @return true if the event is recorded, and so the event data should be gathered, false otherwise
+         */
+        boolean isEnabled();
+
+        /**
+         * Ends and commits the event.
+         * @param xmlFile the XML file
+         * @param pass the pass' kind, e.g. filter or process
+         * @param bytes the XML file's size
+         * @param elements the number of elements read, -1 if not known
+         */
+        void commit(Path xmlFile, String pass, long bytes, long elements);
+    }
+
+    /**
+     * A file copy event.
+     */
+    public interface FileCopyEvent {
+        /**
+         * Ends and commits the event.
+         * @param source the copy's source path
+         * @param target the copy's target path
+         * @param strategy the copy strategy
+         * @param files the number of files copied
+         * @param bytes the number of bytes copied
+         */
+        void commit(Path source, Path target, Object strategy, int files, long bytes);
+    }
+
+    /**
+     * A management operation event.
+     */
+    public interface ManagementOperationEvent {
+        /**
+         * Ends and commits the event.
+         * @param operationName the operation's name
+         * @param address the operation's address
+         * @param successful true if the operation was successful, false otherwise
+         */
+        void commit(String operationName, Object address, boolean successful);
+    }
+
+    interface EventFactory {
+        TaskEvent beginTask();
+        XmlFileEvent beginXmlFile();
+        FileCopyEvent beginFileCopy();
+        ManagementOperationEvent beginManagementOperation();
+    }
+
+    private static final class NoopEventFactory implements EventFactory, TaskEvent, XmlFileEvent, FileCopyEvent, ManagementOperationEvent {
+
+        private static final NoopEventFactory INSTANCE = new NoopEventFactory();
+
+        @Override
+        public TaskEvent beginTask() {
+            return this;
+        }
+
+        @Override
+        public XmlFileEvent beginXmlFile() {
+            return this;
+        }
+
+        @Override
+        public FileCopyEvent beginFileCopy() {
+            return this;
+        }
+
+        @Override
+        public ManagementOperationEvent beginManagementOperation() {
+            return this;
+        }
+
+        @Override
+        public void commit(Object taskPath, String taskNumber, Object status) {
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void commit(Path xmlFile, String pass, long bytes, long elements) {
+        }
+
+        @Override
+        public void commit(Path source, Path target, Object strategy, int files, long bytes) {
+        }
+
+        @Override
+        public void commit(String operationName, Object address, boolean successful) {
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.nio.file.Path;
+
+/**
+ * The factory of the Flight Recorder events, only loaded if the JVM provides the Flight Recorder.
+ * @author emmartins
+ */
+final class JfrEventFactory implements FlightRecorderEvents.EventFactory {
+
+    private static final String CATEGORY = "JBoss Server Migration";
+
+    @Override
+    public FlightRecorderEvents.TaskEvent beginTask() {
+        final JfrTaskEvent event = new JfrTaskEvent();
+        if (!event.isEnabled()) {
+            return FlightRecorderEvents.noopEventFactory().beginTask();
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public FlightRecorderEvents.XmlFileEvent beginXmlFile() {
+        final JfrXmlFileEvent event = new JfrXmlFileEvent();
+        if (!event.isEnabled()) {
+            return FlightRecorderEvents.noopEventFactory().beginXmlFile();
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public FlightRecorderEvents.FileCopyEvent beginFileCopy() {
+        final JfrFileCopyEvent event = new JfrFileCopyEvent();
+        if (!event.isEnabled()) {
+            return FlightRecorderEvents.noopEventFactory().beginFileCopy();
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public FlightRecorderEvents.ManagementOperationEvent beginManagementOperation() {
+        final JfrManagementOperationEvent event = new JfrManagementOperationEvent();
+        if (!event.isEnabled()) {
+            return FlightRecorderEvents.noopEventFactory().beginManagementOperation();
+        }
+        event.begin();
+        return event;
+    }
+
+    @Name("org.jboss.migration.Task")
+    @Label("Migration Task")
+    @Description("The execution of a migration task, including its subtasks")
+    @Category(CATEGORY)
+    static final class JfrTaskEvent extends Event implements FlightRecorderEvents.TaskEvent {
+
+        @Label("Task Path")
+        String taskPath;
+
+        @Label("Task Number")
+        String taskNumber;
+
+        @Label("Result Status")
+        String status;
+
+        @Override
+        public void commit(Object taskPath, String taskNumber, Object status) {
+            end();
+            if (shouldCommit()) {
+                this.taskPath = String.valueOf(taskPath);
+                this.taskNumber = taskNumber;
+                this.status = status != null ? status.toString() : null;
+                commit();
+            }
+        }
+    }
+
+    @Name("org.jboss.migration.XmlFile")
+    @Label("Migration XML File")
+    @Description("A pass over a XML file, which reads and may rewrite it")
+    @Category(CATEGORY)
+    static final class JfrXmlFileEvent extends Event implements FlightRecorderEvents.XmlFileEvent {
+
+        @Label("XML File")
+        String xmlFile;
+
+        @Label("Pass")
+        String pass;
+
+        @Label("Size")
+        @DataAmount
+        long bytes;
+
+        @Label("Elements")
+        long elements;
+
+        @Override
+        public void commit(Path xmlFile, String pass, long bytes, long elements) {
+            end();
+            if (shouldCommit()) {
+                this.xmlFile = String.valueOf(xmlFile);
+                this.pass = pass;
+                this.bytes = bytes;
+                this.elements = elements;
+                commit();
+            }
+        }
+    }
+
+    @Name("org.jboss.migration.FileCopy")
+    @Label("Migration File Copy")
+    @Description("The copy of a file, or of a directory's files")
+    @Category(CATEGORY)
+    static final class JfrFileCopyEvent extends Event implements FlightRecorderEvents.FileCopyEvent {
+
+        @Label("Source")
+        String source;
+
+        @Label("Target")
+        String target;
+
+        @Label("Strategy")
+        String strategy;
+
+        @Label("Files")
+        int files;
+
+        @Label("Size")
+        @DataAmount
+        long bytes;
+
+        @Override
+        public void commit(Path source, Path target, Object strategy, int files, long bytes) {
+            end();
+            if (shouldCommit()) {
+                this.source = String.valueOf(source);
+                this.target = String.valueOf(target);
+                this.strategy = String.valueOf(strategy);
+                this.files = files;
+                this.bytes = bytes;
+                commit();
+            }
+        }
+    }
+
+    @Name("org.jboss.migration.ManagementOperation")
+    @Label("Migration Management Operation")
+    @Description("The execution of a management operation, on an embedded server or host controller")
+    @Category(CATEGORY)
+    static final class JfrManagementOperationEvent extends Event implements FlightRecorderEvents.ManagementOperationEvent {
+
+        @Label("Operation")
+        String operationName;
+
+        @Label("Address")
+        String address;
+
+        @Label("Successful")
+        boolean successful;
+
+        @Override
+        public void commit(String operationName, Object address, boolean successful) {
+            end();
+            if (shouldCommit()) {
+                this.operationName = operationName;
+                this.address = String.valueOf(address);
+                this.successful = successful;
+                commit();
+            }
+        }
+    }
+}
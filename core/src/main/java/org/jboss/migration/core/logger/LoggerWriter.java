@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.logger;
+
+import org.jboss.logging.BasicLogger;
+import org.jboss.logging.Logger;
+
+import java.io.Writer;
+
+/**
+ * A writer which logs each line written, e.g. to stream a report to the log, without building the whole report as a String.
+ * @author emmartins
+ */
+public class LoggerWriter extends Writer {
+
+    private final BasicLogger logger;
+    private final Logger.Level level;
+    private final StringBuilder line;
+
+    /**
+     *
+     * @param logger the logger
+     * @param level the level of the lines logged
+     */
+    public LoggerWriter(BasicLogger logger, Logger.Level level) {
+        this.logger = logger;
+        this.level = level;
+        this.line = new StringBuilder();
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        final int end = off + len;
+        for (int i = off; i < end; i++) {
+            final char c = cbuf[i];
+            if (c == '\n') {
+                logLine();
+            } else {
+                line.append(c);
+            }
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+        final int end = off + len;
+        int lineStart = off;
+        for (int i = off; i < end; i++) {
+            if (str.charAt(i) == '\n') {
+                line.append(str, lineStart, i);
+                logLine();
+                lineStart = i + 1;
+            }
+        }
+        line.append(str, lineStart, end);
+    }
+
+    private void logLine() {
+        // the line is the message, not a format
+        logger.log(level, line.toString());
+        line.setLength(0);
+    }
+
+    /**
+     * Logs the last line, if not terminated.
+     */
+    @Override
+    public void flush() {
+        if (line.length() > 0) {
+            logLine();
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A latency histogram with log-linear buckets, i.e. each power of two range is split in {@link #SUB_BUCKETS} buckets, thus values are recorded with a relative error under 7%.
+ * Recording is lock and allocation free, and snapshots are immutable.
+ * @author emmartins
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets;
+    private final LongAdder count;
+    private final LongAdder totalNanos;
+    private final AtomicLong maxNanos;
+    private final boolean snapshot;
+
+    public LatencyHistogram() {
+        this.buckets = new AtomicLongArray(BUCKETS);
+        this.count = new LongAdder();
+        this.totalNanos = new LongAdder();
+        this.maxNanos = new AtomicLong();
+        this.snapshot = false;
+    }
+
+    private LatencyHistogram(LatencyHistogram histogram) {
+        final long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.buckets.get(i);
+            count += counts[i];
+        }
+        this.buckets = new AtomicLongArray(counts);
+        // the count is taken from the buckets, so that it's consistent with the percentiles, even if latencies are concurrently recorded
+        this.count = new LongAdder();
+        this.count.add(count);
+        this.totalNanos = new LongAdder();
+        this.totalNanos.add(histogram.getTotalNanos());
+        this.maxNanos = new AtomicLong(histogram.getMaxNanos());
+        this.snapshot = true;
+    }
+
+    /**
+     * @return an immutable copy of the histogram, which is not affected by latencies recorded afterwards
+     */
+    public LatencyHistogram snapshot() {
+        return snapshot ? this : new LatencyHistogram(this);
+    }
+
+    /**
+     * Records a latency.
+     * @param nanos the latency, in nanoseconds
+     * @throws IllegalStateException if the histogram is a snapshot
+     */
+    public void record(long nanos) throws IllegalStateException {
+        if (snapshot) {
+            throw new IllegalStateException("Latency histogram snapshots are immutable");
+        }
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(getBucketIndex(nanos));
+        count.increment();
+        totalNanos.add(nanos);
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * @return the number of latencies recorded
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the sum of the latencies recorded, in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * @return the max latency recorded, in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @return the mean latency recorded, in nanoseconds, 0 if none recorded
+     */
+    public long getMeanNanos() {
+        final long count = getCount();
+        return count > 0 ? getTotalNanos() / count : 0;
+    }
+
+    /**
+     * Retrieves a latency percentile.
+     * @param percentile the percentile, e.g. 99.0
+     * @return the lowest value of the bucket which includes the percentile, in nanoseconds, but never more than the max latency recorded, which is the 100th percentile, 0 if none recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile >= 100.0) {
+            return getMaxNanos();
+        }
+        long total = 0;
+        final long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return Math.min(getBucketLowestValue(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    static long getBucketLowestValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int exponent = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        final int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+}
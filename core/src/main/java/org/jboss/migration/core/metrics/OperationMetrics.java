@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of a category of operations, e.g. management operations, with the count, errors and latency histogram of each operation name.
+ * The metrics of each category are shared by the whole JVM, and reset when a migration starts, thus a migration's results keep an immutable {@link #snapshot()} of them.
+ * @author emmartins
+ */
+public final class OperationMetrics {
+
+    private static final ConcurrentMap<String, OperationMetrics> CATEGORIES = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves the metrics of a category of operations.
+     * @param category the category
+     * @return the category's metrics
+     */
+    public static OperationMetrics getInstance(String category) {
+        return CATEGORIES.computeIfAbsent(category, OperationMetrics::new);
+    }
+
+    /**
+     * @return the metrics of all categories with recorded operations, sorted by category
+     */
+    public static Map<String, OperationMetrics> getInstances() {
+        final Map<String, OperationMetrics> result = new TreeMap<>();
+        for (OperationMetrics operationMetrics : CATEGORIES.values()) {
+            if (!operationMetrics.operations.isEmpty()) {
+                result.put(operationMetrics.category, operationMetrics);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * @return an immutable copy of the metrics of all categories with recorded operations, sorted by category, which is not affected by operations recorded, or a reset, afterwards
+     */
+    public static Map<String, OperationMetrics> snapshot() {
+        final Map<String, OperationMetrics> result = new TreeMap<>();
+        for (OperationMetrics operationMetrics : CATEGORIES.values()) {
+            if (!operationMetrics.operations.isEmpty()) {
+                result.put(operationMetrics.category, new OperationMetrics(operationMetrics));
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Discards the metrics of all categories.
+     */
+    public static void reset() {
+        for (OperationMetrics operationMetrics : CATEGORIES.values()) {
+            operationMetrics.operations.clear();
+        }
+    }
+
+    private final String category;
+    private final ConcurrentMap<String, Operation> operations;
+    private final boolean snapshot;
+
+    private OperationMetrics(String category) {
+        this.category = category;
+        this.operations = new ConcurrentHashMap<>();
+        this.snapshot = false;
+    }
+
+    private OperationMetrics(OperationMetrics operationMetrics) {
+        this.category = operationMetrics.category;
+        this.operations = new ConcurrentHashMap<>();
+        for (Operation operation : operationMetrics.operations.values()) {
+            operations.put(operation.name, new Operation(operation));
+        }
+        this.snapshot = true;
+    }
+
+    /**
+     * @return the category of the operations
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Records an operation.
+     * @param operationName the operation's name
+     * @param durationNanos the operation's latency, in nanoseconds
+     * @param failed true if the operation failed, false otherwise
+     * @throws IllegalStateException if the metrics are a snapshot
+     */
+    public void record(String operationName, long durationNanos, boolean failed) throws IllegalStateException {
+        if (snapshot) {
+            throw new IllegalStateException("Operation metrics snapshots are immutable");
+        }
+        Operation operation = operations.get(operationName);
+        if (operation == null) {
+            operation = operations.computeIfAbsent(operationName, Operation::new);
+        }
+        operation.latencies.record(durationNanos);
+        if (failed) {
+            operation.errors.increment();
+        }
+    }
+
+    /**
+     * @return the metrics of each operation name, sorted by total latency, the highest first
+     */
+    public List<Operation> getOperations() {
+        final List<Operation> result = new ArrayList<>(operations.values());
+        result.sort(Comparator.comparingLong((Operation operation) -> operation.getLatencies().getTotalNanos()).reversed());
+        return result;
+    }
+
+    /**
+     * The metrics of an operation name.
+     */
+    public static final class Operation {
+
+        private final String name;
+        private final LatencyHistogram latencies;
+        private final LongAdder errors;
+
+        private Operation(String name) {
+            this.name = name;
+            this.latencies = new LatencyHistogram();
+            this.errors = new LongAdder();
+        }
+
+        private Operation(Operation operation) {
+            this.name = operation.name;
+            this.latencies = operation.latencies.snapshot();
+            this.errors = new LongAdder();
+            this.errors.add(operation.getErrors());
+        }
+
+        /**
+         * @return the operation's name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the operation's latencies, which count includes failed operations
+         */
+        public LatencyHistogram getLatencies() {
+            return latencies;
+        }
+
+        /**
+         * @return the number of failed operations
+         */
+        public long getErrors() {
+            return errors.sum();
+        }
+    }
+}
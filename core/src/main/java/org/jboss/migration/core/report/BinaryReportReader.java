@@ -0,0 +1,334 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.report;
+
+import org.jboss.migration.core.task.ServerMigrationTaskResult;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads a report written by {@link BinaryReportWriter}, task by task, e.g. to ingest many reports without parsing XML.
+ * @author emmartins
+ */
+public class BinaryReportReader implements Closeable {
+
+    private static final ServerMigrationTaskResult.Status[] STATUSES = ServerMigrationTaskResult.Status.values();
+
+    private final DataInputStream in;
+    private final Header header;
+    private int tasksRead;
+
+    /**
+     * Reads a report's header.
+     * @param in the report's input stream, which is closed by the reader
+     * @throws IOException if the input stream failed, or is not a supported report
+     */
+    public BinaryReportReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new GZIPInputStream(in, 8192));
+        try {
+            if (this.in.readInt() != BinaryReportWriter.MAGIC) {
+                throw new IOException("Not a binary migration report");
+            }
+            final short version = this.in.readShort();
+            if (version > BinaryReportWriter.FORMAT_VERSION) {
+                throw new IOException("Unsupported binary migration report version "+version);
+            }
+            this.header = readHeader(readRecord());
+        } catch (IOException e) {
+            this.in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a report file.
+     * @param path the report file's path
+     * @return the reader
+     * @throws IOException if the file could not be read, or is not a supported report
+     */
+    public static BinaryReportReader open(Path path) throws IOException {
+        return new BinaryReportReader(new BufferedInputStream(Files.newInputStream(path)));
+    }
+
+    /**
+     * @return the report's header
+     */
+    public Header getHeader() {
+        return header;
+    }
+
+    /**
+     * Reads the next task, in the depth first traversal of the task tree.
+     * @return the next task, null if all tasks were read
+     * @throws IOException if the report could not be read
+     */
+    public Task nextTask() throws IOException {
+        if (tasksRead == header.taskCount) {
+            return null;
+        }
+        final Task task = readTask(readRecord());
+        tasksRead++;
+        return task;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private DataInputStream readRecord() throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid record length "+length);
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    private static Header readHeader(DataInputStream data) throws IOException {
+        final long startTime = data.readLong();
+        final ServerInfo source = readServer(data);
+        final ServerInfo target = readServer(data);
+        final Map<String, String> environment = readMap(data);
+        final int taskCount = data.readInt();
+        return new Header(startTime, source, target, environment, taskCount);
+    }
+
+    private static ServerInfo readServer(DataInputStream data) throws IOException {
+        return new ServerInfo(readString(data), readString(data), readString(data));
+    }
+
+    private static Task readTask(DataInputStream data) throws IOException {
+        final String number = readString(data);
+        final String name = readString(data);
+        final Map<String, String> attributes = readMap(data);
+        final byte status = data.readByte();
+        final String failReason = readString(data);
+        final Map<String, String> resultAttributes = readMap(data);
+        final long startTime = data.readLong();
+        final long durationNanos = data.readLong();
+        final long selfDurationNanos = data.readLong();
+        final long cpuTimeNanos = data.readLong();
+        final long allocatedBytes = data.readLong();
+        final int subtaskCount = data.readInt();
+        // statuses unknown to this reader, i.e. added by newer format versions, are read as null
+        return new Task(number, name, attributes, status >= 0 && status < STATUSES.length ? STATUSES[status] : null, failReason, resultAttributes, startTime, durationNanos, selfDurationNanos, cpuTimeNanos, allocatedBytes, subtaskCount);
+    }
+
+    private static Map<String, String> readMap(DataInputStream data) throws IOException {
+        final int size = data.readInt();
+        if (size == 0) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(readString(data), readString(data));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        final int length = data.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A report's header.
+     */
+    public static class Header {
+
+        private final long startTime;
+        private final ServerInfo source;
+        private final ServerInfo target;
+        private final Map<String, String> environment;
+        private final int taskCount;
+
+        private Header(long startTime, ServerInfo source, ServerInfo target, Map<String, String> environment, int taskCount) {
+            this.startTime = startTime;
+            this.source = source;
+            this.target = target;
+            this.environment = environment;
+            this.taskCount = taskCount;
+        }
+
+        /**
+         * @return the migration's start time, in milliseconds
+         */
+        public long getStartTime() {
+            return startTime;
+        }
+
+        public ServerInfo getSource() {
+            return source;
+        }
+
+        public ServerInfo getTarget() {
+            return target;
+        }
+
+        /**
+         * @return the environment properties read by the migration
+         */
+        public Map<String, String> getEnvironment() {
+            return environment;
+        }
+
+        public int getTaskCount() {
+            return taskCount;
+        }
+    }
+
+    /**
+     * A migration source or target server.
+     */
+    public static class ServerInfo {
+
+        private final String name;
+        private final String version;
+        private final String baseDir;
+
+        private ServerInfo(String name, String version, String baseDir) {
+            this.name = name;
+            this.version = version;
+            this.baseDir = baseDir;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getBaseDir() {
+            return baseDir;
+        }
+    }
+
+    /**
+     * A task's record.
+     */
+    public static class Task {
+
+        private final String number;
+        private final String name;
+        private final Map<String, String> attributes;
+        private final ServerMigrationTaskResult.Status status;
+        private final String failReason;
+        private final Map<String, String> resultAttributes;
+        private final long startTime;
+        private final long durationNanos;
+        private final long selfDurationNanos;
+        private final long cpuTimeNanos;
+        private final long allocatedBytes;
+        private final int subtaskCount;
+
+        private Task(String number, String name, Map<String, String> attributes, ServerMigrationTaskResult.Status status, String failReason, Map<String, String> resultAttributes, long startTime, long durationNanos, long selfDurationNanos, long cpuTimeNanos, long allocatedBytes, int subtaskCount) {
+            this.number = number;
+            this.name = name;
+            this.attributes = attributes;
+            this.status = status;
+            this.failReason = failReason;
+            this.resultAttributes = resultAttributes;
+            this.startTime = startTime;
+            this.durationNanos = durationNanos;
+            this.selfDurationNanos = selfDurationNanos;
+            this.cpuTimeNanos = cpuTimeNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.subtaskCount = subtaskCount;
+        }
+
+        public String getNumber() {
+            return number;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Map<String, String> getAttributes() {
+            return attributes;
+        }
+
+        /**
+         * @return the result status, null if the task has no result, or if the status is unknown to the reader
+         */
+        public ServerMigrationTaskResult.Status getStatus() {
+            return status;
+        }
+
+        public String getFailReason() {
+            return failReason;
+        }
+
+        public Map<String, String> getResultAttributes() {
+            return resultAttributes;
+        }
+
+        public long getStartTime() {
+            return startTime;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        public long getSelfDurationNanos() {
+            return selfDurationNanos;
+        }
+
+        /**
+         * @return the task's CPU time, -1 if not supported by the migration's JVM
+         */
+        public long getCpuTimeNanos() {
+            return cpuTimeNanos;
+        }
+
+        /**
+         * @return the task's allocated bytes, -1 if not supported by the migration's JVM
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /**
+         * @return the number of subtasks, which are the records following the task's
+         */
+        public int getSubtaskCount() {
+            return subtaskCount;
+        }
+    }
+}
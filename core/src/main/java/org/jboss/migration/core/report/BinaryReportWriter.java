@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.report;
+
+import org.jboss.migration.core.MigrationData;
+import org.jboss.migration.core.Server;
+import org.jboss.migration.core.env.MigrationEnvironment;
+import org.jboss.migration.core.task.ServerMigrationTaskResult;
+import org.jboss.migration.core.task.TaskExecution;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The binary report writer, which writes a gzip compressed report, meant to be read by tools with {@link BinaryReportReader}.
+ * After a magic number and the format version, the report has a header record, with the servers, environment and number of tasks, followed by a record per task, in the depth first traversal of the task tree.
+ * Each record is prefixed by its length, so that readers may skip any data appended to records by newer format versions.
+ * @author emmartins
+ */
+public class BinaryReportWriter {
+
+    public static BinaryReportWriter INSTANCE = new BinaryReportWriter();
+
+    static final int MAGIC = 0x4A534D52;
+    static final short FORMAT_VERSION = 1;
+
+    private BinaryReportWriter() {
+
+    }
+
+    public void toPath(Path path, MigrationData migrationData) throws IOException {
+        Files.createDirectories(path.getParent());
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            write(migrationData, out);
+        }
+    }
+
+    /**
+     * Writes the report, task by task.
+     * @param migrationData the migration data
+     * @param out the output stream, which is not closed
+     * @throws IOException if the output stream failed
+     */
+    public void write(MigrationData migrationData, OutputStream out) throws IOException {
+        final GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+        final DataOutputStream dataOut = new DataOutputStream(gzipOut);
+        dataOut.writeInt(MAGIC);
+        dataOut.writeShort(FORMAT_VERSION);
+        final RecordWriter record = new RecordWriter();
+        writeHeader(migrationData, record.data);
+        record.writeTo(dataOut);
+        writeTask(migrationData.getRootTask(), record, dataOut);
+        dataOut.flush();
+        gzipOut.finish();
+    }
+
+    private void writeHeader(MigrationData migrationData, DataOutputStream data) throws IOException {
+        data.writeLong(migrationData.getRootTask().getStartTime());
+        writeServer(migrationData.getSource(), data);
+        writeServer(migrationData.getTarget(), data);
+        final MigrationEnvironment environment = migrationData.getServerMigrationEnvironment();
+        final List<String> propertyNames = environment.getPropertyNamesReaded();
+        data.writeInt(propertyNames.size());
+        for (String propertyName : propertyNames) {
+            writeString(propertyName, data);
+            writeString(environment.getPropertyAsString(propertyName), data);
+        }
+        data.writeInt(migrationData.getTasks().size());
+    }
+
+    private void writeServer(Server server, DataOutputStream data) throws IOException {
+        writeString(server.getProductInfo().getName(), data);
+        writeString(server.getProductInfo().getVersion(), data);
+        writeString(server.getBaseDir().toString(), data);
+    }
+
+    private void writeTask(TaskExecution task, RecordWriter record, DataOutputStream out) throws IOException {
+        final DataOutputStream data = record.data;
+        writeString(task.getTaskNumber(), data);
+        writeString(task.getTaskName().getName(), data);
+        writeMap(task.getTaskName().getAttributes(), data);
+        final ServerMigrationTaskResult result = task.getResult();
+        data.writeByte(result != null ? result.getStatus().ordinal() : -1);
+        writeString(result != null && result.getFailReason() != null ? result.getFailReason().toString() : null, data);
+        writeMap(result != null ? result.getAttributes() : null, data);
+        data.writeLong(task.getStartTime());
+        data.writeLong(task.getDurationNanos());
+        data.writeLong(task.getSelfDurationNanos());
+        data.writeLong(task.getCpuTimeNanos());
+        data.writeLong(task.getAllocatedBytes());
+        final List<TaskExecution> subtasks = task.getSubtasks();
+        data.writeInt(subtasks.size());
+        record.writeTo(out);
+        for (TaskExecution subtask : subtasks) {
+            writeTask(subtask, record, out);
+        }
+    }
+
+    private static void writeMap(Map<String, String> map, DataOutputStream data) throws IOException {
+        if (map == null) {
+            data.writeInt(0);
+            return;
+        }
+        data.writeInt(map.size());
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            writeString(entry.getKey(), data);
+            writeString(entry.getValue(), data);
+        }
+    }
+
+    private static void writeString(String s, DataOutputStream data) throws IOException {
+        if (s == null) {
+            data.writeInt(-1);
+            return;
+        }
+        // not writeUTF, which is limited to 64K bytes
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    /**
+     * Buffers a record, which is written prefixed by its length.
+     */
+    private static class RecordWriter {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        private final DataOutputStream data = new DataOutputStream(bytes);
+
+        void writeTo(DataOutputStream out) throws IOException {
+            data.flush();
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+            bytes.reset();
+        }
+    }
+}
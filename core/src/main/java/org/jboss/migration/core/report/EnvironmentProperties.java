@@ -41,6 +41,26 @@ public interface EnvironmentProperties {
      */
     String SUMMARY_REPORT_PROPERTIES_PREFIX = REPORT_PROPERTIES_PREFIX + "summary.";
 
+    /**
+     * the prefix of all properties related with the trace report
+     */
+    String TRACE_REPORT_PROPERTIES_PREFIX = REPORT_PROPERTIES_PREFIX + "trace.";
+
+    /**
+     * the prefix of all properties related with the metrics report
+     */
+    String METRICS_REPORT_PROPERTIES_PREFIX = REPORT_PROPERTIES_PREFIX + "metrics.";
+
+    /**
+     * the prefix of all properties related with the JSON report
+     */
+    String JSON_REPORT_PROPERTIES_PREFIX = REPORT_PROPERTIES_PREFIX + "json.";
+
+    /**
+     * the prefix of all properties related with the binary report
+     */
+    String BINARY_REPORT_PROPERTIES_PREFIX = REPORT_PROPERTIES_PREFIX + "binary.";
+
     /**
      * The HTML report will show subtasks, if the task has a path size smaller or equal, than this property value.
      */
@@ -50,4 +70,9 @@ public interface EnvironmentProperties {
      * The SUMMARY report will show subtasks, if the task has a path size smaller or equal, than this property value.
      */
     String SUMMARY_REPORT_PROPERTY_MAX_TASK_PATH_SIZE_TO_DISPLAY_SUBTASKS = SUMMARY_REPORT_PROPERTIES_PREFIX + "maxTaskPathSizeToDisplaySubtasks";
+
+    /**
+     * The reports will show this property value's number of slowest tasks, by self duration, none if 0.
+     */
+    String PROPERTY_SLOWEST_TASKS = REPORT_PROPERTIES_PREFIX + "slowestTasks";
 }
@@ -16,237 +16,304 @@
 package org.jboss.migration.core.report;
 
 import org.jboss.migration.core.MigrationData;
+import org.jboss.migration.core.metrics.LatencyHistogram;
+import org.jboss.migration.core.metrics.OperationMetrics;
 import org.jboss.migration.core.task.ServerMigrationTaskResult;
 import org.jboss.migration.core.task.TaskExecution;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.TimeZone;
 
 /**
- * The HTML report writer.
+ * The HTML report writer, which writes the report task by task, so that its memory usage is proportional to the task tree's depth, and not its size.
  * @author emmartins
  */
 public class HtmlReportWriter {
 
     public static HtmlReportWriter INSTANCE = new HtmlReportWriter();
 
+    private static final DateTimeFormatter START_TIME_FORMATTER = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss z").withZone(ZoneId.of("UTC"));
+
     private HtmlReportWriter() {
 
     }
 
     public void toPath(Path path, MigrationData migrationData, ReportTemplate template) throws IOException {
-        final String s = toString(migrationData,template);
         Files.createDirectories(path.getParent());
         try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
-            writer.write(s, 0, s.length());
+            write(migrationData, template, writer);
         }
     }
 
     public String toString(MigrationData migrationData, ReportTemplate template) {
-        final StringBuilder sb = new StringBuilder();
-        sb.append(template.header);
-        appendSummary(migrationData, sb);
-        sb.append(template.summaryToEnvironment);
-        appendEnvironment(migrationData, sb);
-        sb.append(template.environmentToTaskSummary);
-        appendTaskSummary(migrationData, sb);
-        sb.append(template.taskSummaryToTaskMap);
-        appendTaskMap(migrationData, sb);
-        sb.append(template.footer);
-        return sb.toString();
+        final StringWriter writer = new StringWriter();
+        try {
+            write(migrationData, template, writer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the report, task by task, i.e. without building the whole report in memory.
+     * @param migrationData the migration data
+     * @param template the report template
+     * @param writer the writer
+     * @throws IOException if the writer failed
+     */
+    public void write(MigrationData migrationData, ReportTemplate template, Writer writer) throws IOException {
+        writer.write(template.segments.get(0));
+        for (int i = 0; i < template.markers.size(); i++) {
+            switch (template.markers.get(i)) {
+                case ReportTemplate.SUMMARY_MARKER:
+                    appendSummary(migrationData, writer);
+                    break;
+                case ReportTemplate.ENVIRONMENT_MARKER:
+                    appendEnvironment(migrationData, writer);
+                    break;
+                case ReportTemplate.TASK_SUMMARY_MARKER:
+                    appendTaskSummary(migrationData, writer);
+                    break;
+                case ReportTemplate.SLOWEST_TASKS_MARKER:
+                    appendSlowestTasks(migrationData, writer);
+                    break;
+                case ReportTemplate.OPERATION_METRICS_MARKER:
+                    appendOperationMetrics(migrationData, writer);
+                    break;
+                case ReportTemplate.TASK_MAP_MARKER:
+                    appendTaskMap(migrationData, writer);
+                    break;
+                default:
+                    break;
+            }
+            writer.write(template.segments.get(i + 1));
+        }
     }
 
-    private void appendSummary(MigrationData migrationData, StringBuilder sb) {
-        final SimpleDateFormat sdf = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss z");
-        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-        final String utcTime = sdf.format(new Date(migrationData.getRootTask().getStartTime()));
-        appendProperty("Start Time", utcTime, sb);
-        appendProperty("Source Server", migrationData.getSource().getProductInfo().getName() + ' ' + migrationData.getSource().getProductInfo().getVersion(), sb);
-        appendProperty("Source Path", migrationData.getSource().getBaseDir(), sb);
-        appendProperty("Target Server", migrationData.getTarget().getProductInfo().getName() + ' ' + migrationData.getTarget().getProductInfo().getVersion(), sb);
-        appendProperty("Target Path", migrationData.getTarget().getBaseDir(), sb);
-        appendProperty("Result", getTaskStatus(migrationData.getRootTask().getResult(), migrationData.getRootTask().getResult().getStatus()), sb);
+    private void appendSummary(MigrationData migrationData, Writer writer) throws IOException {
+        final String utcTime = START_TIME_FORMATTER.format(Instant.ofEpochMilli(migrationData.getRootTask().getStartTime()));
+        appendProperty("Start Time", utcTime, writer);
+        appendProperty("Source Server", migrationData.getSource().getProductInfo().getName() + ' ' + migrationData.getSource().getProductInfo().getVersion(), writer);
+        appendProperty("Source Path", migrationData.getSource().getBaseDir(), writer);
+        appendProperty("Target Server", migrationData.getTarget().getProductInfo().getName() + ' ' + migrationData.getTarget().getProductInfo().getVersion(), writer);
+        appendProperty("Target Path", migrationData.getTarget().getBaseDir(), writer);
+        appendProperty("Result", getTaskStatus(migrationData.getRootTask().getResult(), migrationData.getRootTask().getResult().getStatus()), writer);
     }
 
-    private void appendEnvironment(MigrationData migrationData, StringBuilder sb) {
+    private void appendEnvironment(MigrationData migrationData, Writer writer) throws IOException {
         for (String property : migrationData.getServerMigrationEnvironment().getPropertyNamesReaded()) {
-            appendProperty(property, migrationData.getServerMigrationEnvironment().getPropertyAsString(property, "null"), sb);
+            appendProperty(property, migrationData.getServerMigrationEnvironment().getPropertyAsString(property, "null"), writer);
         }
     }
 
-    private void appendTaskSummary(MigrationData migrationData, StringBuilder sb) {
-        appendProperty("Executed", migrationData.getTasks().size(), sb);
-        appendProperty("Successful", migrationData.getTaskCount(ServerMigrationTaskResult.Status.SUCCESS), sb);
-        appendProperty("Skipped", migrationData.getTaskCount(ServerMigrationTaskResult.Status.SKIPPED), sb);
-        appendProperty("Failed", migrationData.getTaskCount(ServerMigrationTaskResult.Status.FAIL), sb);
+    private void appendTaskSummary(MigrationData migrationData, Writer writer) throws IOException {
+        appendProperty("Executed", migrationData.getTasks().size(), writer);
+        appendProperty("Successful", migrationData.getTaskCount(ServerMigrationTaskResult.Status.SUCCESS), writer);
+        appendProperty("Skipped", migrationData.getTaskCount(ServerMigrationTaskResult.Status.SKIPPED), writer);
+        appendProperty("Failed", migrationData.getTaskCount(ServerMigrationTaskResult.Status.FAIL), writer);
+    }
+
+    private void appendSlowestTasks(MigrationData migrationData, Writer writer) throws IOException {
+        final List<TaskExecution> slowestTasks = TaskMetrics.getSlowestTasks(migrationData);
+        if (slowestTasks.isEmpty()) {
+            return;
+        }
+        writer.write("<tr><th>Task</th><th>Self Duration</th><th>Duration</th><th>CPU Time</th><th>Allocated</th></tr>");
+        for (TaskExecution task : slowestTasks) {
+            writer.append("<tr><td class=\"property-name\"><a onclick=\"showTaskDetails('task").append(task.getTaskNumber()).append("')\" href=\"#task").append(task.getTaskNumber()).append("\">").append(task.getTaskNumber()).append(' ').append(String.valueOf(task.getTaskName())).append("</a></td>")
+                    .append("<td class=\"property-value\">").append(TaskMetrics.formatDuration(task.getSelfDurationNanos())).append("</td>")
+                    .append("<td class=\"property-value\">").append(TaskMetrics.formatDuration(task.getDurationNanos())).append("</td>")
+                    .append("<td class=\"property-value\">").append(TaskMetrics.formatCpuTime(task.getCpuTimeNanos())).append("</td>")
+                    .append("<td class=\"property-value\">").append(TaskMetrics.formatBytes(task.getAllocatedBytes())).append("</td></tr>");
+        }
     }
 
-    private void appendTaskMap(MigrationData migrationData, StringBuilder sb) {
+    private void appendOperationMetrics(MigrationData migrationData, Writer writer) throws IOException {
+        if (migrationData.getOperationMetrics().isEmpty()) {
+            return;
+        }
+        writer.write("<tr><th>Operation</th><th>Count</th><th>Errors</th><th>Total</th><th>Mean</th><th>P50</th><th>P90</th><th>P99</th><th>Max</th></tr>");
+        for (OperationMetrics operationMetrics : migrationData.getOperationMetrics().values()) {
+            for (OperationMetrics.Operation operation : operationMetrics.getOperations()) {
+                final LatencyHistogram latencies = operation.getLatencies();
+                writer.append("<tr><td class=\"property-name\">").append(operationMetrics.getCategory()).append(' ').append(operation.getName()).append("</td>")
+                        .append("<td class=\"property-value\">").append(String.valueOf(latencies.getCount())).append("</td>")
+                        .append("<td class=\"property-value\">").append(String.valueOf(operation.getErrors())).append("</td>")
+                        .append("<td class=\"property-value\">").append(TaskMetrics.formatDuration(latencies.getTotalNanos())).append("</td>")
+                        .append("<td class=\"property-value\">").append(TaskMetrics.formatDuration(latencies.getMeanNanos())).append("</td>")
+                        .append("<td class=\"property-value\">").append(TaskMetrics.formatDuration(latencies.getPercentileNanos(50))).append("</td>")
+                        .append("<td class=\"property-value\">").append(TaskMetrics.formatDuration(latencies.getPercentileNanos(90))).append("</td>")
+                        .append("<td class=\"property-value\">").append(TaskMetrics.formatDuration(latencies.getPercentileNanos(99))).append("</td>")
+                        .append("<td class=\"property-value\">").append(TaskMetrics.formatDuration(latencies.getMaxNanos())).append("</td></tr>");
+            }
+        }
+    }
+
+    private void appendTaskMap(MigrationData migrationData, Writer writer) throws IOException {
         final int maxTaskPathSizeToDisplaySubtasks = Integer.valueOf(migrationData.getServerMigrationEnvironment().getPropertyAsString(EnvironmentProperties.PROPERTY_MAX_TASK_PATH_SIZE_TO_DISPLAY_SUBTASKS, "4"));
-        appendTask(migrationData.getRootTask(), sb, maxTaskPathSizeToDisplaySubtasks);
+        appendTask(migrationData.getRootTask(), writer, maxTaskPathSizeToDisplaySubtasks);
     }
 
-    private void appendTask(TaskExecution task, StringBuilder sb, int maxTaskPathSizeToDisplaySubtasks) {
+    private void appendTask(TaskExecution task, Writer writer, int maxTaskPathSizeToDisplaySubtasks) throws IOException {
         final String tableClass = (task.getTaskPath().size() % 2) == 0 ? "task-map-even" : "task-map-odd";
-        sb.append("<table class=\"").append(tableClass).append("\">");
-        appendTaskHeader(task, sb, maxTaskPathSizeToDisplaySubtasks);
-        appendTaskDetails(task, sb);
-        appendTaskSubtasks(task, sb, maxTaskPathSizeToDisplaySubtasks);
-        sb.append("</table>");
+        writer.append("<table class=\"").append(tableClass).append("\">");
+        appendTaskHeader(task, writer, maxTaskPathSizeToDisplaySubtasks);
+        appendTaskDetails(task, writer);
+        appendTaskSubtasks(task, writer, maxTaskPathSizeToDisplaySubtasks);
+        writer.write("</table>");
     }
 
-    private void appendTaskHeader(TaskExecution task, StringBuilder sb, int maxTaskPathSizeToDisplaySubtasks) {
-        sb.append("<tr>");
-        sb.append("<td class=\"task-map-header\">");
-        sb.append("<table class=\"task-header\">");
-        sb.append("<tr>");
+    private void appendTaskHeader(TaskExecution task, Writer writer, int maxTaskPathSizeToDisplaySubtasks) throws IOException {
+        final String taskNumber = task.getTaskNumber();
+        writer.write("<tr><td class=\"task-map-header\"><table class=\"task-header\"><tr>");
         // name
-        sb.append("<td class=\"task-header-name\" id=\"task").append(task.getTaskNumber()).append("\">");
-        sb.append("<a class=\"task-display-toggle\" href=\"#task").append(task.getTaskNumber()).append("\" title=\"Show or hide the task details\" onclick=\"toggleDisplayTaskDetails('task").append(task.getTaskNumber()).append("'); return false\">").append(getTaskStatus(task.getResult(), task.getTaskName())).append("</a>");
-        sb.append("</td>");
+        writer.append("<td class=\"task-header-name\" id=\"task").append(taskNumber).append("\">");
+        writer.append("<a class=\"task-display-toggle\" href=\"#task").append(taskNumber).append("\" title=\"Show or hide the task details\" onclick=\"toggleDisplayTaskDetails('task").append(taskNumber).append("'); return false\">").append(getTaskStatus(task.getResult(), task.getTaskName())).append("</a>");
+        writer.write("</td>");
         // subtasks toggles
         if (!task.getSubtasks().isEmpty()) {
-            sb.append("<td class=\"task-header-toggles\">");
-            sb.append("<table>");
-            sb.append("<tr>");
-            if (task.getTaskPath().size() > maxTaskPathSizeToDisplaySubtasks) {
-                sb.append("<td class=\"task-display-toggle\" style=\"display: none\" id=\"task").append(task.getTaskNumber()).append("-subtasks-hide\">");
-            } else {
-                sb.append("<td class=\"task-display-toggle\" id=\"task").append(task.getTaskNumber()).append("-subtasks-hide\">");
-            }
-            sb.append("<a class=\"task-display-toggle\" title=\"Hide subtasks\" href=\"#task").append(task.getTaskNumber()).append("\" onclick=\"hideSubtasks('task").append(task.getTaskNumber()).append("'); return false\">-</a>");
-            sb.append("</td>");
-            if (task.getTaskPath().size() > maxTaskPathSizeToDisplaySubtasks) {
-                sb.append("<td class=\"task-display-toggle\" id=\"task").append(task.getTaskNumber()).append("-subtasks-show\">");
-            } else {
-                sb.append("<td class=\"task-display-toggle\" style=\"display: none\" id=\"task").append(task.getTaskNumber()).append("-subtasks-show\">");
-            }
-            sb.append("<a class=\"task-display-toggle\" title=\"Show subtasks\" href=\"#task").append(task.getTaskNumber()).append("\" onclick=\"showSubtasks('task").append(task.getTaskNumber()).append("'); return false\">+</a>");
-            sb.append("</td>");
-            sb.append("</tr>");
-            sb.append("</table>");
-            sb.append("</td>");
+            final boolean hideSubtasks = task.getTaskPath().size() > maxTaskPathSizeToDisplaySubtasks;
+            writer.write("<td class=\"task-header-toggles\"><table><tr>");
+            writer.append(hideSubtasks ? "<td class=\"task-display-toggle\" style=\"display: none\" id=\"task" : "<td class=\"task-display-toggle\" id=\"task").append(taskNumber).append("-subtasks-hide\">");
+            writer.append("<a class=\"task-display-toggle\" title=\"Hide subtasks\" href=\"#task").append(taskNumber).append("\" onclick=\"hideSubtasks('task").append(taskNumber).append("'); return false\">-</a>");
+            writer.write("</td>");
+            writer.append(hideSubtasks ? "<td class=\"task-display-toggle\" id=\"task" : "<td class=\"task-display-toggle\" style=\"display: none\" id=\"task").append(taskNumber).append("-subtasks-show\">");
+            writer.append("<a class=\"task-display-toggle\" title=\"Show subtasks\" href=\"#task").append(taskNumber).append("\" onclick=\"showSubtasks('task").append(taskNumber).append("'); return false\">+</a>");
+            writer.write("</td></tr></table></td>");
         }
-        sb.append("</tr>");
-        sb.append("</table>");
-        sb.append("</td>");
-        sb.append("</tr>");
+        writer.write("</tr></table></td></tr>");
     }
 
-    private void appendTaskDetails(TaskExecution task, StringBuilder sb) {
-        sb.append("<tr>");
-        sb.append("<td id=\"task").append(task.getTaskNumber()).append("-details\" style=\"display: none\" class=\"task-map-details\"><table class=\"task-details\">");
+    private void appendTaskDetails(TaskExecution task, Writer writer) throws IOException {
+        writer.write("<tr>");
+        writer.append("<td id=\"task").append(task.getTaskNumber()).append("-details\" style=\"display: none\" class=\"task-map-details\"><table class=\"task-details\">");
 
-        appendTaskDetailsProperty("Task Number", task.getTaskNumber(), sb);
-        appendTaskDetailsProperty("Task Name", task.getTaskName(), sb);
-        appendTaskDetailsProperty("Task Path", task.getTaskPath(), sb);
-        appendTaskDetailsProperty("Logger Name", task.getLogger().getName(), sb);
+        appendTaskDetailsProperty("Task Number", task.getTaskNumber(), writer);
+        appendTaskDetailsProperty("Task Name", task.getTaskName(), writer);
+        appendTaskDetailsProperty("Task Path", task.getTaskPath(), writer);
+        appendTaskDetailsProperty("Duration", TaskMetrics.formatDuration(task.getDurationNanos()), writer);
+        appendTaskDetailsProperty("Self Duration", TaskMetrics.formatDuration(task.getSelfDurationNanos()), writer);
+        appendTaskDetailsProperty("CPU Time", TaskMetrics.formatCpuTime(task.getCpuTimeNanos()), writer);
+        appendTaskDetailsProperty("Allocated", TaskMetrics.formatBytes(task.getAllocatedBytes()), writer);
 
         // result
         final ServerMigrationTaskResult result = task.getResult();
-        appendTaskDetailsProperty("Result Status", getTaskStatus(result, result.getStatus()), sb);
+        appendTaskDetailsProperty("Result Status", getTaskStatus(result, result.getStatus()), writer);
         if (result.getStatus() == ServerMigrationTaskResult.Status.FAIL) {
-            appendTaskDetailsProperty("Fail Reason", result.getFailReason(), sb);
+            appendTaskDetailsProperty("Fail Reason", result.getFailReason(), writer);
         }
         final Map<String, String> attributes = result.getAttributes();
         if (attributes != null && !attributes.isEmpty()) {
-            final StringBuilder temp = new StringBuilder();
+            startTaskDetailsProperty("Result Attributes", writer);
             boolean first = true;
             for (Map.Entry<String, String> attribute : attributes.entrySet()) {
                 if (first) {
                     first = false;
                 } else {
-                    temp.append("<br/>");
+                    writer.write("<br/>");
                 }
-                temp.append(attribute.getKey()).append(" = ").append(attribute.getValue());
+                writer.append(attribute.getKey()).append(" = ").append(attribute.getValue());
             }
-            appendTaskDetailsProperty("Result Attributes", temp, sb);
+            endTaskDetailsProperty(writer);
         }
 
         // subtasks
         if (!task.getSubtasks().isEmpty()) {
-            final StringBuilder temp = new StringBuilder();
+            startTaskDetailsProperty("Subtasks", writer);
             boolean first = true;
             for (TaskExecution subtask : task.getSubtasks()) {
                 if (first) {
                     first = false;
                 } else {
-                    temp.append("<br/>");
+                    writer.write("<br/>");
                 }
-                temp.append("<a onclick=\"showSubtasks('task").append(task.getTaskNumber()).append("'); showTaskDetails('task").append(subtask.getTaskNumber()).append("')\" href=\"#task").append(subtask.getTaskNumber()).append("\">").append(subtask.getTaskName()).append("</a>");
+                writer.append("<a onclick=\"showSubtasks('task").append(task.getTaskNumber()).append("'); showTaskDetails('task").append(subtask.getTaskNumber()).append("')\" href=\"#task").append(subtask.getTaskNumber()).append("\">").append(String.valueOf(subtask.getTaskName())).append("</a>");
             }
-            appendTaskDetailsProperty("Subtasks", temp, sb);
+            endTaskDetailsProperty(writer);
         }
 
-        sb.append("</table></td></tr>");
+        writer.write("</table></td></tr>");
     }
 
-    private void appendTaskSubtasks(TaskExecution task, StringBuilder sb, int maxTaskPathSizeToDisplaySubtasks) {
+    private void appendTaskSubtasks(TaskExecution task, Writer writer, int maxTaskPathSizeToDisplaySubtasks) throws IOException {
         final List<TaskExecution> subtasks = task.getSubtasks();
         if (!subtasks.isEmpty()) {
-            sb.append("<tr>");
+            writer.write("<tr>");
             if (task.getTaskPath().size() > maxTaskPathSizeToDisplaySubtasks) {
-                sb.append("<td class=\"task-map-subtasks\" style=\"display: none\" id=\"task").append(task.getTaskNumber()).append("-subtasks\">");
+                writer.append("<td class=\"task-map-subtasks\" style=\"display: none\" id=\"task").append(task.getTaskNumber()).append("-subtasks\">");
             } else {
-                sb.append("<td class=\"task-map-subtasks\" id=\"task").append(task.getTaskNumber()).append("-subtasks\">");
+                writer.append("<td class=\"task-map-subtasks\" id=\"task").append(task.getTaskNumber()).append("-subtasks\">");
             }
-            sb.append("<table class=\"task-subtasks\">");
+            writer.write("<table class=\"task-subtasks\">");
             for (TaskExecution subtask : subtasks) {
-                sb.append("<tr>");
-                sb.append("<td>");
-                appendTask(subtask, sb, maxTaskPathSizeToDisplaySubtasks);
-                sb.append("</td>");
-                sb.append("</tr>");
+                writer.write("<tr><td>");
+                appendTask(subtask, writer, maxTaskPathSizeToDisplaySubtasks);
+                writer.write("</td></tr>");
             }
-            sb.append("</table>");
-            sb.append("</td>");
-            sb.append("</tr>");
+            writer.write("</table></td></tr>");
         }
     }
 
-    private void appendTaskDetailsProperty(String propertyName, Object propertyValue, StringBuilder sb) {
-        sb.append("<tr><td class=\"task-details-property-name\">")
+    private void startTaskDetailsProperty(String propertyName, Writer writer) throws IOException {
+        writer.append("<tr><td class=\"task-details-property-name\">")
                 .append(propertyName)
-                .append(":</td><td class=\"task-details-property-value\">")
-                .append(propertyValue)
-                .append("</td></tr>");
+                .append(":</td><td class=\"task-details-property-value\">");
+    }
+
+    private void endTaskDetailsProperty(Writer writer) throws IOException {
+        writer.write("</td></tr>");
     }
 
-    private void appendProperty(String propertyName, Object propertyValue, StringBuilder sb) {
-        sb.append("<tr><td class=\"property-name\">")
+    private void appendTaskDetailsProperty(String propertyName, Object propertyValue, Writer writer) throws IOException {
+        startTaskDetailsProperty(propertyName, writer);
+        writer.write(String.valueOf(propertyValue));
+        endTaskDetailsProperty(writer);
+    }
+
+    private void appendProperty(String propertyName, Object propertyValue, Writer writer) throws IOException {
+        writer.append("<tr><td class=\"property-name\">")
                 .append(propertyName)
                 .append(":</td><td class=\"property-value\">")
-                .append(propertyValue)
+                .append(String.valueOf(propertyValue))
                 .append("</td></tr>");
     }
 
     private String getTaskStatus(ServerMigrationTaskResult result, Object text) {
-        String sb = "<span class=\"task-result-" + result.getStatus() +
-                "\">" + text + "</span>";
-        return sb;
+        return "<span class=\"task-result-" + result.getStatus() + "\">" + text + "</span>";
     }
 
     public static class ReportTemplate {
-        private final String header;
-        private final String summaryToEnvironment;
-        private final String environmentToTaskSummary;
-        private final String taskSummaryToTaskMap;
-        private final String footer;
-
-        private ReportTemplate(String header, String summaryToEnvironment, String environmentToTaskSummary, String taskSummaryToTaskMap, String footer) {
-            this.header = header;
-            this.summaryToEnvironment = summaryToEnvironment;
-            this.environmentToTaskSummary = environmentToTaskSummary;
-            this.taskSummaryToTaskMap = taskSummaryToTaskMap;
-            this.footer = footer;
+
+        private static final String SUMMARY_MARKER = "$SUMMARY";
+        private static final String ENVIRONMENT_MARKER = "$ENVIRONMENT";
+        private static final String TASK_SUMMARY_MARKER = "$TASK_SUMMARY";
+        private static final String SLOWEST_TASKS_MARKER = "$SLOWEST_TASKS";
+        private static final String OPERATION_METRICS_MARKER = "$OPERATION_METRICS";
+        private static final String TASK_MAP_MARKER = "$TASK_MAP";
+
+        /**
+         * the markers, in the order expected in templates, the slowest tasks and operation metrics markers are optional, i.e. templates older than these do not show such data
+         */
+        private static final String[] MARKERS = { SUMMARY_MARKER, ENVIRONMENT_MARKER, TASK_SUMMARY_MARKER, SLOWEST_TASKS_MARKER, OPERATION_METRICS_MARKER, TASK_MAP_MARKER };
+
+        private final List<String> markers;
+        private final List<String> segments;
+
+        private ReportTemplate(List<String> markers, List<String> segments) {
+            this.markers = markers;
+            this.segments = segments;
         }
 
         public static ReportTemplate from(Path path) throws IOException {
@@ -254,26 +321,20 @@ public class HtmlReportWriter {
         }
 
         public static ReportTemplate from(String string) {
-            final String summaryMarker = "$SUMMARY";
-            final String environmentMarker = "$ENVIRONMENT";
-            final String taskSummaryMarker = "$TASK_SUMMARY";
-            final String taskMapMarker = "$TASK_MAP";
-
-            final int summaryIndex = string.indexOf(summaryMarker);
-            final String header = string.substring(0, summaryIndex);
-
-            final int environmentIndex = string.indexOf(environmentMarker);
-            final String summaryToEnvironment = string.substring(summaryIndex+summaryMarker.length(), environmentIndex);
-
-            final int taskSummaryIndex = string.indexOf(taskSummaryMarker);
-            final String environmentToTaskSummary = string.substring(environmentIndex+environmentMarker.length(), taskSummaryIndex);
-
-            final int taskMapIndex = string.indexOf(taskMapMarker);
-            final String taskSummaryToTaskMap = string.substring(taskSummaryIndex+taskSummaryMarker.length(), taskMapIndex);
-
-            final String footer = string.substring(taskMapIndex+taskMapMarker.length());
-
-            return new ReportTemplate(header, summaryToEnvironment, environmentToTaskSummary, taskSummaryToTaskMap, footer);
+            final List<String> markers = new ArrayList<>();
+            final List<String> segments = new ArrayList<>();
+            int segmentIndex = 0;
+            for (String marker : MARKERS) {
+                final int markerIndex = string.indexOf(marker, segmentIndex);
+                if (markerIndex < 0) {
+                    continue;
+                }
+                segments.add(string.substring(segmentIndex, markerIndex));
+                markers.add(marker);
+                segmentIndex = markerIndex + marker.length();
+            }
+            segments.add(string.substring(segmentIndex));
+            return new ReportTemplate(markers, segments);
         }
     }
 }
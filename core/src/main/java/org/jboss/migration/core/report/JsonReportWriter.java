@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.report;
+
+import org.jboss.migration.core.MigrationData;
+import org.jboss.migration.core.Server;
+import org.jboss.migration.core.env.MigrationEnvironment;
+import org.jboss.migration.core.task.ServerMigrationTaskResult;
+import org.jboss.migration.core.task.TaskExecution;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The JSON report writer, which writes the servers, environment and task tree, with each task's result and timings, task by task into a writer.
+ * @author emmartins
+ */
+public class JsonReportWriter {
+
+    public static JsonReportWriter INSTANCE = new JsonReportWriter();
+
+    private JsonReportWriter() {
+
+    }
+
+    public void toPath(Path path, MigrationData migrationData) throws IOException {
+        Files.createDirectories(path.getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            write(migrationData, writer);
+        }
+    }
+
+    public String toString(MigrationData migrationData) {
+        final StringWriter writer = new StringWriter();
+        try {
+            write(migrationData, writer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the report.
+     * @param migrationData the migration data
+     * @param writer the writer
+     * @throws IOException if the writer failed
+     */
+    public void write(MigrationData migrationData, Writer writer) throws IOException {
+        final JsonWriter json = new JsonWriter(writer);
+        writer.write("{\"startTime\":");
+        writer.write(String.valueOf(migrationData.getRootTask().getStartTime()));
+        writer.write(",\"servers\":{\"source\":");
+        writeServer(migrationData.getSource(), json);
+        writer.write(",\"target\":");
+        writeServer(migrationData.getTarget(), json);
+        writer.write("},\"environment\":");
+        writeEnvironment(migrationData.getServerMigrationEnvironment(), json);
+        writer.write(",\n\"task\":");
+        writeTask(migrationData.getRootTask(), json);
+        writer.write("}\n");
+    }
+
+    private void writeServer(Server server, JsonWriter json) throws IOException {
+        json.writer.write("{\"name\":");
+        json.writeString(server.getProductInfo().getName());
+        json.writer.write(",\"version\":");
+        json.writeString(server.getProductInfo().getVersion());
+        json.writer.write(",\"baseDir\":");
+        json.writeString(server.getBaseDir().toString());
+        json.writer.write('}');
+    }
+
+    private void writeEnvironment(MigrationEnvironment environment, JsonWriter json) throws IOException {
+        json.writer.write('{');
+        boolean first = true;
+        for (String propertyName : environment.getPropertyNamesReaded()) {
+            if (first) {
+                first = false;
+            } else {
+                json.writer.write(',');
+            }
+            json.writeString(propertyName);
+            json.writer.write(':');
+            json.writeString(environment.getPropertyAsString(propertyName));
+        }
+        json.writer.write('}');
+    }
+
+    private void writeTask(TaskExecution task, JsonWriter json) throws IOException {
+        final Writer writer = json.writer;
+        writer.write("{\"number\":");
+        json.writeString(task.getTaskNumber());
+        writer.write(",\"name\":");
+        json.writeString(task.getTaskName().getName());
+        if (!task.getTaskName().getAttributes().isEmpty()) {
+            writer.write(",\"attributes\":");
+            json.writeMap(task.getTaskName().getAttributes());
+        }
+        final ServerMigrationTaskResult result = task.getResult();
+        if (result != null) {
+            writer.write(",\"result\":{\"status\":");
+            json.writeString(result.getStatus().name());
+            if (result.getFailReason() != null) {
+                writer.write(",\"failReason\":");
+                json.writeString(result.getFailReason().toString());
+            }
+            if (!result.getAttributes().isEmpty()) {
+                writer.write(",\"attributes\":");
+                json.writeMap(result.getAttributes());
+            }
+            writer.write('}');
+        }
+        writer.write(",\"startTime\":");
+        writer.write(String.valueOf(task.getStartTime()));
+        writer.write(",\"durationNanos\":");
+        writer.write(String.valueOf(task.getDurationNanos()));
+        writer.write(",\"selfDurationNanos\":");
+        writer.write(String.valueOf(task.getSelfDurationNanos()));
+        if (task.getCpuTimeNanos() >= 0) {
+            writer.write(",\"cpuTimeNanos\":");
+            writer.write(String.valueOf(task.getCpuTimeNanos()));
+        }
+        if (task.getAllocatedBytes() >= 0) {
+            writer.write(",\"allocatedBytes\":");
+            writer.write(String.valueOf(task.getAllocatedBytes()));
+        }
+        final List<TaskExecution> subtasks = task.getSubtasks();
+        if (!subtasks.isEmpty()) {
+            writer.write(",\"subtasks\":[");
+            boolean first = true;
+            for (TaskExecution subtask : subtasks) {
+                if (first) {
+                    first = false;
+                } else {
+                    writer.write(',');
+                }
+                writer.write('\n');
+                writeTask(subtask, json);
+            }
+            writer.write(']');
+        }
+        writer.write('}');
+    }
+
+    /**
+     * A writer of JSON values, which reuses a buffer to escape strings.
+     */
+    private static class JsonWriter {
+
+        private final Writer writer;
+        private final StringBuilder buffer = new StringBuilder();
+
+        private JsonWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        void writeString(String s) throws IOException {
+            buffer.setLength(0);
+            TraceReportWriter.appendString(s, buffer);
+            writer.append(buffer);
+        }
+
+        void writeMap(Map<String, String> map) throws IOException {
+            writer.write('{');
+            boolean first = true;
+            for (Map.Entry<String, String> entry : map.entrySet()) {
+                if (first) {
+                    first = false;
+                } else {
+                    writer.write(',');
+                }
+                writeString(entry.getKey());
+                writer.write(':');
+                writeString(entry.getValue());
+            }
+            writer.write('}');
+        }
+    }
+}
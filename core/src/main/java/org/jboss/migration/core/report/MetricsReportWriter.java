@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.report;
+
+import org.jboss.migration.core.MigrationData;
+import org.jboss.migration.core.metrics.LatencyHistogram;
+import org.jboss.migration.core.metrics.OperationMetrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The metrics report writer, which writes the operation metrics of a migration as JSON.
+ * @author emmartins
+ */
+public class MetricsReportWriter {
+
+    public static MetricsReportWriter INSTANCE = new MetricsReportWriter();
+
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    private MetricsReportWriter() {
+
+    }
+
+    public void toPath(Path path, MigrationData migrationData) throws IOException {
+        Files.createDirectories(path.getParent());
+        final String s = toString(migrationData);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(s, 0, s.length());
+        }
+    }
+
+    /**
+     * Retrieves the operation metrics as JSON, with an object per category, which has an object per operation.
+     * @param migrationData the migration data
+     * @return the JSON
+     */
+    public String toString(MigrationData migrationData) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        boolean firstCategory = true;
+        for (OperationMetrics operationMetrics : migrationData.getOperationMetrics().values()) {
+            if (firstCategory) {
+                firstCategory = false;
+            } else {
+                sb.append(',');
+            }
+            sb.append("\n");
+            TraceReportWriter.appendString(operationMetrics.getCategory(), sb);
+            sb.append(":{");
+            boolean firstOperation = true;
+            for (OperationMetrics.Operation operation : operationMetrics.getOperations()) {
+                if (firstOperation) {
+                    firstOperation = false;
+                } else {
+                    sb.append(',');
+                }
+                final LatencyHistogram latencies = operation.getLatencies();
+                sb.append("\n");
+                TraceReportWriter.appendString(operation.getName(), sb);
+                sb.append(":{\"count\":").append(latencies.getCount());
+                sb.append(",\"errors\":").append(operation.getErrors());
+                sb.append(",\"totalNanos\":").append(latencies.getTotalNanos());
+                sb.append(",\"meanNanos\":").append(latencies.getMeanNanos());
+                for (double percentile : PERCENTILES) {
+                    sb.append(",\"p").append((int) percentile).append("Nanos\":").append(latencies.getPercentileNanos(percentile));
+                }
+                sb.append(",\"maxNanos\":").append(latencies.getMaxNanos());
+                sb.append('}');
+            }
+            sb.append('}');
+        }
+        sb.append("\n}\n");
+        return sb.toString();
+    }
+}
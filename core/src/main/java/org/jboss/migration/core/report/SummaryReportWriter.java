@@ -16,14 +16,18 @@
 package org.jboss.migration.core.report;
 
 import org.jboss.migration.core.MigrationData;
+import org.jboss.migration.core.metrics.LatencyHistogram;
+import org.jboss.migration.core.metrics.OperationMetrics;
 import org.jboss.migration.core.task.ServerMigrationTaskResult;
 import org.jboss.migration.core.task.TaskExecution;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.List;
 
 /**
- * The summary report writer.
+ * The summary report writer, which writes the summary task by task, so that its memory usage is proportional to the task tree's depth, and not its size.
  * @author emmartins
  */
 public class SummaryReportWriter {
@@ -37,57 +41,62 @@ public class SummaryReportWriter {
     private static final String TASK_NAME_LEVEL_INDENT = " ";
     private static final char SEPARATOR_CHAR = '.';
     private static final int MIN_SEPARATOR_LENGTH = 3;
+    private static final String ROOT_TASK_PREFIX = " ";
 
     public String toString(MigrationData migrationData) {
-        final List<SummaryTaskEntry> summaryTaskEntries = getSummaryTaskEntries(migrationData);
-        final int taskNameAndSeparatorLength = getTaskNameAndSeparatorLength(summaryTaskEntries);
+        final StringWriter writer = new StringWriter();
+        try {
+            write(migrationData, writer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the summary, task by task, i.e. without building the task entries, or the whole summary, in memory.
+     * @param migrationData the migration data
+     * @param writer the writer
+     * @throws IOException if the writer failed
+     */
+    public void write(MigrationData migrationData, Writer writer) throws IOException {
+        final int maxTaskPathSizeToDisplaySubtasks = getMaxTaskPathSizeToDisplaySubtasks(migrationData);
+        final int taskNameAndSeparatorLength = getTaskNameLength(migrationData.getRootTask(), ROOT_TASK_PREFIX.length(), 0, maxTaskPathSizeToDisplaySubtasks) + MIN_SEPARATOR_LENGTH;
         final String lineSeparator = getLineSeparator(taskNameAndSeparatorLength);
-        final StringBuilder sb = new StringBuilder();
-        sb.append('\n');
-        sb.append(lineSeparator);
-        sb.append(" Task Summary\n");
-        sb.append(lineSeparator);
-        sb.append('\n');
-        appendTasks(sb, summaryTaskEntries, taskNameAndSeparatorLength);
-        sb.append('\n');
-        sb.append(lineSeparator);
-        appendRootTaskResult(sb, migrationData);
-        sb.append(lineSeparator);
-        return sb.toString();
+        writer.write('\n');
+        writer.write(lineSeparator);
+        writer.write(" Task Summary\n");
+        writer.write(lineSeparator);
+        writer.write('\n');
+        appendTask(writer, migrationData.getRootTask(), ROOT_TASK_PREFIX, 0, maxTaskPathSizeToDisplaySubtasks, taskNameAndSeparatorLength);
+        writer.write('\n');
+        writer.write(lineSeparator);
+        appendRootTaskResult(writer, migrationData);
+        writer.write(lineSeparator);
+        appendSlowestTasks(writer, migrationData, lineSeparator);
+        appendOperationMetrics(writer, migrationData, lineSeparator);
     }
 
-    protected List<SummaryTaskEntry> getSummaryTaskEntries(MigrationData migrationData) {
-        final int maxTaskPathSizeToDisplaySubtasks = Integer.valueOf(migrationData.getServerMigrationEnvironment().getPropertyAsString(EnvironmentProperties.SUMMARY_REPORT_PROPERTY_MAX_TASK_PATH_SIZE_TO_DISPLAY_SUBTASKS, "5"));
-        final List<SummaryTaskEntry> summaryTaskEntries = new ArrayList<>();
-        int taskDepth = 0;
-        getSummaryTaskEntry(migrationData.getRootTask(), " ", summaryTaskEntries, taskDepth, maxTaskPathSizeToDisplaySubtasks);
-        return  summaryTaskEntries;
+    protected int getMaxTaskPathSizeToDisplaySubtasks(MigrationData migrationData) {
+        return Integer.valueOf(migrationData.getServerMigrationEnvironment().getPropertyAsString(EnvironmentProperties.SUMMARY_REPORT_PROPERTY_MAX_TASK_PATH_SIZE_TO_DISPLAY_SUBTASKS, "5"));
     }
 
-    protected void getSummaryTaskEntry(TaskExecution task, String prefix, List<SummaryTaskEntry> summaryTaskEntries, int taskDepth, int maxTaskPathSizeToDisplaySubtasks) {
+    /**
+     * Retrieves the length of the longest task name with prefix, of the task and the subtasks displayed.
+     */
+    protected int getTaskNameLength(TaskExecution task, int prefixLength, int taskDepth, int maxTaskPathSizeToDisplaySubtasks) {
         if (task.getResult().getStatus() == ServerMigrationTaskResult.Status.SKIPPED) {
-            return;
+            return 0;
         }
-        String taskNameWithPrefix = prefix+task.getTaskName().toString();
-        summaryTaskEntries.add(new SummaryTaskEntry(taskNameWithPrefix, task.getResult()));
-        String subtaskPrefix = TASK_NAME_LEVEL_INDENT + prefix;
+        int maxTaskNameLength = prefixLength + task.getTaskName().toString().length();
         taskDepth++;
         if (taskDepth > maxTaskPathSizeToDisplaySubtasks) {
-            return;
+            return maxTaskNameLength;
         }
         for (TaskExecution subtask : task.getSubtasks()) {
-            getSummaryTaskEntry(subtask, subtaskPrefix, summaryTaskEntries, taskDepth, maxTaskPathSizeToDisplaySubtasks);
+            maxTaskNameLength = Math.max(maxTaskNameLength, getTaskNameLength(subtask, prefixLength + TASK_NAME_LEVEL_INDENT.length(), taskDepth, maxTaskPathSizeToDisplaySubtasks));
         }
-    }
-
-    protected int getTaskNameAndSeparatorLength(List<SummaryTaskEntry> summaryTaskEntries) {
-        int maxTaskNameLength = 0;
-        for (SummaryTaskEntry summaryTaskEntry : summaryTaskEntries) {
-            if (summaryTaskEntry.taskName.length() > maxTaskNameLength) {
-                maxTaskNameLength = summaryTaskEntry.taskName.length();
-            }
-        }
-        return maxTaskNameLength + MIN_SEPARATOR_LENGTH;
+        return maxTaskNameLength;
     }
 
     protected String getLineSeparator(int taskNameAndSeparatorLength) {
@@ -102,33 +111,71 @@ public class SummaryReportWriter {
         return sb.toString();
     }
 
-    protected void appendRootTaskResult(StringBuilder sb, MigrationData migrationData) {
-        sb.append(" Migration Result: ").append(migrationData.getRootTask().getResult().getStatus()).append('\n');
+    protected void appendRootTaskResult(Writer writer, MigrationData migrationData) throws IOException {
+        writer.append(" Migration Result: ").append(String.valueOf(migrationData.getRootTask().getResult().getStatus())).append('\n');
+    }
+
+    protected void appendSlowestTasks(Writer writer, MigrationData migrationData, String lineSeparator) throws IOException {
+        final List<TaskExecution> slowestTasks = TaskMetrics.getSlowestTasks(migrationData);
+        if (slowestTasks.isEmpty()) {
+            return;
+        }
+        writer.write('\n');
+        writer.write(lineSeparator);
+        writer.write(" Slowest Tasks\n");
+        writer.write(lineSeparator);
+        writer.write('\n');
+        writer.write(String.format(" %14s %14s %14s %12s  %s%n", "Self", "Total", "CPU", "Allocated", "Task"));
+        for (TaskExecution task : slowestTasks) {
+            writer.write(String.format(" %14s %14s %14s %12s  %s %s%n", TaskMetrics.formatDuration(task.getSelfDurationNanos()), TaskMetrics.formatDuration(task.getDurationNanos()), TaskMetrics.formatCpuTime(task.getCpuTimeNanos()), TaskMetrics.formatBytes(task.getAllocatedBytes()), task.getTaskNumber(), task.getTaskName()));
+        }
+        writer.write('\n');
+        writer.write(lineSeparator);
     }
 
-    protected void appendTasks(StringBuilder sb, List<SummaryTaskEntry> summaryTaskEntries, int taskNameAndSeparatorLength) {
-        //sb.append('\n');
-        for (SummaryTaskEntry summaryTaskEntry : summaryTaskEntries) {
-            // append task id
-            sb.append(summaryTaskEntry.taskName);
-            // append separator between task id and result status
-            int suffixLength =  taskNameAndSeparatorLength - summaryTaskEntry.taskName.length();
-            sb.append(' ');
-            for (int i=1; i < suffixLength; i++) {
-                sb.append(SEPARATOR_CHAR);
+    protected void appendOperationMetrics(Writer writer, MigrationData migrationData, String lineSeparator) throws IOException {
+        if (migrationData.getOperationMetrics().isEmpty()) {
+            return;
+        }
+        writer.write('\n');
+        writer.write(lineSeparator);
+        writer.write(" Operation Metrics\n");
+        writer.write(lineSeparator);
+        writer.write('\n');
+        writer.write(String.format(" %8s %8s %14s %14s %14s %14s %14s  %s%n", "Count", "Errors", "Total", "Mean", "P90", "P99", "Max", "Operation"));
+        for (OperationMetrics operationMetrics : migrationData.getOperationMetrics().values()) {
+            for (OperationMetrics.Operation operation : operationMetrics.getOperations()) {
+                final LatencyHistogram latencies = operation.getLatencies();
+                writer.write(String.format(" %8d %8d %14s %14s %14s %14s %14s  %s %s%n", latencies.getCount(), operation.getErrors(), TaskMetrics.formatDuration(latencies.getTotalNanos()), TaskMetrics.formatDuration(latencies.getMeanNanos()), TaskMetrics.formatDuration(latencies.getPercentileNanos(90)), TaskMetrics.formatDuration(latencies.getPercentileNanos(99)), TaskMetrics.formatDuration(latencies.getMaxNanos()), operationMetrics.getCategory(), operation.getName()));
             }
-            sb.append(' ');
-            // append task result status
-            sb.append(summaryTaskEntry.taskResult.getStatus()).append('\n');
         }
+        writer.write('\n');
+        writer.write(lineSeparator);
     }
 
-    private static class SummaryTaskEntry {
-        private final String taskName;
-        private final ServerMigrationTaskResult taskResult;
-        private SummaryTaskEntry(String taskName, ServerMigrationTaskResult taskResult) {
-            this.taskName = taskName;
-            this.taskResult = taskResult;
+    protected void appendTask(Writer writer, TaskExecution task, String prefix, int taskDepth, int maxTaskPathSizeToDisplaySubtasks, int taskNameAndSeparatorLength) throws IOException {
+        if (task.getResult().getStatus() == ServerMigrationTaskResult.Status.SKIPPED) {
+            return;
+        }
+        // append task name
+        final String taskNameWithPrefix = prefix + task.getTaskName().toString();
+        writer.write(taskNameWithPrefix);
+        // append separator between task name and result status
+        int suffixLength = taskNameAndSeparatorLength - taskNameWithPrefix.length();
+        writer.write(' ');
+        for (int i=1; i < suffixLength; i++) {
+            writer.write(SEPARATOR_CHAR);
+        }
+        writer.write(' ');
+        // append task result status
+        writer.append(String.valueOf(task.getResult().getStatus())).append('\n');
+        taskDepth++;
+        if (taskDepth > maxTaskPathSizeToDisplaySubtasks) {
+            return;
+        }
+        final String subtaskPrefix = TASK_NAME_LEVEL_INDENT + prefix;
+        for (TaskExecution subtask : task.getSubtasks()) {
+            appendTask(writer, subtask, subtaskPrefix, taskDepth, maxTaskPathSizeToDisplaySubtasks, taskNameAndSeparatorLength);
         }
     }
-}
\ No newline at end of file
+}
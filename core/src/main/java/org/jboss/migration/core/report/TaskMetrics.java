@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.report;
+
+import org.jboss.migration.core.MigrationData;
+import org.jboss.migration.core.env.EnvironmentProperty;
+import org.jboss.migration.core.task.ServerMigrationTaskResult;
+import org.jboss.migration.core.task.TaskExecution;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The task execution metrics shown by the reports.
+ * @author emmartins
+ */
+final class TaskMetrics {
+
+    private static final EnvironmentProperty<Integer> SLOWEST_TASKS = org.jboss.migration.core.env.EnvironmentProperties.newIntegerProperty(EnvironmentProperties.PROPERTY_SLOWEST_TASKS, 10);
+
+    private TaskMetrics() {
+    }
+
+    /**
+     * Retrieves the slowest tasks executed, i.e. not skipped, by self duration.
+     * @param migrationData the migration data
+     * @return the slowest tasks, the slowest first, limited by the environment property {@link EnvironmentProperties#PROPERTY_SLOWEST_TASKS}
+     */
+    static List<TaskExecution> getSlowestTasks(MigrationData migrationData) {
+        final int limit = Math.max(0, SLOWEST_TASKS.getValue(migrationData.getServerMigrationEnvironment()));
+        // the self durations are computed once, not by each comparison
+        final List<SelfDuration> selfDurations = new ArrayList<>();
+        for (TaskExecution task : migrationData.getTasks()) {
+            if (task.getResult().getStatus() != ServerMigrationTaskResult.Status.SKIPPED) {
+                selfDurations.add(new SelfDuration(task));
+            }
+        }
+        selfDurations.sort(Comparator.comparingLong((SelfDuration selfDuration) -> selfDuration.nanos).reversed());
+        final List<TaskExecution> tasks = new ArrayList<>(Math.min(limit, selfDurations.size()));
+        for (SelfDuration selfDuration : selfDurations) {
+            if (tasks.size() == limit) {
+                break;
+            }
+            tasks.add(selfDuration.task);
+        }
+        return tasks;
+    }
+
+    private static final class SelfDuration {
+
+        private final TaskExecution task;
+        private final long nanos;
+
+        private SelfDuration(TaskExecution task) {
+            this.task = task;
+            this.nanos = task.getSelfDurationNanos();
+        }
+    }
+
+    /**
+     * @param nanos a duration in nanoseconds
+     * @return the duration in milliseconds, formatted
+     */
+    static String formatDuration(long nanos) {
+        return String.format(Locale.ROOT, "%.3f ms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * @param nanos a CPU time in nanoseconds, -1 if not available
+     * @return the CPU time in milliseconds, formatted, or n/a
+     */
+    static String formatCpuTime(long nanos) {
+        return nanos < 0 ? "n/a" : formatDuration(nanos);
+    }
+
+    /**
+     * @param bytes a number of bytes, -1 if not available
+     * @return the number of bytes, formatted with binary units, or n/a
+     */
+    static String formatBytes(long bytes) {
+        if (bytes < 0) {
+            return "n/a";
+        }
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        final int unit = (63 - Long.numberOfLeadingZeros(bytes)) / 10;
+        return String.format(Locale.ROOT, "%.1f %siB", bytes / (double) (1L << (unit * 10)), "KMGTPE".charAt(unit - 1));
+    }
+}
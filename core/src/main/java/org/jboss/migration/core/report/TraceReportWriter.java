@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.report;
+
+import org.jboss.migration.core.MigrationData;
+import org.jboss.migration.core.task.TaskExecution;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The trace report writer, which writes the task tree in the Chrome Trace Event Format, viewable in trace viewers, or as collapsed stacks, the input of flame graph tools.
+ * @author emmartins
+ */
+public class TraceReportWriter {
+
+    public static TraceReportWriter INSTANCE = new TraceReportWriter();
+
+    private static final String PROCESS_ID = "1";
+
+    private TraceReportWriter() {
+
+    }
+
+    public void toPath(Path path, MigrationData migrationData) throws IOException {
+        Files.createDirectories(path.getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            write(migrationData, writer);
+        }
+    }
+
+    public void toCollapsedStacksPath(Path path, MigrationData migrationData) throws IOException {
+        Files.createDirectories(path.getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writeCollapsedStacks(migrationData, writer);
+        }
+    }
+
+    /**
+     * Retrieves the task tree as a Chrome Trace Event Format JSON, with a complete event per task, and a thread name metadata event per thread.
+     * @param migrationData the migration data
+     * @return the JSON
+     */
+    public String toString(MigrationData migrationData) {
+        final StringWriter writer = new StringWriter();
+        try {
+            write(migrationData, writer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the task tree as a Chrome Trace Event Format JSON, event by event.
+     * @param migrationData the migration data
+     * @param writer the writer
+     * @throws IOException if the writer failed
+     */
+    public void write(MigrationData migrationData, Writer writer) throws IOException {
+        final TaskExecution rootTask = migrationData.getRootTask();
+        // each event is built in a reused buffer, and then written
+        final StringBuilder sb = new StringBuilder();
+        writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        final Map<Long, String> threadNames = new LinkedHashMap<>();
+        boolean first = true;
+        for (TaskExecution task : migrationData.getTasks()) {
+            if (task.getStartNanoTime() == 0) {
+                continue;
+            }
+            threadNames.putIfAbsent(task.getThreadId(), task.getThreadName());
+            sb.setLength(0);
+            if (first) {
+                first = false;
+            } else {
+                sb.append(',');
+            }
+            sb.append("\n{\"name\":");
+            appendString(task.getTaskName().getName(), sb);
+            sb.append(",\"cat\":\"task\",\"ph\":\"X\",\"pid\":").append(PROCESS_ID);
+            sb.append(",\"tid\":").append(task.getThreadId());
+            sb.append(",\"ts\":").append(toMicros(task.getStartNanoTime() - rootTask.getStartNanoTime()));
+            sb.append(",\"dur\":").append(toMicros(task.getDurationNanos()));
+            sb.append(",\"args\":{\"number\":");
+            appendString(task.getTaskNumber(), sb);
+            sb.append(",\"task\":");
+            appendString(task.getTaskName().toString(), sb);
+            sb.append(",\"status\":");
+            appendString(task.getResult() != null ? task.getResult().getStatus().name() : null, sb);
+            if (!task.getTaskName().getAttributes().isEmpty()) {
+                sb.append(",\"attributes\":{");
+                boolean firstAttribute = true;
+                for (Map.Entry<String, String> attribute : task.getTaskName().getAttributes().entrySet()) {
+                    if (firstAttribute) {
+                        firstAttribute = false;
+                    } else {
+                        sb.append(',');
+                    }
+                    appendString(attribute.getKey(), sb);
+                    sb.append(':');
+                    appendString(attribute.getValue(), sb);
+                }
+                sb.append('}');
+            }
+            if (task.getCpuTimeNanos() >= 0) {
+                sb.append(",\"cpuTimeMicros\":").append(toMicros(task.getCpuTimeNanos()));
+            }
+            if (task.getAllocatedBytes() >= 0) {
+                sb.append(",\"allocatedBytes\":").append(task.getAllocatedBytes());
+            }
+            sb.append("}}");
+            writer.append(sb);
+        }
+        for (Map.Entry<Long, String> threadName : threadNames.entrySet()) {
+            sb.setLength(0);
+            sb.append(",\n{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":").append(PROCESS_ID);
+            sb.append(",\"tid\":").append(threadName.getKey());
+            sb.append(",\"args\":{\"name\":");
+            appendString(threadName.getValue(), sb);
+            sb.append("}}");
+            writer.append(sb);
+        }
+        writer.write("\n]}\n");
+    }
+
+    /**
+     * Retrieves the task tree as collapsed stacks, i.e. a line per task, with the names of the tasks in its path, separated by semicolons, and its self duration in microseconds.
+     * @param migrationData the migration data
+     * @return the collapsed stacks
+     */
+    public String toCollapsedStacks(MigrationData migrationData) {
+        final StringWriter writer = new StringWriter();
+        try {
+            writeCollapsedStacks(migrationData, writer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the task tree as collapsed stacks, line by line.
+     * @param migrationData the migration data
+     * @param writer the writer
+     * @throws IOException if the writer failed
+     */
+    public void writeCollapsedStacks(MigrationData migrationData, Writer writer) throws IOException {
+        writeCollapsedStacks(migrationData.getRootTask(), "", writer);
+    }
+
+    private void writeCollapsedStacks(TaskExecution task, String parentStack, Writer writer) throws IOException {
+        // semicolons separate frames, and the last space separates the value
+        final String frame = task.getTaskName().toString().replace(';', ',').replace(' ', '_');
+        final String stack = parentStack.isEmpty() ? frame : parentStack + ';' + frame;
+        final long selfMicros = toMicros(task.getSelfDurationNanos());
+        if (selfMicros > 0) {
+            writer.write(stack);
+            writer.write(' ');
+            writer.write(String.valueOf(selfMicros));
+            writer.write('\n');
+        }
+        for (TaskExecution subtask : task.getSubtasks()) {
+            writeCollapsedStacks(subtask, stack, writer);
+        }
+    }
+
+    private static long toMicros(long nanos) {
+        return nanos / 1000;
+    }
+
+    static void appendString(String s, StringBuilder sb) {
+        if (s == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+}
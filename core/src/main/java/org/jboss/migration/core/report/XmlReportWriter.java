@@ -15,19 +15,20 @@
  */
 package org.jboss.migration.core.report;
 
-import org.jboss.logging.Logger;
 import org.jboss.migration.core.MigrationData;
 import org.jboss.migration.core.Server;
 import org.jboss.migration.core.env.MigrationEnvironment;
+import org.jboss.migration.core.metrics.LatencyHistogram;
+import org.jboss.migration.core.metrics.OperationMetrics;
 import org.jboss.migration.core.task.ServerMigrationTaskResult;
 import org.jboss.migration.core.task.TaskExecution;
 import org.jboss.migration.core.util.xml.AttributeValue;
 import org.jboss.migration.core.util.xml.ElementNode;
+import org.jboss.migration.core.util.xml.XmlFactories;
 import org.jboss.staxmapper.XMLElementWriter;
 import org.jboss.staxmapper.XMLExtendedStreamWriter;
 import org.jboss.staxmapper.XMLMapper;
 
-import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 import java.io.File;
@@ -60,7 +61,7 @@ public class XmlReportWriter implements XMLElementWriter<MigrationData> {
     public void writeContent(File file, MigrationData value) throws XMLStreamException, IOException {
         Files.createDirectories(file.toPath().getParent());
         try (FileOutputStream out = new FileOutputStream(file)) {
-            final XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+            final XMLStreamWriter writer = XmlFactories.createXMLStreamWriter(out);
             try {
                 writeContent(writer, value);
             } finally {
@@ -94,6 +95,8 @@ public class XmlReportWriter implements XMLElementWriter<MigrationData> {
         rootElementNode.addChild(serversNode);
         processEnvironment(description.getServerMigrationEnvironment(), rootElementNode);
         processTask(description.getRootTask(), rootElementNode);
+        processSlowestTasks(description, rootElementNode);
+        processOperationMetrics(description, rootElementNode);
     }
 
     protected void processServer(Server server, ElementNode parentElementNode, String elementLocalName) {
@@ -120,16 +123,66 @@ public class XmlReportWriter implements XMLElementWriter<MigrationData> {
         final ElementNode taskNode = new ElementNode(parentElementNode, "task");
         taskNode.addAttribute("number", new AttributeValue(String.valueOf(task.getTaskNumber())));
         taskNode.addAttribute("name", new AttributeValue(task.getTaskName().toString()));
-        processTaskLogger(task.getLogger(), taskNode);
+        processTaskMetrics(task, taskNode);
         processTaskResult(task.getResult(), taskNode);
         processSubtasks(task.getSubtasks(), taskNode);
         parentElementNode.addChild(taskNode);
     }
 
-    protected void processTaskLogger(Logger logger, ElementNode taskNode) {
-        final ElementNode loggerNode = new ElementNode(taskNode, "logger");
-        loggerNode.addAttribute("logger", new AttributeValue(logger.getName()));
-        taskNode.addChild(loggerNode);
+    protected void processTaskMetrics(TaskExecution task, ElementNode taskNode) {
+        final ElementNode metricsNode = new ElementNode(taskNode, "metrics");
+        metricsNode.addAttribute("duration-nanos", new AttributeValue(String.valueOf(task.getDurationNanos())));
+        metricsNode.addAttribute("self-duration-nanos", new AttributeValue(String.valueOf(task.getSelfDurationNanos())));
+        if (task.getCpuTimeNanos() >= 0) {
+            metricsNode.addAttribute("cpu-time-nanos", new AttributeValue(String.valueOf(task.getCpuTimeNanos())));
+        }
+        if (task.getAllocatedBytes() >= 0) {
+            metricsNode.addAttribute("allocated-bytes", new AttributeValue(String.valueOf(task.getAllocatedBytes())));
+        }
+        taskNode.addChild(metricsNode);
+    }
+
+    protected void processSlowestTasks(MigrationData migrationData, ElementNode rootElementNode) {
+        final List<TaskExecution> slowestTasks = TaskMetrics.getSlowestTasks(migrationData);
+        if (slowestTasks.isEmpty()) {
+            return;
+        }
+        final ElementNode slowestTasksNode = new ElementNode(rootElementNode, "slowest-tasks");
+        for (TaskExecution task : slowestTasks) {
+            final ElementNode taskNode = new ElementNode(slowestTasksNode, "task");
+            taskNode.addAttribute("number", new AttributeValue(String.valueOf(task.getTaskNumber())));
+            taskNode.addAttribute("name", new AttributeValue(task.getTaskName().toString()));
+            processTaskMetrics(task, taskNode);
+            slowestTasksNode.addChild(taskNode);
+        }
+        rootElementNode.addChild(slowestTasksNode);
+    }
+
+    protected void processOperationMetrics(MigrationData migrationData, ElementNode rootElementNode) {
+        if (migrationData.getOperationMetrics().isEmpty()) {
+            return;
+        }
+        final ElementNode operationMetricsNode = new ElementNode(rootElementNode, "operation-metrics");
+        for (OperationMetrics operationMetrics : migrationData.getOperationMetrics().values()) {
+            final ElementNode categoryNode = new ElementNode(operationMetricsNode, "category");
+            categoryNode.addAttribute("name", new AttributeValue(operationMetrics.getCategory()));
+            for (OperationMetrics.Operation operation : operationMetrics.getOperations()) {
+                final LatencyHistogram latencies = operation.getLatencies();
+                final ElementNode operationNode = new ElementNode(categoryNode, "operation");
+                operationNode.addAttribute("name", new AttributeValue(operation.getName()));
+                operationNode.addAttribute("count", new AttributeValue(String.valueOf(latencies.getCount())));
+                operationNode.addAttribute("errors", new AttributeValue(String.valueOf(operation.getErrors())));
+                operationNode.addAttribute("total-nanos", new AttributeValue(String.valueOf(latencies.getTotalNanos())));
+                operationNode.addAttribute("mean-nanos", new AttributeValue(String.valueOf(latencies.getMeanNanos())));
+                operationNode.addAttribute("p50-nanos", new AttributeValue(String.valueOf(latencies.getPercentileNanos(50))));
+                operationNode.addAttribute("p90-nanos", new AttributeValue(String.valueOf(latencies.getPercentileNanos(90))));
+                operationNode.addAttribute("p99-nanos", new AttributeValue(String.valueOf(latencies.getPercentileNanos(99))));
+                operationNode.addAttribute("max-nanos", new AttributeValue(String.valueOf(latencies.getMaxNanos())));
+                categoryNode.addChild(operationNode);
+            }
+            operationMetricsNode.addChild(categoryNode);
+        }
+        rootElementNode.addChild(operationMetricsNode);
     }
 
     protected void processTaskResult(ServerMigrationTaskResult result, ElementNode taskNode) {
@@ -31,7 +31,7 @@ public class ServerMigrationTaskName implements Serializable {
     private final String name;
     private final Map<String, String> attributes;
 
-    private ServerMigrationTaskName(String name, Map<String, String> attributes) {
+    ServerMigrationTaskName(String name, Map<String, String> attributes) {
         this.name = name;
         this.attributes = attributes != null ? Collections.unmodifiableMap(attributes) : NO_ATTRIBUTES;
     }
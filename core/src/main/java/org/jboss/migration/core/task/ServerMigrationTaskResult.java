@@ -57,7 +57,7 @@ public class ServerMigrationTaskResult {
     private final ServerMigrationFailureException failReason;
     private final Map<String, String> attributes;
 
-    private ServerMigrationTaskResult(final Status status, ServerMigrationFailureException failReason, Map<String, String> attributes) {
+    ServerMigrationTaskResult(final Status status, ServerMigrationFailureException failReason, Map<String, String> attributes) {
         this.status = status;
         if (status == null) {
             throw new IllegalArgumentException("null status");
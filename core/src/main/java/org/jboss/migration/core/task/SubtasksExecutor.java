@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.task;
+
+import org.jboss.migration.core.ServerMigrationFailureException;
+import org.jboss.migration.core.env.EnvironmentProperties;
+import org.jboss.migration.core.env.EnvironmentProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The executor of independent subtasks, which may run these in parallel, using a bounded work-stealing thread pool.
+ * @author emmartins
+ */
+public class SubtasksExecutor implements AutoCloseable {
+
+    /**
+     * the environment property which enables parallel execution of independent subtasks
+     */
+    public static final EnvironmentProperty<Boolean> ENVIRONMENT_PROPERTY_PARALLEL = EnvironmentProperties.newBooleanProperty("tasks.parallel", false);
+
+    /**
+     * the environment property which sets the max number of threads used to execute subtasks in parallel, by default the number of available processors
+     */
+    public static final EnvironmentProperty<Integer> ENVIRONMENT_PROPERTY_PARALLELISM = EnvironmentProperties.newIntegerProperty("tasks.parallelism", Runtime.getRuntime().availableProcessors());
+
+    /**
+     * the executor which runs subtasks sequentially, in the caller thread
+     */
+    public static final SubtasksExecutor SEQUENTIAL = new SubtasksExecutor(null);
+
+    private final ForkJoinPool pool;
+
+    private SubtasksExecutor(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Creates an executor which runs subtasks in parallel.
+     * @param parallelism the max number of threads used to run subtasks
+     * @return the executor created
+     */
+    public static SubtasksExecutor parallel(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("invalid parallelism "+parallelism);
+        }
+        return new SubtasksExecutor(new ForkJoinPool(parallelism, new WorkerThreadFactory(), null, false));
+    }
+
+    /**
+     * Indicates if the executor runs subtasks in parallel.
+     * @return true if the executor runs subtasks in parallel, false otherwise
+     */
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    /**
+     * Runs the specified subtask executions, and waits till all complete. Once a subtask fails the subtasks not started yet are cancelled, i.e. never run, as when executing subtasks sequentially.
+     * @param subtaskExecutions the subtask executions to run
+     * @throws ServerMigrationFailureException the failure of the first subtask that failed, considering the specified order
+     */
+    void execute(List<TaskExecutionImpl> subtaskExecutions) throws ServerMigrationFailureException {
+        final AtomicBoolean failed = new AtomicBoolean();
+        final List<SubtaskRun> subtaskRuns = new ArrayList<>(subtaskExecutions.size());
+        for (TaskExecutionImpl subtaskExecution : subtaskExecutions) {
+            subtaskRuns.add(new SubtaskRun(subtaskExecution, failed));
+        }
+        if (pool == null) {
+            for (SubtaskRun subtaskRun : subtaskRuns) {
+                subtaskRun.compute();
+                if (subtaskRun.failure != null) {
+                    break;
+                }
+            }
+        } else if (ForkJoinTask.getPool() == pool) {
+            // nested subtasks, the current thread helps with the work while waiting
+            ForkJoinTask.invokeAll(subtaskRuns);
+        } else {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(subtaskRuns);
+                }
+            });
+        }
+        for (SubtaskRun subtaskRun : subtaskRuns) {
+            if (subtaskRun.failure != null) {
+                throw subtaskRun.failure;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private static class SubtaskRun extends RecursiveAction {
+
+        private final TaskExecutionImpl subtaskExecution;
+        private final AtomicBoolean failed;
+        private ServerMigrationFailureException failure;
+
+        private SubtaskRun(TaskExecutionImpl subtaskExecution, AtomicBoolean failed) {
+            this.subtaskExecution = subtaskExecution;
+            this.failed = failed;
+        }
+
+        @Override
+        protected void compute() {
+            if (failed.get()) {
+                // cancelled by another subtask's failure
+                return;
+            }
+            try {
+                subtaskExecution.run();
+            } catch (ServerMigrationFailureException e) {
+                failure = e;
+                failed.set(true);
+            }
+        }
+    }
+
+    private static class WorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+        private final AtomicInteger threadCounter = new AtomicInteger(0);
+        private final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("server-migration-task-"+threadCounter.incrementAndGet());
+            // tasks may load classes, e.g. when booting embedded servers
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        }
+    }
+}
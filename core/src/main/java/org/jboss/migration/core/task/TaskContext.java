@@ -72,6 +72,15 @@ public interface TaskContext extends ServerMigrationContext {
      */
     TaskExecution execute(ServerMigrationTaskName taskName, TaskRunnable taskRunnable) throws IllegalStateException, ServerMigrationFailureException;
 
+    /**
+     * Executes independent subtasks, i.e. subtasks which may run in parallel, if such mode is enabled for the migration. The subtask executions are always numbered and ordered as the specified subtasks.
+     * @param subtasks the subtasks to execute
+     * @return the subtask executions
+     * @throws IllegalStateException if the task result is already set
+     * @throws ServerMigrationFailureException if a subtask execution failed
+     */
+    List<TaskExecution> executeAll(List<? extends ServerMigrationTask> subtasks) throws IllegalStateException, ServerMigrationFailureException;
+
     /**
      * Retrieves the task logger.
      * @return the task logger
@@ -82,6 +82,11 @@ public class TaskContextImpl implements TaskContext {
         });
     }
 
+    @Override
+    public List<TaskExecution> executeAll(List<? extends ServerMigrationTask> subtasks) throws IllegalStateException, ServerMigrationFailureException {
+        return taskExecution.executeAll(subtasks);
+    }
+
     protected ServerMigrationContext getServerMigrationContext() {
         return taskExecution.getServerMigrationContext();
     }
@@ -33,4 +33,66 @@ public interface TaskExecution {
     ServerMigrationTaskName getTaskName();
     String getTaskNumber();
     ServerMigrationTaskPath getTaskPath();
+
+    /**
+     * @return the task execution's start, as returned by {@link System#nanoTime()}, 0 if not started
+     */
+    default long getStartNanoTime() {
+        return 0;
+    }
+
+    /**
+     * @return the task execution's end, as returned by {@link System#nanoTime()}, 0 if not ended
+     */
+    default long getEndNanoTime() {
+        return 0;
+    }
+
+    /**
+     * @return the id of the thread which executed the task, 0 if not started
+     */
+    default long getThreadId() {
+        return 0;
+    }
+
+    /**
+     * @return the name of the thread which executed the task, null if not started
+     */
+    default String getThreadName() {
+        return null;
+    }
+
+    /**
+     * @return the task execution's wall-clock duration, in nanoseconds, including its subtasks
+     */
+    default long getDurationNanos() {
+        final long endNanoTime = getEndNanoTime();
+        return endNanoTime != 0 ? endNanoTime - getStartNanoTime() : 0;
+    }
+
+    /**
+     * @return the task execution's wall-clock duration, in nanoseconds, excluding its subtasks
+     */
+    default long getSelfDurationNanos() {
+        long duration = getDurationNanos();
+        for (TaskExecution subtask : getSubtasks()) {
+            duration -= subtask.getDurationNanos();
+        }
+        // subtasks executed in parallel may overlap
+        return Math.max(0, duration);
+    }
+
+    /**
+     * @return the CPU time, in nanoseconds, of the thread which executed the task, including the subtasks executed by the same thread, -1 if not supported by the JVM
+     */
+    default long getCpuTimeNanos() {
+        return -1;
+    }
+
+    /**
+     * @return the bytes allocated by the thread which executed the task, including the subtasks executed by the same thread, -1 if not supported by the JVM
+     */
+    default long getAllocatedBytes() {
+        return -1;
+    }
 }
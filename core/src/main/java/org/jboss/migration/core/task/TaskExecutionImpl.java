@@ -18,6 +18,9 @@ package org.jboss.migration.core.task;
 import org.jboss.logging.Logger;
 import org.jboss.migration.core.ServerMigrationContext;
 import org.jboss.migration.core.ServerMigrationFailureException;
+import org.jboss.migration.core.env.EnvironmentProperties;
+import org.jboss.migration.core.env.EnvironmentProperty;
+import org.jboss.migration.core.jfr.FlightRecorderEvents;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -30,33 +33,56 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class TaskExecutionImpl implements TaskExecution {
 
+    /**
+     * the environment property which restricts the migration to a single task path, e.g. to migrate a single configuration, any task which is not an ancestor or descendant of the task path is skipped, without running it
+     */
+    public static final EnvironmentProperty<String> ENVIRONMENT_PROPERTY_PATH = EnvironmentProperties.newStringProperty("tasks.path");
+
+    /**
+     * the environment property which specifies the default log level of tasks, which may be overridden for a task by suffixing the property name with the task's number or name, e.g. tasks.logLevel.1:2, the level of the tasks' logging category still applies
+     */
+    public static final EnvironmentProperty<String> ENVIRONMENT_PROPERTY_LOG_LEVEL = EnvironmentProperties.newStringProperty("tasks.logLevel");
+
+    private static final String PATH_SEPARATOR = " > ";
+
     private final AtomicLong taskCounter = new AtomicLong(0);
 
     private final ServerMigrationTask task;
     private final TaskExecutionImpl parent;
     private final List<TaskExecutionImpl> children;
     private final ServerMigrationContext serverMigrationContext;
+    private final SubtasksExecutor subtasksExecutor;
     private final AtomicLong startTime = new AtomicLong(0L);
-    private ServerMigrationTaskResult result;
-    private final Logger logger;
+    private volatile long startNanoTime;
+    private volatile long endNanoTime;
+    private volatile long threadId;
+    private volatile String threadName;
+    private volatile long cpuTimeNanos = -1L;
+    private volatile long allocatedBytes = -1L;
+    private volatile ServerMigrationTaskResult result;
+    private volatile Logger logger;
     private final String taskNumber;
     private final ServerMigrationTaskPath taskPath;
 
     public TaskExecutionImpl(ServerMigrationTask task, TaskExecutionImpl parent) {
-        this(task, parent, parent.serverMigrationContext);
+        this(task, parent, parent.serverMigrationContext, parent.subtasksExecutor);
     }
 
     public TaskExecutionImpl(ServerMigrationTask task, ServerMigrationContext serverMigrationContext) {
-        this(task, null, serverMigrationContext);
+        this(task, serverMigrationContext, SubtasksExecutor.SEQUENTIAL);
+    }
+
+    public TaskExecutionImpl(ServerMigrationTask task, ServerMigrationContext serverMigrationContext, SubtasksExecutor subtasksExecutor) {
+        this(task, null, serverMigrationContext, subtasksExecutor);
     }
 
-    private TaskExecutionImpl(ServerMigrationTask task, TaskExecutionImpl parent, ServerMigrationContext serverMigrationContext) {
+    private TaskExecutionImpl(ServerMigrationTask task, TaskExecutionImpl parent, ServerMigrationContext serverMigrationContext, SubtasksExecutor subtasksExecutor) {
         this.task = task;
         this.parent = parent;
         this.serverMigrationContext = serverMigrationContext;
+        this.subtasksExecutor = subtasksExecutor;
         this.children = new ArrayList<>();
         taskNumber = parent == null ? "1" : parent.getTaskNumber() +":" + parent.taskCounter.incrementAndGet();
-        this.logger = Logger.getLogger(ServerMigrationTask.class.getName()+'#'+taskNumber);
         this.taskPath = new ServerMigrationTaskPath(task.getName(), parent != null ? parent.getTaskPath() : null);
     }
 
@@ -81,6 +107,12 @@ public class TaskExecutionImpl implements TaskExecution {
      * @return the task logger
      */
     public Logger getLogger() {
+        Logger logger = this.logger;
+        if (logger == null) {
+            // benign race, the loggers of a task are equivalent
+            logger = new TaskLogger(taskNumber, task.getName(), serverMigrationContext.getMigrationEnvironment());
+            this.logger = logger;
+        }
         return logger;
     }
 
@@ -100,6 +132,36 @@ public class TaskExecutionImpl implements TaskExecution {
         return startTime.get();
     }
 
+    @Override
+    public long getStartNanoTime() {
+        return startNanoTime;
+    }
+
+    @Override
+    public long getEndNanoTime() {
+        return endNanoTime;
+    }
+
+    @Override
+    public long getThreadId() {
+        return threadId;
+    }
+
+    @Override
+    public String getThreadName() {
+        return threadName;
+    }
+
+    @Override
+    public long getCpuTimeNanos() {
+        return cpuTimeNanos;
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
     /**
      * Retrieves the task's path
      * @return the task's path
@@ -160,11 +222,73 @@ public class TaskExecutionImpl implements TaskExecution {
         return child;
     }
 
+    /**
+     * Executes independent subtasks, which may run in parallel if the migration's subtasks executor allows it. Either way the subtask executions are numbered and ordered as the specified subtasks.
+     * @param subtasks the subtasks to execute
+     * @return the subtask executions
+     * @throws IllegalStateException if the task result is already set
+     * @throws ServerMigrationFailureException if a subtask execution failed
+     */
+    List<TaskExecution> executeAll(List<? extends ServerMigrationTask> subtasks) throws IllegalStateException, ServerMigrationFailureException {
+        if (!subtasksExecutor.isParallel() || subtasks.size() < 2) {
+            final List<TaskExecution> executions = new ArrayList<>(subtasks.size());
+            for (ServerMigrationTask subtask : subtasks) {
+                executions.add(execute(subtask));
+            }
+            return Collections.unmodifiableList(executions);
+        }
+        if (this.result != null) {
+            throw new IllegalStateException();
+        }
+        final List<TaskExecutionImpl> executions = new ArrayList<>(subtasks.size());
+        for (ServerMigrationTask subtask : subtasks) {
+            if (subtask.getName() == null) {
+                throw new IllegalArgumentException("substask "+subtask+" has no name");
+            }
+            executions.add(new TaskExecutionImpl(subtask, this));
+        }
+        children.addAll(executions);
+        try {
+            subtasksExecutor.execute(executions);
+        } finally {
+            // the subtasks cancelled by a failure never ran, and as with sequential execution are not children
+            children.removeIf(child -> child.startTime.get() == 0L);
+        }
+        return Collections.unmodifiableList(executions);
+    }
+
     public void run() throws IllegalStateException, ServerMigrationFailureException {
         if (!startTime.compareAndSet(0L, System.currentTimeMillis())) {
             throw new IllegalStateException("Task "+ taskPath +" already started");
         }
+        startNanoTime = System.nanoTime();
+        final Thread thread = Thread.currentThread();
+        threadId = thread.getId();
+        threadName = thread.getName();
+        if (parent == null && serverMigrationContext.getMigrationEnvironment() != null) {
+            // warns once about invalid levels, which the tasks' loggers ignore
+            TaskLogger.validateLevels(serverMigrationContext.getMigrationEnvironment());
+        }
+        // any logging by the task's thread is done in the context of the task
+        final Object previousTaskNumber = TaskLogger.putTaskNumber(taskNumber);
+        try {
+            run(getLogger());
+        } finally {
+            TaskLogger.restoreTaskNumber(previousTaskNumber);
+        }
+    }
+
+    private void run(Logger logger) throws ServerMigrationFailureException {
+        if (!isInRestrictedPath()) {
+            logger.debugf("Task %s skipped, not in the migration's restricted task path.", taskPath);
+            result = ServerMigrationTaskResult.SKIPPED;
+            endNanoTime = System.nanoTime();
+            return;
+        }
         logger.tracef("Task %s execution starting...", taskPath);
+        final FlightRecorderEvents.TaskEvent event = FlightRecorderEvents.beginTask();
+        final long startCpuTimeNanos = ThreadMetrics.getCurrentThreadCpuTimeNanos();
+        final long startAllocatedBytes = ThreadMetrics.getCurrentThreadAllocatedBytes();
         try {
             result = task.run(new TaskContextImpl(this));
         } catch (ServerMigrationFailureException e) {
@@ -175,7 +299,27 @@ public class TaskExecutionImpl implements TaskExecution {
             result = ServerMigrationTaskResult.fail(e);
             throw e;
         } finally {
+            if (startCpuTimeNanos >= 0) {
+                cpuTimeNanos = ThreadMetrics.getCurrentThreadCpuTimeNanos() - startCpuTimeNanos;
+            }
+            if (startAllocatedBytes >= 0) {
+                allocatedBytes = ThreadMetrics.getCurrentThreadAllocatedBytes() - startAllocatedBytes;
+            }
+            endNanoTime = System.nanoTime();
+            event.commit(taskPath, taskNumber, result != null ? result.getStatus() : null);
             logger.tracef("Task %s execution completed with result status... %s", taskPath, result);
         }
     }
+
+    private boolean isInRestrictedPath() {
+        if (serverMigrationContext.getMigrationEnvironment() == null) {
+            return true;
+        }
+        final String restrictedPath = ENVIRONMENT_PROPERTY_PATH.getValue(serverMigrationContext.getMigrationEnvironment());
+        if (restrictedPath == null || restrictedPath.isEmpty()) {
+            return true;
+        }
+        final String path = taskPath.toString();
+        return path.equals(restrictedPath) || restrictedPath.startsWith(path + PATH_SEPARATOR) || path.startsWith(restrictedPath + PATH_SEPARATOR);
+    }
 }
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.task;
+
+import org.jboss.logging.Logger;
+import org.jboss.logging.MDC;
+import org.jboss.migration.core.env.MigrationEnvironment;
+import org.jboss.migration.core.logger.ServerMigrationLogger;
+
+import java.util.Locale;
+
+/**
+ * A task's logger, which logs to the category shared by all tasks, with the task number in the MDC, instead of creating a category per task, which the log manager would never release.
+ * The task's log level may be restricted with environment properties, by task number or name, e.g. tasks.logLevel.1:2=ERROR, otherwise the default tasks.logLevel applies.
+ * Invalid levels are ignored, since failing would fail the task logging, and are warned about once, when the migration starts.
+ * @author emmartins
+ */
+final class TaskLogger extends Logger {
+
+    /**
+     * the category of all tasks' logging
+     */
+    static final String CATEGORY = ServerMigrationTask.class.getName();
+
+    /**
+     * the MDC key with the number of the task logging
+     */
+    static final String MDC_KEY = "migration.task";
+
+    private final transient String taskNumber;
+    private final transient ServerMigrationTaskName taskName;
+    private final transient MigrationEnvironment migrationEnvironment;
+    private final transient Logger delegate;
+    private transient volatile Level taskLevel;
+    private transient volatile boolean taskLevelResolved;
+
+    TaskLogger(String taskNumber, ServerMigrationTaskName taskName, MigrationEnvironment migrationEnvironment) {
+        this(taskNumber, taskName, migrationEnvironment, null);
+    }
+
+    TaskLogger(String taskNumber, ServerMigrationTaskName taskName, MigrationEnvironment migrationEnvironment, Logger delegate) {
+        super(CATEGORY);
+        this.taskNumber = taskNumber;
+        this.taskName = taskName;
+        this.migrationEnvironment = migrationEnvironment;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean isEnabled(Level level) {
+        return getDelegate().isEnabled(level) && isTaskLevelEnabled(level);
+    }
+
+    @Override
+    protected void doLog(Level level, String loggerClassName, Object message, Object[] parameters, Throwable thrown) {
+        if (!isTaskLevelEnabled(level)) {
+            return;
+        }
+        final Object previousTaskNumber = putTaskNumber(taskNumber);
+        try {
+            getDelegate().log(loggerClassName, level, message, parameters, thrown);
+        } finally {
+            restoreTaskNumber(previousTaskNumber);
+        }
+    }
+
+    @Override
+    protected void doLogf(Level level, String loggerClassName, String format, Object[] parameters, Throwable thrown) {
+        if (!isTaskLevelEnabled(level)) {
+            return;
+        }
+        final Object previousTaskNumber = putTaskNumber(taskNumber);
+        try {
+            getDelegate().logf(loggerClassName, level, thrown, format, parameters);
+        } finally {
+            restoreTaskNumber(previousTaskNumber);
+        }
+    }
+
+    private Logger getDelegate() {
+        return delegate != null ? delegate : CategoryHolder.LOGGER;
+    }
+
+    private boolean isTaskLevelEnabled(Level level) {
+        if (!taskLevelResolved) {
+            taskLevel = resolveTaskLevel();
+            taskLevelResolved = true;
+        }
+        // levels are ordered from the most to the least severe
+        return taskLevel == null || level.ordinal() <= taskLevel.ordinal();
+    }
+
+    private Level resolveTaskLevel() {
+        if (migrationEnvironment == null) {
+            return null;
+        }
+        final String prefix = TaskExecutionImpl.ENVIRONMENT_PROPERTY_LOG_LEVEL.getName() + '.';
+        // an invalid level is ignored, as if not set
+        Level level = parseLevel(migrationEnvironment.getPropertyAsString(prefix + taskNumber));
+        if (level == null) {
+            level = parseLevel(migrationEnvironment.getPropertyAsString(prefix + taskName.getName()));
+        }
+        if (level == null) {
+            level = parseLevel(TaskExecutionImpl.ENVIRONMENT_PROPERTY_LOG_LEVEL.getValue(migrationEnvironment));
+        }
+        return level;
+    }
+
+    /**
+     * Parses a level.
+     * @param value the level's name, case insensitive
+     * @return the level, null if the value is empty or not a level
+     */
+    private static Level parseLevel(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Warns about the environment's invalid task levels, which are ignored.
+     * @param migrationEnvironment the migration environment
+     */
+    static void validateLevels(MigrationEnvironment migrationEnvironment) {
+        final String propertyName = TaskExecutionImpl.ENVIRONMENT_PROPERTY_LOG_LEVEL.getName();
+        for (String levelPropertyName : migrationEnvironment.getPropertyNames(propertyName)) {
+            if (levelPropertyName.equals(propertyName) || levelPropertyName.startsWith(propertyName + '.')) {
+                final String value = migrationEnvironment.getPropertyAsString(levelPropertyName);
+                if (value != null && !value.trim().isEmpty() && parseLevel(value) == null) {
+                    ServerMigrationLogger.ROOT_LOGGER.warnf("Ignoring invalid log level %s, set by environment property %s.", value, levelPropertyName);
+                }
+            }
+        }
+    }
+
+    /**
+     * Puts a task number in the MDC.
+     * @param taskNumber the task number
+     * @return the task number previously in the MDC
+     */
+    static Object putTaskNumber(String taskNumber) {
+        return MDC.put(MDC_KEY, taskNumber);
+    }
+
+    /**
+     * Restores the task number previously in the MDC.
+     * @param previousTaskNumber the task number previously in the MDC, may be null
+     */
+    static void restoreTaskNumber(Object previousTaskNumber) {
+        if (previousTaskNumber != null) {
+            MDC.put(MDC_KEY, previousTaskNumber);
+        } else {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    /**
+     * Retrieves the shared category on first use.
+     */
+    private static class CategoryHolder {
+        private static final Logger LOGGER = Logger.getLogger(CATEGORY);
+    }
+}
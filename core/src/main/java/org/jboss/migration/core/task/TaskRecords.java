@@ -0,0 +1,471 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.task;
+
+import org.jboss.logging.Logger;
+import org.jboss.migration.core.ServerMigrationContext;
+import org.jboss.migration.core.ServerMigrationFailureException;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact, read only, store of a completed task execution tree, which keeps each task's data in arrays, indexed by the task's position in a depth first traversal of the tree, with strings such as names and attributes interned in a shared table.
+ * The task executions retrieved are views of the store, created on demand, so that after the migration the task tree is retained with a handful of arrays, instead of several objects per task.
+ * @author emmartins
+ */
+public final class TaskRecords {
+
+    private static final byte NO_STATUS = -1;
+    private static final ServerMigrationTaskResult.Status[] STATUSES = ServerMigrationTaskResult.Status.values();
+
+    private final ServerMigrationContext serverMigrationContext;
+    private final String rootTaskNumber;
+    private final String[] strings;
+    private final int[] parents;
+    private final int[] subtreeEnds;
+    private final int[] ordinals;
+    private final int[] names;
+    private final int[] nameAttributeOffsets;
+    private final int[] nameAttributes;
+    private final byte[] statuses;
+    private final int[] resultAttributeOffsets;
+    private final int[] resultAttributes;
+    private final Map<Integer, ServerMigrationFailureException> failReasons;
+    private final long[] startTimes;
+    private final long[] startNanoTimes;
+    private final long[] endNanoTimes;
+    private final long[] threadIds;
+    private final int[] threadNames;
+    private final long[] cpuTimes;
+    private final long[] allocatedBytes;
+
+    private TaskRecords(Builder builder) {
+        this.serverMigrationContext = builder.serverMigrationContext;
+        this.rootTaskNumber = builder.rootTaskNumber;
+        this.strings = builder.strings.toArray(new String[builder.strings.size()]);
+        this.parents = builder.parents;
+        this.subtreeEnds = builder.subtreeEnds;
+        this.ordinals = builder.ordinals;
+        this.names = builder.names;
+        this.nameAttributeOffsets = builder.nameAttributeOffsets;
+        this.nameAttributes = builder.nameAttributes.toArray();
+        this.statuses = builder.statuses;
+        this.resultAttributeOffsets = builder.resultAttributeOffsets;
+        this.resultAttributes = builder.resultAttributes.toArray();
+        this.failReasons = builder.failReasons;
+        this.startTimes = builder.startTimes;
+        this.startNanoTimes = builder.startNanoTimes;
+        this.endNanoTimes = builder.endNanoTimes;
+        this.threadIds = builder.threadIds;
+        this.threadNames = builder.threadNames;
+        this.cpuTimes = builder.cpuTimes;
+        this.allocatedBytes = builder.allocatedBytes;
+    }
+
+    /**
+     * Stores a completed task execution tree.
+     * @param rootTask the root of the task execution tree
+     * @return the task records
+     */
+    public static TaskRecords of(TaskExecution rootTask) {
+        return new Builder(rootTask).build();
+    }
+
+    /**
+     * @return the number of tasks stored
+     */
+    public int size() {
+        return parents.length;
+    }
+
+    /**
+     * Retrieves a task execution.
+     * @param index the task's index, in the depth first traversal of the tree, i.e. the root task is 0
+     * @return the task execution
+     */
+    public TaskExecution get(int index) {
+        if (index < 0 || index >= parents.length) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        return new Record(index);
+    }
+
+    /**
+     * @return all task executions, in the depth first traversal of the tree
+     */
+    public List<TaskExecution> asList() {
+        return new AbstractList<TaskExecution>() {
+            @Override
+            public TaskExecution get(int index) {
+                return TaskRecords.this.get(index);
+            }
+            @Override
+            public int size() {
+                return TaskRecords.this.size();
+            }
+        };
+    }
+
+    /**
+     * Retrieves the number of tasks with the specified result status.
+     * @param status the result status
+     * @return the number of tasks with the specified result status
+     */
+    public int getTaskCount(ServerMigrationTaskResult.Status status) {
+        int count = 0;
+        for (byte taskStatus : statuses) {
+            if (taskStatus == status.ordinal()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private String getTaskNumber(int index) {
+        if (index == 0) {
+            return rootTaskNumber;
+        }
+        return getTaskNumber(parents[index]) + ':' + ordinals[index];
+    }
+
+    private ServerMigrationTaskName getTaskName(int index) {
+        return new ServerMigrationTaskName(strings[names[index]], getAttributes(nameAttributes, nameAttributeOffsets[index], nameAttributeOffsets[index + 1]));
+    }
+
+    private ServerMigrationTaskPath getTaskPath(int index) {
+        return new ServerMigrationTaskPath(getTaskName(index), index != 0 ? getTaskPath(parents[index]) : null);
+    }
+
+    private ServerMigrationTaskResult getResult(int index) {
+        final byte status = statuses[index];
+        if (status == NO_STATUS) {
+            return null;
+        }
+        final ServerMigrationFailureException failReason = failReasons.get(index);
+        final Map<String, String> attributes = getAttributes(resultAttributes, resultAttributeOffsets[index], resultAttributeOffsets[index + 1]);
+        if (attributes == null && failReason == null) {
+            switch (STATUSES[status]) {
+                case SUCCESS:
+                    return ServerMigrationTaskResult.SUCCESS;
+                case SKIPPED:
+                    return ServerMigrationTaskResult.SKIPPED;
+                default:
+                    break;
+            }
+        }
+        return new ServerMigrationTaskResult(STATUSES[status], failReason, attributes);
+    }
+
+    private Map<String, String> getAttributes(int[] attributes, int start, int end) {
+        if (start == end) {
+            return null;
+        }
+        // the original iteration order is kept
+        final Map<String, String> result = new LinkedHashMap<>();
+        for (int i = start; i < end; i += 2) {
+            result.put(strings[attributes[i]], strings[attributes[i + 1]]);
+        }
+        return result;
+    }
+
+    private List<TaskExecution> getSubtasks(int index) {
+        int count = 0;
+        for (int i = index + 1; i < subtreeEnds[index]; i = subtreeEnds[i]) {
+            count++;
+        }
+        final int[] subtasks = new int[count];
+        count = 0;
+        for (int i = index + 1; i < subtreeEnds[index]; i = subtreeEnds[i]) {
+            subtasks[count++] = i;
+        }
+        return new AbstractList<TaskExecution>() {
+            @Override
+            public TaskExecution get(int index) {
+                return new Record(subtasks[index]);
+            }
+            @Override
+            public int size() {
+                return subtasks.length;
+            }
+        };
+    }
+
+    /**
+     * A view of a stored task execution.
+     */
+    private final class Record implements TaskExecution {
+
+        private final int index;
+
+        private Record(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Logger getLogger() {
+            return new TaskLogger(getTaskNumber(), getTaskName(), serverMigrationContext.getMigrationEnvironment());
+        }
+
+        @Override
+        public ServerMigrationTaskResult getResult() {
+            return TaskRecords.this.getResult(index);
+        }
+
+        @Override
+        public ServerMigrationContext getServerMigrationContext() {
+            return serverMigrationContext;
+        }
+
+        @Override
+        public List<TaskExecution> getSubtasks() {
+            return TaskRecords.this.getSubtasks(index);
+        }
+
+        @Override
+        public long getStartTime() {
+            return startTimes[index];
+        }
+
+        @Override
+        public ServerMigrationTaskName getTaskName() {
+            return TaskRecords.this.getTaskName(index);
+        }
+
+        @Override
+        public String getTaskNumber() {
+            return TaskRecords.this.getTaskNumber(index);
+        }
+
+        @Override
+        public ServerMigrationTaskPath getTaskPath() {
+            return TaskRecords.this.getTaskPath(index);
+        }
+
+        @Override
+        public long getStartNanoTime() {
+            return startNanoTimes[index];
+        }
+
+        @Override
+        public long getEndNanoTime() {
+            return endNanoTimes[index];
+        }
+
+        @Override
+        public long getThreadId() {
+            return threadIds[index];
+        }
+
+        @Override
+        public String getThreadName() {
+            return threadNames[index] < 0 ? null : strings[threadNames[index]];
+        }
+
+        @Override
+        public long getCpuTimeNanos() {
+            return cpuTimes[index];
+        }
+
+        @Override
+        public long getAllocatedBytes() {
+            return allocatedBytes[index];
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Record)) {
+                return false;
+            }
+            final Record other = (Record) o;
+            return index == other.index && getStore() == other.getStore();
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(getStore()) + index;
+        }
+
+        private TaskRecords getStore() {
+            return TaskRecords.this;
+        }
+
+        @Override
+        public String toString() {
+            return getTaskNumber() + ' ' + getTaskName();
+        }
+    }
+
+    /**
+     * Stores a task execution tree, traversing it depth first.
+     */
+    private static class Builder {
+
+        private final ServerMigrationContext serverMigrationContext;
+        private final String rootTaskNumber;
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private final int[] parents;
+        private final int[] subtreeEnds;
+        private final int[] ordinals;
+        private final int[] names;
+        private final int[] nameAttributeOffsets;
+        private final IntArray nameAttributes = new IntArray();
+        private final byte[] statuses;
+        private final int[] resultAttributeOffsets;
+        private final IntArray resultAttributes = new IntArray();
+        private final Map<Integer, ServerMigrationFailureException> failReasons = new HashMap<>();
+        private final long[] startTimes;
+        private final long[] startNanoTimes;
+        private final long[] endNanoTimes;
+        private final long[] threadIds;
+        private final int[] threadNames;
+        private final long[] cpuTimes;
+        private final long[] allocatedBytes;
+        private final TaskExecution rootTask;
+        private int size;
+
+        private Builder(TaskExecution rootTask) {
+            this.rootTask = rootTask;
+            this.serverMigrationContext = rootTask.getServerMigrationContext();
+            this.rootTaskNumber = rootTask.getTaskNumber();
+            final int capacity = count(rootTask);
+            parents = new int[capacity];
+            subtreeEnds = new int[capacity];
+            ordinals = new int[capacity];
+            names = new int[capacity];
+            nameAttributeOffsets = new int[capacity + 1];
+            statuses = new byte[capacity];
+            resultAttributeOffsets = new int[capacity + 1];
+            startTimes = new long[capacity];
+            startNanoTimes = new long[capacity];
+            endNanoTimes = new long[capacity];
+            threadIds = new long[capacity];
+            threadNames = new int[capacity];
+            cpuTimes = new long[capacity];
+            allocatedBytes = new long[capacity];
+        }
+
+        private static int count(TaskExecution task) {
+            int count = 1;
+            for (TaskExecution subtask : task.getSubtasks()) {
+                count += count(subtask);
+            }
+            return count;
+        }
+
+        private TaskRecords build() {
+            add(rootTask, -1, 1);
+            return new TaskRecords(this);
+        }
+
+        private void add(TaskExecution task, int parent, int ordinal) {
+            final int index = size++;
+            parents[index] = parent;
+            ordinals[index] = ordinal;
+            final ServerMigrationTaskName taskName = task.getTaskName();
+            names[index] = intern(taskName.getName());
+            for (Map.Entry<String, String> attribute : taskName.getAttributes().entrySet()) {
+                nameAttributes.add(intern(attribute.getKey()));
+                nameAttributes.add(intern(attribute.getValue()));
+            }
+            nameAttributeOffsets[index + 1] = nameAttributes.size();
+            final ServerMigrationTaskResult result = task.getResult();
+            if (result == null) {
+                statuses[index] = NO_STATUS;
+            } else {
+                statuses[index] = (byte) result.getStatus().ordinal();
+                if (result.getFailReason() != null) {
+                    failReasons.put(index, result.getFailReason());
+                }
+                for (Map.Entry<String, String> attribute : result.getAttributes().entrySet()) {
+                    resultAttributes.add(intern(attribute.getKey()));
+                    resultAttributes.add(intern(attribute.getValue()));
+                }
+            }
+            resultAttributeOffsets[index + 1] = resultAttributes.size();
+            startTimes[index] = task.getStartTime();
+            startNanoTimes[index] = task.getStartNanoTime();
+            endNanoTimes[index] = task.getEndNanoTime();
+            threadIds[index] = task.getThreadId();
+            threadNames[index] = task.getThreadName() != null ? intern(task.getThreadName()) : -1;
+            cpuTimes[index] = task.getCpuTimeNanos();
+            allocatedBytes[index] = task.getAllocatedBytes();
+            int subtaskOrdinal = 0;
+            for (TaskExecution subtask : task.getSubtasks()) {
+                // the real number's last segment, since subtasks cancelled before running are not kept, and so siblings may not be numbered sequentially
+                subtaskOrdinal = getOrdinal(subtask, subtaskOrdinal + 1);
+                add(subtask, index, subtaskOrdinal);
+            }
+            subtreeEnds[index] = size;
+        }
+
+        private static int getOrdinal(TaskExecution task, int defaultOrdinal) {
+            final String taskNumber = task.getTaskNumber();
+            if (taskNumber != null) {
+                try {
+                    return Integer.parseInt(taskNumber.substring(taskNumber.lastIndexOf(':') + 1));
+                } catch (NumberFormatException e) {
+                    // not numbered by a task execution
+                }
+            }
+            return defaultOrdinal;
+        }
+
+        private int intern(String s) {
+            Integer id = stringIds.get(s);
+            if (id == null) {
+                id = strings.size();
+                strings.add(s);
+                stringIds.put(s, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * A growable array of ints.
+     */
+    private static class IntArray {
+
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
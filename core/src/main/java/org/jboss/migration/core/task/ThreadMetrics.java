@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.task;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Retrieves the current thread's CPU time and allocated bytes, if supported and enabled by the JVM.
+ * @author emmartins
+ */
+final class ThreadMetrics {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = isCpuTimeSupported();
+    private static final com.sun.management.ThreadMXBean ALLOCATED_BYTES_MX_BEAN = getAllocatedBytesMXBean();
+
+    private ThreadMetrics() {
+    }
+
+    private static boolean isCpuTimeSupported() {
+        try {
+            return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean getAllocatedBytesMXBean() {
+        try {
+            if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+                final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+                if (threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+                    return threadMXBean;
+                }
+            }
+        } catch (LinkageError | UnsupportedOperationException e) {
+            // not a HotSpot JVM
+        }
+        return null;
+    }
+
+    /**
+     * @return the current thread's CPU time, in nanoseconds, -1 if not supported
+     */
+    static long getCurrentThreadCpuTimeNanos() {
+        return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1L;
+    }
+
+    /**
+     * @return the bytes allocated by the current thread, -1 if not supported
+     */
+    static long getCurrentThreadAllocatedBytes() {
+        return ALLOCATED_BYTES_MX_BEAN != null ? ALLOCATED_BYTES_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1L;
+    }
+}
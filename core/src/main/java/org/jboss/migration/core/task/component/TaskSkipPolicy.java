@@ -18,7 +18,6 @@ package org.jboss.migration.core.task.component;
 
 import org.jboss.migration.core.console.BasicResultHandlers;
 import org.jboss.migration.core.console.UserConfirmation;
-import org.jboss.migration.core.env.TaskEnvironment;
 import org.jboss.migration.core.logger.ServerMigrationLogger;
 import org.jboss.migration.core.task.TaskContext;
 
@@ -30,11 +29,11 @@ public interface TaskSkipPolicy {
     boolean isSkipped(TaskContext context);
 
     static TaskSkipPolicy skipByTaskEnvironment(String propertyNamesBase) {
-        return context -> new TaskEnvironment(context.getMigrationEnvironment(), propertyNamesBase).isSkippedByEnvironment();
+        return context -> context.getMigrationEnvironment().isSkippedByEnvironment(propertyNamesBase);
     }
 
     static TaskSkipPolicy skipIfDefaultTaskSkipPropertyIsSet() {
-        return context -> skipIfAnyPropertyIsSet(context.getTaskName().getName() + ".skip").isSkipped(context);
+        return context -> context.getMigrationEnvironment().isSkippedByEnvironment(context.getTaskName().getName());
     }
 
     static TaskSkipPolicy skipIfAnyPropertyIsSet(String... propertyNames) {
@@ -16,6 +16,8 @@
 
 package org.jboss.migration.core.util;
 
+import org.jboss.migration.core.MigrationFiles;
+
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -39,7 +41,7 @@ public interface TextFiles {
         return new String(ba);
     }
     /**
-     * Writes a text file.
+     * Writes a text file, replacing it if it exists, after ensuring it's not a hard link to other files.
      * @param path the text file's path
      * @param content  the text file's content to write
      * @throws IOException
@@ -47,6 +49,7 @@ public interface TextFiles {
     static void write(Path path, String content) throws IOException {
         Objects.requireNonNull(path);
         Objects.requireNonNull(content);
+        MigrationFiles.breakHardLink(path);
         Files.write(path, content.getBytes(StandardCharsets.UTF_8));
     }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.util.xml;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * A XML stream reader which counts the elements read.
+ * @author emmartins
+ */
+class ElementCountingXMLStreamReader extends StreamReaderDelegate {
+
+    private long elements;
+
+    ElementCountingXMLStreamReader(XMLStreamReader reader) {
+        super(reader);
+        if (reader.getEventType() == START_ELEMENT) {
+            elements++;
+        }
+    }
+
+    @Override
+    public int next() throws XMLStreamException {
+        final int eventType = super.next();
+        if (eventType == START_ELEMENT) {
+            elements++;
+        }
+        return eventType;
+    }
+
+    @Override
+    public int nextTag() throws XMLStreamException {
+        final int eventType = super.nextTag();
+        if (eventType == START_ELEMENT) {
+            elements++;
+        }
+        return eventType;
+    }
+
+    /**
+     * @return the number of elements read
+     */
+    long getElements() {
+        return elements;
+    }
+}
@@ -18,7 +18,6 @@ package org.jboss.migration.core.util.xml;
 
 import org.jboss.migration.core.ServerMigrationFailureException;
 
-import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
@@ -41,7 +40,7 @@ public abstract class SimpleXMLFileMatcher implements XMLFileMatcher {
         final String fileName = path.getFileName().toString();
         if (fileNameMatches(fileName)) {
             try (final InputStream inputStream = Files.newInputStream(path)) {
-                XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(inputStream);
+                XMLStreamReader reader = XmlFactories.createXMLStreamReader(inputStream);
                 reader.require(START_DOCUMENT, null, null);
                 while (reader.hasNext()) {
                     if (reader.next() == START_ELEMENT) {
@@ -22,6 +22,8 @@ import javax.xml.stream.XMLEventFactory;
 import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLEventWriter;
 import javax.xml.stream.events.StartElement;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * A XML file content filter.
@@ -40,6 +42,14 @@ public interface XMLFileFilter {
      */
     Result filter(StartElement startElement, XMLEventReader xmlEventReader, XMLEventWriter xmlEventWriter, XMLEventFactory xmlEventFactory) throws ServerMigrationFailureException;
 
+    /**
+     * Retrieves the local names of the elements the filter may be applicable to, which allows the cursor API based filtering to skip other elements without creating event objects for these.
+     * @return the local names of the elements the filter may be applicable to, if empty the filter may be applicable to any element
+     */
+    default Set<String> getElementLocalNames() {
+        return Collections.emptySet();
+    }
+
     /**
      * The element filtering result.
      */
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.util.xml;
+
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.stream.events.StartElement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The adapter of {@link XMLFileFilter}s to {@link XMLStreamFilter}, which provides the filters with event API views of the cursor API reader and writer.
+ * Elements no filter is applicable to, according to the filters element local names, are skipped without creating event objects, and the event objects of other elements are shared by the adapted filters.
+ * An adapter reuses the event writer view of the last writer, thus it must not filter concurrently.
+ * @author emmartins
+ */
+class XMLFileFilterAdapter implements XMLStreamFilter {
+
+    private final XMLFileFilter[] filters;
+    private final List<Set<String>> filtersElementLocalNames;
+    private final Set<String> elementLocalNames;
+    private XMLStreamWriter xmlStreamWriter;
+    private XMLEventWriter xmlEventWriter;
+
+    /**
+     *
+     * @param filter the filter to adapt
+     * @param elementLocalNames the local names of the elements the filter is applicable to, if none is specified the ones provided by the filter are used
+     */
+    XMLFileFilterAdapter(XMLFileFilter filter, String... elementLocalNames) {
+        this(new XMLFileFilter[]{filter}, Arrays.asList(elementLocalNames.length > 0 ? new HashSet<>(Arrays.asList(elementLocalNames)) : filter.getElementLocalNames()));
+    }
+
+    /**
+     *
+     * @param filters the filters to adapt, the first applicable to an element wins
+     */
+    XMLFileFilterAdapter(XMLFileFilter... filters) {
+        this(filters, getElementLocalNames(filters));
+    }
+
+    private XMLFileFilterAdapter(XMLFileFilter[] filters, List<Set<String>> filtersElementLocalNames) {
+        this.filters = filters;
+        this.filtersElementLocalNames = filtersElementLocalNames;
+        Set<String> elementLocalNames = new HashSet<>();
+        for (Set<String> filterElementLocalNames : filtersElementLocalNames) {
+            if (filterElementLocalNames.isEmpty()) {
+                // a filter may be applicable to any element
+                elementLocalNames = null;
+                break;
+            }
+            elementLocalNames.addAll(filterElementLocalNames);
+        }
+        this.elementLocalNames = elementLocalNames;
+    }
+
+    private static List<Set<String>> getElementLocalNames(XMLFileFilter... filters) {
+        final List<Set<String>> result = new ArrayList<>(filters.length);
+        for (XMLFileFilter filter : filters) {
+            result.add(filter.getElementLocalNames());
+        }
+        return result;
+    }
+
+    @Override
+    public XMLFileFilter.Result filter(XMLStreamReader xmlStreamReader, XMLStreamWriter xmlStreamWriter) throws XMLStreamException {
+        final String localName = xmlStreamReader.getLocalName();
+        if (elementLocalNames != null && !elementLocalNames.contains(localName)) {
+            return XMLFileFilter.Result.NOT_APPLICABLE;
+        }
+        XMLEventReader xmlEventReader = null;
+        StartElement startElement = null;
+        for (int i = 0; i < filters.length; i++) {
+            final Set<String> filterElementLocalNames = filtersElementLocalNames.get(i);
+            if (!filterElementLocalNames.isEmpty() && !filterElementLocalNames.contains(localName)) {
+                continue;
+            }
+            if (startElement == null) {
+                // the event reader view's first event is the reader's current event, i.e. the element's start, and reading further events moves the reader
+                xmlEventReader = XmlFactories.createXMLEventReader(xmlStreamReader);
+                startElement = xmlEventReader.nextEvent().asStartElement();
+            }
+            final XMLFileFilter.Result result = filters[i].filter(startElement, xmlEventReader, getXMLEventWriter(xmlStreamWriter), XmlFactories.getXMLEventFactory());
+            if (result != XMLFileFilter.Result.NOT_APPLICABLE) {
+                return result;
+            }
+        }
+        return XMLFileFilter.Result.NOT_APPLICABLE;
+    }
+
+    private XMLEventWriter getXMLEventWriter(XMLStreamWriter xmlStreamWriter) throws XMLStreamException {
+        if (this.xmlStreamWriter != xmlStreamWriter) {
+            // the view has no state of its own, thus it is reused while the writer is the same
+            this.xmlEventWriter = XmlFactories.createXMLEventWriter(xmlStreamWriter);
+            this.xmlStreamWriter = xmlStreamWriter;
+        }
+        return xmlEventWriter;
+    }
+}
@@ -0,0 +1,804 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.util.xml;
+
+import org.jboss.logging.MDC;
+import org.jboss.migration.core.MigrationFiles;
+import org.jboss.migration.core.ServerMigrationFailureException;
+import org.jboss.migration.core.jfr.FlightRecorderEvents;
+
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.util.StreamReaderDelegate;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static javax.xml.stream.XMLStreamConstants.*;
+
+/**
+ * A pipeline of XML file filters and processors, which are all dispatched from a single parse of the XML file, and a single write when there are filters.
+ * Filters and processors may be registered for specific element local names, and are dispatched through tables indexed by such names.
+ * Filters follow the semantics of {@link XMLFiles#filterStream(Path, XMLStreamFilter...)}, i.e. the first registered filter applicable to an element wins, and the XML content is copied with the cursor StAX API.
+ * Processors are invoked with a reader of the element's events only, and see the XML file content as it was read, i.e. before any filtering.
+ * Element processors are invoked once the element's end is read, while document processors read the events as the XML file is parsed, in a thread of a shared pool, with the MDC of the pipeline's thread, thus the whole document is never held in memory.
+ * Failures of filters and processors with an owner, see {@link Builder#owner(Object)}, are returned by {@link #run(Path)} instead of failing the pipeline.
+ * @author emmartins
+ */
+public class XMLFilePipeline {
+
+    /**
+     * the max number of events queued to a document processor
+     */
+    private static final int DOCUMENT_PROCESSOR_QUEUE_CAPACITY = 256;
+
+    /**
+     * the pool of the document processors threads, which is not bounded, since each document processor blocks its thread until the pipeline ends
+     */
+    private static final ExecutorService DOCUMENT_PROCESSOR_EXECUTOR = newDocumentProcessorExecutor();
+
+    private static ExecutorService newDocumentProcessorExecutor() {
+        final AtomicInteger threadCounter = new AtomicInteger();
+        // idle threads are not kept, thus there is no need to shutdown the pool
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 30, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "server-migration-xml-"+threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private final List<Registration<XMLStreamFilter>> filters;
+    private final ElementDispatchTable<OwnedProcessor> processors;
+    private final List<OwnedProcessor> documentProcessors;
+
+    protected XMLFilePipeline(Builder builder) {
+        this.filters = Collections.unmodifiableList(new ArrayList<>(builder.filters));
+        final List<Registration<OwnedProcessor>> processors = new ArrayList<>();
+        for (Registration<XMLFileProcessor> registration : builder.processors) {
+            processors.add(new Registration<>(new OwnedProcessor(registration.handler, registration.owner), registration.owner, registration.elementLocalNames));
+        }
+        this.processors = new ElementDispatchTable<>(processors, new OwnedProcessor[0]);
+        final List<OwnedProcessor> documentProcessors = new ArrayList<>();
+        for (Registration<XMLFileProcessor> registration : builder.documentProcessors) {
+            documentProcessors.add(new OwnedProcessor(registration.handler, registration.owner));
+        }
+        this.documentProcessors = Collections.unmodifiableList(documentProcessors);
+    }
+
+    /**
+     * Indicates if the pipeline has no filters or processors.
+     * @return true if the pipeline has no filters or processors, false otherwise
+     */
+    public boolean isEmpty() {
+        return filters.isEmpty() && processors.isEmpty() && documentProcessors.isEmpty();
+    }
+
+    /**
+     * Indicates if the pipeline has filters, i.e. if running it rewrites the XML file.
+     * @return true if the pipeline has filters, false otherwise
+     */
+    public boolean hasFilters() {
+        return !filters.isEmpty();
+    }
+
+    /**
+     * Runs the pipeline on the specified XML file.
+     * @param xmlFile the xml file
+     * @return the failures of the filters and processors with an owner, indexed by owner
+     * @throws ServerMigrationFailureException if there was a failure running the pipeline, or a failure of a filter or processor without owner
+     */
+    public Map<Object, ServerMigrationFailureException> run(Path xmlFile) throws ServerMigrationFailureException {
+        if (isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<Object, ServerMigrationFailureException> failures = new LinkedHashMap<>();
+        final FlightRecorderEvents.XmlFileEvent event = FlightRecorderEvents.beginXmlFile();
+        try {
+            final byte[] xmlFileBytes = Files.readAllBytes(xmlFile);
+            final long elements;
+            try (InputStream inputStream = new ByteArrayInputStream(xmlFileBytes)) {
+                if (filters.isEmpty()) {
+                    elements = run(inputStream, null, event.isEnabled(), failures);
+                } else {
+                    MigrationFiles.breakHardLink(xmlFile);
+                    try (OutputStream outputStream = Files.newOutputStream(xmlFile)) {
+                        elements = run(inputStream, outputStream, event.isEnabled(), failures);
+                    }
+                }
+            }
+            if (event.isEnabled()) {
+                event.commit(xmlFile, "pipeline", xmlFileBytes.length, elements);
+            }
+        } catch (IOException e) {
+            throw new ServerMigrationFailureException("XML file pipeline failed.", e);
+        }
+        return Collections.unmodifiableMap(failures);
+    }
+
+    private long run(InputStream inputStream, OutputStream outputStream, boolean countElements, Map<Object, ServerMigrationFailureException> failures) throws ServerMigrationFailureException {
+        RecordingXMLStreamReader xmlStreamReader = null;
+        XMLStreamWriter xmlStreamWriter = null;
+        try {
+            // character data is only coalesced if the XML content is not rewritten
+            XMLStreamReader reader = XmlFactories.createXMLStreamReader(inputStream, outputStream == null);
+            final ElementCountingXMLStreamReader elementCountingReader = countElements ? new ElementCountingXMLStreamReader(reader) : null;
+            if (elementCountingReader != null) {
+                reader = elementCountingReader;
+            }
+            xmlStreamReader = new RecordingXMLStreamReader(reader, failures);
+            if (outputStream == null) {
+                while (xmlStreamReader.hasNext()) {
+                    xmlStreamReader.next();
+                }
+            } else {
+                final List<Registration<XMLStreamFilter>> runFilters = new ArrayList<>(filters.size());
+                for (Registration<XMLStreamFilter> registration : filters) {
+                    runFilters.add(registration.owner == null ? registration : new Registration<>(new OwnedFilter(registration.handler, registration.owner, failures), registration.owner, registration.elementLocalNames));
+                }
+                xmlStreamWriter = XMLStreamCopy.createWriter(xmlStreamReader, outputStream);
+                XMLStreamCopy.filter(xmlStreamReader, xmlStreamWriter, new ElementDispatchTable<>(runFilters, new XMLStreamFilter[0])::get);
+            }
+            xmlStreamReader.endFeeds();
+            return elementCountingReader != null ? elementCountingReader.getElements() : -1;
+        } catch (XMLStreamException e) {
+            throw new ServerMigrationFailureException("XML file pipeline failed", e);
+        } finally {
+            if (xmlStreamReader != null) {
+                // ends the document processors still reading, if the pipeline failed
+                xmlStreamReader.abortFeeds();
+                try {
+                    xmlStreamReader.close();
+                } catch (XMLStreamException e) {
+                    // ignore
+                }
+            }
+            if (xmlStreamWriter != null) {
+                try {
+                    xmlStreamWriter.close();
+                } catch (XMLStreamException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    /**
+     * Handles the failure of a filter or processor.
+     * @param owner the owner of the filter or processor
+     * @param failure the failure
+     * @param failures the failures of the owners
+     * @throws ServerMigrationFailureException if there is no owner, thus the pipeline fails
+     */
+    private static void fail(Object owner, Throwable failure, Map<Object, ServerMigrationFailureException> failures) throws ServerMigrationFailureException {
+        final ServerMigrationFailureException e = failure instanceof ServerMigrationFailureException ? (ServerMigrationFailureException) failure : new ServerMigrationFailureException(failure);
+        if (owner == null) {
+            throw e;
+        }
+        failures.putIfAbsent(owner, e);
+    }
+
+    /**
+     * A table with the handlers of each element local name, which keeps the handlers registration order.
+     * @param <T> the handler type
+     */
+    private static class ElementDispatchTable<T> {
+
+        private final Map<String, T[]> elementHandlers;
+        private final T[] anyElementHandlers;
+
+        ElementDispatchTable(List<Registration<T>> registrations, T[] emptyArray) {
+            final Set<String> elementLocalNames = new HashSet<>();
+            final List<T> anyElementHandlers = new ArrayList<>();
+            for (Registration<T> registration : registrations) {
+                if (registration.elementLocalNames.isEmpty()) {
+                    anyElementHandlers.add(registration.handler);
+                } else {
+                    elementLocalNames.addAll(registration.elementLocalNames);
+                }
+            }
+            this.anyElementHandlers = anyElementHandlers.toArray(emptyArray);
+            this.elementHandlers = new HashMap<>();
+            for (String elementLocalName : elementLocalNames) {
+                final List<T> handlers = new ArrayList<>();
+                for (Registration<T> registration : registrations) {
+                    if (registration.elementLocalNames.isEmpty() || registration.elementLocalNames.contains(elementLocalName)) {
+                        handlers.add(registration.handler);
+                    }
+                }
+                elementHandlers.put(elementLocalName, handlers.toArray(emptyArray));
+            }
+        }
+
+        T[] get(String elementLocalName) {
+            final T[] handlers = elementHandlers.get(elementLocalName);
+            return handlers != null ? handlers : anyElementHandlers;
+        }
+
+        boolean isEmpty() {
+            return elementHandlers.isEmpty() && anyElementHandlers.length == 0;
+        }
+    }
+
+    private static class Registration<T> {
+
+        private final T handler;
+        private final Object owner;
+        private final Set<String> elementLocalNames;
+
+        Registration(T handler, Object owner, String... elementLocalNames) {
+            this(handler, owner, new HashSet<>(Arrays.asList(elementLocalNames)));
+        }
+
+        Registration(T handler, Object owner, Set<String> elementLocalNames) {
+            this.handler = handler;
+            this.owner = owner;
+            this.elementLocalNames = elementLocalNames;
+        }
+    }
+
+    private static class OwnedProcessor {
+
+        private final XMLFileProcessor processor;
+        private final Object owner;
+
+        OwnedProcessor(XMLFileProcessor processor, Object owner) {
+            this.processor = processor;
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * A filter with an owner, which failures are recorded instead of failing the pipeline, as long as the filter did not consume the element.
+     * Once failed the owner's filters are not applicable to any other element.
+     */
+    private static class OwnedFilter implements XMLStreamFilter {
+
+        private final XMLStreamFilter filter;
+        private final Object owner;
+        private final Map<Object, ServerMigrationFailureException> failures;
+
+        OwnedFilter(XMLStreamFilter filter, Object owner, Map<Object, ServerMigrationFailureException> failures) {
+            this.filter = filter;
+            this.owner = owner;
+            this.failures = failures;
+        }
+
+        @Override
+        public XMLFileFilter.Result filter(XMLStreamReader xmlStreamReader, XMLStreamWriter xmlStreamWriter) throws XMLStreamException, ServerMigrationFailureException {
+            if (failures.containsKey(owner)) {
+                return XMLFileFilter.Result.NOT_APPLICABLE;
+            }
+            final int characterOffset = xmlStreamReader.getLocation().getCharacterOffset();
+            try {
+                return filter.filter(xmlStreamReader, xmlStreamWriter);
+            } catch (RuntimeException e) {
+                if (xmlStreamReader.getEventType() != START_ELEMENT || xmlStreamReader.getLocation().getCharacterOffset() != characterOffset) {
+                    // the element was partially consumed, the XML content can't be copied further
+                    throw e;
+                }
+                fail(owner, e, failures);
+                return XMLFileFilter.Result.NOT_APPLICABLE;
+            }
+        }
+    }
+
+    /**
+     * The events of an element, fed to its processors.
+     */
+    private abstract static class Feed {
+
+        private int endElementsLeft = 1;
+
+        /**
+         * Feeds an event.
+         * @param xmlEvent the event
+         * @return true if the element's end was fed, false otherwise
+         * @throws ServerMigrationFailureException if there was a failure feeding the event
+         */
+        boolean feed(XMLEvent xmlEvent) throws ServerMigrationFailureException {
+            if (xmlEvent.isStartElement()) {
+                endElementsLeft++;
+            } else if (xmlEvent.isEndElement()) {
+                endElementsLeft--;
+            }
+            accept(xmlEvent);
+            return endElementsLeft == 0;
+        }
+
+        protected abstract void accept(XMLEvent xmlEvent) throws ServerMigrationFailureException;
+
+        /**
+         * Ends the feed, once the element's end is fed.
+         * @param failures the failures of the owners
+         * @throws ServerMigrationFailureException if a processor without owner failed
+         */
+        abstract void end(Map<Object, ServerMigrationFailureException> failures) throws ServerMigrationFailureException;
+
+        /**
+         * Aborts the feed, if the pipeline failed.
+         */
+        abstract void abort();
+    }
+
+    /**
+     * The recorded events of an element, which are processed once the element's end is fed.
+     */
+    private static class Recording extends Feed {
+
+        private final StartElement startElement;
+        private final List<OwnedProcessor> processors;
+        private final List<XMLEvent> events = new ArrayList<>();
+
+        Recording(StartElement startElement, List<OwnedProcessor> processors) {
+            this.startElement = startElement;
+            this.processors = processors;
+        }
+
+        @Override
+        protected void accept(XMLEvent xmlEvent) {
+            events.add(xmlEvent);
+        }
+
+        @Override
+        void end(Map<Object, ServerMigrationFailureException> failures) throws ServerMigrationFailureException {
+            for (OwnedProcessor processor : processors) {
+                if (processor.owner != null && failures.containsKey(processor.owner)) {
+                    continue;
+                }
+                try {
+                    processor.processor.process(startElement, new ListXMLEventReader(events));
+                } catch (RuntimeException e) {
+                    fail(processor.owner, e, failures);
+                }
+            }
+        }
+
+        @Override
+        void abort() {
+        }
+    }
+
+    /**
+     * The events of the root element streamed to a document processor, which reads these in its own thread.
+     * The processor may stop reading before the element's end, events are then discarded.
+     */
+    private static class Stream extends Feed {
+
+        private static final Object END = new Object();
+
+        private final OwnedProcessor processor;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(DOCUMENT_PROCESSOR_QUEUE_CAPACITY);
+        private final Future<?> future;
+        private volatile boolean done;
+        private volatile Throwable failure;
+
+        Stream(StartElement startElement, OwnedProcessor processor) {
+            this.processor = processor;
+            // the processor logs as the pipeline's task, e.g. with the task number in the MDC
+            final Map<String, Object> mdc = MDC.getMap();
+            final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            this.future = DOCUMENT_PROCESSOR_EXECUTOR.submit(() -> {
+                final Thread thread = Thread.currentThread();
+                final ClassLoader threadContextClassLoader = thread.getContextClassLoader();
+                thread.setContextClassLoader(contextClassLoader);
+                if (mdc != null) {
+                    for (Map.Entry<String, Object> entry : mdc.entrySet()) {
+                        MDC.put(entry.getKey(), entry.getValue());
+                    }
+                }
+                try {
+                    processor.processor.process(startElement, new QueueXMLEventReader(queue));
+                } catch (Throwable t) {
+                    failure = t;
+                } finally {
+                    // unblocks the pipeline, if the queue is full
+                    done = true;
+                    queue.clear();
+                    MDC.clear();
+                    thread.setContextClassLoader(threadContextClassLoader);
+                }
+            });
+        }
+
+        @Override
+        protected void accept(XMLEvent xmlEvent) throws ServerMigrationFailureException {
+            put(xmlEvent);
+        }
+
+        private void put(Object object) throws ServerMigrationFailureException {
+            if (done) {
+                return;
+            }
+            try {
+                queue.put(object);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServerMigrationFailureException("XML file pipeline interrupted", e);
+            }
+        }
+
+        @Override
+        void end(Map<Object, ServerMigrationFailureException> failures) throws ServerMigrationFailureException {
+            put(END);
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServerMigrationFailureException("XML file pipeline interrupted", e);
+            } catch (ExecutionException e) {
+                // not expected, the processor's failures are caught
+                throw new ServerMigrationFailureException("XML file pipeline failed", e.getCause());
+            }
+            if (failure != null) {
+                fail(processor.owner, failure, failures);
+            }
+        }
+
+        @Override
+        void abort() {
+            if (!done) {
+                // the pipeline is the only producer, thus after clearing the queue the end is always queued
+                queue.clear();
+                queue.offer(END);
+            }
+        }
+    }
+
+    /**
+     * A reader which feeds the events read to the processors of the elements with processors, invoking each element's processors once the element's end is read.
+     * Event objects are only created while there are feeds.
+     */
+    private class RecordingXMLStreamReader extends StreamReaderDelegate {
+
+        private final XMLEventFactory xmlEventFactory = XmlFactories.getXMLEventFactory();
+        private final List<Feed> feeds = new ArrayList<>();
+        private final Map<Object, ServerMigrationFailureException> failures;
+        private boolean rootElementRead;
+
+        RecordingXMLStreamReader(XMLStreamReader xmlStreamReader, Map<Object, ServerMigrationFailureException> failures) {
+            super(xmlStreamReader);
+            this.failures = failures;
+        }
+
+        @Override
+        public int next() throws XMLStreamException {
+            final int eventType = super.next();
+            XMLEvent xmlEvent = null;
+            if (!feeds.isEmpty()) {
+                xmlEvent = XMLStreamCopy.toEvent(this, xmlEventFactory);
+                if (xmlEvent != null) {
+                    final Iterator<Feed> iterator = feeds.iterator();
+                    while (iterator.hasNext()) {
+                        final Feed feed = iterator.next();
+                        if (feed.feed(xmlEvent)) {
+                            iterator.remove();
+                            feed.end(failures);
+                        }
+                    }
+                }
+            }
+            if (eventType == START_ELEMENT) {
+                if (!rootElementRead) {
+                    rootElementRead = true;
+                    for (OwnedProcessor documentProcessor : documentProcessors) {
+                        if (xmlEvent == null) {
+                            xmlEvent = XMLStreamCopy.toEvent(this, xmlEventFactory);
+                        }
+                        feeds.add(new Stream(xmlEvent.asStartElement(), documentProcessor));
+                    }
+                }
+                final OwnedProcessor[] elementProcessors = processors.get(getLocalName());
+                if (elementProcessors.length > 0) {
+                    if (xmlEvent == null) {
+                        xmlEvent = XMLStreamCopy.toEvent(this, xmlEventFactory);
+                    }
+                    feeds.add(new Recording(xmlEvent.asStartElement(), Arrays.asList(elementProcessors)));
+                }
+            }
+            return eventType;
+        }
+
+        /**
+         * Ends the feeds of elements without end, i.e. if the document is not well formed.
+         * @throws ServerMigrationFailureException if a processor without owner failed
+         */
+        void endFeeds() throws ServerMigrationFailureException {
+            final Iterator<Feed> iterator = feeds.iterator();
+            while (iterator.hasNext()) {
+                final Feed feed = iterator.next();
+                iterator.remove();
+                feed.end(failures);
+            }
+        }
+
+        void abortFeeds() {
+            for (Feed feed : feeds) {
+                feed.abort();
+            }
+            feeds.clear();
+        }
+
+        @Override
+        public String getElementText() throws XMLStreamException {
+            // read through next(), so that events are recorded
+            if (getEventType() != START_ELEMENT) {
+                throw new XMLStreamException("reader must be on an element's start to read its text content", getLocation());
+            }
+            final StringBuilder text = new StringBuilder();
+            int eventType = next();
+            while (eventType != END_ELEMENT) {
+                if (eventType == CHARACTERS || eventType == CDATA || eventType == SPACE || eventType == ENTITY_REFERENCE) {
+                    text.append(getText());
+                } else if (eventType == START_ELEMENT) {
+                    throw new XMLStreamException("element text content may not contain start element", getLocation());
+                } else if (eventType == END_DOCUMENT) {
+                    throw new XMLStreamException("unexpected end of document when reading element text content", getLocation());
+                }
+                eventType = next();
+            }
+            return text.toString();
+        }
+
+        @Override
+        public int nextTag() throws XMLStreamException {
+            // read through next(), so that events are recorded
+            int eventType = next();
+            while ((eventType == CHARACTERS && isWhiteSpace()) || (eventType == CDATA && isWhiteSpace()) || eventType == SPACE || eventType == PROCESSING_INSTRUCTION || eventType == COMMENT) {
+                eventType = next();
+            }
+            if (eventType != START_ELEMENT && eventType != END_ELEMENT) {
+                throw new XMLStreamException("found non white space characters when looking for the next tag", getLocation());
+            }
+            return eventType;
+        }
+    }
+
+    /**
+     * A reader of the events fed to a processor.
+     */
+    private abstract static class FeedXMLEventReader implements XMLEventReader {
+
+        @Override
+        public String getElementText() throws XMLStreamException {
+            return readElementText(this);
+        }
+
+        @Override
+        public XMLEvent nextTag() throws XMLStreamException {
+            return readNextTag(this);
+        }
+
+        @Override
+        public Object getProperty(String name) throws IllegalArgumentException {
+            throw new IllegalArgumentException(name);
+        }
+
+        @Override
+        public void close() throws XMLStreamException {
+        }
+
+        @Override
+        public Object next() {
+            try {
+                return nextEvent();
+            } catch (XMLStreamException e) {
+                throw new NoSuchElementException(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A reader of recorded events.
+     */
+    private static class ListXMLEventReader extends FeedXMLEventReader {
+
+        private final List<XMLEvent> events;
+        private int index;
+
+        ListXMLEventReader(List<XMLEvent> events) {
+            this.events = events;
+        }
+
+        @Override
+        public XMLEvent nextEvent() throws XMLStreamException {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return events.get(index++);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < events.size();
+        }
+
+        @Override
+        public XMLEvent peek() throws XMLStreamException {
+            return hasNext() ? events.get(index) : null;
+        }
+    }
+
+    /**
+     * A reader of streamed events, which waits for the next event to be queued.
+     */
+    private static class QueueXMLEventReader extends FeedXMLEventReader {
+
+        private final BlockingQueue<Object> queue;
+        private Object next;
+
+        QueueXMLEventReader(BlockingQueue<Object> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public XMLEvent nextEvent() throws XMLStreamException {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final XMLEvent xmlEvent = (XMLEvent) next;
+            next = null;
+            return xmlEvent;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    next = Stream.END;
+                }
+            }
+            return next != Stream.END;
+        }
+
+        @Override
+        public XMLEvent peek() throws XMLStreamException {
+            return hasNext() ? (XMLEvent) next : null;
+        }
+    }
+
+    private static String readElementText(XMLEventReader xmlEventReader) throws XMLStreamException {
+        final StringBuilder text = new StringBuilder();
+        while (xmlEventReader.hasNext()) {
+            final XMLEvent xmlEvent = xmlEventReader.nextEvent();
+            if (xmlEvent.isEndElement()) {
+                return text.toString();
+            } else if (xmlEvent.isCharacters()) {
+                text.append(xmlEvent.asCharacters().getData());
+            } else if (xmlEvent.isStartElement()) {
+                throw new XMLStreamException("element text content may not contain start element", xmlEvent.getLocation());
+            }
+        }
+        throw new XMLStreamException("unexpected end of document when reading element text content");
+    }
+
+    private static XMLEvent readNextTag(XMLEventReader xmlEventReader) throws XMLStreamException {
+        while (xmlEventReader.hasNext()) {
+            final XMLEvent xmlEvent = xmlEventReader.nextEvent();
+            if (xmlEvent.isStartElement() || xmlEvent.isEndElement()) {
+                return xmlEvent;
+            } else if (xmlEvent.isCharacters() && !xmlEvent.asCharacters().isWhiteSpace()) {
+                throw new XMLStreamException("found non white space characters when looking for the next tag", xmlEvent.getLocation());
+            }
+        }
+        throw new XMLStreamException("unexpected end of document when looking for the next tag");
+    }
+
+    /**
+     * The pipeline builder.
+     */
+    public static class Builder {
+
+        private final List<Registration<XMLStreamFilter>> filters = new ArrayList<>();
+        private final List<Registration<XMLFileProcessor>> processors = new ArrayList<>();
+        private final List<Registration<XMLFileProcessor>> documentProcessors = new ArrayList<>();
+        private Object owner;
+
+        /**
+         * Sets the owner of the filters and processors added next, e.g. the task which reports what these do.
+         * The failures of filters and processors with an owner don't fail the pipeline, and are returned by {@link XMLFilePipeline#run(Path)}, to be reported by the owner. Once an owner fails, its filters are not applicable to further elements, and its processors are not invoked.
+         * Note that a filter which fails after consuming the element's content still fails the pipeline, since the XML content can't be copied further.
+         * @param owner the owner, if null the failures of the filters and processors added next fail the pipeline
+         * @return this builder instance
+         */
+        public Builder owner(Object owner) {
+            this.owner = owner;
+            return this;
+        }
+
+        /**
+         * Adds a filter to the pipeline.
+         * @param filter the filter
+         * @param elementLocalNames the local names of the elements the filter is applicable to, if none is specified the filter is applicable to any element
+         * @return this builder instance
+         */
+        public Builder filter(XMLFileFilter filter, String... elementLocalNames) {
+            // the dispatch table already matches the element local names
+            return filter(XMLStreamFilter.of(filter), elementLocalNames);
+        }
+
+        /**
+         * Adds a cursor API based filter to the pipeline.
+         * @param filter the filter
+         * @param elementLocalNames the local names of the elements the filter is applicable to, if none is specified the filter is applicable to any element
+         * @return this builder instance
+         */
+        public Builder filter(XMLStreamFilter filter, String... elementLocalNames) {
+            filters.add(new Registration<>(filter, owner, elementLocalNames));
+            return this;
+        }
+
+        /**
+         * Adds an element processor to the pipeline, which is invoked for each element with one of the specified local names.
+         * @param processor the processor
+         * @param elementLocalNames the local names of the elements to process
+         * @return this builder instance
+         */
+        public Builder processor(XMLFileProcessor processor, String... elementLocalNames) {
+            if (elementLocalNames.length == 0) {
+                throw new IllegalArgumentException("no element local names specified");
+            }
+            processors.add(new Registration<>(processor, owner, elementLocalNames));
+            return this;
+        }
+
+        /**
+         * Adds a processor of the whole XML file to the pipeline, i.e. which is invoked with the root element.
+         * The processor runs in its own thread, and reads the events as the XML file is parsed, thus it must not depend on state of the thread running the pipeline.
+         * @param processor the processor
+         * @return this builder instance
+         */
+        public Builder documentProcessor(XMLFileProcessor processor) {
+            documentProcessors.add(new Registration<>(processor, owner));
+            return this;
+        }
+
+        public XMLFilePipeline build() {
+            return new XMLFilePipeline(this);
+        }
+    }
+}
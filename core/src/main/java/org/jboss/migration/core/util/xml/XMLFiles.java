@@ -16,15 +16,14 @@
 
 package org.jboss.migration.core.util.xml;
 
+import org.jboss.migration.core.MigrationFiles;
 import org.jboss.migration.core.ServerMigrationFailureException;
+import org.jboss.migration.core.jfr.FlightRecorderEvents;
 
-import javax.xml.stream.XMLEventFactory;
 import javax.xml.stream.XMLEventReader;
-import javax.xml.stream.XMLEventWriter;
-import javax.xml.stream.XMLInputFactory;
-import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.StartElement;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.stream.events.XMLEvent;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -99,8 +98,28 @@ public class XMLFiles {
      * @throws ServerMigrationFailureException if there was a failure in the copy process
      */
     public static void copy(Path source, Path target, XMLFileFilter... filters) throws ServerMigrationFailureException {
+        copyStream(source, target, adapt(filters));
+    }
+
+    /**
+     * Copy a XML file, filtering its content with the cursor API.
+     * @param source the source XML file
+     * @param target the target XML file
+     * @param filters the xml content filters
+     * @throws ServerMigrationFailureException if there was a failure in the copy process
+     */
+    public static void copyStream(Path source, Path target, XMLStreamFilter... filters) throws ServerMigrationFailureException {
+        final FlightRecorderEvents.XmlFileEvent event = FlightRecorderEvents.beginXmlFile();
+        try {
+            MigrationFiles.breakHardLink(target);
+        } catch (IOException e) {
+            throw new ServerMigrationFailureException("xml file copy failed", e);
+        }
         try (InputStream inputStream = Files.newInputStream(source); OutputStream outputStream = Files.newOutputStream(target)) {
-            filter(inputStream, outputStream, filters);
+            final long elements = filter(inputStream, outputStream, event.isEnabled(), filters);
+            if (event.isEnabled()) {
+                event.commit(source, "copy", Files.size(source), elements);
+            }
         } catch (IOException e) {
             throw new ServerMigrationFailureException("xml file copy failed", e);
         }
@@ -113,69 +132,64 @@ public class XMLFiles {
      * @throws ServerMigrationFailureException
      */
     public static void filter(Path xmlFile, XMLFileFilter... filters) throws ServerMigrationFailureException {
+        filterStream(xmlFile, adapt(filters));
+    }
+
+    /**
+     * Filters the specified XML file with the cursor API.
+     * @param xmlFile the xml file to filter
+     * @param filters the xml content filters
+     * @throws ServerMigrationFailureException
+     */
+    public static void filterStream(Path xmlFile, XMLStreamFilter... filters) throws ServerMigrationFailureException {
+        final FlightRecorderEvents.XmlFileEvent event = FlightRecorderEvents.beginXmlFile();
         try {
             byte[] xmlFileBytes = Files.readAllBytes(xmlFile);
+            MigrationFiles.breakHardLink(xmlFile);
             try (InputStream inputStream = new ByteArrayInputStream(xmlFileBytes); OutputStream outputStream = Files.newOutputStream(xmlFile)) {
-                filter(inputStream, outputStream, filters);
+                final long elements = filter(inputStream, outputStream, event.isEnabled(), filters);
+                if (event.isEnabled()) {
+                    event.commit(xmlFile, "filter", xmlFileBytes.length, elements);
+                }
             }
         } catch (IOException e) {
             throw new ServerMigrationFailureException("XML file filter failed.", e);
         }
     }
 
-    private static void filter(final InputStream inputStream, final OutputStream outputStream, XMLFileFilter... filters) throws ServerMigrationFailureException {
-        XMLEventReader xmlEventReader = null;
-        XMLEventWriter xmlEventWriter = null;
-        final XMLEventFactory xmlEventFactory = XMLEventFactory.newInstance();
+    private static XMLStreamFilter[] adapt(XMLFileFilter... filters) {
+        if (filters == null || filters.length == 0) {
+            return new XMLStreamFilter[0];
+        }
+        // a single adapter shares the event objects of each element among the filters
+        return new XMLStreamFilter[]{new XMLFileFilterAdapter(filters)};
+    }
+
+    private static long filter(final InputStream inputStream, final OutputStream outputStream, final boolean countElements, final XMLStreamFilter... filters) throws ServerMigrationFailureException {
+        final XMLStreamFilter[] elementFilters = filters != null ? filters : new XMLStreamFilter[0];
+        XMLStreamReader xmlStreamReader = null;
+        XMLStreamWriter xmlStreamWriter = null;
         try {
-            xmlEventReader = XMLInputFactory.newInstance().createXMLEventReader(inputStream);
-            xmlEventWriter = XMLOutputFactory.newInstance().createXMLEventWriter(outputStream);
-            while (xmlEventReader.hasNext()) {
-                XMLEvent xmlEvent = xmlEventReader.nextEvent();
-                if (xmlEvent.isStartElement()) {
-                    final StartElement startElement = xmlEvent.asStartElement();
-                    XMLFileFilter.Result filterResult = XMLFileFilter.Result.NOT_APPLICABLE;
-                    if (filters != null) {
-                        for (XMLFileFilter filter : filters) {
-                            filterResult = filter.filter(startElement, xmlEventReader, xmlEventWriter, xmlEventFactory);
-                            if (filterResult != XMLFileFilter.Result.NOT_APPLICABLE) {
-                                break;
-                            }
-                        }
-                    }
-                    switch (filterResult) {
-                        case REMOVE:
-                            skipTillEndElement(xmlEventReader);
-                            break;
-                        case CONTINUE:
-                            break;
-                        case ADD_ALL:
-                            xmlEventWriter.add(xmlEvent);
-                            addTillEndElement(xmlEventReader, xmlEventWriter);
-                            break;
-                        case ADD:
-                        case NOT_APPLICABLE:
-                        default:
-                            xmlEventWriter.add(xmlEvent);
-                            break;
-                    }
-                } else {
-                    xmlEventWriter.add(xmlEvent);
-                }
+            xmlStreamReader = XmlFactories.createXMLStreamReader(inputStream, false);
+            if (countElements) {
+                xmlStreamReader = new ElementCountingXMLStreamReader(xmlStreamReader);
             }
+            xmlStreamWriter = XMLStreamCopy.createWriter(xmlStreamReader, outputStream);
+            XMLStreamCopy.filter(xmlStreamReader, xmlStreamWriter, elementLocalName -> elementFilters);
+            return countElements ? ((ElementCountingXMLStreamReader) xmlStreamReader).getElements() : -1;
         } catch (XMLStreamException e) {
             throw new ServerMigrationFailureException("XML file filtering failed", e);
         } finally {
-            if (xmlEventReader != null) {
+            if (xmlStreamReader != null) {
                 try {
-                    xmlEventReader.close();
+                    xmlStreamReader.close();
                 } catch (XMLStreamException e) {
                     // ignore
                 }
             }
-            if (xmlEventWriter != null) {
+            if (xmlStreamWriter != null) {
                 try {
-                    xmlEventWriter.close();
+                    xmlStreamWriter.close();
                 } catch (XMLStreamException e) {
                     // ignore
                 }
@@ -190,11 +204,16 @@ public class XMLFiles {
      * @throws ServerMigrationFailureException
      */
     public static void process(Path xmlFile, XMLFileProcessor processor) throws ServerMigrationFailureException {
+        final FlightRecorderEvents.XmlFileEvent event = FlightRecorderEvents.beginXmlFile();
         try {
             byte[] xmlFileBytes = Files.readAllBytes(xmlFile);
             try (InputStream inputStream = new ByteArrayInputStream(xmlFileBytes)) {
                 process(inputStream, processor);
             }
+            if (event.isEnabled()) {
+                // the processors read the events, thus the elements are not counted
+                event.commit(xmlFile, "process", xmlFileBytes.length, -1);
+            }
         } catch (IOException e) {
             throw new ServerMigrationFailureException("XML file processor failed.", e);
         }
@@ -203,7 +222,7 @@ public class XMLFiles {
     private static void process(final InputStream inputStream, XMLFileProcessor processor) throws ServerMigrationFailureException {
         XMLEventReader xmlEventReader = null;
         try {
-            xmlEventReader = XMLInputFactory.newInstance().createXMLEventReader(inputStream);
+            xmlEventReader = XmlFactories.createXMLEventReader(inputStream);
             while (xmlEventReader.hasNext()) {
                 XMLEvent xmlEvent = xmlEventReader.nextEvent();
                 if (xmlEvent.isStartElement()) {
@@ -222,31 +241,4 @@ public class XMLFiles {
             }
         }
     }
-
-    private static void skipTillEndElement(XMLEventReader xmlEventReader) throws XMLStreamException {
-        int endElementsLeft = 1;
-        do {
-            XMLEvent xmlEvent = xmlEventReader.nextEvent();
-            if (xmlEvent.isStartElement()) {
-                endElementsLeft++;
-            }
-            else if(xmlEvent.isEndElement()){
-                endElementsLeft--;
-            }
-        } while (xmlEventReader.hasNext() && endElementsLeft > 0);
-    }
-
-    private static void addTillEndElement(XMLEventReader xmlEventReader, XMLEventWriter xmlEventWriter) throws XMLStreamException {
-        int endElementsLeft = 1;
-        do {
-            XMLEvent xmlEvent = xmlEventReader.nextEvent();
-            if (xmlEvent.isStartElement()) {
-                endElementsLeft++;
-            }
-            else if(xmlEvent.isEndElement()){
-                endElementsLeft--;
-            }
-            xmlEventWriter.add(xmlEvent);
-        } while (xmlEventReader.hasNext() && endElementsLeft > 0);
-    }
 }
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.util.xml;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.Namespace;
+import javax.xml.stream.events.XMLEvent;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static javax.xml.stream.XMLStreamConstants.*;
+
+/**
+ * The cursor StAX API based copy and filtering of XML content.
+ * @author emmartins
+ */
+final class XMLStreamCopy {
+
+    private XMLStreamCopy() {
+    }
+
+    /**
+     * Copies the reader's XML content to the writer, filtering each element with the first applicable filter.
+     * @param reader the reader, positioned at the start of the document
+     * @param writer the writer
+     * @param filters the function which provides the filters for an element local name
+     * @throws XMLStreamException if there was a failure reading or writing XML
+     */
+    static void filter(XMLStreamReader reader, XMLStreamWriter writer, Function<String, XMLStreamFilter[]> filters) throws XMLStreamException {
+        copyEvent(reader, writer);
+        while (reader.hasNext()) {
+            if (reader.next() == START_ELEMENT) {
+                XMLFileFilter.Result filterResult = XMLFileFilter.Result.NOT_APPLICABLE;
+                for (XMLStreamFilter filter : filters.apply(reader.getLocalName())) {
+                    filterResult = filter.filter(reader, writer);
+                    if (filterResult != XMLFileFilter.Result.NOT_APPLICABLE) {
+                        break;
+                    }
+                }
+                switch (filterResult) {
+                    case REMOVE:
+                        skipElement(reader);
+                        break;
+                    case CONTINUE:
+                        break;
+                    case ADD_ALL:
+                        copyElement(reader, writer);
+                        break;
+                    case ADD:
+                    case NOT_APPLICABLE:
+                    default:
+                        writeStartElement(reader, writer);
+                        break;
+                }
+            } else {
+                copyEvent(reader, writer);
+            }
+        }
+    }
+
+    /**
+     * Creates a writer for the reader's XML content, using the same encoding.
+     * @param reader the reader, positioned at the start of the document
+     * @param outputStream the output stream to write
+     * @return the writer created
+     * @throws XMLStreamException if there was a failure creating the writer
+     */
+    static XMLStreamWriter createWriter(XMLStreamReader reader, OutputStream outputStream) throws XMLStreamException {
+        return XmlFactories.createXMLStreamWriter(outputStream, getEncoding(reader));
+    }
+
+    private static String getEncoding(XMLStreamReader reader) {
+        if (reader.getCharacterEncodingScheme() != null) {
+            return reader.getCharacterEncodingScheme();
+        }
+        return reader.getEncoding() != null ? reader.getEncoding() : "UTF-8";
+    }
+
+    /**
+     * Copies the reader's current token to the writer.
+     * @param reader the reader
+     * @param writer the writer
+     * @throws XMLStreamException if there was a failure reading or writing XML
+     */
+    static void copyEvent(XMLStreamReader reader, XMLStreamWriter writer) throws XMLStreamException {
+        switch (reader.getEventType()) {
+            case START_DOCUMENT:
+                final String encoding = getEncoding(reader);
+                final String version = reader.getVersion() != null ? reader.getVersion() : "1.0";
+                try {
+                    if (reader.standaloneSet()) {
+                        // the cursor API writer can't write the standalone declaration, the event API writer view can
+                        XmlFactories.createXMLEventWriter(writer).add(XmlFactories.getXMLEventFactory().createStartDocument(encoding, version, reader.isStandalone()));
+                    } else {
+                        writer.writeStartDocument(encoding, version);
+                    }
+                } catch (XMLStreamException e) {
+                    // the encoding does not match the writer one, fallback to not writing it, as the event API writer does
+                    writer.writeStartDocument(version);
+                }
+                break;
+            case END_DOCUMENT:
+                writer.writeEndDocument();
+                break;
+            case START_ELEMENT:
+                writeStartElement(reader, writer);
+                break;
+            case END_ELEMENT:
+                writer.writeEndElement();
+                break;
+            case CHARACTERS:
+            case SPACE:
+                writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                break;
+            case CDATA:
+                writer.writeCData(reader.getText());
+                break;
+            case COMMENT:
+                writer.writeComment(reader.getText());
+                break;
+            case PROCESSING_INSTRUCTION:
+                writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+                break;
+            case DTD:
+                writer.writeDTD(reader.getText());
+                break;
+            case ENTITY_REFERENCE:
+                writer.writeEntityRef(reader.getLocalName());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Writes the start of the reader's current element, including its namespaces and attributes.
+     * @param reader the reader, positioned at an element's start
+     * @param writer the writer
+     * @throws XMLStreamException if there was a failure reading or writing XML
+     */
+    static void writeStartElement(XMLStreamReader reader, XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(nonNull(reader.getPrefix()), reader.getLocalName(), nonNull(reader.getNamespaceURI()));
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            writer.writeNamespace(nonNull(reader.getNamespacePrefix(i)), nonNull(reader.getNamespaceURI(i)));
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            writer.writeAttribute(nonNull(reader.getAttributePrefix(i)), nonNull(reader.getAttributeNamespace(i)), reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+    }
+
+    /**
+     * Copies the reader's current element, i.e. from its start till its end.
+     * @param reader the reader, positioned at an element's start, and once done positioned at the element's end
+     * @param writer the writer
+     * @throws XMLStreamException if there was a failure reading or writing XML
+     */
+    static void copyElement(XMLStreamReader reader, XMLStreamWriter writer) throws XMLStreamException {
+        writeStartElement(reader, writer);
+        int endElementsLeft = 1;
+        while (reader.hasNext() && endElementsLeft > 0) {
+            final int eventType = reader.next();
+            if (eventType == START_ELEMENT) {
+                endElementsLeft++;
+            } else if (eventType == END_ELEMENT) {
+                endElementsLeft--;
+            }
+            copyEvent(reader, writer);
+        }
+    }
+
+    /**
+     * Skips the reader's current element.
+     * @param reader the reader, positioned at an element's start, and once done positioned at the element's end
+     * @throws XMLStreamException if there was a failure reading XML
+     */
+    static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int endElementsLeft = 1;
+        while (reader.hasNext() && endElementsLeft > 0) {
+            final int eventType = reader.next();
+            if (eventType == START_ELEMENT) {
+                endElementsLeft++;
+            } else if (eventType == END_ELEMENT) {
+                endElementsLeft--;
+            }
+        }
+    }
+
+    /**
+     * Creates an event object for the reader's current token.
+     * @param reader the reader
+     * @param eventFactory the event factory
+     * @return the event created, or null if the token type is not supported
+     */
+    static XMLEvent toEvent(XMLStreamReader reader, XMLEventFactory eventFactory) {
+        switch (reader.getEventType()) {
+            case START_DOCUMENT:
+                if (reader.getCharacterEncodingScheme() == null) {
+                    return eventFactory.createStartDocument();
+                }
+                return reader.standaloneSet() ? eventFactory.createStartDocument(reader.getCharacterEncodingScheme(), reader.getVersion(), reader.isStandalone()) : eventFactory.createStartDocument(reader.getCharacterEncodingScheme(), reader.getVersion());
+            case END_DOCUMENT:
+                return eventFactory.createEndDocument();
+            case START_ELEMENT:
+                final List<Attribute> attributes = new ArrayList<>(reader.getAttributeCount());
+                for (int i = 0; i < reader.getAttributeCount(); i++) {
+                    attributes.add(eventFactory.createAttribute(new QName(nonNull(reader.getAttributeNamespace(i)), reader.getAttributeLocalName(i), nonNull(reader.getAttributePrefix(i))), reader.getAttributeValue(i)));
+                }
+                final List<Namespace> namespaces = new ArrayList<>(reader.getNamespaceCount());
+                for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                    namespaces.add(eventFactory.createNamespace(nonNull(reader.getNamespacePrefix(i)), nonNull(reader.getNamespaceURI(i))));
+                }
+                return eventFactory.createStartElement(nonNull(reader.getPrefix()), nonNull(reader.getNamespaceURI()), reader.getLocalName(), attributes.iterator(), namespaces.iterator(), reader.getNamespaceContext());
+            case END_ELEMENT:
+                return eventFactory.createEndElement(nonNull(reader.getPrefix()), nonNull(reader.getNamespaceURI()), reader.getLocalName());
+            case CHARACTERS:
+                return eventFactory.createCharacters(reader.getText());
+            case SPACE:
+                return eventFactory.createSpace(reader.getText());
+            case CDATA:
+                return eventFactory.createCData(reader.getText());
+            case COMMENT:
+                return eventFactory.createComment(reader.getText());
+            case PROCESSING_INSTRUCTION:
+                return eventFactory.createProcessingInstruction(reader.getPITarget(), reader.getPIData());
+            case DTD:
+                return eventFactory.createDTD(reader.getText());
+            default:
+                return null;
+        }
+    }
+
+    private static String nonNull(String s) {
+        return s != null ? s : "";
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.util.xml;
+
+import org.jboss.migration.core.ServerMigrationFailureException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * A XML content filter, which uses the cursor StAX API, i.e. the XML content is copied without creating an event object for each token.
+ * @author emmartins
+ */
+public interface XMLStreamFilter {
+
+    /**
+     * Filters an XML element.
+     * The reader is positioned at the element's start, and must not be moved if the filter is not applicable to the element.
+     * If the filter returns {@link XMLFileFilter.Result#CONTINUE} then it is responsible for consuming the whole element, and writing what should be kept.
+     * @param xmlStreamReader the source XML reader
+     * @param xmlStreamWriter the target XML writer
+     * @return the {@link XMLFileFilter.Result} of the element filtering
+     * @throws XMLStreamException if there was a failure reading or writing XML
+     * @throws ServerMigrationFailureException if there was a failure filtering the element
+     */
+    XMLFileFilter.Result filter(XMLStreamReader xmlStreamReader, XMLStreamWriter xmlStreamWriter) throws XMLStreamException, ServerMigrationFailureException;
+
+    /**
+     * Adapts an event API based filter.
+     * Note that the adapted filter must not peek events, since that would move the reader beyond the last event consumed.
+     * @param filter the filter to adapt
+     * @param elementLocalNames the local names of the elements the filter is applicable to, if none is specified the ones provided by {@link XMLFileFilter#getElementLocalNames()} are used. Specifying names avoids creating event objects for elements the filter is not applicable to.
+     * @return the adapted filter
+     */
+    static XMLStreamFilter of(XMLFileFilter filter, String... elementLocalNames) {
+        return new XMLFileFilterAdapter(filter, elementLocalNames);
+    }
+}
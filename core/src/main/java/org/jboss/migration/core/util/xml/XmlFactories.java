@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.util.xml;
+
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.stax.StAXResult;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The shared StAX factories, which avoid the cost of looking up and initializing new factories for each XML file read or written.
+ * StAX factories are not guaranteed to be thread safe, thus each thread gets its own instances, created and configured once.
+ * All input factories are namespace aware, and have DTDs and external entities disabled.
+ * The factories are created by a {@link Provider}, which may be replaced, e.g. to use a specific StAX implementation, or to set implementation specific properties.
+ * @author emmartins
+ */
+public class XmlFactories {
+
+    /**
+     * The provider of new StAX factories.
+     */
+    public interface Provider {
+
+        /**
+         * the default provider, which looks up the factories with the StAX API, e.g. honouring the javax.xml.stream.XMLInputFactory system property
+         */
+        Provider DEFAULT = new Provider() {
+            @Override
+            public XMLInputFactory newXMLInputFactory() {
+                return XMLInputFactory.newInstance();
+            }
+            @Override
+            public XMLOutputFactory newXMLOutputFactory() {
+                return XMLOutputFactory.newInstance();
+            }
+            @Override
+            public XMLEventFactory newXMLEventFactory() {
+                return XMLEventFactory.newInstance();
+            }
+        };
+
+        XMLInputFactory newXMLInputFactory();
+
+        XMLOutputFactory newXMLOutputFactory();
+
+        XMLEventFactory newXMLEventFactory();
+    }
+
+    private static volatile Provider provider = Provider.DEFAULT;
+
+    private static final ThreadLocal<XmlFactories> INSTANCE = new ThreadLocal<>();
+
+    private static final AtomicLong READERS_CREATED = new AtomicLong();
+
+    private final Provider instanceProvider;
+    private final XMLInputFactory inputFactory;
+    private final XMLInputFactory coalescingInputFactory;
+    private final XMLOutputFactory outputFactory;
+    private final XMLEventFactory eventFactory;
+
+    private XmlFactories(Provider provider) {
+        instanceProvider = provider;
+        inputFactory = newXMLInputFactory(provider, false);
+        coalescingInputFactory = newXMLInputFactory(provider, true);
+        outputFactory = provider.newXMLOutputFactory();
+        eventFactory = provider.newXMLEventFactory();
+    }
+
+    /**
+     * Sets the provider of the factories, which applies to the factories created afterwards by each thread.
+     * @param provider the provider, if null the {@link Provider#DEFAULT} is used
+     */
+    public static void setProvider(Provider provider) {
+        XmlFactories.provider = provider != null ? provider : Provider.DEFAULT;
+    }
+
+    private static XmlFactories get() {
+        final Provider currentProvider = provider;
+        XmlFactories instance = INSTANCE.get();
+        if (instance == null || instance.instanceProvider != currentProvider) {
+            instance = new XmlFactories(currentProvider);
+            INSTANCE.set(instance);
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a new input factory.
+     * @param provider the factories provider
+     * @param coalescing if the factory should coalesce adjacent character data
+     * @return the input factory created
+     */
+    private static XMLInputFactory newXMLInputFactory(Provider provider, boolean coalescing) {
+        final XMLInputFactory inputFactory = provider.newXMLInputFactory();
+        inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, coalescing);
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        return inputFactory;
+    }
+
+    private static InputStream buffered(InputStream inputStream) {
+        if (inputStream instanceof BufferedInputStream || inputStream instanceof ByteArrayInputStream) {
+            return inputStream;
+        }
+        return new BufferedInputStream(inputStream);
+    }
+
+    /**
+     * Creates a stream reader, which coalesces adjacent character data, and is thus suited for reading only.
+     * @param inputStream the input stream to read, which is buffered if needed
+     * @return the stream reader created
+     * @throws XMLStreamException if there was a failure creating the reader
+     */
+    public static XMLStreamReader createXMLStreamReader(InputStream inputStream) throws XMLStreamException {
+        return createXMLStreamReader(inputStream, true);
+    }
+
+    /**
+     * Creates a stream reader.
+     * @param inputStream the input stream to read, which is buffered if needed
+     * @param coalescing if the reader should coalesce adjacent character data, which should not be done if the XML content is rewritten
+     * @return the stream reader created
+     * @throws XMLStreamException if there was a failure creating the reader
+     */
+    public static XMLStreamReader createXMLStreamReader(InputStream inputStream, boolean coalescing) throws XMLStreamException {
+        final XMLInputFactory inputFactory = coalescing ? get().coalescingInputFactory : get().inputFactory;
+        final XMLStreamReader reader = inputFactory.createXMLStreamReader(buffered(inputStream));
+        READERS_CREATED.incrementAndGet();
+        return reader;
+    }
+
+    /**
+     * Creates an event reader, which keeps the original character data events, e.g. CDATA sections, and is thus suited for rewriting the XML content.
+     * @param inputStream the input stream to read, which is buffered if needed
+     * @return the event reader created
+     * @throws XMLStreamException if there was a failure creating the reader
+     */
+    public static XMLEventReader createXMLEventReader(InputStream inputStream) throws XMLStreamException {
+        final XMLEventReader reader = get().inputFactory.createXMLEventReader(buffered(inputStream));
+        READERS_CREATED.incrementAndGet();
+        return reader;
+    }
+
+    /**
+     * Creates an event reader view of a stream reader, which first event is the stream reader's current event, and which moves the stream reader when reading further events.
+     * @param xmlStreamReader the stream reader
+     * @return the event reader created
+     * @throws XMLStreamException if there was a failure creating the reader
+     */
+    public static XMLEventReader createXMLEventReader(XMLStreamReader xmlStreamReader) throws XMLStreamException {
+        final XMLEventReader reader = get().inputFactory.createXMLEventReader(xmlStreamReader);
+        READERS_CREATED.incrementAndGet();
+        return reader;
+    }
+
+    /**
+     * Creates a stream writer.
+     * @param outputStream the output stream to write
+     * @return the stream writer created
+     * @throws XMLStreamException if there was a failure creating the writer
+     */
+    public static XMLStreamWriter createXMLStreamWriter(OutputStream outputStream) throws XMLStreamException {
+        return get().outputFactory.createXMLStreamWriter(outputStream);
+    }
+
+    /**
+     * Creates a stream writer.
+     * @param outputStream the output stream to write
+     * @param encoding the encoding to write
+     * @return the stream writer created
+     * @throws XMLStreamException if there was a failure creating the writer
+     */
+    public static XMLStreamWriter createXMLStreamWriter(OutputStream outputStream, String encoding) throws XMLStreamException {
+        return get().outputFactory.createXMLStreamWriter(outputStream, encoding);
+    }
+
+    /**
+     * Creates an event writer.
+     * @param outputStream the output stream to write
+     * @return the event writer created
+     * @throws XMLStreamException if there was a failure creating the writer
+     */
+    public static XMLEventWriter createXMLEventWriter(OutputStream outputStream) throws XMLStreamException {
+        return get().outputFactory.createXMLEventWriter(outputStream);
+    }
+
+    /**
+     * Creates an event writer view of a stream writer.
+     * @param xmlStreamWriter the stream writer
+     * @return the event writer created
+     * @throws XMLStreamException if there was a failure creating the writer
+     */
+    public static XMLEventWriter createXMLEventWriter(XMLStreamWriter xmlStreamWriter) throws XMLStreamException {
+        return get().outputFactory.createXMLEventWriter(new StAXResult(xmlStreamWriter));
+    }
+
+    /**
+     * Retrieves the current thread's event factory.
+     * @return the current thread's event factory
+     */
+    public static XMLEventFactory getXMLEventFactory() {
+        return get().eventFactory;
+    }
+
+    /**
+     * Retrieves the number of XML readers created, including event reader views of stream readers, for diagnostics purposes.
+     * @return the number of XML readers created
+     */
+    public static long getReadersCreated() {
+        return READERS_CREATED.get();
+    }
+}
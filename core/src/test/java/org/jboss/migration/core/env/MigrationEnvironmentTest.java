@@ -15,6 +15,19 @@
  */
 package org.jboss.migration.core.env;
 
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
 public class MigrationEnvironmentTest extends AbstractEnvironmentTest<MigrationEnvironment> {
     public MigrationEnvironmentTest() {
         super(createMigrationEnvironment());
@@ -27,4 +40,68 @@ public class MigrationEnvironmentTest extends AbstractEnvironmentTest<MigrationE
         env.setProperty("complex.property", "foo,bar");
         return env;
     }
+
+    @Test
+    public void typedValues() {
+        final EnvironmentProperty<Integer> integerProperty = EnvironmentProperties.newIntegerProperty("integer.property", 1);
+        final EnvironmentProperty<List<String>> listProperty = EnvironmentProperties.newStringListProperty("complex.property");
+        assertEquals(Integer.valueOf(1), integerProperty.getValue(env));
+        env.setProperty("integer.property", " 2 ");
+        assertEquals(Integer.valueOf(2), integerProperty.getValue(env));
+        assertEquals(Arrays.asList("foo", "bar"), listProperty.getValue(env));
+        // parsed once, and shared, thus unmodifiable
+        assertSame(listProperty.getValue(env), listProperty.getValue(env));
+        try {
+            listProperty.getValue(env).add("quux");
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+            // expected
+        }
+        try {
+            env.getPropertyAsList("complex.property").add("quux");
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+            // expected
+        }
+        assertTrue(env.getPropertyNamesReaded().containsAll(Arrays.asList("integer.property", "complex.property")));
+        env.setProperty("integer.property", "3");
+        assertEquals(Integer.valueOf(3), integerProperty.getValue(env));
+    }
+
+    @Test
+    public void skippedByEnvironment() {
+        assertFalse(env.isSkippedByEnvironment("task"));
+        env.setProperty("task.skip", "true");
+        env.setProperty("task.subtask.skip", "false");
+        assertTrue(env.isSkippedByEnvironment("task"));
+        assertFalse(env.isSkippedByEnvironment("task.subtask"));
+        assertTrue(new TaskEnvironment(env, "task").isSkippedByEnvironment());
+        assertEquals(Arrays.asList("task.skip", "task.subtask.skip"), env.getPropertyNamesReaded());
+        env.setProperty("task.skip", "false");
+        assertFalse(env.isSkippedByEnvironment("task"));
+        final MigrationEnvironment copy = new MigrationEnvironment();
+        copy.setProperties(env);
+        assertFalse(copy.isSkippedByEnvironment("task"));
+    }
+
+    @Test
+    public void subEnvironmentPropertyNames() {
+        env.setProperty("task.a", "a");
+        env.setProperty("task.b", "b");
+        env.setProperty("task.c.d", "d");
+        env.setProperty("taskb", "b");
+        final SubEnvironment subEnvironment = new SubEnvironment(env, "task.");
+        assertEquals(Arrays.asList("a", "b", "c.d"), subEnvironment.getPropertyNames());
+        assertTrue(subEnvironment.getPropertyNamesReaded().isEmpty());
+        assertEquals("b", subEnvironment.getPropertyAsString("b"));
+        assertEquals(Collections.singletonList("b"), subEnvironment.getPropertyNamesReaded());
+        assertNull(new SubEnvironment(env, "none.").getPropertyAsString("a"));
+        assertTrue(new SubEnvironment(env, "none.").getPropertyNames().isEmpty());
+        final SubEnvironment nestedSubEnvironment = new SubEnvironment(subEnvironment, "c.");
+        assertEquals(Collections.singletonList("d"), nestedSubEnvironment.getPropertyNames());
+        assertEquals(Collections.singletonList("c.d"), subEnvironment.getPropertyNames("c."));
+        env.setProperty("task.c.skip", "true");
+        assertTrue(subEnvironment.isSkippedByEnvironment("c"));
+        assertTrue(new TaskEnvironment(subEnvironment, "c").isSkippedByEnvironment());
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.jboss;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the configuration model.
+ *
+ * @author emmartins
+ */
+public class ConfigurationModelTest {
+
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<server xmlns=\"urn:jboss:domain:20.0\">"
+            + "<extensions><extension module=\"org.jboss.as.ee\"/><extension module=\"org.jboss.as.web\"/></extensions>"
+            + "<paths><path name=\"p\" path=\"data\" relative-to=\"jboss.server.base.dir\"/></paths>"
+            + "<profile>"
+            + "<subsystem xmlns=\"urn:jboss:domain:ee:6.0\"/>"
+            + "<subsystem xmlns=\"urn:wildfly:elytron:15.0\"><key-store name=\"ks\"><file path=\"ks.jks\"/></key-store></subsystem>"
+            + "</profile>"
+            + "<socket-binding-group name=\"standard-sockets\"><socket-binding name=\"http\" port=\"8080\"/></socket-binding-group>"
+            + "</server>";
+
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    private Path createXMLFile() throws IOException {
+        final Path xmlFile = tmp.newFile("standalone.xml").toPath();
+        Files.write(xmlFile, XML.getBytes(StandardCharsets.UTF_8));
+        return xmlFile;
+    }
+
+    @Test
+    public void indexesConfiguration() throws IOException {
+        final ConfigurationModel model = ConfigurationModel.build(createXMLFile());
+        Assert.assertEquals(2, model.getElementCount("extension"));
+        Assert.assertEquals(0, model.getElementCount("interface"));
+        Assert.assertEquals("[urn:jboss:domain:ee:6.0, urn:wildfly:elytron:15.0]", model.getSubsystemNamespaceURIs().toString());
+        Assert.assertEquals(2, model.getPathElements().size());
+        Assert.assertEquals("jboss.server.base.dir", model.getPathElements().get(0).getAttribute("relative-to"));
+        Assert.assertEquals(1, model.getElements("file", "urn:wildfly:elytron:").size());
+        Assert.assertEquals(0, model.getElements("file", "urn:jboss:domain:").size());
+        Assert.assertEquals(2, model.getModuleReferences().size());
+        Assert.assertEquals("8080", model.getSocketBindings("http").get(0).getAttribute("port"));
+        Assert.assertTrue(model.getSocketBindings("https").isEmpty());
+    }
+
+    @Test
+    public void isNotCurrentOnceModified() throws IOException {
+        final Path xmlFile = createXMLFile();
+        final ConfigurationModel model = ConfigurationModel.build(xmlFile);
+        Assert.assertTrue(model.isCurrent(xmlFile));
+        Files.write(xmlFile, XML.replace("<extension module=\"org.jboss.as.web\"/>", "").getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(xmlFile, FileTime.fromMillis(Files.getLastModifiedTime(xmlFile).toMillis() + 1000));
+        Assert.assertFalse(model.isCurrent(xmlFile));
+        Assert.assertEquals(1, ConfigurationModel.build(xmlFile).getElementCount("extension"));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.jboss;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.jboss.migration.core.ProductInfo;
+import org.jboss.migration.core.ServerFingerprint;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the product info retrieval from a server's fingerprint.
+ *
+ * @author emmartins
+ */
+public class ManifestProductInfoTest {
+
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void retrievesProductModuleManifestOnce() throws IOException {
+        final Path baseDir = tmp.newFolder("server").toPath();
+        final Path baseLayerDir = baseDir.resolve("modules").resolve("system").resolve("layers").resolve("base");
+        ModulesTest.createModule(baseLayerDir, "org.jboss.as.product:wildfly-full");
+        final Path manifest = baseLayerDir.resolve("org/jboss/as/product/wildfly-full/dir/META-INF/MANIFEST.MF");
+        Files.createDirectories(manifest.getParent());
+        Files.write(manifest, "Manifest-Version: 1.0\nJBoss-Product-Release-Name: WildFly Full\nJBoss-Product-Release-Version: 10.0.0.Final\n".getBytes(StandardCharsets.UTF_8));
+        final ServerFingerprint fingerprint = new ServerFingerprint(baseDir);
+        final ProductInfo productInfo = ManifestProductInfo.fromProductModule(fingerprint, "org.jboss.as.product:wildfly-full");
+        Assert.assertEquals("WildFly Full", productInfo.getName());
+        Assert.assertEquals("10.0.0.Final", productInfo.getVersion());
+        Assert.assertNull(ManifestProductInfo.fromProductModule(fingerprint, "org.jboss.as.product:eap"));
+        Assert.assertNull(ManifestProductInfo.fromProductModuleJar(fingerprint, "org.jboss.as.product:main"));
+        // the fingerprint's facts are retrieved once
+        Files.delete(manifest);
+        Assert.assertSame(productInfo, ManifestProductInfo.fromProductModule(fingerprint, "org.jboss.as.product:wildfly-full"));
+        Assert.assertNull(ManifestProductInfo.fromProductModule(new ServerFingerprint(baseDir), "org.jboss.as.product:wildfly-full"));
+    }
+}
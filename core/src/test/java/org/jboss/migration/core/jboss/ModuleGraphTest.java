@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.jboss;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the module dependency graph.
+ *
+ * @author emmartins
+ */
+public class ModuleGraphTest {
+
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    private JBossServer.Modules createModules() throws IOException {
+        final Path baseDir = tmp.newFolder("server").toPath();
+        final Path modulesDir = baseDir.resolve("modules");
+        ModulesTest.createModule(modulesDir, "org.a:main", "org.b", "org.c", "?org.missing");
+        ModulesTest.createModule(modulesDir, "org.b:main", "org.c");
+        ModulesTest.createModule(modulesDir, "org.c:main", "org.d");
+        // cycle
+        ModulesTest.createModule(modulesDir, "org.d:main", "org.c");
+        ModulesTest.createModule(modulesDir, "org.e:main", "org.b", "org.excluded");
+        ModulesTest.createModule(modulesDir, "org.f:main", "org.missing");
+        return new JBossServer.Modules(baseDir);
+    }
+
+    private static List<String> toStrings(List<ModuleGraph.Node> nodes) {
+        final List<String> result = new ArrayList<>();
+        for (ModuleGraph.Node node : nodes) {
+            result.add(node.getModuleId().toString());
+        }
+        return result;
+    }
+
+    @Test
+    public void resolvesDependencyClosure() throws IOException {
+        final ModuleGraph moduleGraph = new ModuleGraph(createModules(), moduleId -> !moduleId.getName().equals("org.excluded"));
+        final List<ModuleGraph.Node> added = moduleGraph.resolve(ModuleIdentifier.fromString("org.a"), "test");
+        // dependencies first, the cycle is broken where it was found, and the missing optional dependency is ignored
+        Assert.assertEquals(Arrays.asList("org.d:main", "org.c:main", "org.b:main", "org.a:main"), toStrings(added));
+        Assert.assertEquals("test", added.get(3).getReason());
+        Assert.assertEquals("migrated module org.c:main depends on it", added.get(0).getReason());
+        // resolution is memoized, and excluded modules are pruned
+        Assert.assertEquals(Arrays.asList("org.e:main"), toStrings(moduleGraph.resolve(ModuleIdentifier.fromString("org.e"), "test")));
+        Assert.assertTrue(moduleGraph.resolve(ModuleIdentifier.fromString("org.e"), "test").isEmpty());
+        Assert.assertEquals(Arrays.asList("org.b:main", "org.c:main"), toStrings(added.get(3).getDependencies()));
+        Assert.assertEquals(5, moduleGraph.size());
+    }
+
+    @Test
+    public void failsOnMissingRequiredDependency() throws IOException {
+        final ModuleGraph moduleGraph = new ModuleGraph(createModules(), moduleId -> true);
+        exception.expect(IllegalStateException.class);
+        moduleGraph.resolve(ModuleIdentifier.fromString("org.f"), "test");
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.jboss;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the server modules index.
+ *
+ * @author emmartins
+ */
+public class ModulesTest {
+
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    /**
+     * Creates a module, which dependencies prefixed with '?' are optional.
+     */
+    static void createModule(Path moduleRoot, String name, String... dependencies) throws IOException {
+        final ModuleIdentifier moduleId = ModuleIdentifier.fromString(name);
+        final Path moduleDir = moduleRoot.resolve(ModuleIndex.getModulePath(moduleId));
+        Files.createDirectories(moduleDir);
+        final StringBuilder xml = new StringBuilder("<module xmlns=\"urn:jboss:module:1.3\" name=\"")
+                .append(moduleId.getName()).append("\" slot=\"").append(moduleId.getSlot()).append("\"><dependencies>");
+        for (String dependency : dependencies) {
+            final boolean optional = dependency.startsWith("?");
+            xml.append("<module name=\"").append(optional ? dependency.substring(1) : dependency).append("\" optional=\"").append(optional).append("\"/>");
+        }
+        xml.append("</dependencies></module>");
+        Files.write(moduleDir.resolve("module.xml"), xml.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Path createServer() throws IOException {
+        final Path baseDir = tmp.newFolder("server").toPath();
+        final Path modulesDir = baseDir.resolve("modules");
+        final Path baseLayerDir = modulesDir.resolve("system").resolve("layers").resolve("base");
+        createModule(baseLayerDir, "org.a:main", "org.b");
+        createModule(baseLayerDir, "org.b:main");
+        createModule(baseLayerDir.resolve(".overlays").resolve("overlay"), "org.b:main", "org.c");
+        createModule(modulesDir, "org.b:main");
+        createModule(modulesDir.resolve("system").resolve("add-ons").resolve("addon"), "org.c:1.0");
+        return baseDir;
+    }
+
+    @Test
+    public void indexesModules() throws IOException {
+        final Path baseDir = createServer();
+        final Path modulesDir = baseDir.resolve("modules");
+        final JBossServer.Modules modules = new JBossServer.Modules(baseDir);
+        Assert.assertEquals(3, modules.getModuleIdentifiers().size());
+        final JBossServer.Module moduleA = modules.getModule("org.a:main");
+        Assert.assertEquals(modulesDir.resolve("system/layers/base/org/a/main"), moduleA.getModuleDir());
+        Assert.assertEquals(ModuleIdentifier.fromString("org.b:main"), moduleA.getModuleSpecification().getDependencies().get(0).getId());
+        Assert.assertSame(moduleA, modules.getModule("org.a:main"));
+        // layers have precedence over the modules dir root
+        Assert.assertEquals(modulesDir.resolve("system/layers/base/org/b/main"), modules.getModuleDir(ModuleIdentifier.fromString("org.b:main")));
+        Assert.assertEquals(modulesDir.resolve("system/add-ons/addon/org/c/1.0"), modules.getModule("org.c:1.0").getModuleDir());
+        // modules added after the index is built, e.g. by the migration, are found in the modules dir root
+        final ModuleIdentifier moduleD = ModuleIdentifier.fromString("org.d:main");
+        Assert.assertNull(modules.getModule(moduleD));
+        Assert.assertEquals(modulesDir.resolve("org/d/main"), modules.getModuleDir(moduleD));
+        createModule(modulesDir, moduleD.toString());
+        Assert.assertEquals(modulesDir.resolve("org/d/main"), modules.getModule(moduleD).getModuleDir());
+    }
+
+    @Test
+    public void persistsIndex() throws IOException {
+        final Path baseDir = createServer();
+        final Path cacheDir = tmp.newFolder("cache").toPath();
+        Assert.assertEquals(3, new JBossServer.Modules(baseDir, cacheDir).getModuleIdentifiers().size());
+        Assert.assertEquals(1, Files.list(cacheDir).count());
+        // an unmodified module.xml is not parsed again, even if its content is invalid
+        final Path moduleCXml = baseDir.resolve("modules/system/add-ons/addon/org/c/1.0/module.xml");
+        final FileTime moduleCLastModifiedTime = Files.getLastModifiedTime(moduleCXml);
+        Files.write(moduleCXml, new byte[(int) Files.size(moduleCXml)]);
+        Files.setLastModifiedTime(moduleCXml, moduleCLastModifiedTime);
+        // a modified module.xml is parsed again
+        final Path moduleAXml = baseDir.resolve("modules/system/layers/base/org/a/main/module.xml");
+        Files.write(moduleAXml, new String(Files.readAllBytes(moduleAXml), StandardCharsets.UTF_8).replace("</dependencies>", "<module name=\"org.c\" slot=\"1.0\"/></dependencies>").getBytes(StandardCharsets.UTF_8));
+        final JBossServer.Modules modules = new JBossServer.Modules(baseDir, cacheDir);
+        Assert.assertEquals(ModuleIdentifier.fromString("org.c:1.0"), modules.getModule("org.c:1.0").getModuleSpecification().getModuleIdentifier());
+        Assert.assertEquals(2, modules.getModule("org.a:main").getModuleSpecification().getDependencies().size());
+    }
+}
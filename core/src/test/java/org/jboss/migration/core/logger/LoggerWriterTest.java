@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.logger;
+
+import org.jboss.logging.Logger;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author emmartins
+ */
+public class LoggerWriterTest {
+
+    @Test
+    public void lines() throws IOException {
+        final RecordingLogger logger = new RecordingLogger();
+        try (LoggerWriter writer = new LoggerWriter(logger, Logger.Level.INFO)) {
+            writer.write("\nTask 100%");
+            writer.write(" done\n\n");
+            writer.write(new char[] {'a', '\n', 'b'}, 0, 3);
+        }
+        assertEquals(Arrays.asList("INFO ", "INFO Task 100% done", "INFO ", "INFO a", "INFO b"), logger.messages);
+    }
+
+    private static class RecordingLogger extends Logger {
+
+        private final List<String> messages = new ArrayList<>();
+
+        RecordingLogger() {
+            super(LoggerWriterTest.class.getName());
+        }
+
+        @Override
+        protected void doLog(Level level, String loggerClassName, Object message, Object[] parameters, Throwable thrown) {
+            messages.add(level + " " + message);
+        }
+
+        @Override
+        protected void doLogf(Level level, String loggerClassName, String format, Object[] parameters, Throwable thrown) {
+            messages.add(level + " " + String.format(format, parameters));
+        }
+
+        @Override
+        public boolean isEnabled(Level level) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.metrics;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author emmartins
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void buckets() {
+        long previous = -1;
+        for (int index = 0; index < 16 + 59 * 16; index++) {
+            final long lowestValue = LatencyHistogram.getBucketLowestValue(index);
+            assertTrue(lowestValue > previous);
+            assertEquals(index, LatencyHistogram.getBucketIndex(lowestValue));
+            previous = lowestValue;
+        }
+        assertEquals(16 + 59 * 16 - 1, LatencyHistogram.getBucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void percentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileNanos(99));
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500500000L, histogram.getTotalNanos());
+        assertEquals(500500, histogram.getMeanNanos());
+        assertEquals(1000000, histogram.getMaxNanos());
+        assertWithinBucket(500000, histogram.getPercentileNanos(50));
+        assertWithinBucket(900000, histogram.getPercentileNanos(90));
+        assertWithinBucket(990000, histogram.getPercentileNanos(99));
+        assertEquals(1000000, histogram.getPercentileNanos(100));
+    }
+
+    @Test
+    public void operations() {
+        OperationMetrics.reset();
+        try {
+            final OperationMetrics metrics = OperationMetrics.getInstance("test");
+            assertTrue(OperationMetrics.getInstances().isEmpty());
+            metrics.record("read", 10, false);
+            metrics.record("read", 20, true);
+            metrics.record("write", 100, false);
+            assertEquals(1, OperationMetrics.getInstances().size());
+            final List<OperationMetrics.Operation> operations = metrics.getOperations();
+            assertEquals(2, operations.size());
+            assertEquals("write", operations.get(0).getName());
+            assertEquals(0, operations.get(0).getErrors());
+            assertEquals("read", operations.get(1).getName());
+            assertEquals(2, operations.get(1).getLatencies().getCount());
+            assertEquals(1, operations.get(1).getErrors());
+            final Map<String, OperationMetrics> snapshot = OperationMetrics.snapshot();
+            metrics.record("write", 200, false);
+            OperationMetrics.reset();
+            assertTrue(OperationMetrics.getInstances().isEmpty());
+            final List<OperationMetrics.Operation> snapshotOperations = snapshot.get("test").getOperations();
+            assertEquals(2, snapshotOperations.size());
+            assertEquals(1, snapshotOperations.get(0).getLatencies().getCount());
+            assertEquals(100, snapshotOperations.get(0).getLatencies().getMaxNanos());
+            assertEquals(2, snapshotOperations.get(1).getLatencies().getCount());
+            assertEquals(1, snapshotOperations.get(1).getErrors());
+        } finally {
+            OperationMetrics.reset();
+        }
+    }
+
+    private static void assertWithinBucket(long expected, long actual) {
+        // a bucket's width is at most 1/16 of its lowest value
+        assertTrue(actual <= expected);
+        assertTrue(actual >= expected - expected / 16);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.task;
+
+import org.jboss.migration.core.MigrationFiles;
+import org.jboss.migration.core.ServerMigrationContext;
+import org.jboss.migration.core.ServerMigrationFailureException;
+import org.jboss.migration.core.console.ConsoleWrapper;
+import org.jboss.migration.core.env.MigrationEnvironment;
+import org.jboss.migration.core.task.component.TaskRunnable;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author emmartins
+ */
+public class SubtasksExecutorTest {
+
+    @Test
+    public void sequentialFailureCancelsRemainingSubtasks() {
+        failureCancelsRemainingSubtasks(SubtasksExecutor.SEQUENTIAL);
+    }
+
+    @Test
+    public void parallelFailureCancelsRemainingSubtasks() {
+        try (SubtasksExecutor subtasksExecutor = SubtasksExecutor.parallel(1)) {
+            failureCancelsRemainingSubtasks(subtasksExecutor);
+        }
+    }
+
+    @Test
+    public void sequentialExecuteAll() {
+        executeAll(SubtasksExecutor.SEQUENTIAL);
+    }
+
+    @Test
+    public void parallelExecuteAll() {
+        try (SubtasksExecutor subtasksExecutor = SubtasksExecutor.parallel(2)) {
+            executeAll(subtasksExecutor);
+        }
+    }
+
+    private void executeAll(SubtasksExecutor subtasksExecutor) {
+        final List<String> ran = Collections.synchronizedList(new ArrayList<>());
+        final ServerMigrationTask task = new Subtask("task", ran, context -> {
+            context.executeAll(Arrays.asList(new Subtask("1", ran, null), new Subtask("2", ran, null), new Subtask("3", ran, null)));
+            return ServerMigrationTaskResult.SUCCESS;
+        });
+        final TaskExecutionImpl taskExecution = new TaskExecutionImpl(task, new TestServerMigrationContext(), subtasksExecutor);
+        taskExecution.run();
+        assertEquals(ServerMigrationTaskResult.Status.SUCCESS, taskExecution.getResult().getStatus());
+        assertEquals(4, ran.size());
+        // the subtasks are kept, and numbered, in the order they were submitted, whatever the order they ran
+        final List<? extends TaskExecution> subtasks = taskExecution.getSubtasks();
+        assertEquals(3, subtasks.size());
+        for (int i = 0; i < subtasks.size(); i++) {
+            assertEquals(String.valueOf(i + 1), subtasks.get(i).getTaskName().getName());
+            assertEquals(ServerMigrationTaskResult.Status.SUCCESS, subtasks.get(i).getResult().getStatus());
+            assertEquals(taskExecution.getTaskNumber()+":"+(i + 1), subtasks.get(i).getTaskNumber());
+        }
+    }
+
+    @Test
+    public void taskRecordsKeepTheNumbersOfCancelledSubtasksSiblings() {
+        final List<String> ran = Collections.synchronizedList(new ArrayList<>());
+        final ServerMigrationTask task = new Subtask("task", ran, context -> {
+            try {
+                context.executeAll(Arrays.asList(new Subtask("1", ran, null), new Subtask("2", ran, subtaskContext -> {
+                    throw new ServerMigrationFailureException("2 failed");
+                }), new Subtask("3", ran, null)));
+            } catch (ServerMigrationFailureException e) {
+                // continues after the failure
+            }
+            context.execute(new Subtask("4", ran, null));
+            return ServerMigrationTaskResult.SUCCESS;
+        });
+        final TaskExecutionImpl taskExecution;
+        try (SubtasksExecutor subtasksExecutor = SubtasksExecutor.parallel(1)) {
+            taskExecution = new TaskExecutionImpl(task, new TestServerMigrationContext(), subtasksExecutor);
+            taskExecution.run();
+        }
+        // the cancelled subtask 3 was numbered, but is not kept
+        final List<? extends TaskExecution> subtasks = taskExecution.getSubtasks();
+        assertEquals(3, subtasks.size());
+        assertEquals("1:4", subtasks.get(2).getTaskNumber());
+        final TaskRecords taskRecords = TaskRecords.of(taskExecution);
+        assertEquals(4, taskRecords.size());
+        for (int i = 0; i < subtasks.size(); i++) {
+            assertEquals(subtasks.get(i).getTaskNumber(), taskRecords.get(i + 1).getTaskNumber());
+        }
+    }
+
+    private void failureCancelsRemainingSubtasks(SubtasksExecutor subtasksExecutor) {
+        final List<String> ran = Collections.synchronizedList(new ArrayList<>());
+        final ServerMigrationTask task = new Subtask("task", ran, context -> {
+            context.executeAll(Arrays.asList(new Subtask("1", ran, null), new Subtask("2", ran, subtaskContext -> {
+                throw new ServerMigrationFailureException("2 failed");
+            }), new Subtask("3", ran, null), new Subtask("4", ran, null)));
+            return ServerMigrationTaskResult.SUCCESS;
+        });
+        final TaskExecutionImpl taskExecution = new TaskExecutionImpl(task, new TestServerMigrationContext(), subtasksExecutor);
+        try {
+            taskExecution.run();
+            fail("task did not fail");
+        } catch (ServerMigrationFailureException e) {
+            assertEquals("2 failed", e.getMessage());
+        }
+        assertEquals("[task, 1, 2]", ran.toString());
+        assertEquals(2, taskExecution.getSubtasks().size());
+    }
+
+    private static class Subtask implements ServerMigrationTask {
+
+        private final ServerMigrationTaskName name;
+        private final List<String> ran;
+        private final TaskRunnable runnable;
+
+        Subtask(String name, List<String> ran, TaskRunnable runnable) {
+            this.name = new ServerMigrationTaskName.Builder(name).build();
+            this.ran = ran;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public ServerMigrationTaskName getName() {
+            return name;
+        }
+
+        @Override
+        public ServerMigrationTaskResult run(TaskContext context) {
+            ran.add(name.getName());
+            return runnable != null ? runnable.run(context) : ServerMigrationTaskResult.SUCCESS;
+        }
+    }
+
+    private static class TestServerMigrationContext implements ServerMigrationContext {
+
+        private final MigrationEnvironment migrationEnvironment = new MigrationEnvironment();
+
+        @Override
+        public ConsoleWrapper getConsoleWrapper() {
+            return null;
+        }
+
+        @Override
+        public MigrationFiles getMigrationFiles() {
+            return null;
+        }
+
+        @Override
+        public boolean isInteractive() {
+            return false;
+        }
+
+        @Override
+        public MigrationEnvironment getMigrationEnvironment() {
+            return migrationEnvironment;
+        }
+    }
+}
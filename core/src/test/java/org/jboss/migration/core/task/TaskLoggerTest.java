@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.task;
+
+import org.jboss.logging.Logger;
+import org.jboss.logging.MDC;
+import org.jboss.migration.core.env.MigrationEnvironment;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author emmartins
+ */
+public class TaskLoggerTest {
+
+    @Test
+    public void taskLevels() {
+        final MigrationEnvironment environment = new MigrationEnvironment();
+        environment.setProperty("tasks.logLevel", "INFO");
+        environment.setProperty("tasks.logLevel.1:2", "DEBUG");
+        environment.setProperty("tasks.logLevel.copy", "error");
+        final RecordingLogger category = new RecordingLogger();
+
+        final Logger logger1 = new TaskLogger("1:1", new ServerMigrationTaskName.Builder("update").build(), environment, category);
+        assertEquals(TaskLogger.CATEGORY, logger1.getName());
+        assertFalse(logger1.isDebugEnabled());
+        logger1.debugf("debug %s", "1:1");
+        logger1.infof("info %s", "1:1");
+
+        final Logger logger2 = new TaskLogger("1:2", new ServerMigrationTaskName.Builder("update").build(), environment, category);
+        assertTrue(logger2.isDebugEnabled());
+        logger2.debugf("debug %s", "1:2");
+        logger2.tracef("trace %s", "1:2");
+
+        final Logger logger3 = new TaskLogger("1:3", new ServerMigrationTaskName.Builder("copy").addAttribute("file", "a").build(), environment, category);
+        logger3.warn("warn 1:3");
+        logger3.error("error 1:3");
+
+        assertEquals(3, category.messages.size());
+        assertEquals("1:1 INFO info %s", category.messages.get(0));
+        assertEquals("1:2 DEBUG debug %s", category.messages.get(1));
+        assertEquals("1:3 ERROR error 1:3", category.messages.get(2));
+        assertNull(MDC.get(TaskLogger.MDC_KEY));
+    }
+
+    @Test
+    public void invalidTaskLevel() {
+        final MigrationEnvironment environment = new MigrationEnvironment();
+        environment.setProperty("tasks.logLevel", "WARN");
+        environment.setProperty("tasks.logLevel.1", "NOISY");
+        final RecordingLogger category = new RecordingLogger();
+        TaskLogger.validateLevels(environment);
+        // the invalid level is ignored, instead of failing the task logging, and the default applies
+        final Logger logger = new TaskLogger("1", new ServerMigrationTaskName.Builder("server").build(), environment, category);
+        logger.info("info 1");
+        logger.warn("warn 1");
+        assertEquals(1, category.messages.size());
+        assertEquals("1 WARN warn 1", category.messages.get(0));
+    }
+
+    @Test
+    public void noEnvironment() {
+        final RecordingLogger category = new RecordingLogger();
+        final Logger logger = new TaskLogger("1", new ServerMigrationTaskName.Builder("server").build(), null, category);
+        final Object previousTaskNumber = TaskLogger.putTaskNumber("2");
+        try {
+            logger.tracef("trace %s", "1");
+            assertEquals("2", MDC.get(TaskLogger.MDC_KEY));
+        } finally {
+            TaskLogger.restoreTaskNumber(previousTaskNumber);
+        }
+        assertEquals(1, category.messages.size());
+        assertEquals("1 TRACE trace %s", category.messages.get(0));
+    }
+
+    private static class RecordingLogger extends Logger {
+
+        private final List<String> messages = new ArrayList<>();
+
+        RecordingLogger() {
+            super(TaskLogger.CATEGORY);
+        }
+
+        @Override
+        protected void doLog(Level level, String loggerClassName, Object message, Object[] parameters, Throwable thrown) {
+            messages.add(MDC.get(TaskLogger.MDC_KEY) + " " + level + " " + message);
+        }
+
+        @Override
+        protected void doLogf(Level level, String loggerClassName, String format, Object[] parameters, Throwable thrown) {
+            messages.add(MDC.get(TaskLogger.MDC_KEY) + " " + level + " " + format);
+        }
+
+        @Override
+        public boolean isEnabled(Level level) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.ts;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.jboss.migration.core.ts.MigrationTasksTest.migrationData;
+import static org.junit.Assert.assertTrue;
+
+public class FlightRecorderEventsTest {
+
+    @Test
+    public void taskEvents() throws IOException {
+        final Path recordingFile = Files.createTempFile("migration", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable("org.jboss.migration.Task");
+                recording.start();
+                migrationData(false);
+                recording.stop();
+                recording.dump(recordingFile);
+            }
+            final List<String> taskPaths = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+                if (event.getEventType().getName().equals("org.jboss.migration.Task")) {
+                    taskPaths.add(event.getString("taskPath"));
+                }
+            }
+            assertTrue(taskPaths.contains("server"));
+            assertTrue(taskPaths.contains("server > subtask 1 > subtask 1.2(config=quux)"));
+        } finally {
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+}
@@ -18,14 +18,24 @@ package org.jboss.migration.core.ts;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import org.hamcrest.CoreMatchers;
 import org.jboss.migration.core.MigrationFiles;
 import org.jboss.migration.core.ServerMigration;
 import org.jboss.migration.core.ServerMigrationFailureException;
+import org.jboss.migration.core.env.MigrationEnvironment;
+import org.jboss.migration.core.util.TextFiles;
+import org.jboss.migration.core.util.xml.XMLFiles;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -152,6 +162,32 @@ public class MigrationFilesTest {
                 Files.readAllBytes(targetDir.resolve("level1").resolve("level2").resolve("source3.bin")));
     }
 
+    @Test
+    public void copyDirectoryWithManyFiles() throws IOException {
+        Path sourceDir = tmp.newFolder("source").toPath();
+        for (int i = 0; i < 100; i++) {
+            Path dir = sourceDir.resolve("level" + (i % 5));
+            Files.createDirectories(dir);
+            createNewFile(dir.resolve("source" + i + ".bin"), 1024);
+        }
+        Path targetDir = tmp.newFolder("target").toPath();
+        Files.createDirectories(targetDir.resolve("level0"));
+        createNewFile(targetDir.resolve("level0").resolve("source0.bin"), 32);
+        FileTime sourceDirLastModifiedTime = FileTime.fromMillis(Files.getLastModifiedTime(sourceDir.resolve("level1")).toMillis() - 60000);
+        Files.setLastModifiedTime(sourceDir.resolve("level1"), sourceDirLastModifiedTime);
+
+        MigrationFiles.CopyStatistics copyStatistics = migrationFiles.copy(sourceDir, targetDir);
+
+        Assert.assertEquals("All files copied", 100, copyStatistics.getFiles());
+        Assert.assertEquals("All bytes copied", 100 * 1024, copyStatistics.getBytes());
+        for (int i = 0; i < 100; i++) {
+            Path relativePath = sourceDir.relativize(sourceDir.resolve("level" + (i % 5)).resolve("source" + i + ".bin"));
+            Assert.assertArrayEquals("Contents of " + relativePath + " are OK", Files.readAllBytes(sourceDir.resolve(relativePath)), Files.readAllBytes(targetDir.resolve(relativePath)));
+        }
+        Assert.assertEquals("Backup file is created", 32, Files.size(targetDir.resolve("level0").resolve("source0.bin.beforeMigration")));
+        Assert.assertEquals("Dir last modified time is copied", sourceDirLastModifiedTime.toMillis(), Files.getLastModifiedTime(targetDir.resolve("level1")).toMillis());
+    }
+
     @Test
     public void copyDirectoryAlreadyExists() throws IOException {
         Path sourceDir = tmp.newFolder("source").toPath();
@@ -163,4 +199,187 @@ public class MigrationFilesTest {
 
         migrationFiles.copy(sourceDir, target);
     }
+
+    /**
+     * Retrieves the migration files of a migration with the specified environment, which configures the copies.
+     */
+    private static MigrationFiles migrationFiles(MigrationFiles.CopyStrategy copyStrategy, boolean incremental, Path lockFile) {
+        MigrationEnvironment env = new MigrationEnvironment();
+        env.setProperty(MigrationFiles.ENVIRONMENT_PROPERTY_COPY_PARALLELISM.getName(), "1");
+        env.setProperty(MigrationFiles.ENVIRONMENT_PROPERTY_COPY_STRATEGY.getName(), copyStrategy.toString());
+        env.setProperty(MigrationFiles.ENVIRONMENT_PROPERTY_COPY_INCREMENTAL.getName(), String.valueOf(incremental));
+        if (lockFile != null) {
+            env.setProperty(MigrationFiles.ENVIRONMENT_PROPERTY_LOCK_FILE.getName(), lockFile.toString());
+        }
+        return new ServerMigration()
+                .from(TestSourceServerProvider.SERVER.getBaseDir())
+                .to(TestTargetServerProvider.SERVER.getBaseDir())
+                .userEnvironment(env)
+                .run()
+                .getRootTask()
+                .getServerMigrationContext()
+                .getMigrationFiles();
+    }
+
+    @Test
+    public void copyDirectoryWithHardLinks() throws IOException {
+        Path sourceDir = tmp.newFolder("source").toPath();
+        Path source1 = createNewFile(sourceDir.resolve("source1.bin"), 32);
+        Path source2 = createNewFile(sourceDir.resolve("source2.jar"), 32);
+        Path sourceXml = sourceDir.resolve("standalone.xml");
+        Files.write(sourceXml, "<server><a/></server>".getBytes(StandardCharsets.UTF_8));
+        Path sourceProperties = sourceDir.resolve("mgmt-users.properties");
+        Files.write(sourceProperties, "a=b".getBytes(StandardCharsets.UTF_8));
+        Path targetDir = tmp.newFolder("target").toPath();
+        Path target1 = createNewFile(targetDir.resolve("source1.bin"), 16);
+        MigrationFiles hardlinkMigrationFiles = migrationFiles(MigrationFiles.CopyStrategy.HARDLINK, false, null);
+
+        MigrationFiles.CopyStatistics copyStatistics = hardlinkMigrationFiles.copy(sourceDir, targetDir);
+
+        Assert.assertEquals("All but rewritable files linked", 2, copyStatistics.getLinkedFiles());
+        Assert.assertTrue("Target file is a link to source file", Files.isSameFile(source1, target1));
+        Assert.assertTrue("Target file is a link to source file", Files.isSameFile(source2, targetDir.resolve("source2.jar")));
+        Assert.assertFalse("Target xml file is not a link to source file", Files.isSameFile(sourceXml, targetDir.resolve("standalone.xml")));
+        Assert.assertFalse("Target properties file is not a link to source file", Files.isSameFile(sourceProperties, targetDir.resolve("mgmt-users.properties")));
+        Assert.assertEquals("Backup file is created", 16, Files.size(targetDir.resolve("source1.bin.beforeMigration")));
+    }
+
+    @Test
+    public void rewriteHardLinkedFiles() throws IOException {
+        Path sourceDir = tmp.newFolder("source").toPath();
+        Path source1 = sourceDir.resolve("source1.txt");
+        Files.write(source1, "source1".getBytes(StandardCharsets.UTF_8));
+        Path source2 = sourceDir.resolve("source2.bin");
+        Files.write(source2, "<a/>".getBytes(StandardCharsets.UTF_8));
+        Path source3 = sourceDir.resolve("source3.bin");
+        Files.write(source3, "<b/>".getBytes(StandardCharsets.UTF_8));
+        Path targetDir = tmp.newFolder("target").toPath();
+        migrationFiles(MigrationFiles.CopyStrategy.HARDLINK, false, null).copy(sourceDir, targetDir);
+        Assert.assertTrue(Files.isSameFile(source1, targetDir.resolve("source1.txt")));
+
+        // the migration's in place writers must not modify the source files
+        TextFiles.write(targetDir.resolve("source1.txt"), "target1");
+        XMLFiles.copy(targetDir.resolve("source3.bin"), targetDir.resolve("source2.bin"));
+        XMLFiles.filter(targetDir.resolve("source3.bin"));
+
+        Assert.assertEquals("source1", new String(Files.readAllBytes(source1), StandardCharsets.UTF_8));
+        Assert.assertEquals("<a/>", new String(Files.readAllBytes(source2), StandardCharsets.UTF_8));
+        Assert.assertEquals("<b/>", new String(Files.readAllBytes(source3), StandardCharsets.UTF_8));
+        Assert.assertEquals("target1", new String(Files.readAllBytes(targetDir.resolve("source1.txt")), StandardCharsets.UTF_8));
+        Assert.assertFalse(Files.isSameFile(source2, targetDir.resolve("source2.bin")));
+        Assert.assertFalse(Files.isSameFile(source3, targetDir.resolve("source3.bin")));
+    }
+
+    @Test
+    public void copyDirectoryIncremental() throws IOException {
+        Path sourceDir = tmp.newFolder("source").toPath();
+        Path source1 = createNewFile(sourceDir.resolve("source1.bin"), 32);
+        Path source2 = createNewFile(sourceDir.resolve("source2.bin"), 32);
+        Path targetDir = tmp.newFolder("target").toPath();
+        migrationFiles.copy(sourceDir, targetDir);
+        Path target1 = targetDir.resolve("source1.bin");
+        Path target2 = targetDir.resolve("source2.bin");
+        FileTime target1LastModifiedTime = Files.getLastModifiedTime(target1);
+        createNewFile(target2, 16);
+        MigrationFiles incrementalMigrationFiles = migrationFiles(MigrationFiles.CopyStrategy.COPY, true, null);
+
+        MigrationFiles.CopyStatistics copyStatistics = incrementalMigrationFiles.copy(sourceDir, targetDir);
+
+        Assert.assertEquals("Unchanged files", 1, copyStatistics.getUnchangedFiles());
+        Assert.assertEquals("Copied files", 1, copyStatistics.getFiles());
+        Assert.assertEquals("Copied bytes", 32, copyStatistics.getBytes());
+        Assert.assertEquals("Unchanged file is untouched", target1LastModifiedTime, Files.getLastModifiedTime(target1));
+        Assert.assertFalse("Backup file is not created for unchanged file", Files.exists(targetDir.resolve("source1.bin.beforeMigration")));
+        Assert.assertArrayEquals(Files.readAllBytes(source2), Files.readAllBytes(target2));
+        Assert.assertTrue("Backup file is created for changed file", Files.exists(targetDir.resolve("source2.bin.beforeMigration")));
+    }
+
+    @Test
+    public void copyFileIncremental() throws IOException {
+        Path source = createNewFile(tmp.getRoot().toPath().resolve("source.bin"), 32);
+        Path target = tmp.getRoot().toPath().resolve("target.bin");
+        MigrationFiles incrementalMigrationFiles = migrationFiles(MigrationFiles.CopyStrategy.COPY, true, null);
+
+        MigrationFiles.CopyStatistics copyStatistics = incrementalMigrationFiles.copy(source, target, MigrationFiles.FileMatcher.sha1(sha1(source)));
+        Assert.assertEquals("Copied files", 1, copyStatistics.getFiles());
+        Assert.assertEquals("Copied bytes", 32, copyStatistics.getBytes());
+        Assert.assertEquals("Unchanged files", 0, copyStatistics.getUnchangedFiles());
+
+        // the checksum matcher only reads the target
+        Path unchangedTarget = tmp.getRoot().toPath().resolve("unchanged.bin");
+        Files.copy(source, unchangedTarget);
+        copyStatistics = incrementalMigrationFiles.copy(source, unchangedTarget, MigrationFiles.FileMatcher.sha1(sha1(source)));
+        Assert.assertEquals("Copied files", 0, copyStatistics.getFiles());
+        Assert.assertEquals("Copied bytes", 0, copyStatistics.getBytes());
+        Assert.assertEquals("Unchanged files", 1, copyStatistics.getUnchangedFiles());
+    }
+
+    @Test
+    public void copyLocked() throws IOException {
+        Path source = createNewFile(tmp.getRoot().toPath().resolve("source.bin"), 32);
+        Path target = tmp.getRoot().toPath().resolve("target.bin");
+        Path lockFile = tmp.getRoot().toPath().resolve("files.lock");
+        MigrationFiles lockedMigrationFiles = migrationFiles(MigrationFiles.CopyStrategy.COPY, false, lockFile);
+
+        // the lock is reentrant, e.g. a module's existence is checked and the module copied while locked
+        MigrationFiles.CopyStatistics copyStatistics = lockedMigrationFiles.runLocked(() -> lockedMigrationFiles.copy(source, target));
+
+        Assert.assertEquals("Copied files", 1, copyStatistics.getFiles());
+        Assert.assertArrayEquals(Files.readAllBytes(source), Files.readAllBytes(target));
+        Assert.assertTrue("Lock file is created", Files.exists(lockFile));
+    }
+
+    @Test
+    public void copyByWorkersSharingALockFile() throws IOException, InterruptedException {
+        Path deploymentsDir = tmp.newFolder("deployments").toPath();
+        createNewFile(deploymentsDir.resolve("app.war"), 32);
+        Path targetDeploymentsDir = tmp.newFolder("target").toPath();
+        byte[] targetDeployment = Files.readAllBytes(createNewFile(targetDeploymentsDir.resolve("app.war"), 16));
+        Path content = createNewFile(tmp.getRoot().toPath().resolve("content.bin"), 32);
+        Path targetContent = tmp.getRoot().toPath().resolve("target-content.bin");
+        byte[] targetContentBeforeMigration = Files.readAllBytes(createNewFile(targetContent, 16));
+        Path lockFile = tmp.getRoot().toPath().resolve("files.lock");
+
+        // each worker migrates a configuration, which copies the same content and scanner's deployments dir
+        Assert.assertEquals("First worker migrates the deployments", 0, forkWorker(lockFile, content, targetContent, deploymentsDir, targetDeploymentsDir));
+        Assert.assertEquals("Second worker skips the deployments", 2, forkWorker(lockFile, content, targetContent, deploymentsDir, targetDeploymentsDir));
+
+        Assert.assertArrayEquals(Files.readAllBytes(content), Files.readAllBytes(targetContent));
+        Assert.assertArrayEquals("Backup is not overwritten by the second worker", targetContentBeforeMigration, Files.readAllBytes(tmp.getRoot().toPath().resolve("target-content.bin.beforeMigration")));
+        Assert.assertArrayEquals(Files.readAllBytes(deploymentsDir.resolve("app.war")), Files.readAllBytes(targetDeploymentsDir.resolve("app.war")));
+        Assert.assertArrayEquals(targetDeployment, Files.readAllBytes(targetDeploymentsDir.resolve("app.war.beforeMigration")));
+    }
+
+    private static int forkWorker(Path... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(MigrationFilesTest.class.getName());
+        for (Path arg : args) {
+            command.add(arg.toString());
+        }
+        return new ProcessBuilder(command).inheritIO().start().waitFor();
+    }
+
+    /**
+     * The worker forked by {@link #copyByWorkersSharingALockFile()}, which exits with 0 if it migrated the deployments dir, or 2 if already processed by another worker.
+     */
+    public static void main(String[] args) {
+        MigrationFiles workerMigrationFiles = migrationFiles(MigrationFiles.CopyStrategy.COPY, false, Paths.get(args[0]));
+        workerMigrationFiles.copy(Paths.get(args[1]), Paths.get(args[2]));
+        if (!workerMigrationFiles.markProcessed(Paths.get(args[3]))) {
+            System.exit(2);
+        }
+        workerMigrationFiles.copy(Paths.get(args[3]), Paths.get(args[4]));
+        System.exit(0);
+    }
+
+    private static byte[] sha1(Path file) throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(Files.readAllBytes(file));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
 }
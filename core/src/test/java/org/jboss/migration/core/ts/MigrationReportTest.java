@@ -15,20 +15,32 @@
  */
 package org.jboss.migration.core.ts;
 
+import org.jboss.migration.core.MigrationData;
+import org.jboss.migration.core.report.BinaryReportReader;
+import org.jboss.migration.core.report.BinaryReportWriter;
 import org.jboss.migration.core.report.HtmlReportWriter;
+import org.jboss.migration.core.report.JsonReportWriter;
 import org.jboss.migration.core.report.SummaryReportWriter;
+import org.jboss.migration.core.report.TraceReportWriter;
 import org.jboss.migration.core.report.XmlReportWriter;
 import org.jboss.migration.core.task.ServerMigrationTaskResult;
+import org.jboss.migration.core.task.TaskExecution;
 import org.junit.Test;
 
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.util.zip.GZIPOutputStream;
 
 import static org.jboss.migration.core.ts.MigrationTasksTest.migrationData;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class MigrationReportTest {
@@ -170,4 +182,124 @@ public class MigrationReportTest {
         assertTrue(xml.contains("test.property.key"));
         assertTrue(xml.contains("test.property.value"));
     }
+
+    @Test
+    public void slowest_tasks() throws XMLStreamException {
+        MigrationData migrationData = migrationData(false);
+
+        String summary = SummaryReportWriter.INSTANCE.toString(migrationData);
+        assertTrue(summary.contains("Slowest Tasks"));
+        assertTrue(summary.contains("1:1:2 subtask 1.2(config=quux)"));
+
+        String htmlTemplate = "$SUMMARY \n $ENVIRONMENT \n $TASK_SUMMARY \n $SLOWEST_TASKS \n $TASK_MAP";
+        String html = HtmlReportWriter.INSTANCE.toString(migrationData, HtmlReportWriter.ReportTemplate.from(htmlTemplate));
+        assertTrue(html.contains("Self Duration"));
+        assertTrue(html.contains("href=\"#task1:1:2\">1:1:2 subtask 1.2(config=quux)</a>"));
+
+        StringWriter xmlData = new StringWriter();
+        XMLStreamWriter xmlStreamWriter = XMLOutputFactory.newInstance().createXMLStreamWriter(xmlData);
+        XmlReportWriter.INSTANCE.writeContent(xmlStreamWriter, migrationData);
+        String xml = xmlData.toString();
+        assertTrue(xml.contains("<slowest-tasks>"));
+        assertTrue(xml.contains("self-duration-nanos="));
+    }
+
+    @Test
+    public void trace() {
+        MigrationData migrationData = migrationData(true);
+
+        String trace = TraceReportWriter.INSTANCE.toString(migrationData);
+        assertTrue(trace.startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":["));
+        assertTrue(trace.contains("\"name\":\"subtask 1.2\",\"cat\":\"task\",\"ph\":\"X\""));
+        assertTrue(trace.contains("\"attributes\":{\"config\":\"quux\"}"));
+        assertTrue(trace.contains("\"status\":\"FAIL\""));
+        assertTrue(trace.contains("\"name\":\"thread_name\""));
+
+        String collapsedStacks = TraceReportWriter.INSTANCE.toCollapsedStacks(migrationData);
+        for (String line : collapsedStacks.split("\n")) {
+            if (!line.isEmpty()) {
+                assertTrue(line.startsWith("server"));
+                assertTrue(line.matches("\\S+ \\d+"));
+            }
+        }
+    }
+
+    @Test
+    public void json() {
+        String json = JsonReportWriter.INSTANCE.toString(migrationData(true));
+
+        assertTrue(json.startsWith("{\"startTime\":"));
+        assertTrue(json.contains("\"environment\":{"));
+        assertTrue(json.contains("\"test.property.key\":\"test.property.value\""));
+        assertFalse(json.contains("unused.property"));
+        assertTrue(json.contains("\"number\":\"1:1:2\",\"name\":\"subtask 1.2\",\"attributes\":{\"config\":\"quux\"},\"result\":{\"status\":\"SUCCESS\"}"));
+        assertTrue(json.contains("\"name\":\"subtask 3\",\"attributes\":{\"always\":\"fails\"},\"result\":{\"status\":\"FAIL\",\"failReason\":"));
+        assertTrue(json.contains("\"durationNanos\":"));
+        assertTrue(json.contains("\"subtasks\":["));
+    }
+
+    @Test
+    public void binary() throws IOException {
+        MigrationData migrationData = migrationData(true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryReportWriter.INSTANCE.write(migrationData, out);
+
+        try (BinaryReportReader reader = new BinaryReportReader(new ByteArrayInputStream(out.toByteArray()))) {
+            BinaryReportReader.Header header = reader.getHeader();
+            assertEquals(migrationData.getRootTask().getStartTime(), header.getStartTime());
+            assertEquals(migrationData.getSource().getBaseDir().toString(), header.getSource().getBaseDir());
+            assertEquals("test.property.value", header.getEnvironment().get("test.property.key"));
+            assertEquals(migrationData.getTasks().size(), header.getTaskCount());
+            for (TaskExecution task : migrationData.getTasks()) {
+                BinaryReportReader.Task record = reader.nextTask();
+                assertEquals(task.getTaskNumber(), record.getNumber());
+                assertEquals(task.getTaskName().getName(), record.getName());
+                assertEquals(task.getTaskName().getAttributes(), record.getAttributes());
+                assertEquals(task.getResult().getStatus(), record.getStatus());
+                assertEquals(task.getResult().getFailReason() != null, record.getFailReason() != null);
+                assertEquals(task.getDurationNanos(), record.getDurationNanos());
+                assertEquals(task.getSubtasks().size(), record.getSubtaskCount());
+            }
+            assertNull(reader.nextTask());
+        }
+    }
+
+    @Test
+    public void binaryUnknownStatus() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DataOutputStream data = new DataOutputStream(new GZIPOutputStream(out))) {
+            data.writeInt(0x4A534D52);
+            data.writeShort(1);
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            DataOutputStream headerData = new DataOutputStream(header);
+            headerData.writeLong(0);
+            for (int i = 0; i < 6; i++) {
+                headerData.writeInt(-1);
+            }
+            headerData.writeInt(0);
+            headerData.writeInt(1);
+            data.writeInt(header.size());
+            header.writeTo(data);
+            ByteArrayOutputStream task = new ByteArrayOutputStream();
+            DataOutputStream taskData = new DataOutputStream(task);
+            taskData.writeInt(-1);
+            taskData.writeInt(-1);
+            taskData.writeInt(0);
+            // a status added by a newer writer
+            taskData.writeByte(100);
+            taskData.writeInt(-1);
+            taskData.writeInt(0);
+            for (int i = 0; i < 5; i++) {
+                taskData.writeLong(0);
+            }
+            taskData.writeInt(0);
+            data.writeInt(task.size());
+            task.writeTo(data);
+        }
+
+        try (BinaryReportReader reader = new BinaryReportReader(new ByteArrayInputStream(out.toByteArray()))) {
+            assertNull(reader.nextTask().getStatus());
+            assertNull(reader.nextTask());
+        }
+    }
 }
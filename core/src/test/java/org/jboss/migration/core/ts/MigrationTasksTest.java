@@ -20,6 +20,7 @@ import org.jboss.migration.core.ServerMigration;
 import org.jboss.migration.core.env.MigrationEnvironment;
 import org.jboss.migration.core.task.ServerMigrationTaskResult;
 import org.jboss.migration.core.task.TaskExecution;
+import org.jboss.migration.core.task.TaskRecords;
 import org.junit.Test;
 
 import java.util.List;
@@ -29,7 +30,18 @@ import static org.junit.Assert.assertTrue;
 
 public class MigrationTasksTest {
     static MigrationData migrationData(boolean shouldFail) {
+        return migrationData(shouldFail, false);
+    }
+
+    static MigrationData migrationData(boolean shouldFail, boolean parallelExecution) {
+        return migrationData(shouldFail, parallelExecution, null);
+    }
+
+    static MigrationData migrationData(boolean shouldFail, boolean parallelExecution, String taskPath) {
         MigrationEnvironment env = new MigrationEnvironment();
+        if (taskPath != null) {
+            env.setProperty("tasks.path", taskPath);
+        }
         env.setProperty("unused.property", "foobar");
         env.setProperty("test.property.key", "test.property.value");
         env.setProperty("test.should.fail", "" + shouldFail);
@@ -38,6 +50,8 @@ public class MigrationTasksTest {
                 .from(TestSourceServerProvider.SERVER.getBaseDir())
                 .to(TestTargetServerProvider.SERVER.getBaseDir())
                 .userEnvironment(env)
+                .interactive(!parallelExecution)
+                .parallelExecution(parallelExecution)
                 .run();
     }
 
@@ -52,6 +66,36 @@ public class MigrationTasksTest {
         checkCommonSubtasks(subtasks);
     }
 
+    @Test
+    public void successWithParallelExecution() {
+        MigrationData migrationData = migrationData(false, true);
+
+        assertEquals(ServerMigrationTaskResult.Status.SUCCESS, migrationData.getRootTask().getResult().getStatus());
+
+        List<TaskExecution> subtasks = migrationData.getRootTask().getSubtasks();
+        assertEquals(2, subtasks.size());
+        checkCommonSubtasks(subtasks);
+        assertEquals("1:1:1", subtasks.get(0).getSubtasks().get(0).getTaskNumber());
+        assertEquals("1:1:2", subtasks.get(0).getSubtasks().get(1).getTaskNumber());
+    }
+
+    @Test
+    public void successWithRestrictedTaskPath() {
+        MigrationData migrationData = migrationData(true, false, "server > subtask 1 > subtask 1.2(config=quux)");
+
+        assertEquals(ServerMigrationTaskResult.Status.SUCCESS, migrationData.getRootTask().getResult().getStatus());
+
+        List<TaskExecution> subtasks = migrationData.getRootTask().getSubtasks();
+        assertEquals(3, subtasks.size());
+        List<TaskExecution> subtask1Subtasks = subtasks.get(0).getSubtasks();
+        assertEquals(ServerMigrationTaskResult.Status.SUCCESS, subtasks.get(0).getResult().getStatus());
+        assertEquals(ServerMigrationTaskResult.Status.SKIPPED, subtask1Subtasks.get(0).getResult().getStatus());
+        assertEquals(ServerMigrationTaskResult.Status.SUCCESS, subtask1Subtasks.get(1).getResult().getStatus());
+        assertEquals(ServerMigrationTaskResult.Status.SKIPPED, subtasks.get(1).getResult().getStatus());
+        // not in the path, the failing subtask does not run
+        assertEquals(ServerMigrationTaskResult.Status.SKIPPED, subtasks.get(2).getResult().getStatus());
+    }
+
     @Test
     public void fail() {
         MigrationData migrationData = migrationData(true);
@@ -71,6 +115,41 @@ public class MigrationTasksTest {
         }
     }
 
+    @Test
+    public void taskRecords() {
+        MigrationData migrationData = migrationData(true);
+
+        List<TaskExecution> tasks = migrationData.getTasks();
+        assertEquals(migrationData.getRootTask(), tasks.get(0));
+        assertEquals("1", tasks.get(0).getTaskNumber());
+        assertEquals("1:1", tasks.get(1).getTaskNumber());
+        assertEquals("1:1:1", tasks.get(2).getTaskNumber());
+        assertEquals("1:1:2", tasks.get(3).getTaskNumber());
+        assertEquals("server > subtask 1 > subtask 1.2(config=quux)", tasks.get(3).getTaskPath().toString());
+        assertEquals(3, tasks.get(3).getTaskPath().size());
+
+        TaskExecution subtask3 = migrationData.getRootTask().getSubtasks().get(2);
+        assertEquals(tasks.get(tasks.size() - 1), subtask3);
+        assertEquals("1:3", subtask3.getTaskNumber());
+        assertEquals(ServerMigrationTaskResult.Status.FAIL, subtask3.getResult().getStatus());
+        assertTrue(subtask3.getResult().getFailReason() != null);
+        assertTrue(subtask3.getStartNanoTime() != 0);
+        assertTrue(subtask3.getEndNanoTime() >= subtask3.getStartNanoTime());
+        assertEquals(2, migrationData.getTaskCount(ServerMigrationTaskResult.Status.FAIL));
+
+        // stored again, the task records have the same data
+        TaskRecords taskRecords = TaskRecords.of(migrationData.getRootTask());
+        assertEquals(tasks.size(), taskRecords.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).getTaskPath().toString(), taskRecords.get(i).getTaskPath().toString());
+            assertEquals(tasks.get(i).getTaskNumber(), taskRecords.get(i).getTaskNumber());
+            assertEquals(tasks.get(i).getResult().getStatus(), taskRecords.get(i).getResult().getStatus());
+            assertEquals(tasks.get(i).getResult().getAttributes(), taskRecords.get(i).getResult().getAttributes());
+            assertEquals(tasks.get(i).getDurationNanos(), taskRecords.get(i).getDurationNanos());
+            assertEquals(tasks.get(i).getThreadName(), taskRecords.get(i).getThreadName());
+        }
+    }
+
     private void checkCommonSubtasks(List<TaskExecution> subtasks) {
         assertTrue(subtasks.size() >= 2);
 
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.util.xml;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import org.jboss.logging.MDC;
+import org.jboss.migration.core.ServerMigrationFailureException;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the XML file pipeline.
+ *
+ * @author emmartins
+ */
+public class XMLFilePipelineTest {
+
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<server>"
+            + "<extensions><extension module=\"a\"/><extension module=\"b\"/></extensions>"
+            + "<excluded-extensions><extension module=\"b\"/></excluded-extensions>"
+            + "<profile><subsystem name=\"x\"><child/></subsystem><subsystem name=\"y\"/></profile>"
+            + "</server>";
+
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    private Path createXMLFile() throws IOException {
+        final Path xmlFile = tmp.newFile("test.xml").toPath();
+        Files.write(xmlFile, XML.getBytes(StandardCharsets.UTF_8));
+        return xmlFile;
+    }
+
+    private static String attributeValue(StartElement startElement, String attributeName) {
+        return startElement.getAttributeByName(new QName(attributeName)).getValue();
+    }
+
+    @Test
+    public void filtersAndProcessorsShareSinglePass() throws IOException {
+        final Path xmlFile = createXMLFile();
+        final List<String> processedSubsystems = new ArrayList<>();
+        final List<String> documentElements = new ArrayList<>();
+        new XMLFilePipeline.Builder()
+                .documentProcessor((startElement, xmlEventReader) -> {
+                    documentElements.add(startElement.getName().getLocalPart());
+                    try {
+                        while (xmlEventReader.hasNext()) {
+                            final XMLEvent xmlEvent = xmlEventReader.nextEvent();
+                            if (xmlEvent.isStartElement()) {
+                                documentElements.add(xmlEvent.asStartElement().getName().getLocalPart());
+                            }
+                        }
+                    } catch (XMLStreamException e) {
+                        throw new ServerMigrationFailureException(e);
+                    }
+                })
+                .processor((startElement, xmlEventReader) -> processedSubsystems.add(attributeValue(startElement, "name")), "subsystem")
+                .filter((startElement, xmlEventReader, xmlEventWriter, xmlEventFactory) -> XMLFileFilter.Result.ADD_ALL, "excluded-extensions")
+                .filter((startElement, xmlEventReader, xmlEventWriter, xmlEventFactory) -> attributeValue(startElement, "module").equals("b") ? XMLFileFilter.Result.REMOVE : XMLFileFilter.Result.ADD, "extension")
+                .filter((startElement, xmlEventReader, xmlEventWriter, xmlEventFactory) -> attributeValue(startElement, "name").equals("x") ? XMLFileFilter.Result.REMOVE : XMLFileFilter.Result.NOT_APPLICABLE, "subsystem")
+                .build()
+                .run(xmlFile);
+        final String result = new String(Files.readAllBytes(xmlFile), StandardCharsets.UTF_8);
+        Assert.assertTrue("Extension b removed", result.contains("<extensions><extension module=\"a\"></extension></extensions>") || result.contains("<extensions><extension module=\"a\"/></extensions>"));
+        Assert.assertTrue("Excluded extension b kept", result.contains("<excluded-extensions><extension module=\"b\""));
+        Assert.assertFalse("Subsystem x removed", result.contains("name=\"x\""));
+        Assert.assertTrue("Subsystem y kept", result.contains("name=\"y\""));
+        // processors see the content as read, i.e. before filtering
+        Assert.assertEquals("[x, y]", processedSubsystems.toString());
+        Assert.assertEquals("[server, extensions, extension, extension, excluded-extensions, extension, profile, subsystem, child, subsystem]", documentElements.toString());
+    }
+
+    @Test
+    public void firstApplicableFilterWins() throws IOException {
+        final Path xmlFile = createXMLFile();
+        final List<String> filtered = new ArrayList<>();
+        new XMLFilePipeline.Builder()
+                .filter((startElement, xmlEventReader, xmlEventWriter, xmlEventFactory) -> {
+                    filtered.add("any:" + startElement.getName().getLocalPart());
+                    return XMLFileFilter.Result.NOT_APPLICABLE;
+                })
+                .filter((startElement, xmlEventReader, xmlEventWriter, xmlEventFactory) -> {
+                    filtered.add("profile");
+                    return XMLFileFilter.Result.REMOVE;
+                }, "profile")
+                .filter((startElement, xmlEventReader, xmlEventWriter, xmlEventFactory) -> {
+                    filtered.add("never");
+                    return XMLFileFilter.Result.ADD;
+                }, "profile")
+                .build()
+                .run(xmlFile);
+        Assert.assertEquals("[any:server, any:extensions, any:extension, any:extension, any:excluded-extensions, any:extension, any:profile, profile]", filtered.toString());
+        Assert.assertFalse("Profile removed", new String(Files.readAllBytes(xmlFile), StandardCharsets.UTF_8).contains("profile"));
+    }
+
+    @Test
+    public void processorsOnlyDoNotWrite() throws IOException {
+        final Path xmlFile = createXMLFile();
+        final long lastModified = Files.getLastModifiedTime(xmlFile).toMillis();
+        final List<String> processed = new ArrayList<>();
+        new XMLFilePipeline.Builder()
+                .processor((startElement, xmlEventReader) -> processed.add(attributeValue(startElement, "module")), "extension")
+                .build()
+                .run(xmlFile);
+        Assert.assertEquals("[a, b, b]", processed.toString());
+        Assert.assertEquals(XML, new String(Files.readAllBytes(xmlFile), StandardCharsets.UTF_8));
+        Assert.assertEquals(lastModified, Files.getLastModifiedTime(xmlFile).toMillis());
+    }
+
+    @Test
+    public void failuresAreReturnedByOwner() throws IOException {
+        final Path xmlFile = createXMLFile();
+        final List<String> processed = new ArrayList<>();
+        final Map<Object, ServerMigrationFailureException> failures = new XMLFilePipeline.Builder()
+                .owner("filter")
+                .filter((startElement, xmlEventReader, xmlEventWriter, xmlEventFactory) -> {
+                    throw new ServerMigrationFailureException("filter failed");
+                }, "extension")
+                .owner("processor")
+                .processor((startElement, xmlEventReader) -> {
+                    processed.add(attributeValue(startElement, "name"));
+                    throw new ServerMigrationFailureException("processor failed");
+                }, "subsystem")
+                .owner("document")
+                .documentProcessor((startElement, xmlEventReader) -> {
+                    throw new ServerMigrationFailureException("document processor failed");
+                })
+                .owner(null)
+                .filter((startElement, xmlEventReader, xmlEventWriter, xmlEventFactory) -> XMLFileFilter.Result.REMOVE, "profile")
+                .build()
+                .run(xmlFile);
+        Assert.assertEquals(3, failures.size());
+        Assert.assertEquals("filter failed", failures.get("filter").getMessage());
+        Assert.assertEquals("processor failed", failures.get("processor").getMessage());
+        Assert.assertEquals("document processor failed", failures.get("document").getMessage());
+        // once failed the owner's processors are not invoked again
+        Assert.assertEquals("[x]", processed.toString());
+        // the failed filter is not applicable, while others still apply
+        final String result = new String(Files.readAllBytes(xmlFile), StandardCharsets.UTF_8);
+        Assert.assertTrue(result.contains("module=\"b\""));
+        Assert.assertFalse(result.contains("profile"));
+    }
+
+    @Test
+    public void failuresWithoutOwnerFailThePipeline() throws IOException {
+        try {
+            new XMLFilePipeline.Builder()
+                    .processor((startElement, xmlEventReader) -> {
+                        throw new ServerMigrationFailureException("processor failed");
+                    }, "subsystem")
+                    .build()
+                    .run(createXMLFile());
+            Assert.fail("pipeline did not fail");
+        } catch (ServerMigrationFailureException e) {
+            Assert.assertEquals("processor failed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void documentProcessorsAreStreamed() throws IOException {
+        final Path xmlFile = tmp.newFile("large.xml").toPath();
+        final StringBuilder xml = new StringBuilder("<server>");
+        for (int i = 0; i < 10000; i++) {
+            xml.append("<e i=\"").append(i).append("\"/>");
+        }
+        Files.write(xmlFile, xml.append("</server>").toString().getBytes(StandardCharsets.UTF_8));
+        final List<String> elements = new ArrayList<>();
+        final List<String> firstElements = new ArrayList<>();
+        new XMLFilePipeline.Builder()
+                .documentProcessor((startElement, xmlEventReader) -> {
+                    try {
+                        while (xmlEventReader.hasNext()) {
+                            final XMLEvent xmlEvent = xmlEventReader.nextEvent();
+                            if (xmlEvent.isStartElement()) {
+                                elements.add(attributeValue(xmlEvent.asStartElement(), "i"));
+                            }
+                        }
+                    } catch (XMLStreamException e) {
+                        throw new ServerMigrationFailureException(e);
+                    }
+                })
+                .documentProcessor((startElement, xmlEventReader) -> {
+                    // stops reading long before the document's end
+                    try {
+                        firstElements.add(attributeValue(xmlEventReader.nextTag().asStartElement(), "i"));
+                    } catch (XMLStreamException e) {
+                        throw new ServerMigrationFailureException(e);
+                    }
+                })
+                .build()
+                .run(xmlFile);
+        Assert.assertEquals(10000, elements.size());
+        Assert.assertEquals("9999", elements.get(9999));
+        Assert.assertEquals("[0]", firstElements.toString());
+    }
+
+    @Test
+    public void documentProcessorsHaveTheCallerMDC() throws IOException {
+        final Path xmlFile = createXMLFile();
+        final List<Object> taskNumbers = new ArrayList<>();
+        MDC.put("migration.task", "1:2");
+        try {
+            new XMLFilePipeline.Builder()
+                    .documentProcessor((startElement, xmlEventReader) -> taskNumbers.add(MDC.get("migration.task")))
+                    .build()
+                    .run(xmlFile);
+        } finally {
+            MDC.remove("migration.task");
+        }
+        Assert.assertEquals("[1:2]", taskNumbers.toString());
+    }
+}
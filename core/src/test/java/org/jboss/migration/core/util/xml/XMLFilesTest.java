@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.util.xml;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import org.jboss.migration.core.ServerMigrationFailureException;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the cursor API based filtering of XML files.
+ *
+ * @author emmartins
+ */
+public class XMLFilesTest {
+
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<server xmlns=\"urn:test:1.0\" xmlns:t=\"urn:test:other\">"
+            + "<!-- comment --><?target data?>"
+            + "<extensions><extension module=\"a\"/><extension module=\"b\" t:attr=\"x\"/></extensions>"
+            + "<paths><path name=\"p\" path=\"a &amp; b\"/></paths>"
+            + "<t:value>text &lt; more</t:value>"
+            + "</server>";
+
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    private Path createXMLFile() throws IOException {
+        final Path xmlFile = tmp.newFile("test.xml").toPath();
+        Files.write(xmlFile, XML.getBytes(StandardCharsets.UTF_8));
+        return xmlFile;
+    }
+
+    private static String read(Path xmlFile) throws IOException {
+        return new String(Files.readAllBytes(xmlFile), StandardCharsets.UTF_8);
+    }
+
+    private static String normalize(String xml) {
+        return xml.replaceAll("<([^/!?][^>]*)></[^>]+>", "<$1/>").replace("'", "\"");
+    }
+
+    @Test
+    public void copyWithoutFiltersKeepsContent() throws IOException {
+        final Path source = createXMLFile();
+        final Path target = tmp.getRoot().toPath().resolve("copy.xml");
+        XMLFiles.copy(source, target);
+        Assert.assertEquals(XML, normalize(read(target)));
+    }
+
+    @Test
+    public void streamFiltersRemoveAndRewrite() throws IOException {
+        final Path xmlFile = createXMLFile();
+        XMLFiles.filterStream(xmlFile,
+                (xmlStreamReader, xmlStreamWriter) -> {
+                    if (!xmlStreamReader.getLocalName().equals("extension") || !"b".equals(xmlStreamReader.getAttributeValue(null, "module"))) {
+                        return XMLFileFilter.Result.NOT_APPLICABLE;
+                    }
+                    return XMLFileFilter.Result.REMOVE;
+                },
+                (xmlStreamReader, xmlStreamWriter) -> {
+                    if (!xmlStreamReader.getLocalName().equals("path")) {
+                        return XMLFileFilter.Result.NOT_APPLICABLE;
+                    }
+                    xmlStreamWriter.writeStartElement("", "path", xmlStreamReader.getNamespaceURI());
+                    xmlStreamWriter.writeAttribute("name", "q");
+                    xmlStreamWriter.writeEndElement();
+                    XMLStreamCopy.skipElement(xmlStreamReader);
+                    return XMLFileFilter.Result.CONTINUE;
+                });
+        final String result = normalize(read(xmlFile));
+        Assert.assertTrue(result, result.contains("<extensions><extension module=\"a\"/></extensions>"));
+        Assert.assertTrue(result, result.contains("<paths><path name=\"q\"/></paths>"));
+        Assert.assertTrue(result, result.contains("<t:value>text &lt; more</t:value>"));
+    }
+
+    @Test
+    public void adaptedEventFiltersKeepSemantics() throws IOException {
+        final Path xmlFile = createXMLFile();
+        XMLFiles.filter(xmlFile,
+                (startElement, xmlEventReader, xmlEventWriter, xmlEventFactory) -> startElement.getName().getLocalPart().equals("extensions") ? XMLFileFilter.Result.ADD_ALL : XMLFileFilter.Result.NOT_APPLICABLE,
+                (startElement, xmlEventReader, xmlEventWriter, xmlEventFactory) -> {
+                    if (!startElement.getName().getLocalPart().equals("value")) {
+                        return XMLFileFilter.Result.NOT_APPLICABLE;
+                    }
+                    // consumes the element, replacing its text
+                    try {
+                        xmlEventWriter.add(startElement);
+                        XMLEvent xmlEvent;
+                        do {
+                            xmlEvent = xmlEventReader.nextEvent();
+                        } while (!xmlEvent.isEndElement());
+                        xmlEventWriter.add(xmlEventFactory.createCharacters("replaced"));
+                        xmlEventWriter.add(xmlEvent);
+                    } catch (XMLStreamException e) {
+                        throw new ServerMigrationFailureException(e);
+                    }
+                    return XMLFileFilter.Result.CONTINUE;
+                },
+                (startElement, xmlEventReader, xmlEventWriter, xmlEventFactory) -> startElement.getName().getLocalPart().equals("extension") || startElement.getAttributeByName(new QName("path")) != null ? XMLFileFilter.Result.REMOVE : XMLFileFilter.Result.NOT_APPLICABLE);
+        final String result = normalize(read(xmlFile));
+        Assert.assertTrue("Extensions added as a whole: " + result, result.contains("<extensions><extension module=\"a\"/><extension module=\"b\" t:attr=\"x\"/></extensions>"));
+        Assert.assertTrue("Path removed: " + result, result.contains("<paths/>"));
+        Assert.assertTrue("Value replaced: " + result, result.contains("<t:value>replaced</t:value></server>"));
+    }
+
+    @Test
+    public void adaptedEventFiltersSkipElementsByName() throws IOException {
+        final Path xmlFile = createXMLFile();
+        final List<String> filtered = new ArrayList<>();
+        final List<StartElement> startElements = new ArrayList<>();
+        final XMLFileFilter pathFilter = new XMLFileFilter() {
+            @Override
+            public Result filter(StartElement startElement, XMLEventReader xmlEventReader, XMLEventWriter xmlEventWriter, XMLEventFactory xmlEventFactory) {
+                filtered.add("path:" + startElement.getName().getLocalPart());
+                startElements.add(startElement);
+                return Result.NOT_APPLICABLE;
+            }
+            @Override
+            public Set<String> getElementLocalNames() {
+                return Collections.singleton("path");
+            }
+        };
+        XMLFiles.filter(xmlFile, pathFilter, (startElement, xmlEventReader, xmlEventWriter, xmlEventFactory) -> {
+            filtered.add("any:" + startElement.getName().getLocalPart());
+            startElements.add(startElement);
+            return XMLFileFilter.Result.NOT_APPLICABLE;
+        });
+        Assert.assertEquals("[any:server, any:extensions, any:extension, any:extension, any:paths, path:path, any:path, any:value]", filtered.toString());
+        // the adapted filters share the element's start event
+        Assert.assertSame(startElements.get(5), startElements.get(6));
+        Assert.assertEquals(XML, normalize(read(xmlFile)));
+    }
+
+    @Test
+    public void standaloneDeclarationIsKept() throws IOException {
+        final Path xmlFile = tmp.newFile("standalone.xml").toPath();
+        Files.write(xmlFile, "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?><server><a/></server>".getBytes(StandardCharsets.UTF_8));
+        XMLFiles.filter(xmlFile, (startElement, xmlEventReader, xmlEventWriter, xmlEventFactory) -> XMLFileFilter.Result.NOT_APPLICABLE);
+        final String result = read(xmlFile).replace("'", "\"");
+        Assert.assertTrue(result, result.startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"));
+    }
+}
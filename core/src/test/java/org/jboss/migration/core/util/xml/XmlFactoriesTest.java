@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.core.util.xml;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the shared StAX factories.
+ *
+ * @author emmartins
+ */
+public class XmlFactoriesTest {
+
+    @Test
+    public void providerCreatesFactories() throws XMLStreamException {
+        final AtomicInteger inputFactories = new AtomicInteger();
+        XmlFactories.setProvider(new XmlFactories.Provider() {
+            @Override
+            public XMLInputFactory newXMLInputFactory() {
+                inputFactories.incrementAndGet();
+                return XMLInputFactory.newInstance();
+            }
+            @Override
+            public XMLOutputFactory newXMLOutputFactory() {
+                return XMLOutputFactory.newInstance();
+            }
+            @Override
+            public XMLEventFactory newXMLEventFactory() {
+                return XMLEventFactory.newInstance();
+            }
+        });
+        try {
+            XmlFactories.createXMLStreamReader(new ByteArrayInputStream("<a/>".getBytes(StandardCharsets.UTF_8))).close();
+            XmlFactories.createXMLStreamReader(new ByteArrayInputStream("<a/>".getBytes(StandardCharsets.UTF_8))).close();
+            // the coalescing and non coalescing factories, created once per thread
+            Assert.assertEquals(2, inputFactories.get());
+        } finally {
+            XmlFactories.setProvider(null);
+        }
+    }
+
+    @Test
+    public void eventReaderViewsAreCounted() throws XMLStreamException {
+        final long readersCreated = XmlFactories.getReadersCreated();
+        final XMLStreamReader xmlStreamReader = XmlFactories.createXMLStreamReader(new ByteArrayInputStream("<a/>".getBytes(StandardCharsets.UTF_8)), false);
+        XmlFactories.createXMLEventReader(xmlStreamReader);
+        Assert.assertEquals(readersCreated + 2, XmlFactories.getReadersCreated());
+    }
+}
@@ -17,15 +17,13 @@ package org.jboss.migration.eap;
 
 import org.jboss.migration.core.ProductInfo;
 import org.jboss.migration.core.Server;
+import org.jboss.migration.core.ServerFingerprint;
 import org.jboss.migration.core.ServerMigrationFailureException;
 import org.jboss.migration.core.env.MigrationEnvironment;
-import org.jboss.migration.core.jboss.JBossServer;
 import org.jboss.migration.core.jboss.ManifestProductInfo;
 
-import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.jar.JarInputStream;
 
 /**
  * The JBoss EAP 8.0 {@link org.jboss.migration.core.ServerProvider}.
@@ -34,23 +32,9 @@ import java.util.jar.JarInputStream;
 public class EAPServerProvider8_0 extends EAPServerProvider7_4 {
 
     @Override
-    protected ProductInfo getProductInfo(Path baseDir, MigrationEnvironment migrationEnvironment) throws IllegalArgumentException, ServerMigrationFailureException {
-        final JBossServer.Module module = new JBossServer.Modules(baseDir).getModule("org.jboss.as.product:main");
-        if (module == null) {
-            return null;
-        }
+    protected ProductInfo getProductInfo(ServerFingerprint fingerprint, MigrationEnvironment migrationEnvironment) throws IllegalArgumentException, ServerMigrationFailureException {
         // Starting with EAP 8.0 GA, manifest is inside the module's jar
-        try {
-            Path moduleJar = Files.list(module.getModuleDir()).filter(path -> path.toString().endsWith(".jar")).findFirst().get();
-            if (moduleJar == null || !Files.isRegularFile(moduleJar)) {
-                return null;
-            }
-            try (JarInputStream jarStream = new JarInputStream(Files.newInputStream(moduleJar))) {
-                return ManifestProductInfo.from(jarStream.getManifest());
-            }
-        } catch (IOException e) {
-            throw new ServerMigrationFailureException(e);
-        }
+        return ManifestProductInfo.fromProductModuleJar(fingerprint, "org.jboss.as.product:main");
     }
 
     @Override
@@ -43,6 +43,11 @@ public abstract class WildFlyServer10 extends JBossServer<WildFlyServer10> {
         }
     }
 
+    @Override
+    public MigrationEnvironment getMigrationEnvironment() {
+        return super.getMigrationEnvironment();
+    }
+
     protected WildFlyServerMigrations10 getMigrations() {
         return null;
     }
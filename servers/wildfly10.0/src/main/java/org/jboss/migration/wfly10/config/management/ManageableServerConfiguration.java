@@ -34,7 +34,49 @@ public interface ManageableServerConfiguration extends AbsolutePathResolver, Man
     void start();
     void stop();
     boolean isStarted();
-    ModelNode executeManagementOperation(ModelNode operation) throws ManagementOperationException;
+
+    /**
+     * Executes a management operation, which may be batched, see {@link #executeManagementOperation(ModelNode, boolean)}.
+     * @param operation the operation to execute
+     * @return the operation's result
+     * @throws ManagementOperationException if the operation failed
+     */
+    default ModelNode executeManagementOperation(ModelNode operation) throws ManagementOperationException {
+        return executeManagementOperation(operation, true);
+    }
+
+    /**
+     * Executes a management operation.
+     * If a batch is open, and the operation is a batchable write, the operation is only queued, its result is a success without a {@code result}, and its failure is thrown by the next {@link #flush()}, or when the batch ends.
+     * Callers which handle the failure of a write, or read its result, should execute it as non batchable.
+     * @param operation the operation to execute
+     * @param batchable if the operation may be queued by an open batch, otherwise the batch is flushed and the operation executed
+     * @return the operation's result
+     * @throws ManagementOperationException if the operation failed
+     */
+    ModelNode executeManagementOperation(ModelNode operation, boolean batchable) throws ManagementOperationException;
+
+    /**
+     * Begins a batch, i.e. the write operations executed are not executed one by one, but accumulated and executed as a single composite operation when the batch is flushed, or before any other operation is executed.
+     * The result of a batched write is only a confirmation that the write was queued, its failure is thrown when the batch is flushed.
+     * Batches may be nested, the writes of the enclosing batch are flushed when the nested batch begins, and the enclosing batch resumes when the nested batch ends.
+     * @param origin the origin of the batched operations, e.g. the name of the task executing them, used to report failures
+     * @throws ManagementOperationException if a write of the enclosing batch failed
+     */
+    void beginBatch(String origin) throws ManagementOperationException;
+
+    /**
+     * Executes the batched operations, if any, as a single composite operation.
+     * @throws ManagementOperationException if a batched operation failed, in which case none of the batched operations is applied
+     */
+    void flush() throws ManagementOperationException;
+
+    /**
+     * Ends the batch, if any, resuming the enclosing batch, if any.
+     * @param commit if the batched operations should be executed, or discarded, e.g. when the task which executed them failed
+     * @throws ManagementOperationException if a batched operation failed
+     */
+    void endBatch(boolean commit) throws ManagementOperationException;
     WildFlyServer10 getServer();
     Path resolvePath(String path) throws ManagementOperationException;
     ModelControllerClient getModelControllerClient();
@@ -16,20 +16,43 @@
 
 package org.jboss.migration.wfly10.config.management;
 
+import org.jboss.dmr.ModelNode;
+
 /**
  * @author emmartins
  */
 public class ManagementOperationException extends RuntimeException {
 
+    private final ModelNode result;
+
     public ManagementOperationException(String message) {
+        this(message, (ModelNode) null);
+    }
+
+    /**
+     *
+     * @param message the failure description
+     * @param result the result of the failed operation
+     */
+    public ManagementOperationException(String message, ModelNode result) {
         super(message);
+        this.result = result;
     }
 
     public ManagementOperationException(String message, Throwable cause) {
         super(message, cause);
+        this.result = null;
     }
 
     public ManagementOperationException(Throwable cause) {
         super(cause);
+        this.result = null;
+    }
+
+    /**
+     * @return the result of the failed operation, null if the failure was not reported by the operation's result
+     */
+    public ModelNode getResult() {
+        return result;
     }
 }
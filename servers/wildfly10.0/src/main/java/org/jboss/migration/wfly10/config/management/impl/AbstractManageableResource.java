@@ -82,12 +82,23 @@ public abstract class AbstractManageableResource<P extends ManageableResource> i
         }
         // get resource
         final PathAddress address = getResourcePathAddress();
+        final ModelSnapshot modelSnapshot = getModelSnapshot(serverConfiguration);
+        if (modelSnapshot != null) {
+            final ModelNode resource = modelSnapshot.getResource(address);
+            if (resource != null) {
+                return resource;
+            }
+        }
         final ModelNode op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, address);
         op.get(RECURSIVE).set(true);
         final ModelNode result = serverConfiguration.executeManagementOperation(op);
         return result.get(RESULT);
     }
 
+    static ModelSnapshot getModelSnapshot(ManageableServerConfiguration serverConfiguration) {
+        return serverConfiguration instanceof AbstractManageableServerConfiguration ? ((AbstractManageableServerConfiguration) serverConfiguration).getModelSnapshot() : null;
+    }
+
     protected void addChildResourceFactory(Factory childResourceFactory) {
         childResourceFactories.put(childResourceFactory.getResourceType(), childResourceFactory);
     }
@@ -313,6 +324,13 @@ public abstract class AbstractManageableResource<P extends ManageableResource> i
         }
 
         public Set<String> getResourceNames() {
+            final ModelSnapshot modelSnapshot = getModelSnapshot(serverConfiguration);
+            if (modelSnapshot != null) {
+                final Set<String> result = modelSnapshot.getChildrenNames(pathAddressBase, pathElementKey);
+                if (result != null) {
+                    return result;
+                }
+            }
             try {
                 final ModelNode op = Util.createEmptyOperation(READ_CHILDREN_NAMES_OPERATION, pathAddressBase);
                 op.get(CHILD_TYPE).set(pathElementKey);
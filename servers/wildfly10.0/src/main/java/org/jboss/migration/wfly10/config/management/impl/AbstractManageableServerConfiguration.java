@@ -18,9 +18,15 @@ package org.jboss.migration.wfly10.config.management.impl;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.helpers.Operations;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.dmr.ModelNode;
+import org.jboss.migration.core.env.EnvironmentProperties;
+import org.jboss.migration.core.env.EnvironmentProperty;
 import org.jboss.migration.core.jboss.JBossServerConfiguration;
+import org.jboss.migration.core.jfr.FlightRecorderEvents;
+import org.jboss.migration.core.logger.ServerMigrationLogger;
+import org.jboss.migration.core.metrics.OperationMetrics;
 import org.jboss.migration.wfly10.WildFlyServer10;
 import org.jboss.migration.wfly10.config.management.ManageableServerConfiguration;
 import org.jboss.migration.wfly10.config.management.ManagementOperationException;
@@ -29,6 +35,11 @@ import org.jboss.migration.wfly10.config.management.PathResource;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.*;
 
@@ -37,14 +48,38 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.*;
  */
 public abstract class AbstractManageableServerConfiguration extends AbstractManageableResource implements ManageableServerConfiguration {
 
+    /**
+     * the environment property which specifies if resource names and configurations should be retrieved from a snapshot of the configuration's model, by default true
+     */
+    public static final EnvironmentProperty<Boolean> ENVIRONMENT_PROPERTY_MODEL_SNAPSHOT = EnvironmentProperties.newBooleanProperty("management.snapshot", true);
+
+    /**
+     * the environment property which specifies if the configuration's embedded process should only be started when an operation needs it, by default true
+     */
+    public static final EnvironmentProperty<Boolean> ENVIRONMENT_PROPERTY_LAZY_START = EnvironmentProperties.newBooleanProperty("management.lazyStart", true);
+
+    /**
+     * the category of the management operations metrics
+     */
+    public static final String OPERATION_METRICS_CATEGORY = "management";
+
+    /**
+     * the operations which only write the configuration model, and may be batched
+     */
+    private static final Set<String> BATCHABLE_OPERATIONS = new HashSet<>(Arrays.asList(ADD, REMOVE, WRITE_ATTRIBUTE_OPERATION, UNDEFINE_ATTRIBUTE_OPERATION, "map-put", "map-remove", "map-clear", "list-add", "list-remove", "list-clear"));
+
     private final JBossServerConfiguration configurationPath;
     private final WildFlyServer10 server;
-    private ModelControllerClient modelControllerClient;
+    private volatile boolean started;
+    private volatile ModelControllerClient modelControllerClient;
+    private final Object bootLock = new Object();
     private final ExtensionResourceImpl.Factory extensionConfigurations;
     private final InterfaceResourceImpl.Factory interfaceResources;
     private final PathResourceImpl.Factory pathResources;
     private final SocketBindingGroupResourceImpl.Factory socketBindingGroupResources;
     private final SystemPropertyResourceImpl.Factory systemPropertyResources;
+    private Batch batch;
+    private volatile ModelSnapshot modelSnapshot;
 
     protected AbstractManageableServerConfiguration(String resourceName, PathAddress pathAddress, JBossServerConfiguration configurationPath, WildFlyServer10 server) {
         super(resourceName, pathAddress, null);
@@ -67,7 +102,42 @@ public abstract class AbstractManageableServerConfiguration extends AbstractMana
         if (isStarted()) {
             throw new IllegalStateException("server started");
         }
-        modelControllerClient = startConfiguration();
+        started = true;
+        if (ENVIRONMENT_PROPERTY_MODEL_SNAPSHOT.getValue(server.getMigrationEnvironment())) {
+            modelSnapshot = new ModelSnapshot(this);
+        }
+        if (!isLazyStart()) {
+            boot();
+        }
+    }
+
+    /**
+     * Indicates if the configuration's embedded process should only be started when an operation needs it, i.e. not started at all if the configuration is not read through operations, neither written.
+     * @return true if the configuration's embedded process should only be started when an operation needs it, false if it should be started when the configuration is started
+     */
+    protected boolean isLazyStart() {
+        return ENVIRONMENT_PROPERTY_LAZY_START.getValue(server.getMigrationEnvironment());
+    }
+
+    private ModelControllerClient boot() {
+        synchronized (bootLock) {
+            if (modelControllerClient == null) {
+                if (!started) {
+                    return null;
+                }
+                final long startTime = System.nanoTime();
+                modelControllerClient = startConfiguration();
+                ServerMigrationLogger.ROOT_LOGGER.debugf("Configuration %s started in %d ms.", configurationPath.getPath().getFileName(), (System.nanoTime() - startTime) / 1000000);
+            }
+            return modelControllerClient;
+        }
+    }
+
+    /**
+     * @return true if the configuration's embedded process is started, false otherwise
+     */
+    boolean isBooted() {
+        return modelControllerClient != null;
     }
 
     protected abstract ModelControllerClient startConfiguration();
@@ -77,15 +147,29 @@ public abstract class AbstractManageableServerConfiguration extends AbstractMana
         if (!isStarted()) {
             throw new IllegalStateException("server not started");
         }
-        stopConfiguration();
-        modelControllerClient = null;
+        try {
+            synchronized (bootLock) {
+                if (modelControllerClient != null) {
+                    stopConfiguration();
+                } else {
+                    ServerMigrationLogger.ROOT_LOGGER.debugf("Configuration %s not read or written through operations, its start was not needed.", configurationPath.getPath().getFileName());
+                }
+            }
+        } finally {
+            started = false;
+            modelControllerClient = null;
+            if (modelSnapshot != null) {
+                modelSnapshot.clear();
+                modelSnapshot = null;
+            }
+        }
     }
 
     protected abstract void stopConfiguration();
 
     @Override
     public boolean isStarted() {
-        return modelControllerClient != null;
+        return started;
     }
 
     @Override
@@ -100,23 +184,125 @@ public abstract class AbstractManageableServerConfiguration extends AbstractMana
 
     protected void processResult(ModelNode result) throws ManagementOperationException {
         if(!SUCCESS.equals(result.get(OUTCOME).asString())) {
-            throw new ManagementOperationException(result.get(FAILURE_DESCRIPTION).asString());
+            throw new ManagementOperationException(result.get(FAILURE_DESCRIPTION).asString(), result);
         }
     }
 
     @Override
-    public ModelNode executeManagementOperation(ModelNode operation) throws ManagementOperationException {
+    public ModelNode executeManagementOperation(ModelNode operation, boolean batchable) throws ManagementOperationException {
+        final ModelSnapshot modelSnapshot = getModelSnapshot();
+        synchronized (this) {
+            if (batch != null) {
+                if (batchable && BATCHABLE_OPERATIONS.contains(operation.get(OP).asString())) {
+                    batch.operations.add(operation);
+                    if (modelSnapshot != null) {
+                        modelSnapshot.invalidate(operation);
+                    }
+                    // the write is only queued, its failure is thrown when the batch is flushed
+                    final ModelNode result = new ModelNode();
+                    result.get(OUTCOME).set(SUCCESS);
+                    return result;
+                }
+                // the operation may read the batched writes
+                flush();
+            }
+        }
+        try {
+            return execute(operation);
+        } finally {
+            if (modelSnapshot != null) {
+                modelSnapshot.invalidate(operation);
+            }
+        }
+    }
+
+    ModelNode execute(ModelNode operation) throws ManagementOperationException {
         final ModelControllerClient modelControllerClient = getModelControllerClient();
         if (modelControllerClient == null) {
             throw new IllegalStateException("configuration not started");
         }
+        final FlightRecorderEvents.ManagementOperationEvent event = FlightRecorderEvents.beginManagementOperation();
+        boolean successful = false;
+        final long startNanoTime = System.nanoTime();
         try {
             final ModelNode result = modelControllerClient.execute(operation);
             //ServerMigrationLogger.ROOT_LOGGER.infof("Op result %s", result.toString());
             processResult(result);
+            successful = true;
             return result;
         } catch (IOException e) {
             throw new ManagementOperationException(e);
+        } finally {
+            final String operationName = operation.get(OP).asString();
+            OperationMetrics.getInstance(OPERATION_METRICS_CATEGORY).record(operationName, System.nanoTime() - startNanoTime, !successful);
+            event.commit(operationName, operation.get(OP_ADDR), successful);
+        }
+    }
+
+    /**
+     * @return the snapshot of the configuration's model, null if disabled, or the configuration is not started
+     */
+    ModelSnapshot getModelSnapshot() {
+        return modelSnapshot;
+    }
+
+    @Override
+    public synchronized void beginBatch(String origin) {
+        // the enclosing batch's writes are executed first, so that a failure is reported by the batch which queued the write
+        flush();
+        batch = new Batch(origin, batch);
+    }
+
+    @Override
+    public synchronized void flush() throws ManagementOperationException {
+        if (batch == null || batch.operations.isEmpty()) {
+            return;
+        }
+        final List<ModelNode> operations = new ArrayList<>(batch.operations);
+        batch.operations.clear();
+        if (operations.size() == 1) {
+            try {
+                execute(operations.get(0));
+            } catch (ManagementOperationException e) {
+                throw new ManagementOperationException("Operation "+operations.get(0)+" of "+batch.origin+" failed: "+e.getMessage(), e);
+            }
+            return;
+        }
+        final Operations.CompositeOperationBuilder compositeOperationBuilder = Operations.CompositeOperationBuilder.create();
+        for (ModelNode operation : operations) {
+            compositeOperationBuilder.addStep(operation);
+        }
+        try {
+            execute(compositeOperationBuilder.build().getOperation());
+        } catch (ManagementOperationException e) {
+            final ModelNode result = e.getResult();
+            if (result != null) {
+                // a composite operation is atomic, none of the steps was applied, report the one which failed
+                for (int i = 0; i < operations.size(); i++) {
+                    final ModelNode stepResult = result.get(RESULT, "step-" + (i + 1));
+                    if (stepResult.hasDefined(FAILURE_DESCRIPTION)) {
+                        throw new ManagementOperationException("Operation "+operations.get(i)+" of "+batch.origin+" failed: "+stepResult.get(FAILURE_DESCRIPTION).asString(), result);
+                    }
+                }
+            }
+            throw new ManagementOperationException("Batched operations of "+batch.origin+" failed: "+e.getMessage(), e);
+        }
+        ServerMigrationLogger.ROOT_LOGGER.debugf("Executed %d batched operations of %s.", operations.size(), batch.origin);
+    }
+
+    @Override
+    public synchronized void endBatch(boolean commit) throws ManagementOperationException {
+        if (batch == null) {
+            return;
+        }
+        try {
+            if (commit) {
+                flush();
+            } else if (!batch.operations.isEmpty()) {
+                ServerMigrationLogger.ROOT_LOGGER.debugf("Discarded %d batched operations of %s.", batch.operations.size(), batch.origin);
+            }
+        } finally {
+            batch = batch.enclosing;
         }
     }
 
@@ -143,7 +329,8 @@ public abstract class AbstractManageableServerConfiguration extends AbstractMana
 
     @Override
     public ModelControllerClient getModelControllerClient() {
-        return modelControllerClient;
+        // the embedded process is started when first needed
+        return started ? boot() : null;
     }
 
     protected void writeConfiguration() {
@@ -153,4 +340,17 @@ public abstract class AbstractManageableServerConfiguration extends AbstractMana
         executeManagementOperation(Util.createAddOperation(pathAddress));
         executeManagementOperation(Util.createRemoveOperation(pathAddress));
     }
+
+    private static class Batch {
+
+        private final String origin;
+        private final Batch enclosing;
+        private final List<ModelNode> operations;
+
+        Batch(String origin, Batch enclosing) {
+            this.origin = origin;
+            this.enclosing = enclosing;
+            this.operations = new ArrayList<>();
+        }
+    }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.wfly10.config.management.impl;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.migration.core.jboss.Extension;
+import org.jboss.migration.core.jboss.JBossServer;
+import org.jboss.migration.core.jboss.Subsystem;
+import org.jboss.migration.core.logger.ServerMigrationLogger;
+import org.jboss.migration.core.util.xml.XmlFactories;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.*;
+
+/**
+ * Reads the resource names of a standalone server or domain configuration from its XML file, i.e. without starting the configuration.
+ * The model read has only the resource names of the child types it knows, e.g. subsystems, socket binding groups or deployments, and no resource configuration.
+ * @author emmartins
+ */
+final class ConfigurationXmlModel {
+
+    private ConfigurationXmlModel() {
+    }
+
+    /**
+     * Reads the resource names of a configuration's XML file.
+     * @param xmlFile the configuration's XML file
+     * @param extensions the extensions of the server, which map each subsystem's namespace to its name
+     * @return the model read, null if the configuration is not a standalone server or domain configuration, or could not be read
+     */
+    static ModelNode read(Path xmlFile, JBossServer.Extensions extensions) {
+        final Map<String, String> subsystemNames = new HashMap<>();
+        if (extensions != null) {
+            for (Extension extension : extensions.getExtensions()) {
+                for (Subsystem subsystem : extension.getSubsystems()) {
+                    subsystemNames.put(subsystem.getNamespaceWithoutVersion(), subsystem.getName());
+                }
+            }
+        }
+        try (InputStream in = Files.newInputStream(xmlFile)) {
+            final XMLStreamReader reader = XmlFactories.createXMLStreamReader(in);
+            try {
+                return read(reader, subsystemNames);
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            ServerMigrationLogger.ROOT_LOGGER.debugf(e, "Failed to read the resource names of configuration %s", xmlFile);
+            return null;
+        }
+    }
+
+    private static ModelNode read(XMLStreamReader reader, Map<String, String> subsystemNames) throws XMLStreamException {
+        reader.nextTag();
+        final boolean domain;
+        switch (reader.getLocalName()) {
+            case "server":
+                domain = false;
+                break;
+            case "domain":
+                domain = true;
+                break;
+            default:
+                return null;
+        }
+        final ModelNode model = new ModelNode();
+        // a child type with no children is undefined, as in a read-resource result
+        for (String childType : new String[] {EXTENSION, SYSTEM_PROPERTY, INTERFACE, SOCKET_BINDING_GROUP, DEPLOYMENT, DEPLOYMENT_OVERLAY}) {
+            model.get(childType);
+        }
+        if (domain) {
+            model.get(PROFILE);
+            model.get(SERVER_GROUP);
+            model.get(HOST_EXCLUDE);
+        } else {
+            model.get(SUBSYSTEM);
+            final ModelNode management = model.get(CORE_SERVICE, MANAGEMENT);
+            management.get(SECURITY_REALM);
+            management.get(MANAGEMENT_INTERFACE);
+        }
+        // the local names of the elements being read, excluding the root
+        final List<String> elements = new ArrayList<>();
+        ModelNode profile = domain ? null : model;
+        ModelNode socketBindingGroup = null;
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == END_ELEMENT) {
+                if (elements.isEmpty()) {
+                    break;
+                }
+                elements.remove(elements.size() - 1);
+                continue;
+            }
+            if (event != START_ELEMENT) {
+                continue;
+            }
+            elements.add(reader.getLocalName());
+            final String path = String.join("/", elements);
+            final String name = reader.getAttributeValue(null, NAME);
+            switch (path) {
+                case "extensions/extension":
+                    model.get(EXTENSION, reader.getAttributeValue(null, MODULE)).setEmptyObject();
+                    break;
+                case "system-properties/property":
+                    model.get(SYSTEM_PROPERTY, name).setEmptyObject();
+                    break;
+                case "interfaces/interface":
+                    model.get(INTERFACE, name).setEmptyObject();
+                    break;
+                case "socket-binding-group":
+                case "socket-binding-groups/socket-binding-group":
+                    socketBindingGroup = model.get(SOCKET_BINDING_GROUP, name);
+                    socketBindingGroup.setEmptyObject();
+                    socketBindingGroup.get(SOCKET_BINDING);
+                    break;
+                case "socket-binding-group/socket-binding":
+                case "socket-binding-groups/socket-binding-group/socket-binding":
+                    socketBindingGroup.get(SOCKET_BINDING, name).setEmptyObject();
+                    break;
+                case "deployments/deployment":
+                    model.get(DEPLOYMENT, name).setEmptyObject();
+                    break;
+                case "deployment-overlays/deployment-overlay":
+                    model.get(DEPLOYMENT_OVERLAY, name).setEmptyObject();
+                    break;
+                case "profiles/profile":
+                    profile = model.get(PROFILE, name);
+                    profile.setEmptyObject();
+                    profile.get(SUBSYSTEM);
+                    break;
+                case "profile/subsystem":
+                case "profiles/profile/subsystem":
+                    addSubsystem(profile, reader.getNamespaceURI(), subsystemNames);
+                    break;
+                case "server-groups/server-group":
+                    model.get(SERVER_GROUP, name).setEmptyObject();
+                    break;
+                case "host-excludes/host-exclude":
+                    model.get(HOST_EXCLUDE, name).setEmptyObject();
+                    break;
+                case "management/security-realms/security-realm":
+                    if (!domain) {
+                        model.get(CORE_SERVICE, MANAGEMENT, SECURITY_REALM, name).setEmptyObject();
+                    }
+                    break;
+                case "management/management-interfaces/http-interface":
+                case "management/management-interfaces/native-interface":
+                    if (!domain) {
+                        model.get(CORE_SERVICE, MANAGEMENT, MANAGEMENT_INTERFACE, reader.getLocalName()).setEmptyObject();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return model;
+    }
+
+    private static void addSubsystem(ModelNode profile, String namespaceURI, Map<String, String> subsystemNames) {
+        if (!profile.has(SUBSYSTEM)) {
+            // a previous subsystem's name is unknown
+            return;
+        }
+        final int versionIndex = namespaceURI != null ? namespaceURI.lastIndexOf(':') : -1;
+        final String subsystemName = versionIndex > 0 ? subsystemNames.get(namespaceURI.substring(0, versionIndex)) : null;
+        if (subsystemName != null) {
+            profile.get(SUBSYSTEM, subsystemName).setEmptyObject();
+        } else {
+            // the profile's subsystem names are not known
+            profile.remove(SUBSYSTEM);
+        }
+    }
+}
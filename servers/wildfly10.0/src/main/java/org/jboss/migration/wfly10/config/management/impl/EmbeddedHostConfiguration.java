@@ -18,8 +18,10 @@ package org.jboss.migration.wfly10.config.management.impl;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.dmr.ModelNode;
 import org.jboss.migration.wfly10.config.management.HostConfiguration;
 import org.jboss.migration.wfly10.config.management.HostControllerConfiguration;
+import org.jboss.migration.wfly10.config.management.ManagementOperationException;
 import org.jboss.migration.wfly10.config.task.HostMigration;
 
 import static org.jboss.as.controller.PathAddress.pathAddress;
@@ -63,6 +65,39 @@ public class EmbeddedHostConfiguration extends AbstractManageableServerConfigura
         writeConfiguration();
     }
 
+    @Override
+    protected boolean isLazyStart() {
+        // the host controller is already started, and the host configuration must be written when stopped
+        return false;
+    }
+
+    // the host's model is part of the host controller's model, thus operations, batches and the model snapshot are the host controller's
+
+    @Override
+    public ModelNode executeManagementOperation(ModelNode operation, boolean batchable) throws ManagementOperationException {
+        return hostController.executeManagementOperation(operation, batchable);
+    }
+
+    @Override
+    public void beginBatch(String origin) {
+        hostController.beginBatch(origin);
+    }
+
+    @Override
+    public void flush() throws ManagementOperationException {
+        hostController.flush();
+    }
+
+    @Override
+    public void endBatch(boolean commit) throws ManagementOperationException {
+        hostController.endBatch(commit);
+    }
+
+    @Override
+    ModelSnapshot getModelSnapshot() {
+        return getModelSnapshot(hostController);
+    }
+
     public static class HostConfigFileMigrationFactory implements HostMigration.HostConfigurationProvider {
         @Override
         public EmbeddedHostConfiguration getHostConfiguration(String host, HostControllerConfiguration hostController) {
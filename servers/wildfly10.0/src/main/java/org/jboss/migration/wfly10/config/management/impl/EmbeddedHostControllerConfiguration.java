@@ -22,15 +22,8 @@ import org.jboss.migration.core.jboss.JBossServerConfiguration;
 import org.jboss.migration.wfly10.WildFlyServer10;
 import org.jboss.migration.wfly10.config.management.HostControllerConfiguration;
 import org.jboss.migration.wfly10.config.task.ServerConfigurationMigration;
-import org.wildfly.core.embedded.EmbeddedProcessFactory;
-import org.wildfly.core.embedded.EmbeddedProcessStartException;
-import org.wildfly.core.embedded.HostController;
-import org.wildfly.security.manager.WildFlySecurityManager;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -40,7 +33,7 @@ public class EmbeddedHostControllerConfiguration extends AbstractManageableServe
 
     private final String domainConfig;
     private final String hostConfig;
-    private HostController hostController;
+    private ModelControllerClient modelControllerClient;
 
     private final DeploymentResourceImpl.Factory deploymentResources;
     private final DeploymentOverlayResourceImpl.Factory deploymentOverlayResources;
@@ -49,11 +42,9 @@ public class EmbeddedHostControllerConfiguration extends AbstractManageableServe
 
     private final ProfileResourceImpl.Factory profileResources;
     private final ServerGroupResourceImpl.Factory serverGroupResources;
-    private final Map<String, String> propertiesToReset;
 
     protected EmbeddedHostControllerConfiguration(String domainConfig, String hostConfig, JBossServerConfiguration configurationPath, WildFlyServer10 server) {
         super("", PathAddress.EMPTY_ADDRESS, configurationPath, server);
-        propertiesToReset = new HashMap<>();
         this.domainConfig = domainConfig;
         this.hostConfig = hostConfig;
         deploymentResources = new DeploymentResourceImpl.Factory(getResourcePathAddress(), this);
@@ -72,30 +63,15 @@ public class EmbeddedHostControllerConfiguration extends AbstractManageableServe
 
     @Override
     protected ModelControllerClient startConfiguration() {
-
-        final List<String> cmds = new ArrayList<>();
-        if (domainConfig != null) {
-            cmds.add("--domain-config="+ domainConfig);
-        }
-        if (hostConfig != null) {
-            cmds.add("--host-config="+ hostConfig);
-        }
-        cmds.add("--admin-only");
-        cmds.add("-Dorg.wildfly.logging.embedded=false");
+        final Map<String, String> systemProperties = new HashMap<>();
         if (!getServer().getEnvironment().isDefaultDomainBaseDir()) {
-            setSystemProperty("jboss.domain.base.dir", getServer().getDomainDir());
+            systemProperties.put("jboss.domain.base.dir", getServer().getDomainDir().toString());
         }
         if (!getServer().getEnvironment().isDefaultDomainConfigDir()) {
-            setSystemProperty("jboss.domain.config.dir", getServer().getDomainConfigurationDir());
+            systemProperties.put("jboss.domain.config.dir", getServer().getDomainConfigurationDir().toString());
         }
-        final String[] systemPackages = {"org.jboss.logmanager"};
-        hostController = EmbeddedProcessFactory.createHostController(getServer().getBaseDir().toString(), null, systemPackages, cmds.toArray(new String[cmds.size()]));
-        try {
-            hostController.start();
-        } catch (EmbeddedProcessStartException e) {
-            throw new RuntimeException(e);
-        }
-        return hostController.getModelControllerClient();
+        modelControllerClient = EmbeddedProcesses.startHostController(getServer(), domainConfig, hostConfig, systemProperties);
+        return modelControllerClient;
     }
 
     @Override
@@ -103,9 +79,8 @@ public class EmbeddedHostControllerConfiguration extends AbstractManageableServe
         if (hostConfig == null) {
             writeConfiguration();
         }
-        hostController.stop();
-        hostController = null;
-        resetProperties();
+        EmbeddedProcesses.release(modelControllerClient);
+        modelControllerClient = null;
     }
 
     public static class DomainConfigFileMigrationFactory implements ServerConfigurationMigration.ManageableConfigurationProvider {
@@ -121,25 +96,4 @@ public class EmbeddedHostControllerConfiguration extends AbstractManageableServe
             return new EmbeddedHostControllerConfiguration(null, configurationPath.getPathRelativeToConfigurationDir().toString(), configurationPath, server);
         }
     }
-
-    private void setSystemProperty(final String name, final Object value) {
-        if (value != null) {
-            final String currentValue = WildFlySecurityManager.getPropertyPrivileged(name, null);
-            WildFlySecurityManager.setPropertyPrivileged(name, value.toString());
-            propertiesToReset.put(name, currentValue);
-        }
-    }
-
-    private void resetProperties() {
-        final Iterator<Map.Entry<String, String>> iterator = propertiesToReset.entrySet().iterator();
-        while (iterator.hasNext()) {
-            final Map.Entry<String, String> entry = iterator.next();
-            if (entry.getValue() == null) {
-                WildFlySecurityManager.clearPropertyPrivileged(entry.getKey());
-            } else {
-                WildFlySecurityManager.setPropertyPrivileged(entry.getKey(), entry.getValue());
-            }
-            iterator.remove();
-        }
-    }
 }
@@ -0,0 +1,390 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.wfly10.config.management.impl;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.jboss.migration.core.env.EnvironmentProperties;
+import org.jboss.migration.core.env.EnvironmentProperty;
+import org.jboss.migration.core.jboss.JBossServerConfiguration;
+import org.jboss.migration.core.logger.ServerMigrationLogger;
+import org.jboss.migration.wfly10.WildFlyServer10;
+import org.jboss.migration.wfly10.config.management.ManagementOperationException;
+import org.wildfly.core.embedded.EmbeddedProcessFactory;
+import org.wildfly.core.embedded.EmbeddedProcessStartException;
+import org.wildfly.core.embedded.HostController;
+import org.wildfly.core.embedded.StandaloneServer;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.jboss.as.controller.PathAddress.pathAddress;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.*;
+
+/**
+ * The embedded processes used to manage the target configurations, i.e. one embedded standalone server or host controller, which is kept alive and reused by the migration of each configuration.
+ * A process is switched to another configuration through an admin-only reload with the other configuration, and if reload fails, or does not load the other configuration, the process is restarted with the other configuration.
+ * If other JVMs migrate to the same target server concurrently the processes should be isolated, see {@link #isolate(Path, Path)}.
+ * @author emmartins
+ */
+public final class EmbeddedProcesses {
+
+    /**
+     * the environment property which specifies if the embedded process should be reused by the migration of each configuration, by default true
+     */
+    public static final EnvironmentProperty<Boolean> ENVIRONMENT_PROPERTY_REUSE = EnvironmentProperties.newBooleanProperty("embedded.reuse", true);
+
+    private static final long RELOAD_TIMEOUT_MILLIS = 60000;
+    private static final long RELOAD_POLL_MILLIS = 50;
+    private static final String[] SYSTEM_PACKAGES = {"org.jboss.logmanager"};
+
+    private static EmbeddedProcess current;
+    private static Path isolationDir;
+    private static Path hostControllerLockFile;
+
+    private EmbeddedProcesses() {
+    }
+
+    /**
+     * Isolates the embedded processes from the ones of other JVMs migrating to the same target server concurrently, i.e. each process uses its own data and tmp dirs, and host controllers, which share the host configuration and its history, run one at a time.
+     * @param dir the dir where the data and tmp dirs of the processes are created
+     * @param lockFile the file locked while a host controller runs
+     * @throws IOException if the data or tmp dirs could not be created
+     */
+    public static synchronized void isolate(Path dir, Path lockFile) throws IOException {
+        Files.createDirectories(dir.resolve("data"));
+        Files.createDirectories(dir.resolve("tmp"));
+        isolationDir = dir;
+        hostControllerLockFile = lockFile;
+    }
+
+    private static Map<String, String> getProcessSystemProperties(Map<String, String> systemProperties, String prefix, Path contentDir) {
+        if (isolationDir == null) {
+            return systemProperties;
+        }
+        final Map<String, String> processSystemProperties = new HashMap<>(systemProperties);
+        processSystemProperties.put(prefix + ".data.dir", isolationDir.resolve("data").toString());
+        processSystemProperties.put(prefix + ".temp.dir", isolationDir.resolve("tmp").toString());
+        // the content is still the target server's, which is where it is migrated to
+        processSystemProperties.put(prefix + ".content.dir", contentDir.toString());
+        return processSystemProperties;
+    }
+
+    private static FileChannel lockHostController() throws ManagementOperationException {
+        if (hostControllerLockFile == null) {
+            return null;
+        }
+        try {
+            final FileChannel channel = FileChannel.open(hostControllerLockFile, CREATE, WRITE);
+            try {
+                channel.lock();
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+            return channel;
+        } catch (IOException e) {
+            throw new ManagementOperationException("Failed to lock "+hostControllerLockFile, e);
+        }
+    }
+
+    private static void unlockHostController(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                ServerMigrationLogger.ROOT_LOGGER.debugf(e, "Failed to unlock %s", hostControllerLockFile);
+            }
+        }
+    }
+
+    /**
+     * Retrieves an embedded standalone server, running the specified configuration.
+     * @param server the server
+     * @param config the configuration, relative to the configuration dir
+     * @param configSystemProperties the system properties of the configuration, which should be set while the process runs
+     * @return the client of the embedded standalone server
+     * @throws ManagementOperationException if the embedded standalone server failed to start
+     */
+    static synchronized ModelControllerClient startStandaloneServer(WildFlyServer10 server, String config, Map<String, String> configSystemProperties) throws ManagementOperationException {
+        final Map<String, String> systemProperties = getProcessSystemProperties(configSystemProperties, "jboss.server", server.getContentDir(JBossServerConfiguration.Type.STANDALONE));
+        final String key = "standalone:" + server.getBaseDir() + ":" + systemProperties;
+        if (current != null && current.key.equals(key) && current.reload(config, null)) {
+            return current.client;
+        }
+        stop();
+        final List<String> cmds = new ArrayList<>();
+        cmds.add("--server-config="+config);
+        cmds.add("--admin-only");
+        cmds.add("-Dorg.wildfly.logging.embedded=false");
+        final EmbeddedProcess process = new EmbeddedProcess(key, server, systemProperties) {
+            private StandaloneServer standaloneServer;
+            @Override
+            ModelControllerClient startProcess() throws EmbeddedProcessStartException {
+                standaloneServer = EmbeddedProcessFactory.createStandaloneServer(server.getBaseDir().toString(), null, SYSTEM_PACKAGES, cmds.toArray(new String[cmds.size()]));
+                standaloneServer.start();
+                return standaloneServer.getModelControllerClient();
+            }
+            @Override
+            void stopProcess() {
+                standaloneServer.stop();
+            }
+            @Override
+            ModelNode getReloadOperation(String config, String hostConfig) {
+                final ModelNode op = Util.createEmptyOperation(RELOAD, PathAddress.EMPTY_ADDRESS);
+                op.get(ADMIN_ONLY).set(true);
+                op.get("server-config").set(config);
+                return op;
+            }
+            @Override
+            boolean isRunning() throws IOException {
+                return "running".equals(readAttribute(PathAddress.EMPTY_ADDRESS, "server-state"));
+            }
+            @Override
+            boolean isRunning(String config, String hostConfig) throws IOException {
+                return isConfigFile(readAttribute(pathAddress(CORE_SERVICE, "server-environment"), "config-file"), config);
+            }
+        };
+        process.start();
+        current = process;
+        return process.client;
+    }
+
+    /**
+     * Retrieves an embedded host controller, running the specified configurations.
+     * @param server the server
+     * @param domainConfig the domain configuration, relative to the configuration dir, null if the default should be used
+     * @param hostConfig the host configuration, relative to the configuration dir, null if the default should be used
+     * @param configSystemProperties the system properties of the configuration, which should be set while the process runs
+     * @return the client of the embedded host controller
+     * @throws ManagementOperationException if the embedded host controller failed to start
+     */
+    static synchronized ModelControllerClient startHostController(WildFlyServer10 server, String domainConfig, String hostConfig, Map<String, String> configSystemProperties) throws ManagementOperationException {
+        final Map<String, String> systemProperties = getProcessSystemProperties(configSystemProperties, "jboss.domain", server.getContentDir(JBossServerConfiguration.Type.DOMAIN));
+        // a reload keeps the current config of the one not specified, thus only processes started with the same default config are reused
+        final String key = "host-controller:" + server.getBaseDir() + ":" + (domainConfig == null) + ":" + (hostConfig == null) + ":" + systemProperties;
+        if (current != null && current.key.equals(key) && current.reload(domainConfig, hostConfig)) {
+            return current.client;
+        }
+        stop();
+        final List<String> cmds = new ArrayList<>();
+        if (domainConfig != null) {
+            cmds.add("--domain-config="+ domainConfig);
+        }
+        if (hostConfig != null) {
+            cmds.add("--host-config="+ hostConfig);
+        }
+        cmds.add("--admin-only");
+        cmds.add("-Dorg.wildfly.logging.embedded=false");
+        final EmbeddedProcess process = new EmbeddedProcess(key, server, systemProperties) {
+            private HostController hostController;
+            private String hostName;
+            private FileChannel lockChannel;
+            @Override
+            ModelControllerClient startProcess() throws EmbeddedProcessStartException {
+                lockChannel = lockHostController();
+                try {
+                    hostController = EmbeddedProcessFactory.createHostController(server.getBaseDir().toString(), null, SYSTEM_PACKAGES, cmds.toArray(new String[cmds.size()]));
+                    hostController.start();
+                } catch (EmbeddedProcessStartException | RuntimeException e) {
+                    unlockHostController(lockChannel);
+                    throw e;
+                }
+                hostName = null;
+                return hostController.getModelControllerClient();
+            }
+            @Override
+            void stopProcess() {
+                try {
+                    hostController.stop();
+                } finally {
+                    unlockHostController(lockChannel);
+                }
+            }
+            private PathAddress getHostPathAddress() throws IOException {
+                if (hostName == null) {
+                    hostName = readAttribute(PathAddress.EMPTY_ADDRESS, LOCAL_HOST_NAME);
+                }
+                return pathAddress(HOST, hostName);
+            }
+            @Override
+            ModelNode getReloadOperation(String domainConfig, String hostConfig) throws IOException {
+                final ModelNode op = Util.createEmptyOperation(RELOAD, getHostPathAddress());
+                op.get(ADMIN_ONLY).set(true);
+                if (domainConfig != null) {
+                    op.get("domain-config").set(domainConfig);
+                }
+                if (hostConfig != null) {
+                    op.get("host-config").set(hostConfig);
+                }
+                return op;
+            }
+            @Override
+            boolean isRunning() throws IOException {
+                return "running".equals(readAttribute(getHostPathAddress(), "host-state"));
+            }
+            @Override
+            boolean isRunning(String domainConfig, String hostConfig) throws IOException {
+                final PathAddress hostEnvironmentPathAddress = getHostPathAddress().append(CORE_SERVICE, "host-environment");
+                return (domainConfig == null || isConfigFile(readAttribute(hostEnvironmentPathAddress, "domain-config-file"), domainConfig))
+                        && (hostConfig == null || isConfigFile(readAttribute(hostEnvironmentPathAddress, "host-config-file"), hostConfig));
+            }
+        };
+        process.start();
+        current = process;
+        return process.client;
+    }
+
+    /**
+     * Releases the embedded process, once its configuration is migrated, which stops the process if it should not be reused.
+     * @param client the client of the embedded process
+     */
+    static synchronized void release(ModelControllerClient client) {
+        if (current != null && current.client == client && !current.reuse) {
+            stop();
+        }
+    }
+
+    /**
+     * Stops the embedded process, if any, which should be done once all configurations which may reuse it are migrated.
+     */
+    public static synchronized void stop() {
+        if (current != null) {
+            final EmbeddedProcess process = current;
+            current = null;
+            process.stop();
+        }
+    }
+
+    private static boolean isConfigFile(String configFile, String config) {
+        return configFile != null && Paths.get(configFile).endsWith(config);
+    }
+
+    private abstract static class EmbeddedProcess {
+
+        private final String key;
+        private final Map<String, String> systemProperties;
+        private final Map<String, String> propertiesToReset;
+        private final boolean reuse;
+        private ModelControllerClient client;
+
+        EmbeddedProcess(String key, WildFlyServer10 server, Map<String, String> systemProperties) {
+            this.key = key;
+            this.systemProperties = systemProperties;
+            this.propertiesToReset = new HashMap<>();
+            this.reuse = ENVIRONMENT_PROPERTY_REUSE.getValue(server.getMigrationEnvironment());
+        }
+
+        abstract ModelControllerClient startProcess() throws EmbeddedProcessStartException;
+
+        abstract void stopProcess();
+
+        abstract ModelNode getReloadOperation(String config, String hostConfig) throws IOException;
+
+        abstract boolean isRunning() throws IOException;
+
+        abstract boolean isRunning(String config, String hostConfig) throws IOException;
+
+        void start() throws ManagementOperationException {
+            for (Map.Entry<String, String> systemProperty : systemProperties.entrySet()) {
+                propertiesToReset.put(systemProperty.getKey(), WildFlySecurityManager.getPropertyPrivileged(systemProperty.getKey(), null));
+                WildFlySecurityManager.setPropertyPrivileged(systemProperty.getKey(), systemProperty.getValue());
+            }
+            final long startTime = System.nanoTime();
+            try {
+                client = startProcess();
+            } catch (EmbeddedProcessStartException e) {
+                resetProperties();
+                throw new ManagementOperationException(e);
+            } catch (RuntimeException e) {
+                resetProperties();
+                throw e;
+            }
+            ServerMigrationLogger.ROOT_LOGGER.debugf("Embedded process %s started in %d ms.", key, (System.nanoTime() - startTime) / 1000000);
+        }
+
+        boolean reload(String config, String hostConfig) {
+            final long startTime = System.nanoTime();
+            try {
+                final ModelNode result = client.execute(getReloadOperation(config, hostConfig));
+                if (!SUCCESS.equals(result.get(OUTCOME).asString())) {
+                    ServerMigrationLogger.ROOT_LOGGER.debugf("Embedded process %s reload failed: %s", key, result.get(FAILURE_DESCRIPTION).asString());
+                    return false;
+                }
+                final long deadline = startTime + RELOAD_TIMEOUT_MILLIS * 1000000;
+                while (System.nanoTime() < deadline) {
+                    try {
+                        if (isRunning()) {
+                            if (isRunning(config, hostConfig)) {
+                                ServerMigrationLogger.ROOT_LOGGER.debugf("Embedded process %s reloaded in %d ms.", key, (System.nanoTime() - startTime) / 1000000);
+                                return true;
+                            }
+                            ServerMigrationLogger.ROOT_LOGGER.debugf("Embedded process %s reloaded without the requested configuration.", key);
+                            return false;
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        // the process is still reloading
+                    }
+                    Thread.sleep(RELOAD_POLL_MILLIS);
+                }
+                ServerMigrationLogger.ROOT_LOGGER.debugf("Embedded process %s reload timed out.", key);
+            } catch (IOException | RuntimeException e) {
+                ServerMigrationLogger.ROOT_LOGGER.debugf(e, "Embedded process %s reload failed.", key);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+
+        String readAttribute(PathAddress pathAddress, String name) throws IOException {
+            final ModelNode result = client.execute(Util.getReadAttributeOperation(pathAddress, name));
+            return SUCCESS.equals(result.get(OUTCOME).asString()) ? result.get(RESULT).asString() : null;
+        }
+
+        void stop() {
+            try {
+                stopProcess();
+            } finally {
+                client = null;
+                resetProperties();
+            }
+        }
+
+        private void resetProperties() {
+            for (Map.Entry<String, String> entry : propertiesToReset.entrySet()) {
+                if (entry.getValue() == null) {
+                    WildFlySecurityManager.clearPropertyPrivileged(entry.getKey());
+                } else {
+                    WildFlySecurityManager.setPropertyPrivileged(entry.getKey(), entry.getValue());
+                }
+            }
+            propertiesToReset.clear();
+        }
+    }
+}
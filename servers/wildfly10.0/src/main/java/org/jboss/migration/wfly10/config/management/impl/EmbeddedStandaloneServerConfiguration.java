@@ -24,14 +24,8 @@ import org.jboss.migration.wfly10.config.management.DeploymentResource;
 import org.jboss.migration.wfly10.config.management.ManagementOperationException;
 import org.jboss.migration.wfly10.config.management.StandaloneServerConfiguration;
 import org.jboss.migration.wfly10.config.task.ServerConfigurationMigration;
-import org.wildfly.core.embedded.EmbeddedProcessFactory;
-import org.wildfly.core.embedded.EmbeddedProcessStartException;
-import org.wildfly.core.embedded.StandaloneServer;
-import org.wildfly.security.manager.WildFlySecurityManager;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -45,18 +39,16 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAN
 public class EmbeddedStandaloneServerConfiguration extends AbstractManageableServerConfiguration implements StandaloneServerConfiguration {
 
     private final String config;
-    private StandaloneServer standaloneServer;
+    private ModelControllerClient modelControllerClient;
 
     private final DeploymentResourceImpl.Factory deploymentResources;
     private final DeploymentOverlayResourceImpl.Factory deploymentOverlayResources;
     private final ManagementInterfaceResourceImpl.Factory managementInterfaceResources;
     private final SecurityRealmResourceImpl.Factory securityRealmResources;
     private final SubsystemResourceImpl.Factory subsystemResources;
-    private final Map<String, String> propertiesToReset;
 
     public EmbeddedStandaloneServerConfiguration(JBossServerConfiguration configurationPath, WildFlyServer10 server) {
         super("", PathAddress.EMPTY_ADDRESS, configurationPath, server);
-        propertiesToReset = new HashMap<>();
         this.config = configurationPath.getPathRelativeToConfigurationDir().toString();
         deploymentResources = new DeploymentResourceImpl.Factory(getResourcePathAddress(), this);
         addChildResourceFactory(deploymentResources);
@@ -73,32 +65,22 @@ public class EmbeddedStandaloneServerConfiguration extends AbstractManageableSer
 
     @Override
     protected ModelControllerClient startConfiguration() {
-        final List<String> cmds = new ArrayList<>();
-        cmds.add("--server-config="+config);
-        cmds.add("--admin-only");
-        cmds.add("-Dorg.wildfly.logging.embedded=false");
+        final Map<String, String> systemProperties = new HashMap<>();
         if (!getServer().getEnvironment().isDefaultStandaloneServerDir()) {
-            setSystemProperty("jboss.server.base.dir", getServer().getStandaloneDir());
+            systemProperties.put("jboss.server.base.dir", getServer().getStandaloneDir().toString());
         }
         if (!getServer().getEnvironment().isDefaultStandaloneConfigDir()) {
-            setSystemProperty("jboss.server.config.dir", getServer().getStandaloneConfigurationDir());
+            systemProperties.put("jboss.server.config.dir", getServer().getStandaloneConfigurationDir().toString());
         }
-        final String[] systemPackages = {"org.jboss.logmanager"};
-        standaloneServer = EmbeddedProcessFactory.createStandaloneServer(getServer().getBaseDir().toString(), null, systemPackages, cmds.toArray(new String[cmds.size()]));
-        try {
-            standaloneServer.start();
-        } catch (EmbeddedProcessStartException e) {
-            throw new ManagementOperationException(e);
-        }
-        return standaloneServer.getModelControllerClient();
+        modelControllerClient = EmbeddedProcesses.startStandaloneServer(getServer(), config, systemProperties);
+        return modelControllerClient;
     }
 
     @Override
     protected void stopConfiguration() {
         writeConfiguration();
-        standaloneServer.stop();
-        standaloneServer = null;
-        resetProperties();
+        EmbeddedProcesses.release(modelControllerClient);
+        modelControllerClient = null;
     }
 
     @Override
@@ -132,25 +114,4 @@ public class EmbeddedStandaloneServerConfiguration extends AbstractManageableSer
             return new EmbeddedStandaloneServerConfiguration(configurationPath, server);
         }
     }
-
-    private void setSystemProperty(final String name, final Object value) {
-        if (value != null) {
-            final String currentValue = WildFlySecurityManager.getPropertyPrivileged(name, null);
-            WildFlySecurityManager.setPropertyPrivileged(name, value.toString());
-            propertiesToReset.put(name, currentValue);
-        }
-    }
-
-    private void resetProperties() {
-        final Iterator<Map.Entry<String, String>> iterator = propertiesToReset.entrySet().iterator();
-        while (iterator.hasNext()) {
-            final Map.Entry<String, String> entry = iterator.next();
-            if (entry.getValue() == null) {
-                WildFlySecurityManager.clearPropertyPrivileged(entry.getKey());
-            } else {
-                WildFlySecurityManager.setPropertyPrivileged(entry.getKey(), entry.getValue());
-            }
-            iterator.remove();
-        }
-    }
 }
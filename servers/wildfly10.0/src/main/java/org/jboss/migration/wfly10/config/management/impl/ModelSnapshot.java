@@ -0,0 +1,238 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.wfly10.config.management.impl;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.jboss.migration.core.logger.ServerMigrationLogger;
+import org.jboss.migration.wfly10.config.management.ManagementOperationException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.*;
+
+/**
+ * A snapshot of a configuration's model, read with a single recursive read-resource operation, which answers the resource names and configuration queries from memory.
+ * Each operation which may write the model marks the resource at its address as stale, and stale resources are read again, when a query needs them.
+ * @author emmartins
+ */
+final class ModelSnapshot {
+
+    private static final Set<String> READ_OPERATIONS = new HashSet<>(Arrays.asList("query", "resolve-expression", "validate-address", "validate-operation", "whoami"));
+
+    private final AbstractManageableServerConfiguration configuration;
+    private final List<PathAddress> staleAddresses;
+    private ModelNode model;
+    private ModelNode xmlModel;
+    private boolean xmlModelRead;
+    private int queries;
+    private int reads;
+
+    ModelSnapshot(AbstractManageableServerConfiguration configuration) {
+        this.configuration = configuration;
+        this.staleAddresses = new ArrayList<>();
+    }
+
+    /**
+     * Retrieves the names of a resource's children.
+     * @param address the resource's address
+     * @param childType the children type
+     * @return the names of the children, null if the snapshot does not know the resource, or the children type, e.g. a runtime only type
+     */
+    Set<String> getChildrenNames(PathAddress address, String childType) throws ManagementOperationException {
+        configuration.flush();
+        synchronized (this) {
+            queries++;
+            if (!configuration.isBooted()) {
+                // the configuration was not written, and its XML file may provide the names without starting it
+                final Set<String> names = getChildrenNames(getChild(getXmlModel(), address), childType);
+                if (names != null) {
+                    return names;
+                }
+            }
+            return getChildrenNames(getModelNode(address), childType);
+        }
+    }
+
+    private static Set<String> getChildrenNames(ModelNode resource, String childType) {
+        if (resource == null || !resource.has(childType)) {
+            return null;
+        }
+        final ModelNode children = resource.get(childType);
+        return children.isDefined() ? new HashSet<>(children.keys()) : Collections.emptySet();
+    }
+
+    /**
+     * Retrieves a resource's configuration, as returned by a recursive read-resource operation.
+     * @param address the resource's address
+     * @return the resource's configuration, null if the snapshot does not know the resource
+     */
+    ModelNode getResource(PathAddress address) throws ManagementOperationException {
+        configuration.flush();
+        synchronized (this) {
+            queries++;
+            final ModelNode resource = getModelNode(address);
+            return resource != null ? resource.clone() : null;
+        }
+    }
+
+    /**
+     * Marks the resources which an operation may write as stale.
+     * @param operation the operation
+     */
+    synchronized void invalidate(ModelNode operation) {
+        if (model == null) {
+            return;
+        }
+        final String operationName = operation.get(OP).asString();
+        if (operationName.startsWith("read-") || READ_OPERATIONS.contains(operationName)) {
+            return;
+        }
+        if (COMPOSITE.equals(operationName)) {
+            for (ModelNode step : operation.get(STEPS).asList()) {
+                invalidate(step);
+            }
+            return;
+        }
+        final PathAddress address = PathAddress.pathAddress(operation.get(OP_ADDR));
+        if (ADD.equals(operationName) || REMOVE.equals(operationName) || operationName.startsWith("write-") || operationName.startsWith("undefine-") || operationName.startsWith("map-") || operationName.startsWith("list-")) {
+            markStale(address);
+        } else {
+            // any other operation, e.g. a subsystem's migrate, may write anywhere
+            markStale(PathAddress.EMPTY_ADDRESS);
+        }
+    }
+
+    /**
+     * Discards the snapshot.
+     */
+    synchronized void clear() {
+        if (queries > 0) {
+            ServerMigrationLogger.ROOT_LOGGER.debugf("Model snapshot of %s answered %d queries with %d read operations.", configuration.getConfigurationPath().getPath().getFileName(), queries, reads);
+        }
+        model = null;
+        xmlModel = null;
+        xmlModelRead = false;
+        staleAddresses.clear();
+        queries = 0;
+        reads = 0;
+    }
+
+    private void markStale(PathAddress address) {
+        final Iterator<PathAddress> iterator = staleAddresses.iterator();
+        while (iterator.hasNext()) {
+            final PathAddress staleAddress = iterator.next();
+            if (isAncestorOrSelf(staleAddress, address)) {
+                return;
+            }
+            if (isAncestorOrSelf(address, staleAddress)) {
+                iterator.remove();
+            }
+        }
+        staleAddresses.add(address);
+    }
+
+    private ModelNode getModelNode(PathAddress address) throws ManagementOperationException {
+        // a stale ancestor may have removed or added the resource, a stale descendant may be one of the children, or part of the resource's configuration
+        final List<PathAddress> related = new ArrayList<>();
+        final Iterator<PathAddress> iterator = staleAddresses.iterator();
+        while (iterator.hasNext()) {
+            final PathAddress staleAddress = iterator.next();
+            if (isAncestorOrSelf(staleAddress, address) || isAncestorOrSelf(address, staleAddress)) {
+                related.add(staleAddress);
+                iterator.remove();
+            }
+        }
+        related.sort((a1, a2) -> Integer.compare(a1.size(), a2.size()));
+        for (PathAddress staleAddress : related) {
+            refresh(staleAddress);
+        }
+        if (model == null) {
+            model = readResource(PathAddress.EMPTY_ADDRESS);
+            if (model == null) {
+                throw new ManagementOperationException("Failed to read the model of "+configuration.getConfigurationPath().getPath());
+            }
+        }
+        return getChild(model, address);
+    }
+
+    private ModelNode getXmlModel() {
+        if (!xmlModelRead) {
+            xmlModelRead = true;
+            xmlModel = ConfigurationXmlModel.read(configuration.getConfigurationPath().getPath(), configuration.getServer().getExtensions());
+        }
+        return xmlModel;
+    }
+
+    private static ModelNode getChild(ModelNode node, PathAddress address) {
+        if (node == null) {
+            return null;
+        }
+        for (PathElement element : address) {
+            if (!node.has(element.getKey()) || !node.get(element.getKey()).has(element.getValue())) {
+                return null;
+            }
+            node = node.get(element.getKey()).get(element.getValue());
+        }
+        return node;
+    }
+
+    private void refresh(PathAddress address) {
+        if (model == null) {
+            return;
+        }
+        if (address.size() == 0) {
+            model = null;
+            return;
+        }
+        final ModelNode parent = getModelNode(address.getParent());
+        if (parent == null) {
+            return;
+        }
+        final PathElement element = address.getLastElement();
+        final ModelNode resource = readResource(address);
+        if (resource != null) {
+            parent.get(element.getKey(), element.getValue()).set(resource);
+        } else if (parent.has(element.getKey()) && parent.get(element.getKey()).has(element.getValue())) {
+            parent.get(element.getKey()).remove(element.getValue());
+        }
+    }
+
+    private ModelNode readResource(PathAddress address) {
+        final ModelNode op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, address);
+        op.get(RECURSIVE).set(true);
+        reads++;
+        try {
+            return configuration.execute(op).get(RESULT);
+        } catch (ManagementOperationException e) {
+            // the resource does not exist
+            return null;
+        }
+    }
+
+    private static boolean isAncestorOrSelf(PathAddress ancestor, PathAddress address) {
+        return ancestor.size() <= address.size() && address.subAddress(0, ancestor.size()).equals(ancestor);
+    }
+}
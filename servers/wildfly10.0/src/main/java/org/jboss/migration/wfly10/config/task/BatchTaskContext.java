@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.wfly10.config.task;
+
+import org.jboss.logging.Logger;
+import org.jboss.migration.core.MigrationFiles;
+import org.jboss.migration.core.ServerMigrationFailureException;
+import org.jboss.migration.core.console.ConsoleWrapper;
+import org.jboss.migration.core.env.MigrationEnvironment;
+import org.jboss.migration.core.task.ServerMigrationTask;
+import org.jboss.migration.core.task.ServerMigrationTaskName;
+import org.jboss.migration.core.task.ServerMigrationTaskResult;
+import org.jboss.migration.core.task.TaskContext;
+import org.jboss.migration.core.task.TaskExecution;
+import org.jboss.migration.core.task.component.TaskRunnable;
+import org.jboss.migration.wfly10.config.management.ManageableServerConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A task context which executes the writes of each task as a batch of the manageable configuration, flushed before the task ends, thus a failed write fails the task which executed it, and not its parent.
+ * The batch is shared by all tasks, so subtasks are always executed sequentially.
+ * @author emmartins
+ */
+class BatchTaskContext implements TaskContext {
+
+    private final TaskContext context;
+    private final ManageableServerConfiguration configurationManagement;
+
+    BatchTaskContext(TaskContext context, ManageableServerConfiguration configurationManagement) {
+        this.context = context;
+        this.configurationManagement = configurationManagement;
+    }
+
+    /**
+     * Runs a task, with its writes batched.
+     * @param taskName the task's name
+     * @param taskRunnable the task's runnable
+     * @param context the task's context
+     * @param configurationManagement the manageable configuration
+     * @return the task's result
+     * @throws ServerMigrationFailureException if the task failed, or one of its writes failed
+     */
+    static ServerMigrationTaskResult run(ServerMigrationTaskName taskName, TaskRunnable taskRunnable, TaskContext context, ManageableServerConfiguration configurationManagement) throws ServerMigrationFailureException {
+        configurationManagement.beginBatch(taskName.toString());
+        boolean commit = false;
+        try {
+            final ServerMigrationTaskResult result = taskRunnable.run(new BatchTaskContext(context, configurationManagement));
+            commit = true;
+            return result;
+        } finally {
+            configurationManagement.endBatch(commit);
+        }
+    }
+
+    private ServerMigrationTask batched(final ServerMigrationTask subtask) {
+        return new ServerMigrationTask() {
+            @Override
+            public ServerMigrationTaskName getName() {
+                return subtask.getName();
+            }
+            @Override
+            public ServerMigrationTaskResult run(TaskContext subtaskContext) {
+                return BatchTaskContext.run(subtask.getName(), subtask::run, subtaskContext, configurationManagement);
+            }
+        };
+    }
+
+    @Override
+    public ServerMigrationTaskName getTaskName() {
+        return context.getTaskName();
+    }
+
+    @Override
+    public TaskExecution getParentTask() {
+        return context.getParentTask();
+    }
+
+    @Override
+    public List<? extends TaskExecution> getSubtasks() {
+        return context.getSubtasks();
+    }
+
+    @Override
+    public boolean hasSucessfulSubtasks() {
+        return context.hasSucessfulSubtasks();
+    }
+
+    @Override
+    public TaskExecution execute(ServerMigrationTask subtask) throws IllegalStateException, ServerMigrationFailureException {
+        return context.execute(batched(subtask));
+    }
+
+    @Override
+    public TaskExecution execute(ServerMigrationTaskName taskName, TaskRunnable taskRunnable) throws IllegalStateException, ServerMigrationFailureException {
+        return context.execute(taskName, subtaskContext -> run(taskName, taskRunnable, subtaskContext, configurationManagement));
+    }
+
+    @Override
+    public List<TaskExecution> executeAll(List<? extends ServerMigrationTask> subtasks) throws IllegalStateException, ServerMigrationFailureException {
+        final List<TaskExecution> executions = new ArrayList<>(subtasks.size());
+        for (ServerMigrationTask subtask : subtasks) {
+            executions.add(execute(subtask));
+        }
+        return executions;
+    }
+
+    @Override
+    public Logger getLogger() {
+        return context.getLogger();
+    }
+
+    @Override
+    public ConsoleWrapper getConsoleWrapper() {
+        return context.getConsoleWrapper();
+    }
+
+    @Override
+    public MigrationFiles getMigrationFiles() {
+        return context.getMigrationFiles();
+    }
+
+    @Override
+    public boolean isInteractive() {
+        return context.isInteractive();
+    }
+
+    @Override
+    public MigrationEnvironment getMigrationEnvironment() {
+        return context.getMigrationEnvironment();
+    }
+}
@@ -0,0 +1,424 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.migration.wfly10.config.task;
+
+import org.jboss.migration.core.MigrationData;
+import org.jboss.migration.core.MigrationFiles;
+import org.jboss.migration.core.Server;
+import org.jboss.migration.core.ServerMigrationFailureException;
+import org.jboss.migration.core.env.MigrationEnvironment;
+import org.jboss.migration.core.logger.ServerMigrationLogger;
+import org.jboss.migration.core.task.ServerMigrationTask;
+import org.jboss.migration.core.task.ServerMigrationTaskName;
+import org.jboss.migration.core.task.ServerMigrationTaskPath;
+import org.jboss.migration.core.task.ServerMigrationTaskResult;
+import org.jboss.migration.core.task.TaskContext;
+import org.jboss.migration.core.task.TaskExecution;
+import org.jboss.migration.core.task.TaskExecutionImpl;
+import org.jboss.migration.wfly10.config.management.impl.EmbeddedProcesses;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Migrates configurations in worker JVMs, one per configuration, which run the whole migration restricted to the configuration's task path, and then write the configuration's task execution tree, which is replayed in the parent migration, and so included in its reports.
+ * Embedded processes rely on JVM global state, e.g. system properties, thus worker JVMs are the only way to migrate multiple configurations concurrently.
+ * The workers share the target server: its files, e.g. modules and content, are written holding a file lock, and journalled so that a worker does not back up the files copied by another, each worker's embedded processes have their own data and tmp dirs, and embedded host controllers, which share the host configuration, run one at a time.
+ * @author emmartins
+ */
+public final class ConfigurationMigrationWorkers {
+
+    private static final String REQUEST_FROM = "from";
+    private static final String REQUEST_TO = "to";
+    private static final String REQUEST_TASK_PATH = "task.path";
+    private static final String REQUEST_RESULT = "result";
+    private static final String REQUEST_FILES_LOCK = "files.lock";
+    private static final String REQUEST_HOST_CONTROLLER_LOCK = "host-controller.lock";
+    private static final String REQUEST_ENVIRONMENT_PREFIX = "environment.";
+
+    private ConfigurationMigrationWorkers() {
+    }
+
+    /**
+     * Migrates configurations in worker JVMs, and replays each configuration's task execution tree, in the specified order.
+     * @param configTasks the configuration migration tasks
+     * @param source the source server
+     * @param target the target server
+     * @param concurrency the max number of worker JVMs running concurrently
+     * @param context the context of the configurations migration task
+     * @throws ServerMigrationFailureException if the migration of any configuration failed
+     */
+    static void migrate(List<ServerMigrationTask> configTasks, Server source, Server target, int concurrency, TaskContext context) throws ServerMigrationFailureException {
+        final TaskExecution parentTask = context.getParentTask();
+        final ServerMigrationTaskPath taskPath = new ServerMigrationTaskPath(context.getTaskName(), parentTask != null ? parentTask.getTaskPath() : null);
+        final MigrationEnvironment environment = context.getMigrationEnvironment();
+        final Path locksDir;
+        try {
+            locksDir = Files.createTempDirectory("server-migration-workers");
+        } catch (IOException e) {
+            throw new ServerMigrationFailureException(e);
+        }
+        final ExecutorService executorService = Executors.newFixedThreadPool(Math.max(1, Math.min(concurrency, configTasks.size())));
+        try {
+            final List<Future<Worker>> futures = new ArrayList<>();
+            for (ServerMigrationTask configTask : configTasks) {
+                final Worker worker = new Worker(configTask.getName(), new ServerMigrationTaskPath(configTask.getName(), taskPath).toString());
+                futures.add(executorService.submit(() -> worker.run(source.getBaseDir(), target.getBaseDir(), environment, locksDir)));
+            }
+            final List<ServerMigrationTaskName> failed = new ArrayList<>();
+            for (Future<Worker> future : futures) {
+                final Worker worker = getWorker(future);
+                worker.printOutput(context);
+                final TaskExecution execution = context.execute(worker.getReplayedTask());
+                if (execution.getResult().getStatus() == ServerMigrationTaskResult.Status.FAIL) {
+                    failed.add(execution.getTaskName());
+                }
+            }
+            if (!failed.isEmpty()) {
+                throw new ServerMigrationFailureException("Migration of configurations "+failed+" failed");
+            }
+        } finally {
+            // interrupts, and so destroys, the workers still running
+            executorService.shutdownNow();
+            deleteRecursively(locksDir);
+        }
+    }
+
+    private static void deleteRecursively(Path path) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(path)) {
+            // children before parents
+            stream.sorted(Comparator.reverseOrder()).forEach(child -> {
+                try {
+                    Files.delete(child);
+                } catch (IOException e) {
+                    ServerMigrationLogger.ROOT_LOGGER.debugf(e, "Failed to delete %s", child);
+                }
+            });
+        } catch (IOException e) {
+            ServerMigrationLogger.ROOT_LOGGER.debugf(e, "Failed to delete %s", path);
+        }
+    }
+
+    private static Worker getWorker(Future<Worker> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerMigrationFailureException(e);
+        } catch (ExecutionException e) {
+            throw new ServerMigrationFailureException(e.getCause());
+        }
+    }
+
+    /**
+     * The main method of worker JVMs.
+     * @param args the path of the worker's request file
+     */
+    public static void main(String[] args) {
+        int status = 1;
+        try {
+            final Path requestFile = Paths.get(args[0]);
+            final Properties request = new Properties();
+            try (InputStream in = Files.newInputStream(requestFile)) {
+                request.load(in);
+            }
+            final String taskPath = request.getProperty(REQUEST_TASK_PATH);
+            final MigrationEnvironment environment = new MigrationEnvironment();
+            for (String name : request.stringPropertyNames()) {
+                if (name.startsWith(REQUEST_ENVIRONMENT_PREFIX)) {
+                    environment.setProperty(name.substring(REQUEST_ENVIRONMENT_PREFIX.length()), request.getProperty(name));
+                }
+            }
+            environment.setProperty(TaskExecutionImpl.ENVIRONMENT_PROPERTY_PATH.getName(), taskPath);
+            environment.setProperty(ServerConfigurationsMigration.ENVIRONMENT_PROPERTY_FORK.getName(), Boolean.FALSE.toString());
+            // the target server is shared with the other workers
+            environment.setProperty(MigrationFiles.ENVIRONMENT_PROPERTY_LOCK_FILE.getName(), request.getProperty(REQUEST_FILES_LOCK));
+            EmbeddedProcesses.isolate(requestFile.resolveSibling("embedded"), Paths.get(request.getProperty(REQUEST_HOST_CONTROLLER_LOCK)));
+            final MigrationData migrationData = new org.jboss.migration.core.ServerMigration()
+                    .from(Paths.get(request.getProperty(REQUEST_FROM)))
+                    .to(Paths.get(request.getProperty(REQUEST_TO)))
+                    .interactive(false)
+                    .userEnvironment(environment)
+                    .run();
+            final TaskExecution execution = findTaskExecution(migrationData.getRootTask(), taskPath);
+            if (execution != null) {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(Paths.get(request.getProperty(REQUEST_RESULT)))))) {
+                    writeTaskExecution(execution, out);
+                }
+                status = 0;
+            } else {
+                ServerMigrationLogger.ROOT_LOGGER.errorf("Task %s not found.", taskPath);
+            }
+        } catch (Throwable t) {
+            ServerMigrationLogger.ROOT_LOGGER.error("Worker failed", t);
+        }
+        // embedded processes may leave non daemon threads behind
+        System.exit(status);
+    }
+
+    private static TaskExecution findTaskExecution(TaskExecution execution, String taskPath) {
+        final String executionPath = execution.getTaskPath().toString();
+        if (executionPath.equals(taskPath)) {
+            return execution;
+        }
+        if (!taskPath.startsWith(executionPath)) {
+            return null;
+        }
+        for (TaskExecution subtask : execution.getSubtasks()) {
+            final TaskExecution found = findTaskExecution(subtask, taskPath);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    private static void writeTaskExecution(TaskExecution execution, DataOutputStream out) throws IOException {
+        writeString(execution.getTaskName().getName(), out);
+        writeMap(execution.getTaskName().getAttributes(), out);
+        final ServerMigrationTaskResult result = execution.getResult();
+        final ServerMigrationTaskResult.Status status = result != null ? result.getStatus() : ServerMigrationTaskResult.Status.SKIPPED;
+        writeString(status.name(), out);
+        final ServerMigrationFailureException failReason = result != null ? result.getFailReason() : null;
+        writeString(failReason != null ? String.valueOf(failReason.getMessage()) : null, out);
+        writeMap(result != null ? result.getAttributes() : null, out);
+        final List<TaskExecution> subtasks = execution.getSubtasks();
+        out.writeInt(subtasks.size());
+        for (TaskExecution subtask : subtasks) {
+            writeTaskExecution(subtask, out);
+        }
+    }
+
+    private static ReplayedTask readTaskExecution(DataInputStream in) throws IOException {
+        final ServerMigrationTaskName.Builder nameBuilder = new ServerMigrationTaskName.Builder(readString(in));
+        for (Map.Entry<String, String> attribute : readMap(in).entrySet()) {
+            nameBuilder.addAttribute(attribute.getKey(), attribute.getValue());
+        }
+        final ServerMigrationTaskResult.Status status = ServerMigrationTaskResult.Status.valueOf(readString(in));
+        final String failReason = readString(in);
+        final ServerMigrationTaskResult.Builder resultBuilder = new ServerMigrationTaskResult.Builder();
+        switch (status) {
+            case FAIL:
+                resultBuilder.fail(new ServerMigrationFailureException(failReason));
+                break;
+            case SUCCESS:
+                resultBuilder.success();
+                break;
+            default:
+                resultBuilder.skipped();
+                break;
+        }
+        for (Map.Entry<String, String> attribute : readMap(in).entrySet()) {
+            resultBuilder.addAttribute(attribute.getKey(), attribute.getValue());
+        }
+        final int subtasksSize = in.readInt();
+        final List<ReplayedTask> subtasks = new ArrayList<>(subtasksSize);
+        for (int i = 0; i < subtasksSize; i++) {
+            subtasks.add(readTaskExecution(in));
+        }
+        return new ReplayedTask(nameBuilder.build(), resultBuilder.build(), subtasks);
+    }
+
+    private static void writeMap(Map<String, String> map, DataOutputStream out) throws IOException {
+        if (map == null) {
+            out.writeInt(0);
+            return;
+        }
+        out.writeInt(map.size());
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            writeString(entry.getKey(), out);
+            writeString(entry.getValue(), out);
+        }
+    }
+
+    private static Map<String, String> readMap(DataInputStream in) throws IOException {
+        final int size = in.readInt();
+        final Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(readString(in), readString(in));
+        }
+        return map;
+    }
+
+    private static void writeString(String s, DataOutputStream out) throws IOException {
+        // not writeUTF, which is limited to 64k bytes, e.g. a fail reason may be longer
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A worker JVM, which migrates a single configuration.
+     */
+    private static class Worker {
+
+        private final ServerMigrationTaskName taskName;
+        private final String taskPath;
+        private Path outputFile;
+        private ReplayedTask replayedTask;
+
+        Worker(ServerMigrationTaskName taskName, String taskPath) {
+            this.taskName = taskName;
+            this.taskPath = taskPath;
+        }
+
+        Worker run(Path from, Path to, MigrationEnvironment environment, Path locksDir) throws IOException {
+            final Path workDir = Files.createTempDirectory("server-migration-worker");
+            final Path requestFile = workDir.resolve("request.properties");
+            final Path resultFile = workDir.resolve("result.bin");
+            outputFile = workDir.resolve("output.log");
+            final Properties request = new Properties();
+            request.setProperty(REQUEST_FROM, from.toString());
+            request.setProperty(REQUEST_TO, to.toString());
+            request.setProperty(REQUEST_TASK_PATH, taskPath);
+            request.setProperty(REQUEST_RESULT, resultFile.toString());
+            request.setProperty(REQUEST_FILES_LOCK, locksDir.resolve("files.lock").toString());
+            request.setProperty(REQUEST_HOST_CONTROLLER_LOCK, locksDir.resolve("host-controller.lock").toString());
+            for (String name : environment.getPropertyNames()) {
+                final String value = environment.getPropertyAsString(name);
+                if (value != null) {
+                    request.setProperty(REQUEST_ENVIRONMENT_PREFIX + name, value);
+                }
+            }
+            try (OutputStream out = Files.newOutputStream(requestFile)) {
+                request.store(out, null);
+            }
+            final List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+                // the worker must not listen on the parent's debug port
+                if (!argument.startsWith("-agentlib:jdwp") && !argument.startsWith("-Xrunjdwp") && !argument.equals("-Xdebug")) {
+                    command.add(argument);
+                }
+            }
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(ConfigurationMigrationWorkers.class.getName());
+            command.add(requestFile.toString());
+            final Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(outputFile.toFile()).start();
+            final int exitValue;
+            try {
+                exitValue = process.waitFor();
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+                throw new ServerMigrationFailureException("Worker migrating "+taskName+" interrupted");
+            }
+            if (exitValue == 0 && Files.exists(resultFile)) {
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(resultFile)))) {
+                    replayedTask = readTaskExecution(in);
+                }
+            } else {
+                final ServerMigrationFailureException failReason = new ServerMigrationFailureException("Worker migrating "+taskName+" failed with exit value "+exitValue+", see its output in "+outputFile);
+                replayedTask = new ReplayedTask(taskName, ServerMigrationTaskResult.fail(failReason), new ArrayList<>());
+            }
+            Files.delete(requestFile);
+            Files.deleteIfExists(resultFile);
+            deleteRecursively(workDir.resolve("embedded"));
+            return this;
+        }
+
+        void printOutput(TaskContext context) throws ServerMigrationFailureException {
+            try {
+                for (String line : Files.readAllLines(outputFile, StandardCharsets.UTF_8)) {
+                    context.getConsoleWrapper().printf("%s%n", line);
+                }
+                if (replayedTask.getResult().getStatus() != ServerMigrationTaskResult.Status.FAIL) {
+                    Files.delete(outputFile);
+                    Files.delete(outputFile.getParent());
+                }
+            } catch (IOException e) {
+                throw new ServerMigrationFailureException(e);
+            }
+        }
+
+        ReplayedTask getReplayedTask() {
+            return replayedTask;
+        }
+    }
+
+    /**
+     * A task which replays a task execution of a worker JVM, i.e. returns its result, after replaying its subtasks.
+     */
+    private static class ReplayedTask implements ServerMigrationTask {
+
+        private final ServerMigrationTaskName name;
+        private final ServerMigrationTaskResult result;
+        private final List<ReplayedTask> subtasks;
+
+        ReplayedTask(ServerMigrationTaskName name, ServerMigrationTaskResult result, List<ReplayedTask> subtasks) {
+            this.name = name;
+            this.result = result;
+            this.subtasks = subtasks;
+        }
+
+        @Override
+        public ServerMigrationTaskName getName() {
+            return name;
+        }
+
+        ServerMigrationTaskResult getResult() {
+            return result;
+        }
+
+        @Override
+        public ServerMigrationTaskResult run(TaskContext context) {
+            for (ReplayedTask subtask : subtasks) {
+                context.execute(subtask);
+            }
+            return result;
+        }
+    }
+}
@@ -18,12 +18,16 @@ package org.jboss.migration.wfly10.config.task;
 
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.dmr.ModelNode;
+import org.jboss.migration.core.ServerMigrationFailureException;
 import org.jboss.migration.core.console.ConsoleWrapper;
+import org.jboss.migration.core.env.EnvironmentProperties;
+import org.jboss.migration.core.env.EnvironmentProperty;
 import org.jboss.migration.core.jboss.JBossServerConfiguration;
 import org.jboss.migration.core.task.ServerMigrationTask;
 import org.jboss.migration.core.task.ServerMigrationTaskName;
 import org.jboss.migration.core.task.ServerMigrationTaskResult;
 import org.jboss.migration.core.task.TaskContext;
+import org.jboss.migration.core.util.xml.XMLFilePipeline;
 import org.jboss.migration.wfly10.WildFlyServer10;
 import org.jboss.migration.wfly10.config.management.ManageableResource;
 import org.jboss.migration.wfly10.config.management.ManageableServerConfiguration;
@@ -35,7 +39,11 @@ import org.jboss.migration.wfly10.config.task.management.resources.ManageableRes
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.*;
 
@@ -49,6 +57,16 @@ public class ServerConfigurationMigration<S, T extends ManageableServerConfigura
 
     public static final String MIGRATION_REPORT_TASK_ATTR_SOURCE = "source";
 
+    /**
+     * the environment property which specifies if the writes of each management subtask should be batched into composite operations, by default false
+     */
+    public static final EnvironmentProperty<Boolean> ENVIRONMENT_PROPERTY_MANAGEMENT_BATCH = EnvironmentProperties.newBooleanProperty("management.batch", false);
+
+    /**
+     * The lock held while a configuration is managed, since embedded processes rely on JVM global state, and must not run concurrently, even when configurations are migrated in parallel.
+     */
+    private static final Lock MANAGEABLE_CONFIGURATION_LOCK = new ReentrantLock(true);
+
     private final String configType;
     protected final XMLConfigurationProvider xmlConfigurationProvider;
     protected final ManageableConfigurationProvider<T> manageableConfigurationProvider;
@@ -82,32 +100,14 @@ public class ServerConfigurationMigration<S, T extends ManageableServerConfigura
                 // create xml config
                 final JBossServerConfiguration targetConfiguration = xmlConfigurationProvider.getXMLConfiguration(source, targetConfigurationType, target, context);
                 // execute xml config subtasks
-                for (XMLConfigurationSubtaskFactory subtaskFactory : xmlConfigurationSubtaskFactories) {
-                    final ServerMigrationTask subtask = subtaskFactory.getTask(source, targetConfiguration);
-                    if (subtask != null) {
-                        context.execute(subtask);
-                    }
-                }
+                migrateXMLConfiguration(source, targetConfiguration, context);
                 // config through management
                 if (manageableConfigurationProvider != null) {
-                    final T configurationManagement = manageableConfigurationProvider.getManageableConfiguration(targetConfiguration, target);
-                    //context.getConsoleWrapper().printf("%n%n");
-                    context.getLogger().debugf("Starting target configuration %s...", targetConfiguration.getPath().getFileName());
-                    configurationManagement.start();
+                    MANAGEABLE_CONFIGURATION_LOCK.lock();
                     try {
-                        final ModelNode op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, null);
-                        op.get(RECURSIVE).set(true);
-                        op.get(INCLUDE_DEFAULTS).set(false);
-                        //context.getLogger().tracef("Configuration resource description: %s", configurationManagement.executeManagementOperation(op));
-                        // execute config management subtasks
-                        for (ManageableServerConfigurationTaskFactory subtaskFactory : manageableConfigurationSubtaskFactories) {
-                            final ServerMigrationTask subtask = subtaskFactory.getTask(source, configurationManagement);
-                            if (subtask != null) {
-                                context.execute(subtask);
-                            }
-                        }
+                        migrateManageableConfiguration(source, targetConfiguration, target, context);
                     } finally {
-                        configurationManagement.stop();
+                        MANAGEABLE_CONFIGURATION_LOCK.unlock();
                     }
                 }
                 //consoleWrapper.printf("%n");
@@ -116,6 +116,74 @@ public class ServerConfigurationMigration<S, T extends ManageableServerConfigura
         };
     }
 
+    protected void migrateXMLConfiguration(final S source, final JBossServerConfiguration targetConfiguration, final TaskContext context) {
+        int i = 0;
+        while (i < xmlConfigurationSubtaskFactories.size()) {
+            if (xmlConfigurationSubtaskFactories.get(i) instanceof XMLConfigurationPipelineSubtaskFactory) {
+                // consecutive pipeline subtask factories share a single pass over the xml file
+                final XMLFilePipeline.Builder pipelineBuilder = new XMLFilePipeline.Builder();
+                final Map<ServerMigrationTask, Object> subtasks = new LinkedHashMap<>();
+                while (i < xmlConfigurationSubtaskFactories.size() && xmlConfigurationSubtaskFactories.get(i) instanceof XMLConfigurationPipelineSubtaskFactory) {
+                    final XMLConfigurationPipelineSubtaskFactory<S> subtaskFactory = (XMLConfigurationPipelineSubtaskFactory<S>) xmlConfigurationSubtaskFactories.get(i++);
+                    // the factory owns the filters and processors it adds, thus their failures are reported by its subtask
+                    pipelineBuilder.owner(subtaskFactory);
+                    final ServerMigrationTask subtask = subtaskFactory.getTask(source, targetConfiguration, pipelineBuilder, context);
+                    if (subtask != null) {
+                        subtasks.put(subtask, subtaskFactory);
+                    }
+                }
+                final XMLFilePipeline pipeline = pipelineBuilder.owner(null).build();
+                final Map<Object, ServerMigrationFailureException> failures = pipeline.run(targetConfiguration.getPath());
+                if (pipeline.hasFilters()) {
+                    targetConfiguration.invalidateConfigurationModel();
+                }
+                for (Map.Entry<ServerMigrationTask, Object> subtask : subtasks.entrySet()) {
+                    final ServerMigrationFailureException failure = failures.get(subtask.getValue());
+                    if (failure != null) {
+                        context.execute(subtask.getKey().getName(), subtaskContext -> {
+                            throw failure;
+                        });
+                    } else {
+                        context.execute(subtask.getKey());
+                    }
+                }
+            } else {
+                final ServerMigrationTask subtask = xmlConfigurationSubtaskFactories.get(i++).getTask(source, targetConfiguration);
+                if (subtask != null) {
+                    context.execute(subtask);
+                }
+            }
+        }
+    }
+
+    protected void migrateManageableConfiguration(final S source, final JBossServerConfiguration targetConfiguration, final WildFlyServer10 target, final TaskContext context) {
+        final T configurationManagement = manageableConfigurationProvider.getManageableConfiguration(targetConfiguration, target);
+        //context.getConsoleWrapper().printf("%n%n");
+        context.getLogger().debugf("Starting target configuration %s...", targetConfiguration.getPath().getFileName());
+        configurationManagement.start();
+        try {
+            final ModelNode op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, null);
+            op.get(RECURSIVE).set(true);
+            op.get(INCLUDE_DEFAULTS).set(false);
+            //context.getLogger().tracef("Configuration resource description: %s", configurationManagement.executeManagementOperation(op));
+            // execute config management subtasks
+            final boolean batch = ENVIRONMENT_PROPERTY_MANAGEMENT_BATCH.getValue(context.getMigrationEnvironment());
+            for (ManageableServerConfigurationTaskFactory subtaskFactory : manageableConfigurationSubtaskFactories) {
+                final ServerMigrationTask subtask = subtaskFactory.getTask(source, configurationManagement);
+                if (subtask != null) {
+                    if (batch) {
+                        // the writes of the subtask, and of each of its subtasks, are executed as composite operations, flushed before the task ends, thus failures are reported by the task which executed the write
+                        context.execute(subtask.getName(), subtaskContext -> BatchTaskContext.run(subtask.getName(), subtask::run, subtaskContext, configurationManagement));
+                    } else {
+                        context.execute(subtask);
+                    }
+                }
+            }
+        } finally {
+            configurationManagement.stop();
+        }
+    }
+
     /**
      * Component responsible for providing the target XML configuration.
      * @param <S>
@@ -136,6 +204,24 @@ public class ServerConfigurationMigration<S, T extends ManageableServerConfigura
         ServerMigrationTask getTask(S source, JBossServerConfiguration targetConfigFilePath);
     }
 
+    /**
+     * A XML configuration subtask factory, which XML filters and processors run in a pipeline, i.e. in a single pass over the XML file shared with the consecutive factories of this type.
+     * Note that the pipeline processors see the XML file content before any of the pipeline filters is applied.
+     * Failures of the filters and processors added by a factory are reported by its subtask, which then fails without running.
+     * @param <S>
+     */
+    public interface XMLConfigurationPipelineSubtaskFactory<S> extends XMLConfigurationSubtaskFactory<S> {
+        /**
+         * Retrieves the subtask, and adds its XML filters and processors to the pipeline, which runs before the subtask is executed.
+         * @param source the source configuration
+         * @param targetConfigFilePath the target configuration
+         * @param pipelineBuilder the builder of the pipeline
+         * @param context the context of the configuration migration task
+         * @return the subtask, which should report the work done by its filters and processors
+         */
+        ServerMigrationTask getTask(S source, JBossServerConfiguration targetConfigFilePath, XMLFilePipeline.Builder pipelineBuilder, TaskContext context);
+    }
+
 
     /**
      * The ServerConfigurationMigration ext base builder.
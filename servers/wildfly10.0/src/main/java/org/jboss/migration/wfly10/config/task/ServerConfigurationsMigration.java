@@ -21,6 +21,8 @@ import org.jboss.migration.core.ServerMigrationFailureException;
 import org.jboss.migration.core.console.BasicResultHandlers;
 import org.jboss.migration.core.console.ConsoleWrapper;
 import org.jboss.migration.core.console.UserConfirmation;
+import org.jboss.migration.core.env.EnvironmentProperties;
+import org.jboss.migration.core.env.EnvironmentProperty;
 import org.jboss.migration.core.jboss.JBossServerConfiguration;
 import org.jboss.migration.core.task.ServerMigrationTask;
 import org.jboss.migration.core.task.ServerMigrationTaskName;
@@ -28,7 +30,9 @@ import org.jboss.migration.core.task.ServerMigrationTaskResult;
 import org.jboss.migration.core.task.TaskContext;
 import org.jboss.migration.wfly10.WildFlyServer10;
 import org.jboss.migration.wfly10.config.management.ManageableServerConfiguration;
+import org.jboss.migration.wfly10.config.management.impl.EmbeddedProcesses;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -40,6 +44,16 @@ import static org.jboss.migration.core.logger.ServerMigrationLogger.ROOT_LOGGER;
  */
 public class ServerConfigurationsMigration<S extends Server, C, T extends ManageableServerConfiguration> {
 
+    /**
+     * the environment property which specifies if each configuration is migrated by a worker JVM, which allows multiple configurations to be migrated concurrently, only possible if the migration is not interactive
+     */
+    public static final EnvironmentProperty<Boolean> ENVIRONMENT_PROPERTY_FORK = EnvironmentProperties.newBooleanProperty("configurations.fork", false);
+
+    /**
+     * the environment property which sets the max number of worker JVMs migrating configurations concurrently, by default the number of available processors
+     */
+    public static final EnvironmentProperty<Integer> ENVIRONMENT_PROPERTY_FORK_CONCURRENCY = EnvironmentProperties.newIntegerProperty("configurations.forkConcurrency", Runtime.getRuntime().availableProcessors());
+
     private final ServerMigrationTaskName taskName;
     private final SourceConfigurations<S, C> sourceConfigurations;
     private final ServerConfigurationMigration<C, T> configFileMigration;
@@ -51,7 +65,7 @@ public class ServerConfigurationsMigration<S extends Server, C, T extends Manage
     }
 
     public ServerMigrationTask getServerMigrationTask(S source, WildFlyServer10 target, JBossServerConfiguration.Type targetConfigurationType) {
-        return new Task<>(getServerMigrationTaskName(), sourceConfigurations.getConfigurations(source, target), target, targetConfigurationType, configFileMigration);
+        return new Task<>(getServerMigrationTaskName(), source, sourceConfigurations.getConfigurations(source, target), target, targetConfigurationType, configFileMigration);
     }
 
     /**
@@ -65,13 +79,19 @@ public class ServerConfigurationsMigration<S extends Server, C, T extends Manage
     protected static class Task<S, T extends ManageableServerConfiguration> implements ServerMigrationTask {
 
         private final ServerMigrationTaskName name;
+        private final Server source;
         private final List<S> sourceConfigs;
         private final JBossServerConfiguration.Type targetConfigurationType;
         private final WildFlyServer10 target;
         private final ServerConfigurationMigration<S, T> configFileMigration;
 
         protected Task(ServerMigrationTaskName name, List<S> sourceConfigs, WildFlyServer10 target, JBossServerConfiguration.Type targetConfigurationType, ServerConfigurationMigration<S, T> configFileMigration) {
+            this(name, null, sourceConfigs, target, targetConfigurationType, configFileMigration);
+        }
+
+        protected Task(ServerMigrationTaskName name, Server source, List<S> sourceConfigs, WildFlyServer10 target, JBossServerConfiguration.Type targetConfigurationType, ServerConfigurationMigration<S, T> configFileMigration) {
             this.name = name;
+            this.source = source;
             this.sourceConfigs = sourceConfigs;
             this.targetConfigurationType = targetConfigurationType;
             this.target = target;
@@ -94,31 +114,62 @@ public class ServerConfigurationsMigration<S extends Server, C, T extends Manage
                 return ServerMigrationTaskResult.SKIPPED;
             }
 
-            if (taskContext.isInteractive()) {
-                final BasicResultHandlers.UserConfirmation resultHandler = new BasicResultHandlers.UserConfirmation();
-                new UserConfirmation(consoleWrapper, "Migrate all configurations?", ROOT_LOGGER.yesNo(), resultHandler).execute();
-                switch (resultHandler.getResult()) {
-                    case NO:
-                        confirmAllConfigs(sourceConfigs, targetConfigurationType, target, taskContext);
-                        break;
-                    case YES:
-                        migrateAllConfigs(sourceConfigs, targetConfigurationType, target, taskContext);
-                        break;
-                    case ERROR:
-                        return run(taskContext);
-                    default:
-                        throw new ServerMigrationFailureException("unexpected user interaction result");
+            try {
+                if (taskContext.isInteractive()) {
+                    final BasicResultHandlers.UserConfirmation resultHandler = new BasicResultHandlers.UserConfirmation();
+                    new UserConfirmation(consoleWrapper, "Migrate all configurations?", ROOT_LOGGER.yesNo(), resultHandler).execute();
+                    switch (resultHandler.getResult()) {
+                        case NO:
+                            confirmAllConfigs(sourceConfigs, targetConfigurationType, target, taskContext);
+                            break;
+                        case YES:
+                            migrateAllConfigs(sourceConfigs, targetConfigurationType, target, taskContext);
+                            break;
+                        case ERROR:
+                            return run(taskContext);
+                        default:
+                            throw new ServerMigrationFailureException("unexpected user interaction result");
+                    }
+                } else {
+                    migrateAllConfigs(sourceConfigs, targetConfigurationType, target, taskContext);
                 }
-            } else {
-                migrateAllConfigs(sourceConfigs, targetConfigurationType, target, taskContext);
+            } finally {
+                // the embedded process may be reused by all configurations of the same type
+                EmbeddedProcesses.stop();
             }
             return taskContext.hasSucessfulSubtasks() ? ServerMigrationTaskResult.SUCCESS : ServerMigrationTaskResult.SKIPPED;
         }
 
         protected void migrateAllConfigs(Collection<S> sourceConfigs, final JBossServerConfiguration.Type targetConfigurationType, WildFlyServer10 target, final TaskContext taskContext) {
+            if (isMigrateConfigOverridden()) {
+                // the config migration is customized, thus each config is migrated through it
+                for (S sourceConfig : sourceConfigs) {
+                    migrateConfig(sourceConfig, targetConfigurationType, target, taskContext);
+                }
+                return;
+            }
+            // each config migration is independent, and may be executed in parallel
+            final List<ServerMigrationTask> subtasks = new ArrayList<>();
             for (S sourceConfig : sourceConfigs) {
-                migrateConfig(sourceConfig, targetConfigurationType, target, taskContext);
+                subtasks.add(getConfigMigrationTask(sourceConfig, targetConfigurationType, target));
             }
+            taskContext.getConsoleWrapper().println();
+            if (isForked(subtasks, taskContext)) {
+                ConfigurationMigrationWorkers.migrate(subtasks, source, target, ENVIRONMENT_PROPERTY_FORK_CONCURRENCY.getValue(taskContext.getMigrationEnvironment()), taskContext);
+            } else {
+                taskContext.executeAll(subtasks);
+            }
+        }
+
+        protected boolean isForked(List<ServerMigrationTask> subtasks, TaskContext taskContext) {
+            if (source == null || subtasks.size() < 2 || !ENVIRONMENT_PROPERTY_FORK.getValue(taskContext.getMigrationEnvironment())) {
+                return false;
+            }
+            if (taskContext.isInteractive()) {
+                taskContext.getLogger().debugf("Migration of configurations by worker JVMs is not supported by interactive migrations.");
+                return false;
+            }
+            return true;
         }
 
         protected void confirmAllConfigs(Collection<S> sourceConfigs, final JBossServerConfiguration.Type targetConfigurationType, WildFlyServer10 target, final TaskContext taskContext) {
@@ -148,7 +199,31 @@ public class ServerConfigurationsMigration<S extends Server, C, T extends Manage
 
         protected void migrateConfig(final S sourceConfig, final JBossServerConfiguration.Type targetConfigurationType, final WildFlyServer10 target, final TaskContext taskContext) {
             taskContext.getConsoleWrapper().println();
-            taskContext.execute(configFileMigration.getServerMigrationTask(sourceConfig, targetConfigurationType, target));
+            taskContext.execute(getConfigMigrationTask(sourceConfig, targetConfigurationType, target));
+        }
+
+        /**
+         * Retrieves the task which migrates a config, whether executed by {@link #migrateConfig(Object, JBossServerConfiguration.Type, WildFlyServer10, TaskContext)}, or together with the other configs by {@link #migrateAllConfigs(Collection, JBossServerConfiguration.Type, WildFlyServer10, TaskContext)}.
+         * @param sourceConfig the source config
+         * @param targetConfigurationType the target configuration type
+         * @param target the target server
+         * @return the config migration task
+         */
+        protected ServerMigrationTask getConfigMigrationTask(final S sourceConfig, final JBossServerConfiguration.Type targetConfigurationType, final WildFlyServer10 target) {
+            return configFileMigration.getServerMigrationTask(sourceConfig, targetConfigurationType, target);
+        }
+
+        private boolean isMigrateConfigOverridden() {
+            for (Class<?> c = getClass(); c != null && c != Task.class; c = c.getSuperclass()) {
+                try {
+                    // an override with a specific config type has a bridge method with the erased signature
+                    c.getDeclaredMethod("migrateConfig", Object.class, JBossServerConfiguration.Type.class, WildFlyServer10.class, TaskContext.class);
+                    return true;
+                } catch (NoSuchMethodException e) {
+                    // not overridden by this class
+                }
+            }
+            return false;
         }
     }
 
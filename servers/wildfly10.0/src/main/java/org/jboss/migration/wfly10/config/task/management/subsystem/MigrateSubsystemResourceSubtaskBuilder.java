@@ -21,10 +21,10 @@ import org.jboss.dmr.ModelNode;
 import org.jboss.migration.core.ServerMigrationFailureException;
 import org.jboss.migration.core.task.ServerMigrationTaskResult;
 import org.jboss.migration.core.task.TaskContext;
+import org.jboss.migration.wfly10.config.management.ManagementOperationException;
 import org.jboss.migration.wfly10.config.management.SubsystemResource;
 import org.jboss.migration.wfly10.config.task.management.resource.ManageableResourceLeafTask;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -49,39 +49,40 @@ public class MigrateSubsystemResourceSubtaskBuilder<S> extends ManageableResourc
         final ModelNode op = Util.createEmptyOperation("migrate", subsystemResource.getResourcePathAddress());
         final ModelNode result;
         try {
-            result = subsystemResource.getServerConfiguration().getModelControllerClient().execute(op);
-        } catch (IOException e) {
-            throw new ServerMigrationFailureException("Subsystem config "+configName+" migration failed", e);
+            // executed through the configuration, which flushes batched writes, and invalidates the model snapshot
+            result = subsystemResource.getServerConfiguration().executeManagementOperation(op);
+        } catch (ManagementOperationException e) {
+            final ModelNode failedResult = e.getResult();
+            if (failedResult == null) {
+                throw new ServerMigrationFailureException("Subsystem config "+configName+" migration failed", e);
+            }
+            taskContext.getLogger().debugf("Migration op result: %s", failedResult.asString());
+            final String description = failedResult.hasDefined("migration-error") ? failedResult.get("migration-error").asString()
+                    : failedResult.get("failure-description").asString();
+            throw new ServerMigrationFailureException("Subsystem config "+configName+" migration failed: "+description);
         }
         taskContext.getLogger().debugf("Migration op result: %s", result.asString());
-        final String outcome = result.get(OUTCOME).asString();
-        if(!SUCCESS.equals(outcome)) {
-            final String description = result.hasDefined("migration-error") ? result.get("migration-error").asString()
-                    : result.get("failure-description").asString();
-            throw new ServerMigrationFailureException("Subsystem config "+configName+" migration failed: "+description);
-        } else {
-            final ServerMigrationTaskResult.Builder resultBuilder = new ServerMigrationTaskResult.Builder().success();
-            final List<String> migrateWarnings = new ArrayList<>();
-            if (result.get(RESULT).hasDefined("migration-warnings")) {
-                for (ModelNode modelNode : result.get(RESULT).get("migration-warnings").asList()) {
-                    migrateWarnings.add(modelNode.asString());
-                }
-            }
-            processWarnings(migrateWarnings, subsystemResource, taskContext);
-            if (migrateWarnings.isEmpty()) {
-                taskContext.getLogger().debugf("Subsystem config %s migrated.", configName);
-            } else {
-                taskContext.getLogger().debugf("Subsystem config %s migrated with warnings: %s", configName, migrateWarnings);
-                resultBuilder.addAttribute("migration-warnings", migrateWarnings);
+        final ServerMigrationTaskResult.Builder resultBuilder = new ServerMigrationTaskResult.Builder().success();
+        final List<String> migrateWarnings = new ArrayList<>();
+        if (result.get(RESULT).hasDefined("migration-warnings")) {
+            for (ModelNode modelNode : result.get(RESULT).get("migration-warnings").asList()) {
+                migrateWarnings.add(modelNode.asString());
             }
-            // FIXME tmp workaround for legacy subsystems which do not remove itself
-            if (subsystemResource.getResourceConfiguration() != null) {
-                // remove itself after migration
-                subsystemResource.getParentResource().removeChildResource(SubsystemResource.RESOURCE_TYPE, subsystemResource.getResourceName());
-                taskContext.getLogger().debugf("Subsystem config %s removed after migration.", configName);
-            }
-            return resultBuilder.build();
         }
+        processWarnings(migrateWarnings, subsystemResource, taskContext);
+        if (migrateWarnings.isEmpty()) {
+            taskContext.getLogger().debugf("Subsystem config %s migrated.", configName);
+        } else {
+            taskContext.getLogger().debugf("Subsystem config %s migrated with warnings: %s", configName, migrateWarnings);
+            resultBuilder.addAttribute("migration-warnings", migrateWarnings);
+        }
+        // FIXME tmp workaround for legacy subsystems which do not remove itself
+        if (subsystemResource.getResourceConfiguration() != null) {
+            // remove itself after migration
+            subsystemResource.getParentResource().removeChildResource(SubsystemResource.RESOURCE_TYPE, subsystemResource.getResourceName());
+            taskContext.getLogger().debugf("Subsystem config %s removed after migration.", configName);
+        }
+        return resultBuilder.build();
     }
 
     protected void processWarnings(List<String> migrateWarnings, SubsystemResource subsystemResource, TaskContext taskContext) {
@@ -24,9 +24,9 @@ import org.jboss.migration.core.jboss.ModulesMigrationTask;
 import org.jboss.migration.core.task.ServerMigrationTask;
 import org.jboss.migration.core.task.ServerMigrationTaskName;
 import org.jboss.migration.core.task.TaskContext;
+import org.jboss.migration.core.util.xml.XmlFactories;
 import org.jboss.migration.wfly10.config.task.ServerConfigurationMigration;
 
-import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamReader;
 import java.io.BufferedInputStream;
 import java.io.FileInputStream;
@@ -78,23 +78,35 @@ public class ConfigurationModulesMigrationTaskFactory<S extends JBossServer<S>>
         @Override
         protected void migrateModules(ModuleMigrator moduleMigrator, TaskContext context) {
             context.getLogger().debugf("Migrating modules referenced by the configuration...");
-            try (InputStream in = new BufferedInputStream(new FileInputStream(targetConfigurationPath.getPath().toFile()))) {
-                XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(in);
-                reader.require(START_DOCUMENT, null, null);
-                while (reader.hasNext()) {
-                    if (reader.next() == START_ELEMENT) {
-                        processElement(reader, moduleMigrator, context);
+            // finders which process the configuration model do not need the xml file parsing
+            final Map<String, List<ModulesFinder>> elementModulesFinders = new HashMap<>();
+            try {
+                for (Map.Entry<String, List<ModulesFinder>> entry : modulesFinders.entrySet()) {
+                    for (ModulesFinder modulesFinder : entry.getValue()) {
+                        if (!modulesFinder.processConfigurationModel(targetConfigurationPath, moduleMigrator, context)) {
+                            elementModulesFinders.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(modulesFinder);
+                        }
                     }
                 }
-            } catch (Exception e) {
+            } catch (IOException e) {
                 throw new ServerMigrationFailureException(e);
             }
-            if (!context.hasSucessfulSubtasks()) {
-                context.getLogger().debugf("No referenced modules to migrate.");
+            if (!elementModulesFinders.isEmpty()) {
+                try (InputStream in = new BufferedInputStream(new FileInputStream(targetConfigurationPath.getPath().toFile()))) {
+                    XMLStreamReader reader = XmlFactories.createXMLStreamReader(in);
+                    reader.require(START_DOCUMENT, null, null);
+                    while (reader.hasNext()) {
+                        if (reader.next() == START_ELEMENT) {
+                            processElement(reader, elementModulesFinders, moduleMigrator, context);
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new ServerMigrationFailureException(e);
+                }
             }
         }
 
-        protected void processElement(XMLStreamReader reader, ModuleMigrator moduleMigrator, TaskContext context) throws IOException {
+        protected void processElement(XMLStreamReader reader, Map<String, List<ModulesFinder>> modulesFinders, ModuleMigrator moduleMigrator, TaskContext context) throws IOException {
             final List<ModulesFinder> elementModulesFinders = modulesFinders.get(reader.getLocalName());
             if (elementModulesFinders != null) {
                 for (ModulesFinder modulesFinder : elementModulesFinders) {
@@ -112,6 +124,15 @@ public class ConfigurationModulesMigrationTaskFactory<S extends JBossServer<S>>
          * @return
          */
         String getElementLocalName();
+        /**
+         * Processes the configuration's {@link org.jboss.migration.core.jboss.ConfigurationModel}, instead of its XML elements.
+         * @param configuration the configuration
+         * @param moduleMigrator the module migrator
+         * @return true if the finder processed the configuration model, and thus should not process the XML elements, false otherwise
+         */
+        default boolean processConfigurationModel(JBossServerConfiguration configuration, ModulesMigrationTask.ModuleMigrator moduleMigrator, TaskContext context) throws IOException {
+            return false;
+        }
         /**
          *
          * @param reader the XML stream reader, positioned at the start of an element of interest
@@ -41,7 +41,7 @@ public class DatasourcesJdbcDriversModulesFinder implements ConfigurationModules
         }
         final String moduleId = reader.getAttributeValue(null, "module");
         if (moduleId != null) {
-            moduleMigrator.migrateModule(moduleId, "Referenced as the source of a datasource JDBC driver", context);
+            moduleMigrator.queueModule(moduleId, "Referenced as the source of a datasource JDBC driver", context);
         }
     }
 }
@@ -44,7 +44,7 @@ public class DefaultJsfImplModulesFinder implements ConfigurationModulesMigratio
         }
         final String moduleSlot = reader.getAttributeValue(null, "default-jsf-impl-slot");
         if (moduleSlot != null) {
-            moduleMigrator.migrateModule(JSF_IMPL_MODULE_NAME + moduleSlot, "Referenced as the source of default JSF implementation", context);
+            moduleMigrator.queueModule(JSF_IMPL_MODULE_NAME + moduleSlot, "Referenced as the source of default JSF implementation", context);
         }
     }
 }
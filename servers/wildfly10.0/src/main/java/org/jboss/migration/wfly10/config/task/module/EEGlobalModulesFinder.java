@@ -45,6 +45,6 @@ public class EEGlobalModulesFinder implements ConfigurationModulesMigrationTaskF
         if (slot == null) {
             slot = "main";
         }
-        moduleMigrator.migrateModule(ModuleIdentifier.create(name, slot), "EE Subsystem's Global Module", context);
+        moduleMigrator.queueModule(ModuleIdentifier.create(name, slot), "EE Subsystem's Global Module", context);
     }
 }
@@ -17,6 +17,8 @@
 package org.jboss.migration.wfly10.config.task.module;
 
 import org.jboss.migration.core.env.MigrationEnvironment;
+import org.jboss.migration.core.jboss.ConfigurationModel;
+import org.jboss.migration.core.jboss.JBossServerConfiguration;
 import org.jboss.migration.core.jboss.ModulesMigrationTask;
 import org.jboss.migration.core.task.TaskContext;
 import org.jboss.migration.wfly10.config.task.update.RemoveUnsupportedExtensions;
@@ -37,6 +39,18 @@ public class ExtensionModulesFinder implements ConfigurationModulesMigrationTask
         return "extension";
     }
 
+    @Override
+    public boolean processConfigurationModel(JBossServerConfiguration configuration, ModulesMigrationTask.ModuleMigrator moduleMigrator, TaskContext context) throws IOException {
+        final Set<String> accepted = getAcceptedModuleNames(moduleMigrator, context);
+        for (ConfigurationModel.Element extension : configuration.getConfigurationModel().getElements(getElementLocalName(), "urn:jboss:domain:")) {
+            final String moduleId = extension.getAttribute("module");
+            if (moduleId != null && accepted.contains(moduleId)) {
+                moduleMigrator.queueModule(moduleId, "Required by Extension", context);
+            }
+        }
+        return true;
+    }
+
     @Override
     public void processElement(XMLStreamReader reader, ModulesMigrationTask.ModuleMigrator moduleMigrator, TaskContext context) throws IOException {
         final String namespaceURI = reader.getNamespaceURI();
@@ -44,15 +58,17 @@ public class ExtensionModulesFinder implements ConfigurationModulesMigrationTask
             return;
         }
         final String moduleId = reader.getAttributeValue(null, "module");
-        if (moduleId != null) {
-            // gather the module names of extensions to accept (env property includes + target server extensions - env property excludes)
-            final Set<String> accepted = new HashSet<>(moduleMigrator.getTargetServer().getExtensions().getExtensionModuleNames());
-            final MigrationEnvironment environment = context.getMigrationEnvironment();
-            accepted.addAll(environment.getPropertyAsList(RemoveUnsupportedExtensions.EnvironmentProperties.INCLUDES, Collections.emptyList()));
-            accepted.removeAll(environment.getPropertyAsList(RemoveUnsupportedExtensions.EnvironmentProperties.EXCLUDES, Collections.emptyList()));
-            if (accepted.contains(moduleId)) {
-                moduleMigrator.migrateModule(moduleId, "Required by Extension", context);
-            }
+        if (moduleId != null && getAcceptedModuleNames(moduleMigrator, context).contains(moduleId)) {
+            moduleMigrator.queueModule(moduleId, "Required by Extension", context);
         }
     }
+
+    private Set<String> getAcceptedModuleNames(ModulesMigrationTask.ModuleMigrator moduleMigrator, TaskContext context) {
+        // gather the module names of extensions to accept (env property includes + target server extensions - env property excludes)
+        final Set<String> accepted = new HashSet<>(moduleMigrator.getTargetServer().getExtensions().getExtensionModuleNames());
+        final MigrationEnvironment environment = context.getMigrationEnvironment();
+        accepted.addAll(environment.getPropertyAsList(RemoveUnsupportedExtensions.EnvironmentProperties.INCLUDES, Collections.emptyList()));
+        accepted.removeAll(environment.getPropertyAsList(RemoveUnsupportedExtensions.EnvironmentProperties.EXCLUDES, Collections.emptyList()));
+        return accepted;
+    }
 }
@@ -41,7 +41,7 @@ public class JMSBridgesModulesFinder implements ConfigurationModulesMigrationTas
         }
         final String moduleId = reader.getAttributeValue(null, "module");
         if (moduleId != null) {
-            moduleMigrator.migrateModule(moduleId, "Required by JMS Bridge " + reader.getAttributeValue(null, "name"), context);
+            moduleMigrator.queueModule(moduleId, "Required by JMS Bridge " + reader.getAttributeValue(null, "name"), context);
         }
     }
 
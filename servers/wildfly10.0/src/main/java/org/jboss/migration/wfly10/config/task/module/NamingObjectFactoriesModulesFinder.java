@@ -41,7 +41,7 @@ public class NamingObjectFactoriesModulesFinder implements ConfigurationModulesM
         }
         final String moduleId = reader.getAttributeValue(null, "module");
         if (moduleId != null) {
-            moduleMigrator.migrateModule(moduleId, "Required by Naming's object factory " + reader.getAttributeValue(null, "name"), context);
+            moduleMigrator.queueModule(moduleId, "Required by Naming's object factory " + reader.getAttributeValue(null, "name"), context);
         }
     }
 }
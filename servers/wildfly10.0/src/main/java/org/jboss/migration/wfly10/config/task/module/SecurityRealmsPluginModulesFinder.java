@@ -40,7 +40,7 @@ public class SecurityRealmsPluginModulesFinder implements ConfigurationModulesMi
         }
         final String moduleId = reader.getAttributeValue(null, "module");
         if (moduleId != null) {
-            moduleMigrator.migrateModule(moduleId, "Required by Security Realm plugin", context);
+            moduleMigrator.queueModule(moduleId, "Required by Security Realm plugin", context);
         }
     }
 }
@@ -40,7 +40,7 @@ public class VaultModulesFinder implements ConfigurationModulesMigrationTaskFact
         }
         final String moduleId = reader.getAttributeValue(null, "module");
         if (moduleId != null) {
-            moduleMigrator.migrateModule(moduleId, "Required by Vault", context);
+            moduleMigrator.queueModule(moduleId, "Required by Vault", context);
         }
     }
 }
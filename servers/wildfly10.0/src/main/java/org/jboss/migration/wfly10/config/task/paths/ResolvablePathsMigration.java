@@ -16,6 +16,7 @@
 
 package org.jboss.migration.wfly10.config.task.paths;
 
+import org.jboss.migration.core.jboss.ConfigurationModel;
 import org.jboss.migration.core.jboss.JBossServerConfiguration;
 import org.jboss.migration.core.jboss.MigrateResolvablePathTaskBuilder;
 import org.jboss.migration.core.jboss.ResolvablePath;
@@ -68,6 +69,20 @@ public class ResolvablePathsMigration implements XmlConfigurationMigration.Compo
         return elementLocalNames;
     }
 
+    @Override
+    public boolean processConfigurationModel(JBossServerConfiguration sourceConfiguration, JBossServerConfiguration targetConfiguration, TaskContext taskContext) {
+        final ConfigurationModel configurationModel = targetConfiguration.getConfigurationModel();
+        for (String elementLocalName : elementLocalNames) {
+            for (ConfigurationModel.Element element : configurationModel.getElements(elementLocalName, namespaceURIPrefix)) {
+                final String path = element.getAttribute(ATTR_NAME_PATH);
+                if (path != null) {
+                    resolvablePaths.get(elementLocalName).add(new ResolvablePath(path, element.getAttribute(ATTR_NAME_RELATIVE_TO)));
+                }
+            }
+        }
+        return true;
+    }
+
     @Override
     public void processElement(XMLStreamReader reader, JBossServerConfiguration sourceConfiguration, JBossServerConfiguration targetConfiguration, TaskContext context) throws IOException {
         final String namespaceURI = reader.getNamespaceURI();
@@ -16,6 +16,7 @@
 
 package org.jboss.migration.wfly10.config.task.update;
 
+import org.jboss.migration.core.MigrationFiles;
 import org.jboss.migration.core.jboss.ContentHashToPathMapper;
 import org.jboss.migration.core.jboss.JBossServerConfiguration;
 import org.jboss.migration.core.task.ServerMigrationTaskResult;
@@ -47,9 +48,12 @@ public class MigrateContent implements TaskRunnable {
         final Path contentTarget = targetConfiguration.getContentDir().resolve(contentPath);
         context.getLogger().infof("Target content's path: %s", contentTarget);
         if (!contentSource.equals(contentTarget)) {
-            context.getMigrationFiles().copy(contentSource, contentTarget);
+            // the content path is computed from its hash, thus an incremental copy only needs to check the target's hash
+            final MigrationFiles.CopyStatistics copyStatistics = context.getMigrationFiles().copy(contentSource, contentTarget, MigrationFiles.FileMatcher.sha1(contentHash));
             context.getLogger().infof("Source's content %s migrated to %s.", contentSource, contentTarget);
-            return ServerMigrationTaskResult.SUCCESS;
+            return copyStatistics.addAttributes(new ServerMigrationTaskResult.Builder())
+                    .success()
+                    .build();
         } else {
             context.getLogger().infof("Source equals target content path, skipping content migration");
             return  ServerMigrationTaskResult.SKIPPED;
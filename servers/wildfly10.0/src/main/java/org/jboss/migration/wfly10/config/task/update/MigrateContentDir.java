@@ -19,6 +19,7 @@ package org.jboss.migration.wfly10.config.task.update;
 import org.jboss.migration.core.ServerMigrationFailureException;
 import org.jboss.migration.core.jboss.CopyPath;
 import org.jboss.migration.core.jboss.JBossServer;
+import org.jboss.migration.core.task.ServerMigrationTask;
 import org.jboss.migration.core.task.ServerMigrationTaskName;
 import org.jboss.migration.core.task.ServerMigrationTaskResult;
 import org.jboss.migration.core.task.component.SimpleComponentTask;
@@ -27,6 +28,7 @@ import org.jboss.migration.core.task.component.TaskSkipPolicy;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 import static java.util.stream.Collectors.toList;
@@ -56,11 +58,16 @@ public class MigrateContentDir<S extends JBossServer<S>> extends SimpleComponent
                 return ServerMigrationTaskResult.SKIPPED;
             } else {
                 context.getLogger().debugf("Source's %s content found: %s", contentsName, contents);
-                // execute subtasks
+                // execute subtasks, each content copy is independent
+                final List<ServerMigrationTask> subtasks = new ArrayList<>();
                 for (Path content : contents) {
                     final ServerMigrationTaskName subtaskName = new ServerMigrationTaskName.Builder("contents."+contentsName+".migrate-content").addAttribute("path", content.toString()).build();
-                    context.execute(subtaskName, new CopyPath(sourceContentDir.resolve(content), targetContentDir.resolve(content)));
+                    subtasks.add(new SimpleComponentTask.Builder()
+                            .name(subtaskName)
+                            .runnable(new CopyPath(sourceContentDir.resolve(content), targetContentDir.resolve(content)))
+                            .build());
                 }
+                context.executeAll(subtasks);
                 context.getLogger().infof("Source's %s content migrated.", contentsName);
                 return ServerMigrationTaskResult.SUCCESS;
             }
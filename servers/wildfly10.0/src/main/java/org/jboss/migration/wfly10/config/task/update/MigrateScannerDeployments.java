@@ -21,8 +21,6 @@ import org.jboss.dmr.Property;
 import org.jboss.migration.core.ServerMigrationFailureException;
 import org.jboss.migration.core.console.BasicResultHandlers;
 import org.jboss.migration.core.console.UserConfirmation;
-import org.jboss.migration.core.env.EnvironmentProperties;
-import org.jboss.migration.core.env.EnvironmentProperty;
 import org.jboss.migration.core.env.MigrationEnvironment;
 import org.jboss.migration.core.env.TaskEnvironment;
 import org.jboss.migration.core.jboss.JBossServer;
@@ -40,7 +38,6 @@ import org.jboss.migration.core.jboss.JBossSubsystemNames;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.List;
 
 import static java.util.stream.Collectors.toList;
@@ -55,8 +52,6 @@ import static org.jboss.migration.core.console.BasicResultHandlers.UserConfirmat
  */
 public class MigrateScannerDeployments<S extends JBossServer<S>> extends ManageableServerConfigurationLeafTask.Builder<JBossServerConfiguration<S>> {
 
-    private static final EnvironmentProperty<List<String>> ENV_PROPERTY_PROCESSED_DEPLOYMENT_SCANNER_DIRS = EnvironmentProperties.newStringListProperty("processedDeploymentScannerDirs", new ArrayList<>());
-
     private static final String SCANNER = "scanner";
 
     public MigrateScannerDeployments() {
@@ -96,14 +91,10 @@ public class MigrateScannerDeployments<S extends JBossServer<S>> extends Managea
                                     }
                                 }
                             }
-                            final TaskEnvironment taskEnvironment = new TaskEnvironment(context);
-                            final List<String> processedDeploymentScannerDirs = ENV_PROPERTY_PROCESSED_DEPLOYMENT_SCANNER_DIRS.getValue(taskEnvironment);
-                            final String sourceDeploymentsDirAsString = sourceDeploymentsDir.toString();
-                            if (processedDeploymentScannerDirs.contains(sourceDeploymentsDirAsString)) {
+                            // the dir may be shared by other configurations, which may be migrated by other JVMs
+                            if (!context.getMigrationFiles().markProcessed(sourceDeploymentsDir)) {
                                 context.getLogger().debugf("Already processed source's deployments directory %s, skipping it...", sourceDeploymentsDir);
                             } else {
-                                processedDeploymentScannerDirs.add(sourceDeploymentsDirAsString);
-                                ENV_PROPERTY_PROCESSED_DEPLOYMENT_SCANNER_DIRS.setValue(processedDeploymentScannerDirs, taskEnvironment);
                                 context.getLogger().debugf("Found deployment scanner %s, watching directory %s, searching for non-persistent deployments in it...", property.getName(), sourceDeploymentsDir);
                                 final List<Path> deployments;
                                 try {
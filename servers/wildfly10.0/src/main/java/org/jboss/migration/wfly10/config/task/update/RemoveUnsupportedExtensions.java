@@ -17,6 +17,7 @@
 package org.jboss.migration.wfly10.config.task.update;
 
 import org.jboss.migration.core.env.MigrationEnvironment;
+import org.jboss.migration.core.env.TaskEnvironment;
 import org.jboss.migration.core.jboss.JBossServer;
 import org.jboss.migration.core.jboss.JBossServerConfiguration;
 import org.jboss.migration.core.task.ServerMigrationTask;
@@ -25,13 +26,18 @@ import org.jboss.migration.core.task.ServerMigrationTaskResult;
 import org.jboss.migration.core.task.TaskContext;
 import org.jboss.migration.core.task.component.SimpleComponentTask;
 import org.jboss.migration.core.util.xml.XMLFileFilter;
+import org.jboss.migration.core.util.xml.XMLFilePipeline;
 import org.jboss.migration.core.util.xml.XMLFiles;
+import org.jboss.migration.core.util.xml.XMLStreamFilter;
 import org.jboss.migration.wfly10.config.task.ServerConfigurationMigration;
 
 import javax.xml.namespace.QName;
 import javax.xml.stream.events.Attribute;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.jboss.migration.core.task.component.TaskSkipPolicy.skipIfDefaultTaskSkipPropertyIsSet;
@@ -39,7 +45,7 @@ import static org.jboss.migration.core.task.component.TaskSkipPolicy.skipIfDefau
 /**
  * @author emmartins
  */
-public class RemoveUnsupportedExtensions<S extends JBossServer<S>> implements ServerConfigurationMigration.XMLConfigurationSubtaskFactory<JBossServerConfiguration<S>> {
+public class RemoveUnsupportedExtensions<S extends JBossServer<S>> implements ServerConfigurationMigration.XMLConfigurationPipelineSubtaskFactory<JBossServerConfiguration<S>> {
 
     public interface EnvironmentProperties {
         /**
@@ -62,14 +68,41 @@ public class RemoveUnsupportedExtensions<S extends JBossServer<S>> implements Se
     public static final String SUBTASK_NAME = TASK_NAME +".remove-unsupported-extension";
     public static final String SUBTASK_NAME_ATTRIBUTE_MODULE = "module";
 
+    private static final String EXTENSION = "extension";
+    private static final String EXCLUDED_EXTENSIONS = "excluded-extensions";
+
     @Override
     public ServerMigrationTask getTask(final JBossServerConfiguration<S> source, final JBossServerConfiguration targetConfigurationPath) {
+        return getTask(source, targetConfigurationPath, null);
+    }
+
+    @Override
+    public ServerMigrationTask getTask(final JBossServerConfiguration<S> source, final JBossServerConfiguration targetConfigurationPath, final XMLFilePipeline.Builder pipelineBuilder, final TaskContext context) {
+        final List<String> removed = new ArrayList<>();
+        if (!new TaskEnvironment(context.getMigrationEnvironment(), TASK_NAME).isSkippedByEnvironment()) {
+            pipelineBuilder.filter(getExtensionsFilter(targetConfigurationPath, context.getMigrationEnvironment(), removed), EXTENSION, EXCLUDED_EXTENSIONS);
+        }
+        return getTask(source, targetConfigurationPath, removed);
+    }
+
+    /**
+     * Retrieves the task.
+     * @param source the source configuration
+     * @param targetConfigurationPath the target configuration
+     * @param removed the module names of the extensions removed by the xml pipeline, or null if the task should filter the xml file by itself
+     * @return the task
+     */
+    protected ServerMigrationTask getTask(final JBossServerConfiguration<S> source, final JBossServerConfiguration targetConfigurationPath, final Collection<String> removed) {
         return new SimpleComponentTask.Builder()
                 .name(TASK_NAME)
                 .skipPolicy(skipIfDefaultTaskSkipPropertyIsSet())
                 .runnable(context -> {
                     context.getLogger().debugf("Searching for extensions not supported by the target server...");
-                    removeExtensions(source, targetConfigurationPath, context);
+                    if (removed != null) {
+                        reportRemovedExtensions(removed, context);
+                    } else {
+                        removeExtensions(source, targetConfigurationPath, context);
+                    }
                     if (!context.hasSucessfulSubtasks()) {
                         context.getLogger().debugf("No unsupported extensions found.");
                     }
@@ -79,36 +112,31 @@ public class RemoveUnsupportedExtensions<S extends JBossServer<S>> implements Se
     }
 
     protected void removeExtensions(final JBossServerConfiguration<S> source, final JBossServerConfiguration targetConfigurationPath, final TaskContext context) {
+        final List<String> removed = new ArrayList<>();
+        XMLFiles.filterStream(targetConfigurationPath.getPath(), XMLStreamFilter.of(getExtensionsFilter(targetConfigurationPath, context.getMigrationEnvironment(), removed), EXTENSION, EXCLUDED_EXTENSIONS));
+        targetConfigurationPath.invalidateConfigurationModel();
+        reportRemovedExtensions(removed, context);
+    }
+
+    protected XMLFileFilter getExtensionsFilter(final JBossServerConfiguration targetConfigurationPath, final MigrationEnvironment environment, final Collection<String> removed) {
         // gather the module names of extensions to accept (env property includes + target server extensions - env property excludes)
         final Set<String> accepted = new HashSet<>(targetConfigurationPath.getServer().getExtensions().getExtensionModuleNames());
-        final MigrationEnvironment environment = context.getMigrationEnvironment();
         accepted.addAll(environment.getPropertyAsList(EnvironmentProperties.INCLUDES, Collections.emptyList()));
         accepted.removeAll(environment.getPropertyAsList(EnvironmentProperties.EXCLUDES, Collections.emptyList()));
-        // setup and run the xml filter to remove not accepted extensions
-        final Set<String> removed = new HashSet<>();
-        final XMLFileFilter extensionsFilter = (startElement, xmlEventReader, xmlEventWriter, xmlEventFactory) -> {
-            if (startElement.getName().getLocalPart().equals("extension")) {
+        // setup the xml filter to remove not accepted extensions
+        return (startElement, xmlEventReader, xmlEventWriter, xmlEventFactory) -> {
+            if (startElement.getName().getLocalPart().equals(EXTENSION)) {
                 Attribute moduleAttr = startElement.getAttributeByName(new QName("module"));
                 final String moduleName = moduleAttr.getValue();
                 if (accepted.contains(moduleName)) {
                     return XMLFileFilter.Result.ADD;
                 } else {
                     // TODO if interactive mode, extension not excluded, and not a source server extension, then confirm with user its removal (feature to provide configless custom extension migration)
-                    final ServerMigrationTask subtask = new SimpleComponentTask.Builder()
-                            .name(new ServerMigrationTaskName.Builder(SUBTASK_NAME)
-                                    .addAttribute(SUBTASK_NAME_ATTRIBUTE_MODULE, moduleName)
-                                    .build())
-                            .runnable(subtaskContext -> {
-                                subtaskContext.getLogger().debugf("Extension with module '%s' removed.", moduleName);
-                                removed.add(moduleName);
-                                return ServerMigrationTaskResult.SUCCESS;
-                            })
-                            .build();
-                    context.execute(subtask);
+                    removed.add(moduleName);
                     return XMLFileFilter.Result.REMOVE;
                 }
             } else {
-                if (startElement.getName().getLocalPart().equals("excluded-extensions")) {
+                if (startElement.getName().getLocalPart().equals(EXCLUDED_EXTENSIONS)) {
                     // this element also has extension child elements, yet those should not be filtered
                     return XMLFileFilter.Result.ADD_ALL;
                 } else {
@@ -116,9 +144,23 @@ public class RemoveUnsupportedExtensions<S extends JBossServer<S>> implements Se
                 }
             }
         };
-        XMLFiles.filter(targetConfigurationPath.getPath(), extensionsFilter);
+    }
+
+    protected void reportRemovedExtensions(final Collection<String> removed, final TaskContext context) {
+        for (String moduleName : removed) {
+            final ServerMigrationTask subtask = new SimpleComponentTask.Builder()
+                    .name(new ServerMigrationTaskName.Builder(SUBTASK_NAME)
+                            .addAttribute(SUBTASK_NAME_ATTRIBUTE_MODULE, moduleName)
+                            .build())
+                    .runnable(subtaskContext -> {
+                        subtaskContext.getLogger().debugf("Extension with module '%s' removed.", moduleName);
+                        return ServerMigrationTaskResult.SUCCESS;
+                    })
+                    .build();
+            context.execute(subtask);
+        }
         if (!removed.isEmpty()) {
-            context.getLogger().infof("Unsupported extensions removed: %s", removed);
+            context.getLogger().infof("Unsupported extensions removed: %s", new HashSet<>(removed));
         }
     }
-}
\ No newline at end of file
+}
@@ -17,6 +17,7 @@
 package org.jboss.migration.wfly10.config.task.update;
 
 import org.jboss.migration.core.env.MigrationEnvironment;
+import org.jboss.migration.core.env.TaskEnvironment;
 import org.jboss.migration.core.jboss.JBossServer;
 import org.jboss.migration.core.jboss.JBossServerConfiguration;
 import org.jboss.migration.core.task.ServerMigrationTask;
@@ -25,11 +26,16 @@ import org.jboss.migration.core.task.ServerMigrationTaskResult;
 import org.jboss.migration.core.task.TaskContext;
 import org.jboss.migration.core.task.component.SimpleComponentTask;
 import org.jboss.migration.core.util.xml.XMLFileFilter;
+import org.jboss.migration.core.util.xml.XMLFilePipeline;
 import org.jboss.migration.core.util.xml.XMLFiles;
+import org.jboss.migration.core.util.xml.XMLStreamFilter;
 import org.jboss.migration.wfly10.config.task.ServerConfigurationMigration;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static java.util.stream.Collectors.toList;
@@ -38,7 +44,7 @@ import static org.jboss.migration.core.task.component.TaskSkipPolicy.skipIfDefau
 /**
  * @author emmartins
  */
-public class RemoveUnsupportedSubsystems<S extends JBossServer<S>> implements ServerConfigurationMigration.XMLConfigurationSubtaskFactory<JBossServerConfiguration<S>> {
+public class RemoveUnsupportedSubsystems<S extends JBossServer<S>> implements ServerConfigurationMigration.XMLConfigurationPipelineSubtaskFactory<JBossServerConfiguration<S>> {
 
     public interface EnvironmentProperties {
         /**
@@ -61,14 +67,41 @@ public class RemoveUnsupportedSubsystems<S extends JBossServer<S>> implements Se
     public static final String SUBTASK_NAME = TASK_NAME +".remove-unsupported-subsystem";
     public static final String SUBTASK_NAME_ATTRIBUTE_NAMESPACE = "namespace";
 
+    private static final String SUBSYSTEM = "subsystem";
+
     @Override
     public ServerMigrationTask getTask(final JBossServerConfiguration<S> source, final JBossServerConfiguration targetConfigurationPath) {
+        return getTask(source, targetConfigurationPath, null);
+    }
+
+    @Override
+    public ServerMigrationTask getTask(final JBossServerConfiguration<S> source, final JBossServerConfiguration targetConfigurationPath, final XMLFilePipeline.Builder pipelineBuilder, final TaskContext context) {
+        final List<String> removed = new ArrayList<>();
+        // the configuration model tells in advance if there is any subsystem to remove, if not the filter is not needed, which may spare the xml file rewrite
+        if (!new TaskEnvironment(context.getMigrationEnvironment(), TASK_NAME).isSkippedByEnvironment() && hasUnsupportedSubsystems(targetConfigurationPath, context.getMigrationEnvironment())) {
+            pipelineBuilder.filter(getSubsystemsFilter(targetConfigurationPath, context.getMigrationEnvironment(), removed), SUBSYSTEM);
+        }
+        return getTask(source, targetConfigurationPath, removed);
+    }
+
+    /**
+     * Retrieves the task.
+     * @param source the source configuration
+     * @param targetConfigurationPath the target configuration
+     * @param removed the namespaces of the subsystems removed by the xml pipeline, or null if the task should filter the xml file by itself
+     * @return the task
+     */
+    protected ServerMigrationTask getTask(final JBossServerConfiguration<S> source, final JBossServerConfiguration targetConfigurationPath, final Collection<String> removed) {
         return new SimpleComponentTask.Builder()
                 .name(TASK_NAME)
                 .skipPolicy(skipIfDefaultTaskSkipPropertyIsSet())
                 .runnable(context -> {
                     context.getLogger().debugf("Searching for subsystems not supported by the target server...");
-                    run(source, targetConfigurationPath, context);
+                    if (removed != null) {
+                        reportRemovedSubsystems(removed, context);
+                    } else {
+                        run(source, targetConfigurationPath, context);
+                    }
                     if (!context.hasSucessfulSubtasks()) {
                         context.getLogger().debugf("No unsupported subsystems found.");
                     }
@@ -78,46 +111,85 @@ public class RemoveUnsupportedSubsystems<S extends JBossServer<S>> implements Se
     }
 
     protected void run(final JBossServerConfiguration<S> source, final JBossServerConfiguration targetConfigurationPath, final TaskContext context) {
+        final List<String> removed = new ArrayList<>();
+        if (hasUnsupportedSubsystems(targetConfigurationPath, context.getMigrationEnvironment())) {
+            XMLFiles.filterStream(targetConfigurationPath.getPath(), XMLStreamFilter.of(getSubsystemsFilter(targetConfigurationPath, context.getMigrationEnvironment(), removed), SUBSYSTEM));
+            targetConfigurationPath.invalidateConfigurationModel();
+        }
+        reportRemovedSubsystems(removed, context);
+    }
+
+    /**
+     * Indicates if the target configuration has subsystems to remove, according to its {@link org.jboss.migration.core.jboss.ConfigurationModel}.
+     * @param targetConfigurationPath the target configuration
+     * @param environment the migration environment
+     * @return true if the target configuration has subsystems to remove, false otherwise
+     */
+    protected boolean hasUnsupportedSubsystems(final JBossServerConfiguration targetConfigurationPath, final MigrationEnvironment environment) {
+        final Set<String> accepted = getAcceptedSubsystemNamespaces(targetConfigurationPath, environment);
+        for (String namespaceURI : targetConfigurationPath.getConfigurationModel().getSubsystemNamespaceURIs()) {
+            if (!isAccepted(namespaceURI, accepted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected Set<String> getAcceptedSubsystemNamespaces(final JBossServerConfiguration targetConfigurationPath, final MigrationEnvironment environment) {
         // gather the namespaces of subsystems to accept (env property includes + target server subsystems - env property excludes)
         final Set<String> accepted = new HashSet<>(targetConfigurationPath.getServer().getExtensions().getExtensions().stream()
                 .flatMap(extension -> extension.getSubsystems().stream())
                 .map(subsystem -> subsystem.getNamespaceWithoutVersion())
                 .collect(toList()));
-        final MigrationEnvironment environment = context.getMigrationEnvironment();
         accepted.addAll(environment.getPropertyAsList(EnvironmentProperties.INCLUDES, Collections.emptyList()));
         accepted.removeAll(environment.getPropertyAsList(EnvironmentProperties.EXCLUDES, Collections.emptyList()));
-        // setup and run the xml filter to remove the ones not accepted
-        final Set<String> removed = new HashSet<>();
-        final XMLFileFilter extensionsFilter = (startElement, xmlEventReader, xmlEventWriter, xmlEventFactory) -> {
-            if (startElement.getName().getLocalPart().equals("subsystem")) {
+        return accepted;
+    }
+
+    private static boolean isAccepted(final String namespaceURI, final Set<String> accepted) {
+        // accepted if the namespace uri starts with a supported subsystem's namespace without version
+        for (String namespaceWithoutVersion : accepted) {
+            if (namespaceURI != null && namespaceURI.startsWith(namespaceWithoutVersion+':')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected XMLFileFilter getSubsystemsFilter(final JBossServerConfiguration targetConfigurationPath, final MigrationEnvironment environment, final Collection<String> removed) {
+        final Set<String> accepted = getAcceptedSubsystemNamespaces(targetConfigurationPath, environment);
+        // setup the xml filter to remove the ones not accepted
+        return (startElement, xmlEventReader, xmlEventWriter, xmlEventFactory) -> {
+            if (startElement.getName().getLocalPart().equals(SUBSYSTEM)) {
                 final String namespaceURI = startElement.getName().getNamespaceURI();
-                // keep if the namespace uri starts with a supported subsystem's namespace without version
-                for (String namespaceWithoutVersion : accepted) {
-                    if (namespaceURI != null && namespaceURI.startsWith(namespaceWithoutVersion+':')) {
-                        return XMLFileFilter.Result.ADD;
-                    }
+                if (isAccepted(namespaceURI, accepted)) {
+                    return XMLFileFilter.Result.ADD;
                 }
                 // not supported, remove subsystem
                 // TODO if interactive mode, subsystem not excluded, and not a source server subsystem, then confirm with user its removal (feature to provide configless "custom subsystem" migration)
-                final ServerMigrationTask subtask = new SimpleComponentTask.Builder()
-                        .name(new ServerMigrationTaskName.Builder(SUBTASK_NAME)
-                                .addAttribute(SUBTASK_NAME_ATTRIBUTE_NAMESPACE, namespaceURI)
-                                .build())
-                        .runnable(subtaskContext -> {
-                            subtaskContext.getLogger().debugf("Subsystem with namespace '%s' removed.", namespaceURI);
-                            removed.add(namespaceURI);
-                            return ServerMigrationTaskResult.SUCCESS;
-                        })
-                        .build();
-                context.execute(subtask);
+                removed.add(namespaceURI);
                 return XMLFileFilter.Result.REMOVE;
             } else {
                 return XMLFileFilter.Result.NOT_APPLICABLE;
             }
         };
-        XMLFiles.filter(targetConfigurationPath.getPath(), extensionsFilter);
+    }
+
+    protected void reportRemovedSubsystems(final Collection<String> removed, final TaskContext context) {
+        for (String namespaceURI : removed) {
+            final ServerMigrationTask subtask = new SimpleComponentTask.Builder()
+                    .name(new ServerMigrationTaskName.Builder(SUBTASK_NAME)
+                            .addAttribute(SUBTASK_NAME_ATTRIBUTE_NAMESPACE, namespaceURI)
+                            .build())
+                    .runnable(subtaskContext -> {
+                        subtaskContext.getLogger().debugf("Subsystem with namespace '%s' removed.", namespaceURI);
+                        return ServerMigrationTaskResult.SUCCESS;
+                    })
+                    .build();
+            context.execute(subtask);
+        }
         if (!removed.isEmpty()) {
-            context.getLogger().infof("Unsupported subsystems removed: %s", removed);
+            context.getLogger().infof("Unsupported subsystems removed: %s", new HashSet<>(removed));
         }
     }
-}
\ No newline at end of file
+}
@@ -18,8 +18,8 @@ package org.jboss.migration.wfly10.dist.full;
 import org.jboss.migration.core.AbstractServerProvider;
 import org.jboss.migration.core.ProductInfo;
 import org.jboss.migration.core.Server;
+import org.jboss.migration.core.ServerFingerprint;
 import org.jboss.migration.core.env.MigrationEnvironment;
-import org.jboss.migration.core.jboss.JBossServer;
 import org.jboss.migration.core.jboss.ManifestProductInfo;
 
 import java.nio.file.Path;
@@ -30,14 +30,14 @@ import java.nio.file.Path;
  */
 public class WildFlyFullServerProvider10_0 extends AbstractServerProvider {
 
+    @Override
     protected ProductInfo getProductInfo(Path baseDir, MigrationEnvironment migrationEnvironment) throws IllegalArgumentException {
-        final JBossServer.Module module = new JBossServer.Modules(baseDir).getModule(getProductModuleId());
-        if (module == null) {
-            return null;
-        }
-        final Path manifestPath = module.getModuleDir().resolve("dir").resolve("META-INF").resolve("MANIFEST.MF");
-        final ManifestProductInfo productInfo = ManifestProductInfo.from(manifestPath);
-        return productInfo;
+        return getProductInfo(new ServerFingerprint(baseDir), migrationEnvironment);
+    }
+
+    @Override
+    protected ProductInfo getProductInfo(ServerFingerprint fingerprint, MigrationEnvironment migrationEnvironment) throws IllegalArgumentException {
+        return ManifestProductInfo.fromProductModule(fingerprint, getProductModuleId());
     }
 
     protected String getProductModuleId() {
@@ -18,12 +18,14 @@ package org.jboss.migration.wfly.task.security;
 
 import org.jboss.logging.Logger;
 import org.jboss.migration.core.ServerMigrationFailureException;
+import org.jboss.migration.core.env.TaskEnvironment;
 import org.jboss.migration.core.jboss.JBossServer;
 import org.jboss.migration.core.jboss.JBossServerConfiguration;
 import org.jboss.migration.core.task.ServerMigrationTask;
 import org.jboss.migration.core.task.ServerMigrationTaskResult;
 import org.jboss.migration.core.task.TaskContext;
 import org.jboss.migration.core.task.component.SimpleComponentTask;
+import org.jboss.migration.core.util.xml.XMLFilePipeline;
 import org.jboss.migration.core.util.xml.XMLFileProcessor;
 import org.jboss.migration.core.util.xml.XMLFiles;
 import org.jboss.migration.wfly10.config.task.ServerConfigurationMigration;
@@ -42,7 +44,7 @@ import static org.jboss.migration.core.task.component.TaskSkipPolicy.skipIfDefau
 /**
  * @author emmartins
  */
-public class ReadLegacySecurityConfigurationFromXML<S extends JBossServer<S>> implements ServerConfigurationMigration.XMLConfigurationSubtaskFactory<JBossServerConfiguration<S>> {
+public class ReadLegacySecurityConfigurationFromXML<S extends JBossServer<S>> implements ServerConfigurationMigration.XMLConfigurationPipelineSubtaskFactory<JBossServerConfiguration<S>> {
 
     public static final String TASK_NAME = "security.read-legacy-security-configuration";
 
@@ -98,13 +100,33 @@ public class ReadLegacySecurityConfigurationFromXML<S extends JBossServer<S>> im
 
     @Override
     public ServerMigrationTask getTask(final JBossServerConfiguration<S> source, final JBossServerConfiguration targetConfigurationPath) {
+        return getTask(source, targetConfigurationPath, (LegacySecurityConfiguration) null);
+    }
+
+    @Override
+    public ServerMigrationTask getTask(final JBossServerConfiguration<S> source, final JBossServerConfiguration targetConfigurationPath, final XMLFilePipeline.Builder pipelineBuilder, final TaskContext context) {
+        final LegacySecurityConfiguration legacySecurityConfiguration = new LegacySecurityConfiguration(targetConfigurationPath);
+        if (!new TaskEnvironment(context.getMigrationEnvironment(), TASK_NAME).isSkippedByEnvironment()) {
+            pipelineBuilder.documentProcessor(getXMLFileProcessor(legacySecurityConfiguration, context));
+        }
+        return getTask(source, targetConfigurationPath, legacySecurityConfiguration);
+    }
+
+    /**
+     * Retrieves the task.
+     * @param source the source configuration
+     * @param targetConfigurationPath the target configuration
+     * @param processedLegacySecurityConfiguration the legacy security configuration retrieved by the xml pipeline, or null if the task should process the xml file by itself
+     * @return the task
+     */
+    protected ServerMigrationTask getTask(final JBossServerConfiguration<S> source, final JBossServerConfiguration targetConfigurationPath, final LegacySecurityConfiguration processedLegacySecurityConfiguration) {
         return new SimpleComponentTask.Builder()
                 .name(TASK_NAME)
                 .skipPolicy(skipIfDefaultTaskSkipPropertyIsSet())
                 .runnable(context -> {
                     final Logger logger = context.getLogger();
                     logger.debug("Retrieving legacy security XML configuration...");
-                    final LegacySecurityConfiguration legacySecurityConfiguration = processXMLConfiguration(source, targetConfigurationPath, context);
+                    final LegacySecurityConfiguration legacySecurityConfiguration = processedLegacySecurityConfiguration != null ? processedLegacySecurityConfiguration : processXMLConfiguration(source, targetConfigurationPath, context);
                     ServerMigrationTaskResult taskResult = legacySecurityConfiguration != null ? ServerMigrationTaskResult.SUCCESS : ServerMigrationTaskResult.SKIPPED;
                     if (taskResult.getStatus() == ServerMigrationTaskResult.Status.SKIPPED) {
                         logger.debug("No legacy security XML configuration found.");
@@ -121,7 +143,12 @@ public class ReadLegacySecurityConfigurationFromXML<S extends JBossServer<S>> im
     protected LegacySecurityConfiguration processXMLConfiguration(final JBossServerConfiguration<S> source, final JBossServerConfiguration targetConfigurationPath, final TaskContext context) {
         final LegacySecurityConfiguration legacySecurityConfiguration = new LegacySecurityConfiguration(targetConfigurationPath);
         // setup and run the xml processor
-        final XMLFileProcessor xmlFileProcessor = (startElement, xmlEventReader) -> {
+        XMLFiles.process(targetConfigurationPath.getPath(), getXMLFileProcessor(legacySecurityConfiguration, context));
+        return legacySecurityConfiguration;
+    }
+
+    protected XMLFileProcessor getXMLFileProcessor(final LegacySecurityConfiguration legacySecurityConfiguration, final TaskContext context) {
+        return (startElement, xmlEventReader) -> {
             try {
                 while (xmlEventReader.hasNext()) {
                     XMLEvent xmlEvent = xmlEventReader.nextEvent();
@@ -148,8 +175,6 @@ public class ReadLegacySecurityConfigurationFromXML<S extends JBossServer<S>> im
                 throw new ServerMigrationFailureException(e);
             }
         };
-        XMLFiles.process(targetConfigurationPath.getPath(), xmlFileProcessor);
-        return legacySecurityConfiguration;
     }
 
     protected void processElementManagement(StartElement startElement, XMLEventReader xmlEventReader, LegacySecurityConfiguration legacySecurityConfiguration, final TaskContext context) throws XMLStreamException {
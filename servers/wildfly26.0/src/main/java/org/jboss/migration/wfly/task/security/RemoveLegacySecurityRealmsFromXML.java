@@ -25,6 +25,7 @@ import org.jboss.migration.core.task.TaskContext;
 import org.jboss.migration.core.task.component.SimpleComponentTask;
 import org.jboss.migration.core.util.xml.XMLFileFilter;
 import org.jboss.migration.core.util.xml.XMLFiles;
+import org.jboss.migration.core.util.xml.XMLStreamFilter;
 import org.jboss.migration.wfly10.config.task.ServerConfigurationMigration;
 
 import javax.xml.stream.XMLEventFactory;
@@ -97,7 +98,8 @@ public class RemoveLegacySecurityRealmsFromXML<S extends JBossServer<S>> impleme
                 return XMLFileFilter.Result.NOT_APPLICABLE;
             }
         };
-        XMLFiles.filter(targetConfigurationPath.getPath(), extensionsFilter);
+        XMLFiles.filterStream(targetConfigurationPath.getPath(), XMLStreamFilter.of(extensionsFilter, SECURITY_REALMS, HTTP_INTERFACE, NATIVE_INTERFACE, REMOTE));
+        targetConfigurationPath.invalidateConfigurationModel();
         return taskResultBuilder.build();
     }
 
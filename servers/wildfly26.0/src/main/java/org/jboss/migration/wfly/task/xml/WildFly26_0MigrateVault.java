@@ -25,6 +25,7 @@ import org.jboss.migration.core.task.TaskContext;
 import org.jboss.migration.core.task.component.SimpleComponentTask;
 import org.jboss.migration.core.util.xml.XMLFileFilter;
 import org.jboss.migration.core.util.xml.XMLFiles;
+import org.jboss.migration.core.util.xml.XMLStreamFilter;
 import org.jboss.migration.wfly10.config.task.ServerConfigurationMigration;
 
 import static org.jboss.migration.core.task.component.TaskSkipPolicy.skipIfDefaultTaskSkipPropertyIsSet;
@@ -72,7 +73,8 @@ public class WildFly26_0MigrateVault<S extends JBossServer<S>> implements Server
                 return XMLFileFilter.Result.NOT_APPLICABLE;
             }
         };
-        XMLFiles.filter(targetConfigurationPath.getPath(), extensionsFilter);
+        XMLFiles.filterStream(targetConfigurationPath.getPath(), XMLStreamFilter.of(extensionsFilter, VAULT));
+        targetConfigurationPath.invalidateConfigurationModel();
         return taskResultBuilder.build();
     }
 }
\ No newline at end of file
@@ -54,7 +54,8 @@ public class MigratePicketLinkSubsystem<S> extends MigrateSubsystemResources<S>
             try {
                 final ModelNode op = Util.createAddOperation(serverConfiguration.getExtensionResourcePathAddress(JBossExtensionNames.KEYCLOAK_SAML));
                 op.get(MODULE).set(JBossExtensionNames.KEYCLOAK_SAML);
-                serverConfiguration.executeManagementOperation(op);
+                // the add's failure is handled here, thus it must not be batched
+                serverConfiguration.executeManagementOperation(op, false);
             } catch (ManagementOperationException e) {
                 if (e.getMessage().contains("WFLYCTL0310")) {
                     throw new ServerMigrationFailureException("The legacy picketlink-federation subsystem cannot be migrated to the new keycloak-adapter subsystem due to missing Keycloak client SAML adapter on the target server.", e);
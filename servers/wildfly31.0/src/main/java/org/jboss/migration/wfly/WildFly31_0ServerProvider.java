@@ -17,16 +17,12 @@ package org.jboss.migration.wfly;
 
 import org.jboss.migration.core.ProductInfo;
 import org.jboss.migration.core.Server;
-import org.jboss.migration.core.ServerMigrationFailureException;
+import org.jboss.migration.core.ServerFingerprint;
 import org.jboss.migration.core.env.MigrationEnvironment;
-import org.jboss.migration.core.jboss.JBossServer;
 import org.jboss.migration.core.jboss.ManifestProductInfo;
 import org.jboss.migration.wfly10.dist.full.WildFlyFullServerProvider10_0;
 
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.jar.JarInputStream;
 
 /**
  * The WildFly 31.x {@link org.jboss.migration.core.ServerProvider}.
@@ -35,23 +31,9 @@ import java.util.jar.JarInputStream;
 public class WildFly31_0ServerProvider extends WildFlyFullServerProvider10_0 {
 
     @Override
-    protected ProductInfo getProductInfo(Path baseDir, MigrationEnvironment migrationEnvironment) throws IllegalArgumentException {
-        final JBossServer.Module module = new JBossServer.Modules(baseDir).getModule("org.jboss.as.product:main");
-        if (module == null) {
-            return null;
-        }
+    protected ProductInfo getProductInfo(ServerFingerprint fingerprint, MigrationEnvironment migrationEnvironment) throws IllegalArgumentException {
         // Starting with WFLY 31, manifest is inside the module's jar
-        try {
-            Path moduleJar = Files.list(module.getModuleDir()).filter(path -> path.toString().endsWith(".jar")).findFirst().get();
-            if (moduleJar == null || !Files.isRegularFile(moduleJar)) {
-                return null;
-            }
-            try (JarInputStream jarStream = new JarInputStream(Files.newInputStream(moduleJar))) {
-                return ManifestProductInfo.from(jarStream.getManifest());
-            }
-        } catch (IOException e) {
-            throw new ServerMigrationFailureException(e);
-        }
+        return ManifestProductInfo.fromProductModuleJar(fingerprint, "org.jboss.as.product:main");
     }
 
     @Override
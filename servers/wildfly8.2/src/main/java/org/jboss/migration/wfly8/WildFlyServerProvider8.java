@@ -18,6 +18,7 @@ package org.jboss.migration.wfly8;
 import org.jboss.migration.core.AbstractServerProvider;
 import org.jboss.migration.core.ProductInfo;
 import org.jboss.migration.core.Server;
+import org.jboss.migration.core.ServerFingerprint;
 import org.jboss.migration.core.ServerMigrationFailureException;
 import org.jboss.migration.core.env.MigrationEnvironment;
 import org.jboss.migration.core.jboss.JBossServer;
@@ -39,11 +40,16 @@ public class WildFlyServerProvider8 extends AbstractServerProvider {
 
     @Override
     protected ProductInfo getProductInfo(Path baseDir, MigrationEnvironment migrationEnvironment) throws IllegalArgumentException, ServerMigrationFailureException {
-        final JBossServer.Modules modules = new JBossServer.Modules(baseDir);
-        if (modules.getModule("org.jboss.as.product:wildfly-full") != null) {
+        return getProductInfo(new ServerFingerprint(baseDir), migrationEnvironment);
+    }
+
+    @Override
+    protected ProductInfo getProductInfo(ServerFingerprint fingerprint, MigrationEnvironment migrationEnvironment) throws IllegalArgumentException, ServerMigrationFailureException {
+        final JBossServer.Modules modules = JBossServer.Modules.from(fingerprint);
+        if (modules.findModule("org.jboss.as.product:wildfly-full") != null) {
             return null;
         }
-        final JBossServer.Module module = modules.getModule("org.jboss.as.version");
+        final JBossServer.Module module = modules.findModule("org.jboss.as.version");
         if (module == null) {
             return null;
         }
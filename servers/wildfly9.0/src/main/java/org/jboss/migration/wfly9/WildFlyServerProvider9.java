@@ -18,9 +18,9 @@ package org.jboss.migration.wfly9;
 import org.jboss.migration.core.AbstractServerProvider;
 import org.jboss.migration.core.ProductInfo;
 import org.jboss.migration.core.Server;
+import org.jboss.migration.core.ServerFingerprint;
 import org.jboss.migration.core.ServerMigrationFailureException;
 import org.jboss.migration.core.env.MigrationEnvironment;
-import org.jboss.migration.core.jboss.JBossServer;
 import org.jboss.migration.core.jboss.ManifestProductInfo;
 
 import java.nio.file.Path;
@@ -31,14 +31,14 @@ import java.nio.file.Path;
  */
 public class WildFlyServerProvider9 extends AbstractServerProvider {
 
+    @Override
     protected ProductInfo getProductInfo(Path baseDir, MigrationEnvironment migrationEnvironment) throws IllegalArgumentException, ServerMigrationFailureException {
-        final JBossServer.Module module = new JBossServer.Modules(baseDir).getModule("org.jboss.as.product:wildfly-full");
-        if (module == null) {
-            return null;
-        }
-        final Path manifestPath = module.getModuleDir().resolve("dir").resolve("META-INF").resolve("MANIFEST.MF");
-        final ManifestProductInfo productInfo = ManifestProductInfo.from(manifestPath);
-        return productInfo;
+        return getProductInfo(new ServerFingerprint(baseDir), migrationEnvironment);
+    }
+
+    @Override
+    protected ProductInfo getProductInfo(ServerFingerprint fingerprint, MigrationEnvironment migrationEnvironment) throws IllegalArgumentException, ServerMigrationFailureException {
+        return ManifestProductInfo.fromProductModule(fingerprint, "org.jboss.as.product:wildfly-full");
     }
 
     @Override